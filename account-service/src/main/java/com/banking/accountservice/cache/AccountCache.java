@@ -0,0 +1,163 @@
+package com.banking.accountservice.cache;
+
+import com.banking.accountservice.config.AccountServiceConfig;
+import com.banking.accountservice.dto.AccountDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Local read-through cache of accounts by id, with an account number to id index on the side.
+ * Entries hold the balance as reported to clients (row plus pending slot credits), so every write
+ * that changes it must call {@link #invalidate}. Peers are told through
+ * {@link AccountCacheInvalidationPublisher}; expiry bounds staleness if a peer misses a message.
+ */
+@Component
+public class AccountCache {
+    
+    @Autowired
+    private AccountServiceConfig config;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private AccountCacheInvalidationPublisher publisher;
+    
+    private Cache<Long, AccountDto> accountsById;
+    private Cache<String, Long> idsByNumber;
+    // Bumped on every invalidation; a load that overlapped one does not store its possibly stale result
+    private final AtomicLong generation = new AtomicLong();
+    
+    @PostConstruct
+    public void start() {
+        accountsById = Caffeine.newBuilder()
+            .maximumSize(config.getCacheMaximumSize())
+            .expireAfterWrite(config.getCacheExpireAfterWriteMs(), TimeUnit.MILLISECONDS)
+            .recordStats()
+            .build();
+        // Account numbers never change, so the index only needs evicting alongside deleted accounts
+        idsByNumber = Caffeine.newBuilder()
+            .maximumSize(config.getCacheMaximumSize())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, accountsById, "accounts");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByNumber, "account-numbers");
+    }
+    
+    public AccountDto getById(Long id, Function<Long, AccountDto> loader) {
+        if (!config.isCacheEnabled()) {
+            return loader.apply(id);
+        }
+        AccountDto cached = accountsById.getIfPresent(id);
+        if (cached != null) {
+            return copy(cached);
+        }
+        return load(() -> loader.apply(id));
+    }
+    
+    public AccountDto getByNumber(String accountNumber, Function<String, AccountDto> loader) {
+        if (!config.isCacheEnabled()) {
+            return loader.apply(accountNumber);
+        }
+        Long id = idsByNumber.getIfPresent(accountNumber);
+        if (id != null) {
+            AccountDto cached = accountsById.getIfPresent(id);
+            if (cached != null && accountNumber.equals(cached.getAccountNumber())) {
+                return copy(cached);
+            }
+        }
+        return load(() -> loader.apply(accountNumber));
+    }
+    
+    /**
+     * Evicts the accounts now and again when the current transaction completes, so neither a read
+     * inside the transaction nor one that raced its commit leaves an old balance behind. Peers are
+     * only told about committed changes.
+     */
+    public void invalidate(Long... accountIds) {
+        List<Long> ids = new ArrayList<>(Arrays.asList(accountIds));
+        ids.removeIf(Objects::isNull);
+        if (ids.isEmpty()) {
+            return;
+        }
+        invalidateLocal(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateLocal(ids);
+                    if (status == STATUS_COMMITTED) {
+                        publisher.publish(ids);
+                    }
+                }
+            });
+        } else {
+            publisher.publish(ids);
+        }
+    }
+    
+    /**
+     * Evicts the accounts from this instance only; used for invalidations received from peers.
+     */
+    public void invalidateLocal(Collection<Long> accountIds) {
+        generation.incrementAndGet();
+        for (Long id : accountIds) {
+            AccountDto removed = accountsById.asMap().remove(id);
+            if (removed != null) {
+                idsByNumber.invalidate(removed.getAccountNumber());
+            }
+        }
+    }
+    
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        accountsById.invalidateAll();
+        idsByNumber.invalidateAll();
+    }
+    
+    public long size() {
+        return accountsById.estimatedSize();
+    }
+    
+    private AccountDto load(Supplier<AccountDto> loader) {
+        long observed = generation.get();
+        AccountDto loaded = loader.get();
+        if (generation.get() == observed) {
+            accountsById.put(loaded.getId(), copy(loaded));
+            idsByNumber.put(loaded.getAccountNumber(), loaded.getId());
+        }
+        return loaded;
+    }
+    
+    // Callers may modify the DTO they get, so the cache never hands out its own instance
+    private static AccountDto copy(AccountDto source) {
+        AccountDto dto = new AccountDto();
+        dto.setId(source.getId());
+        dto.setUserId(source.getUserId());
+        dto.setAccountNumber(source.getAccountNumber());
+        dto.setAccountType(source.getAccountType());
+        dto.setBalance(source.getBalance());
+        dto.setCurrency(source.getCurrency());
+        dto.setStatus(source.getStatus());
+        dto.setCreatedAt(source.getCreatedAt());
+        dto.setUpdatedAt(source.getUpdatedAt());
+        return dto;
+    }
+}
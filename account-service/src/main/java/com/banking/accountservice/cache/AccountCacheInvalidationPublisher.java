@@ -0,0 +1,107 @@
+package com.banking.accountservice.cache;
+
+import com.banking.accountservice.config.AccountServiceConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tells the other account-service instances registered in Eureka which accounts changed. Ids are
+ * coalesced and sent in one request per peer every interval, so a burst of postings against the same
+ * account costs a single message. Delivery is best effort: a peer that misses it serves the old entry
+ * until it expires.
+ */
+@Component
+public class AccountCacheInvalidationPublisher {
+    
+    public static final String INVALIDATION_PATH = "/internal/accounts/cache/invalidations";
+    
+    private static final Logger logger = LoggerFactory.getLogger(AccountCacheInvalidationPublisher.class);
+    
+    @Autowired
+    private AccountServiceConfig config;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired(required = false)
+    private DiscoveryClient discoveryClient;
+    
+    @Autowired(required = false)
+    private Registration registration;
+    
+    @Autowired
+    private RestTemplateBuilder restTemplateBuilder;
+    
+    @Value("${spring.application.name}")
+    private String serviceId;
+    
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private RestTemplate restTemplate;
+    private Counter failures;
+    
+    @PostConstruct
+    public void start() {
+        restTemplate = restTemplateBuilder
+            .setConnectTimeout(Duration.ofMillis(config.getCacheBroadcastTimeoutMs()))
+            .setReadTimeout(Duration.ofMillis(config.getCacheBroadcastTimeoutMs()))
+            .build();
+        failures = Counter.builder("account.cache.invalidation.failures")
+            .description("Invalidation messages that could not be delivered to a peer instance")
+            .register(meterRegistry);
+    }
+    
+    public void publish(Collection<Long> accountIds) {
+        if (config.isCacheBroadcastEnabled() && discoveryClient != null) {
+            pending.addAll(accountIds);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${account.service.cache-broadcast-interval-ms:100}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Long> batch = new ArrayList<>(pending);
+        pending.removeAll(batch);
+        for (ServiceInstance peer : discoveryClient.getInstances(serviceId)) {
+            if (isSelf(peer)) {
+                continue;
+            }
+            try {
+                restTemplate.postForEntity(peer.getUri() + INVALIDATION_PATH, batch, Void.class);
+            } catch (RuntimeException e) {
+                failures.increment();
+                logger.warn("Could not send {} cache invalidations to {}: {}", batch.size(), peer.getUri(), e.getMessage());
+            }
+        }
+    }
+    
+    private boolean isSelf(ServiceInstance peer) {
+        if (registration == null) {
+            return false;
+        }
+        if (registration.getInstanceId() != null && registration.getInstanceId().equals(peer.getInstanceId())) {
+            return true;
+        }
+        return registration.getHost().equals(peer.getHost()) && registration.getPort() == peer.getPort();
+    }
+}
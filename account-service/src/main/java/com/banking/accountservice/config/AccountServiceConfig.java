@@ -0,0 +1,164 @@
+package com.banking.accountservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "account.service")
+public class AccountServiceConfig {
+    
+    private String defaultCurrency = "USD";
+    private int accountNumberLength = 12;
+    private boolean enableAuditLogging = true;
+    private int maxAccountsPerUser = 10;
+    private boolean hotAccountEnabled = false;
+    private int hotAccountSlots = 16;
+    private long hotAccountWindowMs = 1000;
+    private double hotAccountPromoteOccupancy = 0.5;
+    private double hotAccountDemoteOccupancy = 0.05;
+    private int hotAccountDemoteAfterWindows = 30;
+    private long hotAccountFlushIntervalMs = 1000;
+    private boolean cacheEnabled = true;
+    private long cacheMaximumSize = 10000;
+    private long cacheExpireAfterWriteMs = 30000;
+    private boolean cacheBroadcastEnabled = false;
+    private long cacheBroadcastIntervalMs = 100;
+    private int cacheBroadcastTimeoutMs = 500;
+    
+    // Getters and Setters
+    public String getDefaultCurrency() {
+        return defaultCurrency;
+    }
+    
+    public void setDefaultCurrency(String defaultCurrency) {
+        this.defaultCurrency = defaultCurrency;
+    }
+    
+    public int getAccountNumberLength() {
+        return accountNumberLength;
+    }
+    
+    public void setAccountNumberLength(int accountNumberLength) {
+        this.accountNumberLength = accountNumberLength;
+    }
+    
+    public boolean isEnableAuditLogging() {
+        return enableAuditLogging;
+    }
+    
+    public void setEnableAuditLogging(boolean enableAuditLogging) {
+        this.enableAuditLogging = enableAuditLogging;
+    }
+    
+    public int getMaxAccountsPerUser() {
+        return maxAccountsPerUser;
+    }
+    
+    public void setMaxAccountsPerUser(int maxAccountsPerUser) {
+        this.maxAccountsPerUser = maxAccountsPerUser;
+    }
+    
+    public boolean isHotAccountEnabled() {
+        return hotAccountEnabled;
+    }
+    
+    public void setHotAccountEnabled(boolean hotAccountEnabled) {
+        this.hotAccountEnabled = hotAccountEnabled;
+    }
+    
+    public int getHotAccountSlots() {
+        return hotAccountSlots;
+    }
+    
+    public void setHotAccountSlots(int hotAccountSlots) {
+        this.hotAccountSlots = hotAccountSlots;
+    }
+    
+    public long getHotAccountWindowMs() {
+        return hotAccountWindowMs;
+    }
+    
+    public void setHotAccountWindowMs(long hotAccountWindowMs) {
+        this.hotAccountWindowMs = hotAccountWindowMs;
+    }
+    
+    public double getHotAccountPromoteOccupancy() {
+        return hotAccountPromoteOccupancy;
+    }
+    
+    public void setHotAccountPromoteOccupancy(double hotAccountPromoteOccupancy) {
+        this.hotAccountPromoteOccupancy = hotAccountPromoteOccupancy;
+    }
+    
+    public double getHotAccountDemoteOccupancy() {
+        return hotAccountDemoteOccupancy;
+    }
+    
+    public void setHotAccountDemoteOccupancy(double hotAccountDemoteOccupancy) {
+        this.hotAccountDemoteOccupancy = hotAccountDemoteOccupancy;
+    }
+    
+    public int getHotAccountDemoteAfterWindows() {
+        return hotAccountDemoteAfterWindows;
+    }
+    
+    public void setHotAccountDemoteAfterWindows(int hotAccountDemoteAfterWindows) {
+        this.hotAccountDemoteAfterWindows = hotAccountDemoteAfterWindows;
+    }
+    
+    public long getHotAccountFlushIntervalMs() {
+        return hotAccountFlushIntervalMs;
+    }
+    
+    public void setHotAccountFlushIntervalMs(long hotAccountFlushIntervalMs) {
+        this.hotAccountFlushIntervalMs = hotAccountFlushIntervalMs;
+    }
+    
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+    
+    public void setCacheEnabled(boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+    }
+    
+    public long getCacheMaximumSize() {
+        return cacheMaximumSize;
+    }
+    
+    public void setCacheMaximumSize(long cacheMaximumSize) {
+        this.cacheMaximumSize = cacheMaximumSize;
+    }
+    
+    public long getCacheExpireAfterWriteMs() {
+        return cacheExpireAfterWriteMs;
+    }
+    
+    public void setCacheExpireAfterWriteMs(long cacheExpireAfterWriteMs) {
+        this.cacheExpireAfterWriteMs = cacheExpireAfterWriteMs;
+    }
+    
+    public boolean isCacheBroadcastEnabled() {
+        return cacheBroadcastEnabled;
+    }
+    
+    public void setCacheBroadcastEnabled(boolean cacheBroadcastEnabled) {
+        this.cacheBroadcastEnabled = cacheBroadcastEnabled;
+    }
+    
+    public long getCacheBroadcastIntervalMs() {
+        return cacheBroadcastIntervalMs;
+    }
+    
+    public void setCacheBroadcastIntervalMs(long cacheBroadcastIntervalMs) {
+        this.cacheBroadcastIntervalMs = cacheBroadcastIntervalMs;
+    }
+    
+    public int getCacheBroadcastTimeoutMs() {
+        return cacheBroadcastTimeoutMs;
+    }
+    
+    public void setCacheBroadcastTimeoutMs(int cacheBroadcastTimeoutMs) {
+        this.cacheBroadcastTimeoutMs = cacheBroadcastTimeoutMs;
+    }
+}
@@ -0,0 +1,28 @@
+package com.banking.accountservice.controller;
+
+import com.banking.accountservice.cache.AccountCache;
+import com.banking.accountservice.cache.AccountCacheInvalidationPublisher;
+import com.banking.common.dto.ApiResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Receives cache invalidations from peer instances. Lives outside /api/accounts so the gateway does not route it.
+ */
+@RestController
+public class AccountCacheController {
+    
+    @Autowired
+    private AccountCache accountCache;
+    
+    @PostMapping(AccountCacheInvalidationPublisher.INVALIDATION_PATH)
+    public ResponseEntity<ApiResponse<Void>> invalidate(@RequestBody List<Long> accountIds) {
+        accountCache.invalidateLocal(accountIds);
+        return ResponseEntity.ok(ApiResponse.success("Invalidated " + accountIds.size() + " accounts", null));
+    }
+}
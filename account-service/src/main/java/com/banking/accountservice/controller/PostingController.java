@@ -0,0 +1,50 @@
+package com.banking.accountservice.controller;
+
+import com.banking.common.dto.ApiResponse;
+import com.banking.accountservice.dto.PostingDto;
+import com.banking.accountservice.exception.InsufficientFundsException;
+import com.banking.accountservice.exception.PostingRejectedException;
+import com.banking.accountservice.service.PostingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+
+@RestController
+@RequestMapping("/internal/accounts/postings")
+@CrossOrigin(origins = "*")
+public class PostingController {
+    
+    @Autowired
+    private PostingService postingService;
+    
+    @PostMapping
+    public ResponseEntity<ApiResponse<PostingDto>> post(@Valid @RequestBody PostingDto request) {
+        try {
+            PostingDto posting = postingService.post(request);
+            return ResponseEntity.ok(ApiResponse.success("Posting applied successfully", posting));
+        } catch (InsufficientFundsException e) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(ApiResponse.error(e.getMessage(), "INSUFFICIENT_FUNDS"));
+        } catch (PostingRejectedException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage(), "POSTING_REJECTED"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/{transactionId}")
+    public ResponseEntity<ApiResponse<PostingDto>> getPosting(@PathVariable String transactionId) {
+        try {
+            PostingDto posting = postingService.getPostingByTransactionId(transactionId);
+            return ResponseEntity.ok(ApiResponse.success("Posting retrieved successfully", posting));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -41,6 +41,20 @@ public class AccountDto {
         this.currency = currency;
     }
 
+    // Used by JPQL constructor projections, so the argument order must match AccountRepository.DTO_SELECT
+    public AccountDto(Long id, Long userId, String accountNumber, AccountType accountType, BigDecimal balance,
+                      Currency currency, AccountStatus status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.accountNumber = accountNumber;
+        this.accountType = accountType;
+        this.balance = balance;
+        this.currency = currency;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
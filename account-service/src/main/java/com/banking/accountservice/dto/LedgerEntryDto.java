@@ -0,0 +1,54 @@
+package com.banking.accountservice.dto;
+
+import com.banking.accountservice.entity.EntryType;
+import java.math.BigDecimal;
+
+public class LedgerEntryDto {
+    private Long id;
+    private Long accountId;
+    private EntryType entryType;
+    private BigDecimal amount;
+
+    // Constructors
+    public LedgerEntryDto() {}
+
+    public LedgerEntryDto(Long id, Long accountId, EntryType entryType, BigDecimal amount) {
+        this.id = id;
+        this.accountId = accountId;
+        this.entryType = entryType;
+        this.amount = amount;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public EntryType getEntryType() {
+        return entryType;
+    }
+
+    public void setEntryType(EntryType entryType) {
+        this.entryType = entryType;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
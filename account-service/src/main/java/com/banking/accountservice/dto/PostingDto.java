@@ -0,0 +1,118 @@
+package com.banking.accountservice.dto;
+
+import com.banking.accountservice.entity.Currency;
+import com.banking.accountservice.entity.PostingType;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PostingDto {
+    private Long id;
+    
+    @NotBlank(message = "Transaction ID is required")
+    private String transactionId;
+    
+    @NotNull(message = "Posting type is required")
+    private PostingType postingType;
+    
+    private Long fromAccountId;
+    private Long toAccountId;
+    
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+    
+    // Optional on requests; defaults to the currency of the accounts involved
+    private Currency currency;
+    
+    private LocalDateTime createdAt;
+    private List<LedgerEntryDto> entries = new ArrayList<>();
+
+    // Constructors
+    public PostingDto() {}
+
+    public PostingDto(String transactionId, PostingType postingType, Long fromAccountId, Long toAccountId, BigDecimal amount) {
+        this.transactionId = transactionId;
+        this.postingType = postingType;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public PostingType getPostingType() {
+        return postingType;
+    }
+
+    public void setPostingType(PostingType postingType) {
+        this.postingType = postingType;
+    }
+
+    public Long getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public void setFromAccountId(Long fromAccountId) {
+        this.fromAccountId = fromAccountId;
+    }
+
+    public Long getToAccountId() {
+        return toAccountId;
+    }
+
+    public void setToAccountId(Long toAccountId) {
+        this.toAccountId = toAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(Currency currency) {
+        this.currency = currency;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public List<LedgerEntryDto> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<LedgerEntryDto> entries) {
+        this.entries = entries;
+    }
+}
@@ -0,0 +1,71 @@
+package com.banking.accountservice.entity;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+
+/**
+ * One stripe of a hot account's incoming credits. Credits are spread over the slots so concurrent
+ * writers lock different rows; the slots are folded back into {@link Account#getBalance()} periodically
+ * and whenever a debit needs them. An account's balance is its own balance plus all of its slots.
+ */
+@Entity
+@Table(name = "account_balance_slots", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_account_balance_slots_account_slot", columnNames = {"account_id", "slot"})
+})
+public class AccountBalanceSlot {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+    
+    @Column(nullable = false)
+    private int slot;
+    
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+    
+    // Constructors
+    public AccountBalanceSlot() {}
+    
+    public AccountBalanceSlot(Long accountId, int slot) {
+        this.accountId = accountId;
+        this.slot = slot;
+        this.balance = BigDecimal.ZERO;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getAccountId() {
+        return accountId;
+    }
+    
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+    
+    public int getSlot() {
+        return slot;
+    }
+    
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+    
+    public BigDecimal getBalance() {
+        return balance;
+    }
+    
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+}
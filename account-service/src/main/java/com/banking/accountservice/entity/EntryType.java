@@ -0,0 +1,6 @@
+package com.banking.accountservice.entity;
+
+public enum EntryType {
+    DEBIT,
+    CREDIT
+}
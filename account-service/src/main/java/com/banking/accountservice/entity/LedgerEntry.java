@@ -0,0 +1,102 @@
+package com.banking.accountservice.entity;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One side of a posting. Every posting writes exactly one DEBIT and one CREDIT of the same amount;
+ * a null account id stands for the bank's external settlement account (cash in for deposits,
+ * cash out for withdrawals).
+ */
+@Entity
+@Table(name = "ledger_entries", indexes = {
+    @Index(name = "idx_ledger_entries_account_id", columnList = "account_id, id"),
+    @Index(name = "idx_ledger_entries_posting_id", columnList = "posting_id")
+})
+public class LedgerEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "posting_id", nullable = false)
+    private Long postingId;
+    
+    @Column(name = "account_id")
+    private Long accountId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false)
+    private EntryType entryType;
+    
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    // Constructors
+    public LedgerEntry() {}
+    
+    public LedgerEntry(Long postingId, Long accountId, EntryType entryType, BigDecimal amount) {
+        this.postingId = postingId;
+        this.accountId = accountId;
+        this.entryType = entryType;
+        this.amount = amount;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getPostingId() {
+        return postingId;
+    }
+    
+    public void setPostingId(Long postingId) {
+        this.postingId = postingId;
+    }
+    
+    public Long getAccountId() {
+        return accountId;
+    }
+    
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+    
+    public EntryType getEntryType() {
+        return entryType;
+    }
+    
+    public void setEntryType(EntryType entryType) {
+        this.entryType = entryType;
+    }
+    
+    public BigDecimal getAmount() {
+        return amount;
+    }
+    
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,126 @@
+package com.banking.accountservice.entity;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A balance movement applied on behalf of one transaction-service transaction. The unique
+ * transaction id makes re-delivery of the same transaction a no-op.
+ */
+@Entity
+@Table(name = "postings", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_postings_transaction_id", columnNames = "transaction_id")
+})
+public class Posting {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "transaction_id", nullable = false)
+    private String transactionId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "posting_type", nullable = false)
+    private PostingType postingType;
+    
+    @Column(name = "from_account_id")
+    private Long fromAccountId;
+    
+    @Column(name = "to_account_id")
+    private Long toAccountId;
+    
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Currency currency;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    // Constructors
+    public Posting() {}
+    
+    public Posting(String transactionId, PostingType postingType, Long fromAccountId, Long toAccountId,
+                   BigDecimal amount, Currency currency) {
+        this.transactionId = transactionId;
+        this.postingType = postingType;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.currency = currency;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTransactionId() {
+        return transactionId;
+    }
+    
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+    
+    public PostingType getPostingType() {
+        return postingType;
+    }
+    
+    public void setPostingType(PostingType postingType) {
+        this.postingType = postingType;
+    }
+    
+    public Long getFromAccountId() {
+        return fromAccountId;
+    }
+    
+    public void setFromAccountId(Long fromAccountId) {
+        this.fromAccountId = fromAccountId;
+    }
+    
+    public Long getToAccountId() {
+        return toAccountId;
+    }
+    
+    public void setToAccountId(Long toAccountId) {
+        this.toAccountId = toAccountId;
+    }
+    
+    public BigDecimal getAmount() {
+        return amount;
+    }
+    
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+    
+    public Currency getCurrency() {
+        return currency;
+    }
+    
+    public void setCurrency(Currency currency) {
+        this.currency = currency;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,7 @@
+package com.banking.accountservice.entity;
+
+public enum PostingType {
+    DEPOSIT,
+    WITHDRAWAL,
+    TRANSFER
+}
@@ -0,0 +1,15 @@
+package com.banking.accountservice.exception;
+
+public class InsufficientFundsException extends RuntimeException {
+    
+    private final Long accountId;
+    
+    public InsufficientFundsException(Long accountId) {
+        super("Insufficient funds in account " + accountId);
+        this.accountId = accountId;
+    }
+    
+    public Long getAccountId() {
+        return accountId;
+    }
+}
@@ -0,0 +1,8 @@
+package com.banking.accountservice.exception;
+
+public class PostingRejectedException extends RuntimeException {
+    
+    public PostingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,123 @@
+package com.banking.accountservice.hot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides which accounts are hot from the time writers spend in credit updates. Per window, the summed
+ * update time divided by the window length is the account's occupancy: how much of the window its balance
+ * row was busy, including time spent waiting for other writers' row locks. Accounts above the promote
+ * threshold become hot; hot accounts that stay below the demote threshold for enough consecutive windows
+ * become cold again. The gap between the two thresholds keeps accounts from flapping.
+ */
+public class ContentionTracker {
+
+    private final double promoteOccupancy;
+    private final double demoteOccupancy;
+    private final int demoteAfterWindows;
+
+    private final Map<Long, Window> windows = new ConcurrentHashMap<>();
+    private final Set<Long> hot = ConcurrentHashMap.newKeySet();
+
+    public ContentionTracker(double promoteOccupancy, double demoteOccupancy, int demoteAfterWindows) {
+        if (demoteOccupancy > promoteOccupancy) {
+            throw new IllegalArgumentException("Demote occupancy must not exceed promote occupancy");
+        }
+        this.promoteOccupancy = promoteOccupancy;
+        this.demoteOccupancy = demoteOccupancy;
+        this.demoteAfterWindows = Math.max(1, demoteAfterWindows);
+    }
+
+    public void record(Long accountId, long nanos) {
+        windows.computeIfAbsent(accountId, id -> new Window()).add(nanos);
+    }
+
+    public boolean isHot(Long accountId) {
+        return hot.contains(accountId);
+    }
+
+    public Set<Long> hotAccounts() {
+        return Collections.unmodifiableSet(hot);
+    }
+
+    /**
+     * Marks an account hot; callers do this only once its slot rows exist.
+     */
+    public void markHot(Long accountId) {
+        hot.add(accountId);
+    }
+
+    public void markCold(Long accountId) {
+        hot.remove(accountId);
+    }
+
+    /**
+     * Closes the current window. Accounts returned as promotion candidates are not hot yet; accounts
+     * returned as demoted have already been marked cold. Must be called from a single thread.
+     */
+    public Evaluation evaluate(long windowNanos) {
+        List<Long> promote = new ArrayList<>();
+        List<Long> demote = new ArrayList<>();
+        Iterator<Map.Entry<Long, Window>> iterator = windows.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Window> entry = iterator.next();
+            Long accountId = entry.getKey();
+            Window window = entry.getValue();
+            double occupancy = (double) window.nanos.sumThenReset() / windowNanos;
+            boolean isHot = hot.contains(accountId);
+            if (!isHot) {
+                if (occupancy >= promoteOccupancy) {
+                    promote.add(accountId);
+                } else if (occupancy == 0) {
+                    // Idle cold accounts are forgotten so the map only holds recently written accounts
+                    iterator.remove();
+                }
+                continue;
+            }
+            if (occupancy < demoteOccupancy) {
+                if (++window.coolWindows >= demoteAfterWindows) {
+                    hot.remove(accountId);
+                    iterator.remove();
+                    demote.add(accountId);
+                }
+            } else {
+                window.coolWindows = 0;
+            }
+        }
+        return new Evaluation(promote, demote);
+    }
+
+    private static final class Window {
+        private final LongAdder nanos = new LongAdder();
+        // Only touched by the evaluating thread
+        private int coolWindows;
+
+        void add(long value) {
+            nanos.add(value);
+        }
+    }
+
+    public static final class Evaluation {
+        private final List<Long> promote;
+        private final List<Long> demote;
+
+        Evaluation(List<Long> promote, List<Long> demote) {
+            this.promote = promote;
+            this.demote = demote;
+        }
+
+        public List<Long> getPromote() {
+            return promote;
+        }
+
+        public List<Long> getDemote() {
+            return demote;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.banking.accountservice.mapper;
+
+import com.banking.accountservice.dto.AccountDto;
+import com.banking.accountservice.entity.Account;
+import com.banking.common.mapping.DtoMapper;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AccountMapper implements DtoMapper<Account, AccountDto> {
+
+    @Override
+    public AccountDto toDto(Account account) {
+        AccountDto dto = new AccountDto();
+        dto.setId(account.getId());
+        dto.setUserId(account.getUserId());
+        dto.setAccountNumber(account.getAccountNumber());
+        dto.setAccountType(account.getAccountType());
+        dto.setBalance(account.getBalance());
+        dto.setCurrency(account.getCurrency());
+        dto.setStatus(account.getStatus());
+        dto.setCreatedAt(account.getCreatedAt());
+        dto.setUpdatedAt(account.getUpdatedAt());
+        return dto;
+    }
+}
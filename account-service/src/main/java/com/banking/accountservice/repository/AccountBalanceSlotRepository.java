@@ -0,0 +1,38 @@
+package com.banking.accountservice.repository;
+
+import com.banking.accountservice.entity.AccountBalanceSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlot, Long> {
+    
+    @Query("SELECT s.slot FROM AccountBalanceSlot s WHERE s.accountId = :accountId")
+    List<Integer> findSlotNumbers(@Param("accountId") Long accountId);
+    
+    // Scalar rows rather than entities, so repeated folds in one transaction never see stale cached balances
+    @Query("SELECT s.id, s.balance FROM AccountBalanceSlot s WHERE s.accountId = :accountId AND s.balance > 0 ORDER BY s.id")
+    List<Object[]> findNonEmptySlots(@Param("accountId") Long accountId);
+    
+    @Query("SELECT DISTINCT s.accountId FROM AccountBalanceSlot s WHERE s.balance > 0")
+    List<Long> findAccountIdsWithPendingCredits();
+    
+    @Query("SELECT s.accountId, SUM(s.balance) FROM AccountBalanceSlot s WHERE s.accountId IN :accountIds GROUP BY s.accountId")
+    List<Object[]> sumByAccountIds(@Param("accountIds") Collection<Long> accountIds);
+    
+    @Modifying
+    @Query("UPDATE AccountBalanceSlot s SET s.balance = s.balance + :amount WHERE s.accountId = :accountId AND s.slot = :slot")
+    int credit(@Param("accountId") Long accountId, @Param("slot") int slot, @Param("amount") BigDecimal amount);
+    
+    // Never drains more than the slot holds, so two concurrent folds cannot move the same credit twice
+    @Modifying
+    @Query("UPDATE AccountBalanceSlot s SET s.balance = s.balance - :amount WHERE s.id = :id AND s.balance >= :amount")
+    int drain(@Param("id") Long id, @Param("amount") BigDecimal amount);
+}
@@ -1,21 +1,46 @@
 package com.banking.accountservice.repository;
 
+import com.banking.accountservice.dto.AccountDto;
 import com.banking.accountservice.entity.Account;
 import com.banking.accountservice.entity.AccountStatus;
 import com.banking.accountservice.entity.AccountType;
 import com.banking.accountservice.entity.Currency;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
     
+    // Read-only account lists; the balance is the row's alone, callers add pending hot-account credits on top
+    String DTO_SELECT = "SELECT new com.banking.accountservice.dto.AccountDto(a.id, a.userId, a.accountNumber, " +
+        "a.accountType, a.balance, a.currency, a.status, a.createdAt, a.updatedAt) FROM Account a ";
+    
+    @Query(DTO_SELECT + "WHERE a.userId = :userId")
+    List<AccountDto> findDtosByUserId(@Param("userId") Long userId);
+    
+    @Query(DTO_SELECT + "WHERE a.userId = :userId AND a.status = :status")
+    List<AccountDto> findDtosByUserIdAndStatus(@Param("userId") Long userId, @Param("status") AccountStatus status);
+    
+    @Query(DTO_SELECT + "WHERE a.accountType = :accountType")
+    List<AccountDto> findDtosByAccountType(@Param("accountType") AccountType accountType);
+    
+    @Query(DTO_SELECT + "WHERE a.currency = :currency")
+    List<AccountDto> findDtosByCurrency(@Param("currency") Currency currency);
+    
+    @Query(DTO_SELECT + "WHERE a.status = :status")
+    List<AccountDto> findDtosByStatus(@Param("status") AccountStatus status);
+    
+    @Query(DTO_SELECT + "WHERE a.balance BETWEEN :minBalance AND :maxBalance")
+    List<AccountDto> findDtosByBalanceBetween(@Param("minBalance") BigDecimal minBalance, @Param("maxBalance") BigDecimal maxBalance);
+    
     Optional<Account> findByAccountNumber(String accountNumber);
     
     List<Account> findByUserId(Long userId);
@@ -41,4 +66,27 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     
     @Query("SELECT COUNT(a) FROM Account a WHERE a.userId = :userId AND a.status = :status")
     long countByUserIdAndStatus(@Param("userId") Long userId, @Param("status") AccountStatus status);
+    
+    @Query("SELECT a.currency FROM Account a WHERE a.id = :id")
+    Optional<Currency> findCurrencyById(@Param("id") Long id);
+    
+    // Conditional single-statement updates: the balance check and the write happen under the row lock
+    // the UPDATE takes, so concurrent postings neither lose updates nor overdraw the account.
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance - :amount, a.updatedAt = :now " +
+           "WHERE a.id = :id AND a.currency = :currency AND a.status = com.banking.accountservice.entity.AccountStatus.ACTIVE " +
+           "AND a.balance >= :amount")
+    int debit(@Param("id") Long id, @Param("amount") BigDecimal amount,
+              @Param("currency") Currency currency, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount, a.updatedAt = :now " +
+           "WHERE a.id = :id AND a.currency = :currency AND a.status = com.banking.accountservice.entity.AccountStatus.ACTIVE")
+    int credit(@Param("id") Long id, @Param("amount") BigDecimal amount,
+               @Param("currency") Currency currency, @Param("now") LocalDateTime now);
+    
+    // Folds striped credits back in; the money already belongs to the account, so no status or currency check
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount, a.updatedAt = :now WHERE a.id = :id")
+    int addToBalance(@Param("id") Long id, @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
 }
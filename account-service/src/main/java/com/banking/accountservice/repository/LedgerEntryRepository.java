@@ -0,0 +1,13 @@
+package com.banking.accountservice.repository;
+
+import com.banking.accountservice.entity.LedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+    
+    List<LedgerEntry> findByPostingIdOrderById(Long postingId);
+}
@@ -0,0 +1,13 @@
+package com.banking.accountservice.repository;
+
+import com.banking.accountservice.entity.Posting;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PostingRepository extends JpaRepository<Posting, Long> {
+    
+    Optional<Posting> findByTransactionId(String transactionId);
+}
@@ -0,0 +1,47 @@
+package com.banking.accountservice.service;
+
+import com.banking.accountservice.entity.Currency;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+public interface HotAccountService {
+    
+    /**
+     * Credits a hot account through one of its balance slots instead of its balance row.
+     * Returns false when the account is not hot (or cannot take the credit), and the caller
+     * has to credit the balance row itself.
+     */
+    boolean creditSlot(Long accountId, BigDecimal amount, Currency currency);
+    
+    /**
+     * Feeds contention tracking with the time one credit to the account took.
+     */
+    void recordCredit(Long accountId, long nanos);
+    
+    /**
+     * Moves the account's striped credits into its balance row, in the caller's transaction.
+     *
+     * @return the amount moved
+     */
+    BigDecimal foldSlots(Long accountId);
+    
+    /**
+     * Credits still held in balance slots, for accounts that have any.
+     */
+    Map<Long, BigDecimal> getPendingCredits(Collection<Long> accountIds);
+    
+    Set<Long> getHotAccounts();
+    
+    /**
+     * Puts an account into hot mode without waiting for contention tracking, e.g. for a known busy merchant.
+     */
+    void promote(Long accountId);
+    
+    /**
+     * Takes an account out of hot mode and folds its balance slots.
+     */
+    void demote(Long accountId);
+}
@@ -0,0 +1,14 @@
+package com.banking.accountservice.service;
+
+import com.banking.accountservice.dto.PostingDto;
+
+public interface PostingService {
+    
+    /**
+     * Applies a deposit, withdrawal or transfer to the account balances and records both ledger entries,
+     * all in one database transaction. Posting the same transaction id again returns the original posting.
+     */
+    PostingDto post(PostingDto request);
+    
+    PostingDto getPostingByTransactionId(String transactionId);
+}
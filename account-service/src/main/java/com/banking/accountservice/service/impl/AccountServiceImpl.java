@@ -1,20 +1,30 @@
 package com.banking.accountservice.service.impl;
 
+import com.banking.accountservice.cache.AccountCache;
 import com.banking.accountservice.dto.AccountDto;
 import com.banking.accountservice.entity.Account;
 import com.banking.accountservice.entity.AccountStatus;
 import com.banking.accountservice.entity.AccountType;
 import com.banking.accountservice.entity.Currency;
+import com.banking.accountservice.mapper.AccountMapper;
 import com.banking.accountservice.repository.AccountRepository;
 import com.banking.accountservice.service.AccountService;
+import com.banking.accountservice.service.HotAccountService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.Supplier;
 
 @Service
 @Transactional
@@ -23,6 +33,18 @@ public class AccountServiceImpl implements AccountService {
     @Autowired
     private AccountRepository accountRepository;
     
+    @Autowired
+    private HotAccountService hotAccountService;
+    
+    @Autowired
+    private AccountCache accountCache;
+    
+    @Autowired
+    private AccountMapper accountMapper;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
     @Override
     public AccountDto createAccount(AccountDto accountDto) {
         // Check if account number already exists
@@ -41,83 +63,80 @@ public class AccountServiceImpl implements AccountService {
             accountDto.getAccountType(),
             accountDto.getCurrency()
         );
+        if (accountDto.getBalance() != null) {
+            if (accountDto.getBalance().compareTo(BigDecimal.ZERO) < 0) {
+                throw new RuntimeException("Balance cannot be negative");
+            }
+            account.setBalance(accountDto.getBalance());
+        }
         
         Account savedAccount = accountRepository.save(account);
-        return convertToDto(savedAccount);
+        return accountMapper.toDto(savedAccount);
     }
     
+    // SUPPORTS: a cache hit should not check out a connection; misses open their own snapshot in readAccount
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public AccountDto getAccountById(Long id) {
-        Account account = accountRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Account not found with id: " + id));
-        return convertToDto(account);
+        return accountCache.getById(id, key -> readAccount(() -> accountRepository.findById(key)
+            .orElseThrow(() -> new RuntimeException("Account not found with id: " + key))));
     }
     
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public AccountDto getAccountByNumber(String accountNumber) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-            .orElseThrow(() -> new RuntimeException("Account not found with number: " + accountNumber));
-        return convertToDto(account);
+        return accountCache.getByNumber(accountNumber, key -> readAccount(() -> accountRepository.findByAccountNumber(key)
+            .orElseThrow(() -> new RuntimeException("Account not found with number: " + key))));
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<AccountDto> getAccountsByUserId(Long userId) {
-        return accountRepository.findByUserId(userId).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return applyPendingCredits(accountRepository.findDtosByUserId(userId));
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<AccountDto> getAccountsByUserIdAndStatus(Long userId, AccountStatus status) {
-        return accountRepository.findByUserIdAndStatus(userId, status).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return applyPendingCredits(accountRepository.findDtosByUserIdAndStatus(userId, status));
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<AccountDto> getAccountsByType(AccountType accountType) {
-        return accountRepository.findByAccountType(accountType).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return applyPendingCredits(accountRepository.findDtosByAccountType(accountType));
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<AccountDto> getAccountsByCurrency(Currency currency) {
-        return accountRepository.findByCurrency(currency).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return applyPendingCredits(accountRepository.findDtosByCurrency(currency));
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<AccountDto> getAccountsByStatus(AccountStatus status) {
-        return accountRepository.findByStatus(status).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return applyPendingCredits(accountRepository.findDtosByStatus(status));
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<AccountDto> getAccountsByBalanceRange(BigDecimal minBalance, BigDecimal maxBalance) {
-        return accountRepository.findByBalanceBetween(minBalance, maxBalance).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return applyPendingCredits(accountRepository.findDtosByBalanceBetween(minBalance, maxBalance));
     }
     
     @Override
     public AccountDto updateAccountStatus(Long id, AccountStatus status) {
+        if (status == null) {
+            throw new RuntimeException("Account status is required");
+        }
         Account account = accountRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Account not found with id: " + id));
         
         account.setStatus(status);
         Account updatedAccount = accountRepository.save(account);
-        return convertToDto(updatedAccount);
+        accountCache.invalidate(id);
+        return applyPendingCredits(Collections.singletonList(accountMapper.toDto(updatedAccount))).get(0);
     }
     
     @Override
@@ -126,12 +145,15 @@ public class AccountServiceImpl implements AccountService {
             throw new RuntimeException("Balance cannot be negative");
         }
         
+        // Drain striped credits first, or a later fold would add them on top of the new balance
+        hotAccountService.foldSlots(id);
         Account account = accountRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Account not found with id: " + id));
         
         account.setBalance(newBalance);
         Account updatedAccount = accountRepository.save(account);
-        return convertToDto(updatedAccount);
+        accountCache.invalidate(id);
+        return accountMapper.toDto(updatedAccount);
     }
     
     @Override
@@ -140,6 +162,7 @@ public class AccountServiceImpl implements AccountService {
             throw new RuntimeException("Account not found with id: " + id);
         }
         accountRepository.deleteById(id);
+        accountCache.invalidate(id);
     }
     
     @Override
@@ -178,17 +201,27 @@ public class AccountServiceImpl implements AccountService {
         return generatedNumber;
     }
     
-    private AccountDto convertToDto(Account account) {
-        AccountDto dto = new AccountDto();
-        dto.setId(account.getId());
-        dto.setUserId(account.getUserId());
-        dto.setAccountNumber(account.getAccountNumber());
-        dto.setAccountType(account.getAccountType());
-        dto.setBalance(account.getBalance());
-        dto.setCurrency(account.getCurrency());
-        dto.setStatus(account.getStatus());
-        dto.setCreatedAt(account.getCreatedAt());
-        dto.setUpdatedAt(account.getUpdatedAt());
-        return dto;
+    // The row and its pending slot credits must come from one snapshot, or a concurrent fold is counted twice or not at all
+    private AccountDto readAccount(Supplier<Account> finder) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return template.execute(status -> applyPendingCredits(Collections.singletonList(accountMapper.toDto(finder.get()))).get(0));
+    }
+    
+    // Adds credits still held in balance slots of hot accounts to the reported balance
+    private List<AccountDto> applyPendingCredits(List<AccountDto> dtos) {
+        List<Long> ids = new ArrayList<>(dtos.size());
+        for (AccountDto dto : dtos) {
+            ids.add(dto.getId());
+        }
+        Map<Long, BigDecimal> pending = hotAccountService.getPendingCredits(ids);
+        for (AccountDto dto : dtos) {
+            BigDecimal credits = pending.get(dto.getId());
+            if (credits != null) {
+                dto.setBalance(dto.getBalance().add(credits));
+            }
+        }
+        return dtos;
     }
 }
@@ -0,0 +1,215 @@
+package com.banking.accountservice.service.impl;
+
+import com.banking.accountservice.config.AccountServiceConfig;
+import com.banking.accountservice.entity.Account;
+import com.banking.accountservice.entity.AccountBalanceSlot;
+import com.banking.accountservice.entity.AccountStatus;
+import com.banking.accountservice.entity.Currency;
+import com.banking.accountservice.hot.ContentionTracker;
+import com.banking.accountservice.repository.AccountBalanceSlotRepository;
+import com.banking.accountservice.repository.AccountRepository;
+import com.banking.accountservice.service.HotAccountService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Service
+@Transactional
+public class HotAccountServiceImpl implements HotAccountService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(HotAccountServiceImpl.class);
+    
+    @Autowired
+    private AccountServiceConfig config;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private AccountBalanceSlotRepository slotRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private ContentionTracker tracker;
+    private Counter promotions;
+    private Counter demotions;
+    private volatile long lastEvaluationNanos;
+    
+    @PostConstruct
+    public void start() {
+        tracker = new ContentionTracker(config.getHotAccountPromoteOccupancy(),
+            config.getHotAccountDemoteOccupancy(), config.getHotAccountDemoteAfterWindows());
+        Gauge.builder("account.hot.accounts", tracker, t -> t.hotAccounts().size())
+            .description("Accounts currently taking credits through balance slots")
+            .register(meterRegistry);
+        promotions = Counter.builder("account.hot.promotions").register(meterRegistry);
+        demotions = Counter.builder("account.hot.demotions").register(meterRegistry);
+        lastEvaluationNanos = System.nanoTime();
+    }
+    
+    @Override
+    public boolean creditSlot(Long accountId, BigDecimal amount, Currency currency) {
+        if (!config.isHotAccountEnabled() || !tracker.isHot(accountId)) {
+            return false;
+        }
+        // Slot rows carry no status or currency, so check them with a plain (non-locking) read
+        Optional<Account> account = accountRepository.findById(accountId);
+        if (!account.isPresent() || account.get().getStatus() != AccountStatus.ACTIVE
+                || account.get().getCurrency() != currency) {
+            return false;
+        }
+        int slot = ThreadLocalRandom.current().nextInt(config.getHotAccountSlots());
+        return slotRepository.credit(accountId, slot, amount) == 1;
+    }
+    
+    @Override
+    public void recordCredit(Long accountId, long nanos) {
+        if (config.isHotAccountEnabled()) {
+            tracker.record(accountId, nanos);
+        }
+    }
+    
+    @Override
+    public BigDecimal foldSlots(Long accountId) {
+        BigDecimal moved = BigDecimal.ZERO;
+        for (Object[] row : slotRepository.findNonEmptySlots(accountId)) {
+            BigDecimal amount = (BigDecimal) row[1];
+            if (slotRepository.drain((Long) row[0], amount) == 1) {
+                moved = moved.add(amount);
+            }
+        }
+        if (moved.signum() > 0) {
+            accountRepository.addToBalance(accountId, moved, LocalDateTime.now());
+        }
+        return moved;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> getPendingCredits(Collection<Long> accountIds) {
+        if (!config.isHotAccountEnabled() || accountIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, BigDecimal> pending = new HashMap<>();
+        for (Object[] row : slotRepository.sumByAccountIds(accountIds)) {
+            BigDecimal sum = (BigDecimal) row[1];
+            if (sum != null && sum.signum() != 0) {
+                pending.put((Long) row[0], sum);
+            }
+        }
+        return pending;
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Set<Long> getHotAccounts() {
+        return new HashSet<>(tracker.hotAccounts());
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void promote(Long accountId) {
+        if (!config.isHotAccountEnabled()) {
+            throw new IllegalStateException("Hot account mode is disabled");
+        }
+        ensureSlots(accountId);
+        tracker.markHot(accountId);
+        promotions.increment();
+        logger.info("Account {} is hot; striping its credits over {} balance slots", accountId, config.getHotAccountSlots());
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void demote(Long accountId) {
+        tracker.markCold(accountId);
+        demotions.increment();
+        logger.info("Account {} cooled down; crediting its balance row directly", accountId);
+        foldInOwnTransaction(accountId);
+    }
+    
+    @Scheduled(fixedDelayString = "${account.service.hot-account-window-ms:1000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void evaluateContention() {
+        if (!config.isHotAccountEnabled()) {
+            return;
+        }
+        long now = System.nanoTime();
+        long windowNanos = Math.max(1, now - lastEvaluationNanos);
+        lastEvaluationNanos = now;
+        ContentionTracker.Evaluation evaluation = tracker.evaluate(windowNanos);
+        for (Long accountId : evaluation.getPromote()) {
+            try {
+                promote(accountId);
+            } catch (RuntimeException e) {
+                logger.warn("Could not promote account {} to hot mode: {}", accountId, e.getMessage());
+            }
+        }
+        for (Long accountId : evaluation.getDemote()) {
+            demote(accountId);
+        }
+    }
+    
+    /**
+     * Keeps balance rows close to the true balance so debits rarely need to fold inline. Also drains slots
+     * left behind by a demotion, a restart or another instance.
+     */
+    @Scheduled(fixedDelayString = "${account.service.hot-account-flush-interval-ms:1000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void flushSlots() {
+        for (Long accountId : slotRepository.findAccountIdsWithPendingCredits()) {
+            foldInOwnTransaction(accountId);
+        }
+    }
+    
+    private void foldInOwnTransaction(Long accountId) {
+        try {
+            new TransactionTemplate(transactionManager).execute(status -> foldSlots(accountId));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to fold balance slots of account {}: {}", accountId, e.getMessage());
+        }
+    }
+    
+    private void ensureSlots(Long accountId) {
+        try {
+            new TransactionTemplate(transactionManager).execute(status -> {
+                List<Integer> existing = slotRepository.findSlotNumbers(accountId);
+                for (int slot = 0; slot < config.getHotAccountSlots(); slot++) {
+                    if (!existing.contains(slot)) {
+                        slotRepository.save(new AccountBalanceSlot(accountId, slot));
+                    }
+                }
+                return null;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the slots at the same time
+            logger.debug("Balance slots of account {} were created concurrently", accountId);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.banking.accountservice.service.impl;
+
+import com.banking.accountservice.cache.AccountCache;
+import com.banking.accountservice.dto.LedgerEntryDto;
+import com.banking.accountservice.dto.PostingDto;
+import com.banking.accountservice.entity.AccountStatus;
+import com.banking.accountservice.entity.Currency;
+import com.banking.accountservice.entity.EntryType;
+import com.banking.accountservice.entity.LedgerEntry;
+import com.banking.accountservice.entity.Posting;
+import com.banking.accountservice.entity.PostingType;
+import com.banking.accountservice.exception.InsufficientFundsException;
+import com.banking.accountservice.exception.PostingRejectedException;
+import com.banking.accountservice.repository.AccountRepository;
+import com.banking.accountservice.repository.LedgerEntryRepository;
+import com.banking.accountservice.repository.PostingRepository;
+import com.banking.accountservice.service.HotAccountService;
+import com.banking.accountservice.service.PostingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Moves money with conditional UPDATE statements rather than read-modify-write, so a hot account
+ * never needs a SELECT ... FOR UPDATE and a posting holds its row locks only for the few
+ * statements between the first balance update and commit.
+ */
+@Service
+public class PostingServiceImpl implements PostingService {
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private PostingRepository postingRepository;
+    
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+    
+    @Autowired
+    private HotAccountService hotAccountService;
+    
+    @Autowired
+    private AccountCache accountCache;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Override
+    public PostingDto post(PostingDto request) {
+        validateShape(request);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "posted";
+        try {
+            Optional<Posting> existing = postingRepository.findByTransactionId(request.getTransactionId());
+            if (existing.isPresent()) {
+                outcome = "replayed";
+                return replay(existing.get(), request);
+            }
+            try {
+                return new TransactionTemplate(transactionManager).execute(status -> apply(request));
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent delivery of the same transaction inserted its posting first
+                Posting winner = postingRepository.findByTransactionId(request.getTransactionId()).orElseThrow(() -> e);
+                outcome = "replayed";
+                return replay(winner, request);
+            }
+        } catch (InsufficientFundsException e) {
+            outcome = "insufficient_funds";
+            throw e;
+        } catch (PostingRejectedException e) {
+            outcome = "rejected";
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("account.posting.latency")
+                .tag("type", request.getPostingType().name())
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        }
+    }
+    
+    @Override
+    public PostingDto getPostingByTransactionId(String transactionId) {
+        Posting posting = postingRepository.findByTransactionId(transactionId)
+            .orElseThrow(() -> new RuntimeException("Posting not found for transaction: " + transactionId));
+        return convertToDto(posting, ledgerEntryRepository.findByPostingIdOrderById(posting.getId()));
+    }
+    
+    private PostingDto apply(PostingDto request) {
+        Long fromAccountId = request.getFromAccountId();
+        Long toAccountId = request.getToAccountId();
+        BigDecimal amount = request.getAmount();
+        Currency currency = resolveCurrency(request);
+        
+        // Flushing the posting first turns a duplicate delivery into a constraint violation before any balance moves
+        Posting posting = postingRepository.saveAndFlush(new Posting(
+            request.getTransactionId(), request.getPostingType(), fromAccountId, toAccountId, amount, currency));
+        List<LedgerEntry> entries = ledgerEntryRepository.saveAllAndFlush(Arrays.asList(
+            new LedgerEntry(posting.getId(), fromAccountId, EntryType.DEBIT, amount),
+            new LedgerEntry(posting.getId(), toAccountId, EntryType.CREDIT, amount)));
+        
+        // Balance updates go last so their row locks are held for as short a time as possible, and in
+        // ascending account id order so two opposite transfers between the same accounts cannot deadlock.
+        LocalDateTime now = LocalDateTime.now();
+        if (fromAccountId != null && (toAccountId == null || fromAccountId < toAccountId)) {
+            debit(fromAccountId, amount, currency, now);
+            credit(toAccountId, amount, currency, now);
+        } else {
+            credit(toAccountId, amount, currency, now);
+            debit(fromAccountId, amount, currency, now);
+        }
+        accountCache.invalidate(fromAccountId, toAccountId);
+        return convertToDto(posting, entries);
+    }
+    
+    private void debit(Long accountId, BigDecimal amount, Currency currency, LocalDateTime now) {
+        if (accountId == null || accountRepository.debit(accountId, amount, currency, now) == 1) {
+            return;
+        }
+        // The balance row alone may be short while striped credits of a hot account wait to be folded in
+        if (hotAccountService.foldSlots(accountId).signum() > 0
+                && accountRepository.debit(accountId, amount, currency, now) == 1) {
+            return;
+        }
+        throw rejection(accountId, currency, true);
+    }
+    
+    private void credit(Long accountId, BigDecimal amount, Currency currency, LocalDateTime now) {
+        if (accountId == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        boolean credited = hotAccountService.creditSlot(accountId, amount, currency)
+            || accountRepository.credit(accountId, amount, currency, now) == 1;
+        hotAccountService.recordCredit(accountId, System.nanoTime() - start);
+        if (!credited) {
+            throw rejection(accountId, currency, false);
+        }
+    }
+    
+    // Only reached when a conditional update matched no row, to explain which condition failed
+    private RuntimeException rejection(Long accountId, Currency currency, boolean debit) {
+        return accountRepository.findById(accountId)
+            .<RuntimeException>map(account -> {
+                if (account.getStatus() != AccountStatus.ACTIVE) {
+                    return new PostingRejectedException("Account " + accountId + " is " + account.getStatus());
+                }
+                if (account.getCurrency() != currency) {
+                    return new PostingRejectedException("Account " + accountId + " holds " + account.getCurrency()
+                        + ", posting is in " + currency);
+                }
+                if (debit) {
+                    return new InsufficientFundsException(accountId);
+                }
+                return new PostingRejectedException("Account " + accountId + " could not be credited");
+            })
+            .orElseGet(() -> new PostingRejectedException("Account not found with id: " + accountId));
+    }
+    
+    private Currency resolveCurrency(PostingDto request) {
+        if (request.getCurrency() != null) {
+            return request.getCurrency();
+        }
+        Long accountId = request.getFromAccountId() != null ? request.getFromAccountId() : request.getToAccountId();
+        return accountRepository.findCurrencyById(accountId)
+            .orElseThrow(() -> new PostingRejectedException("Account not found with id: " + accountId));
+    }
+    
+    private void validateShape(PostingDto request) {
+        if (request.getTransactionId() == null || request.getTransactionId().isEmpty()) {
+            throw new PostingRejectedException("Transaction ID is required");
+        }
+        if (request.getPostingType() == null) {
+            throw new PostingRejectedException("Posting type is required");
+        }
+        if (request.getAmount() == null || request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new PostingRejectedException("Amount must be greater than 0");
+        }
+        boolean hasFrom = request.getFromAccountId() != null;
+        boolean hasTo = request.getToAccountId() != null;
+        PostingType type = request.getPostingType();
+        if (type == PostingType.TRANSFER && !(hasFrom && hasTo)) {
+            throw new PostingRejectedException("Transfer requires both from and to accounts");
+        }
+        if (type == PostingType.TRANSFER && request.getFromAccountId().equals(request.getToAccountId())) {
+            throw new PostingRejectedException("Cannot transfer to the same account");
+        }
+        if (type == PostingType.DEPOSIT && (hasFrom || !hasTo)) {
+            throw new PostingRejectedException("Deposit requires only a to account");
+        }
+        if (type == PostingType.WITHDRAWAL && (!hasFrom || hasTo)) {
+            throw new PostingRejectedException("Withdrawal requires only a from account");
+        }
+    }
+    
+    private PostingDto replay(Posting posting, PostingDto request) {
+        boolean same = posting.getPostingType() == request.getPostingType()
+            && posting.getAmount().compareTo(request.getAmount()) == 0
+            && equal(posting.getFromAccountId(), request.getFromAccountId())
+            && equal(posting.getToAccountId(), request.getToAccountId());
+        if (!same) {
+            throw new PostingRejectedException("Transaction " + posting.getTransactionId()
+                + " was already posted with different details");
+        }
+        return convertToDto(posting, ledgerEntryRepository.findByPostingIdOrderById(posting.getId()));
+    }
+    
+    private static boolean equal(Long a, Long b) {
+        return a == null ? b == null : a.equals(b);
+    }
+    
+    private PostingDto convertToDto(Posting posting, List<LedgerEntry> entries) {
+        PostingDto dto = new PostingDto();
+        dto.setId(posting.getId());
+        dto.setTransactionId(posting.getTransactionId());
+        dto.setPostingType(posting.getPostingType());
+        dto.setFromAccountId(posting.getFromAccountId());
+        dto.setToAccountId(posting.getToAccountId());
+        dto.setAmount(posting.getAmount());
+        dto.setCurrency(posting.getCurrency());
+        dto.setCreatedAt(posting.getCreatedAt());
+        dto.setEntries(entries.stream()
+            .map(entry -> new LedgerEntryDto(entry.getId(), entry.getAccountId(), entry.getEntryType(), entry.getAmount()))
+            .collect(Collectors.toList()));
+        return dto;
+    }
+}
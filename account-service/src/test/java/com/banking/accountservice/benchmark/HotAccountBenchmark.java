@@ -0,0 +1,120 @@
+package com.banking.accountservice.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Credit throughput against one balance row versus credits striped over balance slots, for a growing
+ * number of writer threads. Each operation is what a hot-account credit costs in the database: one
+ * conditional UPDATE followed by a commit, holding the row lock until the commit returns.
+ *
+ * In-memory H2 commits are nearly free, so by default each operation also holds its lock for
+ * {@code lockHoldMicros} before committing, standing in for a durable commit (WAL flush, replica
+ * acknowledgement). Set it to 0 and point the benchmark at PostgreSQL to measure the real thing:
+ * mvn -pl account-service -am -Pbenchmark -DskipTests test -Dbenchmark=HotAccountBenchmark \
+ *     -Djdbc.url=jdbc:postgresql://localhost:5432/banking_db -Djdbc.user=banking_user -Djdbc.password=banking_password
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HotAccountBenchmark {
+
+    private static final long ACCOUNT_ID = 1L;
+
+    // 1 is the plain balance row; more slots spread writers over more rows
+    @Param({"1", "16"})
+    public int slots;
+
+    @Param({"200"})
+    public long lockHoldMicros;
+
+    String url;
+    String user;
+    String password;
+
+    @Setup(Level.Trial)
+    public void createTable() throws SQLException {
+        url = System.getProperty("jdbc.url", "jdbc:h2:mem:hot_account_bench;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000");
+        user = System.getProperty("jdbc.user", "sa");
+        password = System.getProperty("jdbc.password", "");
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_balance_slots");
+            statement.execute("CREATE TABLE bench_balance_slots (account_id BIGINT NOT NULL, slot INT NOT NULL, "
+                + "balance NUMERIC(19, 2) NOT NULL, PRIMARY KEY (account_id, slot))");
+            for (int slot = 0; slot < slots; slot++) {
+                statement.execute("INSERT INTO bench_balance_slots VALUES (" + ACCOUNT_ID + ", " + slot + ", 0)");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void dropTable() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE bench_balance_slots");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        Connection connection;
+        PreparedStatement credit;
+
+        @Setup(Level.Trial)
+        public void open(HotAccountBenchmark benchmark) throws SQLException {
+            connection = DriverManager.getConnection(benchmark.url, benchmark.user, benchmark.password);
+            connection.setAutoCommit(false);
+            credit = connection.prepareStatement(
+                "UPDATE bench_balance_slots SET balance = balance + ? WHERE account_id = ? AND slot = ?");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            credit.close();
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int credit1Writer(Writer writer) throws SQLException {
+        return credit(writer);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int credit4Writers(Writer writer) throws SQLException {
+        return credit(writer);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public int credit16Writers(Writer writer) throws SQLException {
+        return credit(writer);
+    }
+
+    private int credit(Writer writer) throws SQLException {
+        writer.credit.setBigDecimal(1, BigDecimal.ONE);
+        writer.credit.setLong(2, ACCOUNT_ID);
+        writer.credit.setInt(3, slots == 1 ? 0 : ThreadLocalRandom.current().nextInt(slots));
+        int updated = writer.credit.executeUpdate();
+        if (lockHoldMicros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(lockHoldMicros));
+        }
+        writer.connection.commit();
+        return updated;
+    }
+}
@@ -0,0 +1,109 @@
+package com.banking.accountservice.cache;
+
+import com.banking.accountservice.config.AccountServiceConfig;
+import com.banking.accountservice.dto.AccountDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountCacheTest {
+
+    @Spy
+    private AccountServiceConfig config = new AccountServiceConfig();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private AccountCacheInvalidationPublisher publisher;
+
+    @InjectMocks
+    private AccountCache accountCache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        accountCache.start();
+    }
+
+    @Test
+    void testGetById_LoadsOnceAndServesCopies() {
+        AccountDto first = accountCache.getById(1L, this::load);
+        first.setBalance(BigDecimal.ZERO);
+        AccountDto second = accountCache.getById(1L, this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals(0, new BigDecimal("10.00").compareTo(second.getBalance()));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "accounts").tag("result", "hit")
+            .functionCounter().count());
+    }
+
+    @Test
+    void testGetByNumber_UsesEntryCachedById() {
+        accountCache.getById(1L, this::load);
+
+        AccountDto byNumber = accountCache.getByNumber("ACC1", number -> fail("should be served from cache"));
+
+        assertEquals(Long.valueOf(1L), byNumber.getId());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testInvalidate_EvictsAndNotifiesPeers() {
+        accountCache.getById(1L, this::load);
+
+        accountCache.invalidate(1L);
+        accountCache.getByNumber("ACC1", number -> load(1L));
+
+        assertEquals(2, loads.get());
+        verify(publisher).publish(Collections.singletonList(1L));
+    }
+
+    @Test
+    void testLoadOverlappingInvalidation_IsNotCached() {
+        accountCache.getById(1L, id -> {
+            AccountDto stale = load(id);
+            // A write commits while this load is in flight
+            accountCache.invalidateLocal(Collections.singletonList(2L));
+            return stale;
+        });
+        accountCache.getById(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testDisabled_AlwaysLoads() {
+        config.setCacheEnabled(false);
+
+        accountCache.getById(1L, this::load);
+        accountCache.getById(1L, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, accountCache.size());
+    }
+
+    private AccountDto load(Long id) {
+        loads.incrementAndGet();
+        AccountDto dto = new AccountDto();
+        dto.setId(id);
+        dto.setAccountNumber("ACC" + id);
+        dto.setBalance(new BigDecimal("10.00"));
+        return dto;
+    }
+}
@@ -0,0 +1,53 @@
+package com.banking.accountservice.hot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentionTrackerTest {
+
+    private static final long WINDOW = 1_000_000_000L;
+
+    @Test
+    void testEvaluate_PromotesOnlyAboveThreshold() {
+        ContentionTracker tracker = new ContentionTracker(0.5, 0.05, 3);
+        tracker.record(1L, 700_000_000L);
+        tracker.record(2L, 100_000_000L);
+
+        ContentionTracker.Evaluation evaluation = tracker.evaluate(WINDOW);
+
+        assertEquals(Collections.singletonList(1L), evaluation.getPromote());
+        assertTrue(evaluation.getDemote().isEmpty());
+        // Candidates only become hot once the caller marks them
+        assertFalse(tracker.isHot(1L));
+    }
+
+    @Test
+    void testEvaluate_DemotesAfterConsecutiveCoolWindows() {
+        ContentionTracker tracker = new ContentionTracker(0.5, 0.05, 3);
+        tracker.markHot(1L);
+
+        tracker.record(1L, 10_000_000L);
+        assertTrue(tracker.evaluate(WINDOW).getDemote().isEmpty());
+        tracker.record(1L, 10_000_000L);
+        assertTrue(tracker.evaluate(WINDOW).getDemote().isEmpty());
+        // A busy window in between resets the count
+        tracker.record(1L, 200_000_000L);
+        assertTrue(tracker.evaluate(WINDOW).getDemote().isEmpty());
+        for (int i = 0; i < 2; i++) {
+            tracker.record(1L, 10_000_000L);
+            assertTrue(tracker.evaluate(WINDOW).getDemote().isEmpty());
+        }
+        tracker.record(1L, 10_000_000L);
+
+        assertEquals(Collections.singletonList(1L), tracker.evaluate(WINDOW).getDemote());
+        assertFalse(tracker.isHot(1L));
+    }
+
+    @Test
+    void testConstructor_RejectsInvertedThresholds() {
+        assertThrows(IllegalArgumentException.class, () -> new ContentionTracker(0.1, 0.5, 3));
+    }
+}
@@ -0,0 +1,112 @@
+package com.banking.accountservice.integration;
+
+import com.banking.accountservice.cache.AccountCache;
+import com.banking.accountservice.controller.AccountCacheController;
+import com.banking.accountservice.dto.AccountDto;
+import com.banking.accountservice.dto.PostingDto;
+import com.banking.accountservice.entity.AccountStatus;
+import com.banking.accountservice.entity.AccountType;
+import com.banking.accountservice.entity.Currency;
+import com.banking.accountservice.entity.PostingType;
+import com.banking.accountservice.repository.AccountRepository;
+import com.banking.accountservice.service.AccountService;
+import com.banking.accountservice.service.PostingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AccountCacheIntegrationTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private PostingService postingService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private AccountCacheController accountCacheController;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> openedAccounts = new ArrayList<>();
+
+    @Test
+    void testWrites_InvalidateCachedAccount() {
+        Long id = openAccount();
+        assertEquals(0, BigDecimal.ZERO.compareTo(accountService.getAccountById(id).getBalance()));
+
+        accountService.updateAccountBalance(id, new BigDecimal("50.00"));
+        assertEquals(0, new BigDecimal("50.00").compareTo(accountService.getAccountById(id).getBalance()));
+
+        postingService.post(new PostingDto("TXN-" + UUID.randomUUID(), PostingType.WITHDRAWAL, id, null, new BigDecimal("20.00")));
+        AccountDto byNumber = accountService.getAccountByNumber(accountService.getAccountById(id).getAccountNumber());
+        assertEquals(0, new BigDecimal("30.00").compareTo(byNumber.getBalance()));
+
+        accountService.updateAccountStatus(id, AccountStatus.SUSPENDED);
+        assertEquals(AccountStatus.SUSPENDED, accountService.getAccountById(id).getStatus());
+    }
+
+    @Test
+    void testCachedRead_DoesNotSeeUntrackedWriteUntilInvalidated() {
+        Long id = openAccount();
+        accountService.getAccountById(id);
+
+        // A write this instance did not make, as if another replica changed the row
+        new TransactionTemplate(transactionManager).execute(status ->
+            accountRepository.addToBalance(id, new BigDecimal("5.00"), LocalDateTime.now()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(accountService.getAccountById(id).getBalance()));
+
+        accountCacheController.invalidate(Collections.singletonList(id));
+        assertEquals(0, new BigDecimal("5.00").compareTo(accountService.getAccountById(id).getBalance()));
+    }
+
+    @Test
+    void testDeletedAccount_IsNotServedFromCache() {
+        Long id = openAccount();
+        accountService.getAccountById(id);
+
+        accountService.deleteAccount(id);
+        openedAccounts.remove(id);
+
+        assertThrows(RuntimeException.class, () -> accountService.getAccountById(id));
+    }
+
+    @AfterEach
+    void tearDown() {
+        openedAccounts.forEach(accountService::deleteAccount);
+        accountCache.invalidateAll();
+    }
+
+    private Long openAccount() {
+        AccountDto account = new AccountDto();
+        account.setUserId(902L);
+        account.setAccountNumber(accountService.generateAccountNumber());
+        account.setAccountType(AccountType.CHECKING);
+        account.setCurrency(Currency.USD);
+        Long id = accountService.createAccount(account).getId();
+        openedAccounts.add(id);
+        return id;
+    }
+}
@@ -0,0 +1,125 @@
+package com.banking.accountservice.integration;
+
+import com.banking.accountservice.dto.AccountDto;
+import com.banking.accountservice.dto.PostingDto;
+import com.banking.accountservice.entity.AccountType;
+import com.banking.accountservice.entity.Currency;
+import com.banking.accountservice.entity.PostingType;
+import com.banking.accountservice.repository.AccountRepository;
+import com.banking.accountservice.service.AccountService;
+import com.banking.accountservice.service.HotAccountService;
+import com.banking.accountservice.service.PostingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class HotAccountIntegrationTest {
+
+    @Autowired
+    private PostingService postingService;
+
+    @Autowired
+    private AccountService accountService;
+
+    private final List<Long> openedAccounts = new ArrayList<>();
+
+    @Autowired
+    private HotAccountService hotAccountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void testConcurrentCreditsToHotAccount_BalanceIncludesSlots() throws Exception {
+        Long merchant = openAccount();
+        hotAccountService.promote(merchant);
+        assertTrue(hotAccountService.getHotAccounts().contains(merchant));
+
+        int threads = 8;
+        int perThread = 25;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    postingService.post(new PostingDto(txId(), PostingType.DEPOSIT, null, merchant, BigDecimal.ONE));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(0, new BigDecimal("200").compareTo(accountService.getAccountById(merchant).getBalance()));
+        assertTrue(accountRepository.findById(merchant).get().getBalance().compareTo(new BigDecimal("200")) <= 0);
+    }
+
+    @Test
+    void testDebitOfHotAccount_FoldsSlotsWhenBalanceRowIsShort() {
+        Long merchant = openAccount();
+        hotAccountService.promote(merchant);
+        postingService.post(new PostingDto(txId(), PostingType.DEPOSIT, null, merchant, new BigDecimal("40.00")));
+        postingService.post(new PostingDto(txId(), PostingType.DEPOSIT, null, merchant, new BigDecimal("60.00")));
+
+        // Spends every credit whether or not the background flush has folded them yet
+        postingService.post(new PostingDto(txId(), PostingType.WITHDRAWAL, merchant, null, new BigDecimal("100.00")));
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(accountService.getAccountById(merchant).getBalance()));
+    }
+
+    @Test
+    void testDemote_FoldsSlotsIntoBalanceRow() {
+        Long merchant = openAccount();
+        hotAccountService.promote(merchant);
+        postingService.post(new PostingDto(txId(), PostingType.DEPOSIT, null, merchant, new BigDecimal("15.00")));
+
+        hotAccountService.demote(merchant);
+
+        assertFalse(hotAccountService.getHotAccounts().contains(merchant));
+        assertEquals(0, new BigDecimal("15.00").compareTo(accountRepository.findById(merchant).get().getBalance()));
+        assertTrue(hotAccountService.getPendingCredits(Collections.singletonList(merchant)).isEmpty());
+    }
+
+    // Postings commit for real, so remove the accounts again to keep other integration tests' queries exact
+    @AfterEach
+    void tearDown() {
+        openedAccounts.forEach(accountService::deleteAccount);
+    }
+
+    private Long openAccount() {
+        AccountDto account = new AccountDto();
+        account.setUserId(901L);
+        account.setAccountNumber(accountService.generateAccountNumber());
+        account.setAccountType(AccountType.BUSINESS);
+        account.setCurrency(Currency.USD);
+        Long id = accountService.createAccount(account).getId();
+        openedAccounts.add(id);
+        return id;
+    }
+
+    private static String txId() {
+        return "TXN-" + UUID.randomUUID();
+    }
+}
@@ -0,0 +1,177 @@
+package com.banking.accountservice.integration;
+
+import com.banking.accountservice.dto.AccountDto;
+import com.banking.accountservice.dto.LedgerEntryDto;
+import com.banking.accountservice.dto.PostingDto;
+import com.banking.accountservice.entity.AccountType;
+import com.banking.accountservice.entity.Currency;
+import com.banking.accountservice.entity.EntryType;
+import com.banking.accountservice.entity.PostingType;
+import com.banking.accountservice.exception.InsufficientFundsException;
+import com.banking.accountservice.exception.PostingRejectedException;
+import com.banking.accountservice.service.AccountService;
+import com.banking.accountservice.service.PostingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: postings commit on their own and the concurrency test needs real commits
+@SpringBootTest
+@ActiveProfiles("test")
+class PostingServiceIntegrationTest {
+
+    @Autowired
+    private PostingService postingService;
+
+    @Autowired
+    private AccountService accountService;
+
+    private final List<Long> openedAccounts = new ArrayList<>();
+
+    @Test
+    void testDepositAndTransfer_WritesBalancedEntries() {
+        Long source = openAccount(Currency.USD);
+        Long target = openAccount(Currency.USD);
+
+        postingService.post(new PostingDto(txId(), PostingType.DEPOSIT, null, source, new BigDecimal("500.00")));
+        PostingDto transfer = postingService.post(
+            new PostingDto(txId(), PostingType.TRANSFER, source, target, new BigDecimal("120.50")));
+
+        assertEquals(0, new BigDecimal("379.50").compareTo(balanceOf(source)));
+        assertEquals(0, new BigDecimal("120.50").compareTo(balanceOf(target)));
+        assertEquals(Currency.USD, transfer.getCurrency());
+        assertEquals(2, transfer.getEntries().size());
+        LedgerEntryDto debit = transfer.getEntries().get(0);
+        LedgerEntryDto credit = transfer.getEntries().get(1);
+        assertEquals(EntryType.DEBIT, debit.getEntryType());
+        assertEquals(source, debit.getAccountId());
+        assertEquals(EntryType.CREDIT, credit.getEntryType());
+        assertEquals(target, credit.getAccountId());
+        assertEquals(0, debit.getAmount().compareTo(credit.getAmount()));
+    }
+
+    @Test
+    void testWithdrawal_InsufficientFunds_LeavesNoTrace() {
+        Long account = openAccount(Currency.USD);
+        postingService.post(new PostingDto(txId(), PostingType.DEPOSIT, null, account, new BigDecimal("50.00")));
+        String transactionId = txId();
+
+        assertThrows(InsufficientFundsException.class, () -> postingService.post(
+            new PostingDto(transactionId, PostingType.WITHDRAWAL, account, null, new BigDecimal("50.01"))));
+
+        assertEquals(0, new BigDecimal("50.00").compareTo(balanceOf(account)));
+        assertThrows(RuntimeException.class, () -> postingService.getPostingByTransactionId(transactionId));
+    }
+
+    @Test
+    void testTransfer_CreditFailure_RollsBackDebit() {
+        Long source = openAccount(Currency.USD);
+        Long euroAccount = openAccount(Currency.EUR);
+        postingService.post(new PostingDto(txId(), PostingType.DEPOSIT, null, source, new BigDecimal("80.00")));
+
+        assertThrows(PostingRejectedException.class, () -> postingService.post(
+            new PostingDto(txId(), PostingType.TRANSFER, source, euroAccount, new BigDecimal("10.00"))));
+        assertThrows(PostingRejectedException.class, () -> postingService.post(
+            new PostingDto(txId(), PostingType.TRANSFER, source, Long.MAX_VALUE, new BigDecimal("10.00"))));
+
+        assertEquals(0, new BigDecimal("80.00").compareTo(balanceOf(source)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(balanceOf(euroAccount)));
+    }
+
+    @Test
+    void testPost_SameTransactionIdTwice_AppliesOnce() {
+        Long account = openAccount(Currency.USD);
+        String transactionId = txId();
+        PostingDto deposit = new PostingDto(transactionId, PostingType.DEPOSIT, null, account, new BigDecimal("25.00"));
+
+        PostingDto first = postingService.post(deposit);
+        PostingDto second = postingService.post(deposit);
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals(0, new BigDecimal("25.00").compareTo(balanceOf(account)));
+        assertThrows(PostingRejectedException.class, () -> postingService.post(
+            new PostingDto(transactionId, PostingType.DEPOSIT, null, account, new BigDecimal("30.00"))));
+    }
+
+    @Test
+    void testConcurrentTransfers_FromHotAccount_NoLostUpdatesOrOverdraft() throws Exception {
+        Long hot = openAccount(Currency.USD);
+        Long sinkA = openAccount(Currency.USD);
+        Long sinkB = openAccount(Currency.USD);
+        postingService.post(new PostingDto(txId(), PostingType.DEPOSIT, null, hot, new BigDecimal("100.00")));
+
+        int threads = 8;
+        int perThread = 25;
+        AtomicInteger posted = new AtomicInteger();
+        AtomicInteger declined = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            // Alternate sinks so some transfers lock the hot row first and others second
+            Long sink = t % 2 == 0 ? sinkA : sinkB;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    try {
+                        postingService.post(new PostingDto(txId(), PostingType.TRANSFER, hot, sink, BigDecimal.ONE));
+                        posted.incrementAndGet();
+                    } catch (InsufficientFundsException e) {
+                        declined.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(100, posted.get());
+        assertEquals(threads * perThread - 100, declined.get());
+        assertEquals(0, BigDecimal.ZERO.compareTo(balanceOf(hot)));
+        assertEquals(0, new BigDecimal("100").compareTo(balanceOf(sinkA).add(balanceOf(sinkB))));
+    }
+
+    // Postings commit for real, so remove the accounts again to keep other integration tests' queries exact
+    @AfterEach
+    void tearDown() {
+        openedAccounts.forEach(accountService::deleteAccount);
+    }
+
+    private Long openAccount(Currency currency) {
+        AccountDto account = new AccountDto();
+        account.setUserId(900L);
+        account.setAccountNumber(accountService.generateAccountNumber());
+        account.setAccountType(AccountType.CHECKING);
+        account.setCurrency(currency);
+        Long id = accountService.createAccount(account).getId();
+        openedAccounts.add(id);
+        return id;
+    }
+
+    private BigDecimal balanceOf(Long accountId) {
+        return accountService.getAccountById(accountId).getBalance();
+    }
+
+    private static String txId() {
+        return "TXN-" + UUID.randomUUID();
+    }
+}
@@ -0,0 +1,72 @@
+package com.banking.gateway.config;
+
+import com.banking.gateway.path.SecurityClass;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "security.paths")
+public class PathPolicyProperties {
+
+    private SecurityClass defaultSecurity = SecurityClass.AUTHENTICATED;
+    private boolean defaultNoStore = false;
+    private List<Rule> rules = new ArrayList<>();
+
+    public SecurityClass getDefaultSecurity() {
+        return defaultSecurity;
+    }
+
+    public void setDefaultSecurity(SecurityClass defaultSecurity) {
+        this.defaultSecurity = defaultSecurity;
+    }
+
+    public boolean isDefaultNoStore() {
+        return defaultNoStore;
+    }
+
+    public void setDefaultNoStore(boolean defaultNoStore) {
+        this.defaultNoStore = defaultNoStore;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    public static class Rule {
+
+        private String pattern;
+        private SecurityClass security = SecurityClass.AUTHENTICATED;
+        private boolean noStore = true;
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public SecurityClass getSecurity() {
+            return security;
+        }
+
+        public void setSecurity(SecurityClass security) {
+            this.security = security;
+        }
+
+        public boolean isNoStore() {
+            return noStore;
+        }
+
+        public void setNoStore(boolean noStore) {
+            this.noStore = noStore;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.banking.gateway.config;
+
+import com.banking.gateway.ratelimit.RateLimit;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private int maxClients = 100000;
+    private long sweepIntervalMillis = 60000;
+    private boolean enableUserBasedThrottling = true;
+    private boolean enableIpBasedThrottling = true;
+    private int requestsPerMinute = 60;
+    private int requestsPerHour = 1000;
+    private int requestsPerDay = 10000;
+    private Map<String, RouteLimits> routes = new HashMap<>();
+    private Distributed distributed = new Distributed();
+
+    // Route settings override the defaults window by window; a route without settings gets the defaults
+    public RateLimit limitFor(String routeId) {
+        RouteLimits route = routes.get(routeId);
+        if (route == null) {
+            return RateLimit.of(requestsPerMinute, requestsPerHour, requestsPerDay);
+        }
+        return RateLimit.of(
+            route.getRequestsPerMinute() != null ? route.getRequestsPerMinute() : requestsPerMinute,
+            route.getRequestsPerHour() != null ? route.getRequestsPerHour() : requestsPerHour,
+            route.getRequestsPerDay() != null ? route.getRequestsPerDay() : requestsPerDay);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxClients() {
+        return maxClients;
+    }
+
+    public void setMaxClients(int maxClients) {
+        this.maxClients = maxClients;
+    }
+
+    public long getSweepIntervalMillis() {
+        return sweepIntervalMillis;
+    }
+
+    public void setSweepIntervalMillis(long sweepIntervalMillis) {
+        this.sweepIntervalMillis = sweepIntervalMillis;
+    }
+
+    public boolean isEnableUserBasedThrottling() {
+        return enableUserBasedThrottling;
+    }
+
+    public void setEnableUserBasedThrottling(boolean enableUserBasedThrottling) {
+        this.enableUserBasedThrottling = enableUserBasedThrottling;
+    }
+
+    public boolean isEnableIpBasedThrottling() {
+        return enableIpBasedThrottling;
+    }
+
+    public void setEnableIpBasedThrottling(boolean enableIpBasedThrottling) {
+        this.enableIpBasedThrottling = enableIpBasedThrottling;
+    }
+
+    public int getRequestsPerMinute() {
+        return requestsPerMinute;
+    }
+
+    public void setRequestsPerMinute(int requestsPerMinute) {
+        this.requestsPerMinute = requestsPerMinute;
+    }
+
+    public int getRequestsPerHour() {
+        return requestsPerHour;
+    }
+
+    public void setRequestsPerHour(int requestsPerHour) {
+        this.requestsPerHour = requestsPerHour;
+    }
+
+    public int getRequestsPerDay() {
+        return requestsPerDay;
+    }
+
+    public void setRequestsPerDay(int requestsPerDay) {
+        this.requestsPerDay = requestsPerDay;
+    }
+
+    public Map<String, RouteLimits> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, RouteLimits> routes) {
+        this.routes = routes;
+    }
+
+    public Distributed getDistributed() {
+        return distributed;
+    }
+
+    public void setDistributed(Distributed distributed) {
+        this.distributed = distributed;
+    }
+
+    /**
+     * Per-route overrides, keyed by gateway route id. Unset windows fall back to the defaults and 0 switches one off.
+     */
+    public static class RouteLimits {
+
+        private Integer requestsPerMinute;
+        private Integer requestsPerHour;
+        private Integer requestsPerDay;
+
+        public Integer getRequestsPerMinute() {
+            return requestsPerMinute;
+        }
+
+        public void setRequestsPerMinute(Integer requestsPerMinute) {
+            this.requestsPerMinute = requestsPerMinute;
+        }
+
+        public Integer getRequestsPerHour() {
+            return requestsPerHour;
+        }
+
+        public void setRequestsPerHour(Integer requestsPerHour) {
+            this.requestsPerHour = requestsPerHour;
+        }
+
+        public Integer getRequestsPerDay() {
+            return requestsPerDay;
+        }
+
+        public void setRequestsPerDay(Integer requestsPerDay) {
+            this.requestsPerDay = requestsPerDay;
+        }
+    }
+
+    /**
+     * Cluster-wide limits: instances lease quota batches of leaseRatio x limit from a shared store.
+     */
+    public static class Distributed {
+
+        private boolean enabled = false;
+        private String store = "jdbc";
+        private double leaseRatio = 0.02;
+        private long storeRetryMillis = 5000;
+        private Jdbc jdbc = new Jdbc();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getStore() {
+            return store;
+        }
+
+        public void setStore(String store) {
+            this.store = store;
+        }
+
+        public double getLeaseRatio() {
+            return leaseRatio;
+        }
+
+        public void setLeaseRatio(double leaseRatio) {
+            this.leaseRatio = leaseRatio;
+        }
+
+        public long getStoreRetryMillis() {
+            return storeRetryMillis;
+        }
+
+        public void setStoreRetryMillis(long storeRetryMillis) {
+            this.storeRetryMillis = storeRetryMillis;
+        }
+
+        public Jdbc getJdbc() {
+            return jdbc;
+        }
+
+        public void setJdbc(Jdbc jdbc) {
+            this.jdbc = jdbc;
+        }
+    }
+
+    public static class Jdbc {
+
+        private String url;
+        private String username;
+        private String password;
+        private int poolSize = 4;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.banking.gateway.config;
+
+import com.banking.gateway.ratelimit.DistributedRateLimiter;
+import com.banking.gateway.ratelimit.InMemoryQuotaStore;
+import com.banking.gateway.ratelimit.JdbcQuotaStore;
+import com.banking.gateway.ratelimit.QuotaStore;
+import com.banking.gateway.ratelimit.RateLimiter;
+import com.banking.gateway.ratelimit.SlidingWindowRateLimiter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class RateLimiterConfig {
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    // Per-instance limits, or cluster-wide ones when a QuotaStore is configured
+    @Bean
+    public RateLimiter rateLimiter(ObjectProvider<QuotaStore> quotaStore) {
+        SlidingWindowRateLimiter local = new SlidingWindowRateLimiter(
+            properties.getMaxClients(), properties.getSweepIntervalMillis());
+        QuotaStore store = quotaStore.getIfAvailable();
+        if (store == null) {
+            return local;
+        }
+        return new DistributedRateLimiter(store, local, properties.getDistributed().getLeaseRatio(),
+            properties.getMaxClients(), properties.getDistributed().getStoreRetryMillis(), Schedulers.boundedElastic());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.distributed.enabled", havingValue = "true")
+    public QuotaStore quotaStore(ObjectProvider<HikariDataSource> rateLimitDataSource) {
+        String store = properties.getDistributed().getStore();
+        if ("in-memory".equals(store)) {
+            return new InMemoryQuotaStore();
+        }
+        if ("jdbc".equals(store)) {
+            return new JdbcQuotaStore(rateLimitDataSource.getObject());
+        }
+        throw new IllegalArgumentException("Unknown rate-limit.distributed.store: " + store);
+    }
+
+    // The only DataSource of the gateway, so Flyway's auto-configuration migrates it and nothing else
+    @Bean(destroyMethod = "close")
+    @ConditionalOnExpression("${rate-limit.distributed.enabled:false} and '${rate-limit.distributed.store:jdbc}' == 'jdbc'")
+    public HikariDataSource rateLimitDataSource() {
+        RateLimitProperties.Jdbc jdbc = properties.getDistributed().getJdbc();
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("rate-limit");
+        dataSource.setJdbcUrl(jdbc.getUrl());
+        dataSource.setUsername(jdbc.getUsername());
+        dataSource.setPassword(jdbc.getPassword());
+        dataSource.setMaximumPoolSize(jdbc.getPoolSize());
+        return dataSource;
+    }
+}
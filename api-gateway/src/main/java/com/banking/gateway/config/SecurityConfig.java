@@ -1,5 +1,8 @@
 package com.banking.gateway.config;
 
+import com.banking.gateway.path.PathPolicyMatcher;
+import com.banking.gateway.security.JwtTokenVerifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
@@ -32,6 +35,20 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Verified tokens are cached until their exp claim, so repeat calls skip parsing and the HMAC check
+    @Bean
+    public JwtTokenVerifier jwtTokenVerifier(@Value("${jwt.secret:defaultSecretKey}") String jwtSecret,
+                                             @Value("${jwt.cache.max-size:100000}") long maxCachedTokens,
+                                             @Value("${jwt.expiration:86400000}") long jwtExpiration) {
+        return new JwtTokenVerifier(jwtSecret, maxCachedTokens, jwtExpiration);
+    }
+
+    // Path rules are compiled into a trie once, so filters classify a request in one walk over its segments
+    @Bean
+    public PathPolicyMatcher pathPolicyMatcher(PathPolicyProperties pathPolicyProperties) {
+        return new PathPolicyMatcher(pathPolicyProperties);
+    }
+
     @Bean
     public ServerSecurityContextRepository securityContextRepository() {
         return new WebSessionServerSecurityContextRepository();
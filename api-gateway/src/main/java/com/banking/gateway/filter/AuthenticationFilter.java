@@ -1,56 +1,68 @@
 package com.banking.gateway.filter;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
+import com.banking.gateway.path.PathPolicyMatcher;
+import com.banking.gateway.path.SecurityClass;
+import com.banking.gateway.security.JwtTokenVerifier;
+import com.banking.gateway.security.VerifiedToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.Arrays;
-import java.util.List;
-
-// @Component  // Temporarily disabled for testing
+@Component
 public class AuthenticationFilter implements GlobalFilter, Ordered {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthenticationFilter.class);
+
+    private static final String[] USER_HEADERS = {"X-User-ID", "X-User-Role", "X-User-Email"};
     
-    @Value("${jwt.secret:defaultSecretKey}")
-    private String jwtSecret;
-    
-    @Value("${jwt.expiration:86400000}")
-    private long jwtExpiration;
+    @Autowired
+    private JwtTokenVerifier tokenVerifier;
     
-    // Public endpoints that don't require authentication
-    private static final List<String> PUBLIC_ENDPOINTS = Arrays.asList(
-            "/api/users/register",
-            "/api/users/login",
-            "/api/users/forgot-password",
-            "/api/users",  // Allow user creation without authentication
-            "/api/accounts",  // Allow account operations without authentication
-            "/api/accounts/",  // Allow account operations without authentication
-            "/api/accounts/actuator",  // Allow health checks
-            "/health",
-            "/info"
-    );
+    @Autowired
+    private PathPolicyMatcher pathPolicyMatcher;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
-        String path = request.getPath().value();
+        String path = pathToClassify(request.getPath());
+        if (path == null) {
+            logger.warn("Refused request with an encoded separator in its path: {}", request.getPath().value());
+            exchange.getResponse().setStatusCode(HttpStatus.BAD_REQUEST);
+            return exchange.getResponse().setComplete();
+        }
         
-        // Skip authentication for public endpoints
-        if (isPublicEndpoint(path)) {
-            return chain.filter(exchange);
+        SecurityClass securityClass = pathPolicyMatcher.match(path).getSecurityClass();
+        if (securityClass == SecurityClass.DENIED) {
+            logger.warn("Refused request to internal endpoint: {}", path);
+            exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
+            return exchange.getResponse().setComplete();
+        }
+
+        // Skip authentication for public endpoints, but never pass on an identity the client made up
+        if (securityClass == SecurityClass.PUBLIC) {
+            if (!hasUserHeaders(request.getHeaders())) {
+                return chain.filter(exchange);
+            }
+            ServerHttpRequest stripped = request.mutate()
+                    .headers(headers -> {
+                        for (String name : USER_HEADERS) {
+                            headers.remove(name);
+                        }
+                    })
+                    .build();
+            return chain.filter(exchange.mutate().request(stripped).build());
         }
         
         String token = getTokenFromRequest(request);
@@ -61,32 +73,77 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
             return exchange.getResponse().setComplete();
         }
         
-        try {
-            Claims claims = validateToken(token);
-            if (claims != null) {
-                // Add user context to headers
-                ServerHttpRequest modifiedRequest = request.mutate()
-                        .header("X-User-ID", claims.getSubject())
-                        .header("X-User-Role", claims.get("role", String.class))
-                        .header("X-User-Email", claims.get("email", String.class))
-                        .build();
-                
-                ServerWebExchange modifiedExchange = exchange.mutate().request(modifiedRequest).build();
-                return chain.filter(modifiedExchange);
-            } else {
-                logger.warn("Invalid JWT token for request to: {}", path);
-                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-                return exchange.getResponse().setComplete();
-            }
-        } catch (Exception e) {
-            logger.error("Error validating JWT token: {}", e.getMessage());
+        VerifiedToken verified = tokenVerifier.verify(token);
+        if (verified == null) {
+            logger.warn("Invalid JWT token for request to: {}", path);
             exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
             return exchange.getResponse().setComplete();
         }
+
+        if (securityClass == SecurityClass.ADMIN && !"ADMIN".equalsIgnoreCase(verified.getRole())) {
+            logger.warn("User {} without admin role denied access to: {}", verified.getUserId(), path);
+            exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
+            return exchange.getResponse().setComplete();
+        }
+
+        // Add user context to headers, replacing anything the client sent under the same names
+        ServerHttpRequest modifiedRequest = request.mutate()
+                .headers(headers -> {
+                    setOrRemove(headers, "X-User-ID", verified.getUserId());
+                    setOrRemove(headers, "X-User-Role", verified.getRole());
+                    setOrRemove(headers, "X-User-Email", verified.getEmail());
+                })
+                .build();
+        return chain.filter(exchange.mutate().request(modifiedRequest).build());
     }
 
-    private boolean isPublicEndpoint(String path) {
-        return PUBLIC_ENDPOINTS.stream().anyMatch(path::startsWith);
+    /**
+     * The services behind the gateway drop ;parameters and percent-decode each segment before matching, so the
+     * policy is looked up on that form; otherwise /x/internal;a=b or /x/%69nternal would slip past the DENIED
+     * rules. Encoded slashes and backslashes would change the segments once decoded and are refused outright.
+     *
+     * @return the decoded path without parameters, or null if the request must be refused
+     */
+    static String pathToClassify(RequestPath path) {
+        StringBuilder decoded = new StringBuilder(path.value().length());
+        for (PathContainer.Element element : path.elements()) {
+            if (!(element instanceof PathContainer.PathSegment)) {
+                decoded.append(element.value());
+                continue;
+            }
+            String raw = element.value();
+            if (raw.indexOf('\\') >= 0 || containsIgnoreCase(raw, "%2f") || containsIgnoreCase(raw, "%5c")) {
+                return null;
+            }
+            decoded.append(((PathContainer.PathSegment) element).valueToMatch());
+        }
+        return decoded.toString();
+    }
+
+    private static boolean containsIgnoreCase(String value, String part) {
+        for (int i = 0; i + part.length() <= value.length(); i++) {
+            if (value.regionMatches(true, i, part, 0, part.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasUserHeaders(HttpHeaders headers) {
+        for (String name : USER_HEADERS) {
+            if (headers.containsKey(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void setOrRemove(HttpHeaders headers, String name, String value) {
+        if (value != null) {
+            headers.set(name, value);
+        } else {
+            headers.remove(name);
+        }
     }
 
     private String getTokenFromRequest(ServerHttpRequest request) {
@@ -97,20 +154,8 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
         return null;
     }
 
-    private Claims validateToken(String token) {
-        try {
-            return Jwts.parser()
-                    .setSigningKey(jwtSecret)
-                    .parseClaimsJws(token)
-                    .getBody();
-        } catch (Exception e) {
-            logger.error("Token validation failed: {}", e.getMessage());
-            return null;
-        }
-    }
-
     @Override
     public int getOrder() {
-        return Ordered.HIGHEST_PRECEDENCE + 1; // After logging filter
+        return Ordered.HIGHEST_PRECEDENCE + 1; // After HeaderPipelineFilter
     }
 }
@@ -0,0 +1,222 @@
+package com.banking.gateway.filter;
+
+import com.banking.gateway.path.PathPolicyMatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * All header work of the gateway in one filter: request ID, tracing and client headers on the way in,
+ * gateway, security and cache headers on the way out, and one access log line per request.
+ * <p>
+ * Response headers that never change are built once into fixed name/value arrays and set just before
+ * the response is committed, which also covers responses written by a downstream error. Timestamps are
+ * formatted at most once per second and request IDs come from ThreadLocalRandom rather than SecureRandom.
+ * <p>
+ * Stage timings are published as gateway.pipeline.stage (stage=request-headers, response-headers) and
+ * the time from entering the gateway to completion as gateway.pipeline.request.
+ */
+@Component
+public class HeaderPipelineFilter implements GlobalFilter, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeaderPipelineFilter.class);
+
+    static final String REQUEST_ID_HEADER = "X-Request-ID";
+    private static final String REQUEST_ID_MDC_KEY = "requestId";
+    private static final String GATEWAY_ID = "api-gateway";
+    private static final String GATEWAY_VERSION = "1.0.0";
+
+    private static final StaticHeaders RESPONSE_HEADERS = new StaticHeaders(
+        "X-Gateway-ID", GATEWAY_ID,
+        "X-Gateway-Version", GATEWAY_VERSION,
+        "X-Content-Type-Options", "nosniff",
+        "X-Frame-Options", "DENY",
+        "X-XSS-Protection", "1; mode=block",
+        "Referrer-Policy", "strict-origin-when-cross-origin",
+        "Permissions-Policy", "geolocation=(), microphone=(), camera=()",
+        "Content-Security-Policy",
+            "default-src 'self'; " +
+            "script-src 'self' 'unsafe-inline' 'unsafe-eval'; " +
+            "style-src 'self' 'unsafe-inline'; " +
+            "img-src 'self' data: https:; " +
+            "font-src 'self'; " +
+            "connect-src 'self'; " +
+            "media-src 'self'; " +
+            "object-src 'none'; " +
+            "base-uri 'self'; " +
+            "form-action 'self'");
+
+    private static final StaticHeaders NO_STORE_HEADERS = new StaticHeaders(
+        "Cache-Control", "no-store, no-cache, must-revalidate, private",
+        "Pragma", "no-cache",
+        "Expires", "0");
+
+    private final PathPolicyMatcher pathPolicyMatcher;
+    private final SecondTimestamps timestamps = new SecondTimestamps(ZoneId.systemDefault());
+    private final Timer requestHeadersTimer;
+    private final Timer responseHeadersTimer;
+    private final Timer requestTimer;
+
+    public HeaderPipelineFilter(PathPolicyMatcher pathPolicyMatcher, MeterRegistry meterRegistry) {
+        this.pathPolicyMatcher = pathPolicyMatcher;
+        this.requestHeadersTimer = Timer.builder("gateway.pipeline.stage").tag("stage", "request-headers")
+            .register(meterRegistry);
+        this.responseHeadersTimer = Timer.builder("gateway.pipeline.stage").tag("stage", "response-headers")
+            .register(meterRegistry);
+        this.requestTimer = Timer.builder("gateway.pipeline.request").register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long startNanos = System.nanoTime();
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().value();
+        String incomingId = request.getHeaders().getFirst(REQUEST_ID_HEADER);
+        String requestId = incomingId != null ? incomingId : newRequestId();
+        String userAgent = request.getHeaders().getFirst(HttpHeaders.USER_AGENT);
+        String clientIp = clientIp(request.getRemoteAddress());
+        String timestamp = timestamps.format(System.currentTimeMillis());
+
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+
+        // One mutation, so the request headers are copied once instead of once per filter
+        ServerHttpRequest mutated = request.mutate()
+                .headers(headers -> {
+                    if (incomingId == null) {
+                        headers.set(REQUEST_ID_HEADER, requestId);
+                    }
+                    headers.set("X-Request-Timestamp", timestamp);
+                    headers.set("X-Gateway-ID", GATEWAY_ID);
+                    headers.set("X-Gateway-Version", GATEWAY_VERSION);
+                    if (clientIp != null) {
+                        headers.set("X-Client-IP", clientIp);
+                    }
+                    if (userAgent != null) {
+                        headers.set("X-User-Agent", userAgent);
+                    }
+                })
+                .build();
+
+        ServerHttpResponse response = exchange.getResponse();
+        boolean noStore = pathPolicyMatcher.match(path).isNoStore();
+        response.beforeCommit(() -> Mono.fromRunnable(() -> writeResponseHeaders(response.getHeaders(), requestId, noStore)));
+        requestHeadersTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+
+        return chain.filter(exchange.mutate().request(mutated).build())
+                .doFinally(signalType -> {
+                    long elapsedNanos = System.nanoTime() - startNanos;
+                    requestTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+                    if (logger.isInfoEnabled()) {
+                        logger.info("{} {} -> {} in {}ms [{}]", request.getMethod(), path, response.getStatusCode(),
+                                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), requestId);
+                    }
+                    MDC.remove(REQUEST_ID_MDC_KEY);
+                });
+    }
+
+    private void writeResponseHeaders(HttpHeaders headers, String requestId, boolean noStore) {
+        long startNanos = System.nanoTime();
+        RESPONSE_HEADERS.setOn(headers);
+        if (noStore) {
+            NO_STORE_HEADERS.setOn(headers);
+        }
+        headers.set(REQUEST_ID_HEADER, requestId);
+        headers.set("X-Response-Timestamp", timestamps.format(System.currentTimeMillis()));
+        responseHeadersTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Request IDs only need to be unique, not unguessable, so they skip the SecureRandom behind randomUUID()
+    private static String newRequestId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+
+    private static String clientIp(InetSocketAddress remoteAddress) {
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return null;
+        }
+        return remoteAddress.getAddress().getHostAddress();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE; // This should run first
+    }
+
+    private static final class StaticHeaders {
+
+        private final String[] names;
+        private final String[] values;
+
+        StaticHeaders(String... namesAndValues) {
+            names = new String[namesAndValues.length / 2];
+            values = new String[namesAndValues.length / 2];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = namesAndValues[2 * i];
+                values[i] = namesAndValues[2 * i + 1];
+            }
+        }
+
+        // set, not add: a downstream service sending the same header must not end up with two values
+        void setOn(HttpHeaders headers) {
+            for (int i = 0; i < names.length; i++) {
+                headers.set(names[i], values[i]);
+            }
+        }
+    }
+
+    static final class SecondTimestamps {
+
+        private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+        private final ZoneId zone;
+        private volatile Formatted last = new Formatted(Long.MIN_VALUE, null);
+
+        SecondTimestamps(ZoneId zone) {
+            this.zone = zone;
+        }
+
+        String format(long epochMillis) {
+            long second = Math.floorDiv(epochMillis, 1000);
+            Formatted formatted = last;
+            if (formatted.second != second) {
+                formatted = new Formatted(second,
+                    LocalDateTime.ofInstant(Instant.ofEpochSecond(second), zone).format(FORMATTER));
+                last = formatted;
+            }
+            return formatted.text;
+        }
+
+        private static final class Formatted {
+            private final long second;
+            private final String text;
+
+            Formatted(long second, String text) {
+                this.second = second;
+                this.text = text;
+            }
+        }
+    }
+}
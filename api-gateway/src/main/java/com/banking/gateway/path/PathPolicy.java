@@ -0,0 +1,30 @@
+package com.banking.gateway.path;
+
+/**
+ * How the gateway treats requests under one path pattern.
+ */
+public final class PathPolicy {
+
+    private final String pattern;
+    private final SecurityClass securityClass;
+    private final boolean noStore;
+
+    public PathPolicy(String pattern, SecurityClass securityClass, boolean noStore) {
+        this.pattern = pattern;
+        this.securityClass = securityClass;
+        this.noStore = noStore;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public SecurityClass getSecurityClass() {
+        return securityClass;
+    }
+
+    // Responses must not be cached by browsers or proxies
+    public boolean isNoStore() {
+        return noStore;
+    }
+}
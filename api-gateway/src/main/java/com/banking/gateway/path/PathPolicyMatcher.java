@@ -0,0 +1,30 @@
+package com.banking.gateway.path;
+
+import com.banking.gateway.config.PathPolicyProperties;
+
+/**
+ * Resolves the policy of a request path from the configured rules, compiled once into a PathTrie.
+ * Paths no rule covers get the default policy.
+ */
+public class PathPolicyMatcher {
+
+    private final PathTrie<PathPolicy> trie;
+    private final PathPolicy defaultPolicy;
+
+    public PathPolicyMatcher(PathPolicyProperties properties) {
+        PathTrie.Builder<PathPolicy> builder = PathTrie.builder();
+        for (PathPolicyProperties.Rule rule : properties.getRules()) {
+            if (rule.getPattern() == null || rule.getSecurity() == null) {
+                throw new IllegalArgumentException("Path rule needs a pattern and a security class: " + rule.getPattern());
+            }
+            builder.add(rule.getPattern(), new PathPolicy(rule.getPattern(), rule.getSecurity(), rule.isNoStore()));
+        }
+        this.trie = builder.build();
+        this.defaultPolicy = new PathPolicy("/**", properties.getDefaultSecurity(), properties.isDefaultNoStore());
+    }
+
+    public PathPolicy match(String path) {
+        PathPolicy policy = trie.match(path);
+        return policy != null ? policy : defaultPolicy;
+    }
+}
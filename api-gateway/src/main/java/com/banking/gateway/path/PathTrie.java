@@ -0,0 +1,168 @@
+package com.banking.gateway.path;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps path patterns to values, built once and then matched segment by segment.
+ * <p>
+ * Patterns are literal segments, {@code *} for exactly one segment, and a trailing {@code **} for
+ * the path itself and everything below it. The most specific pattern wins: a literal segment beats
+ * {@code *}, which beats a {@code **} ending at the same depth. Empty segments are ignored, so
+ * {@code /api//users/} matches {@code /api/users}.
+ * <p>
+ * Lookups hash segments in place and compare them with regionMatches, so they allocate nothing.
+ */
+public final class PathTrie<T> {
+
+    private static final String ONE_SEGMENT = "*";
+    private static final String ANY_SEGMENTS = "**";
+
+    private final Node<T> root;
+
+    private PathTrie(Node<T> root) {
+        this.root = root;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * @return the value of the most specific pattern matching the path, or null if none does
+     */
+    public T match(String path) {
+        return match(root, path, 0);
+    }
+
+    private static <T> T match(Node<T> node, String path, int from) {
+        int start = from;
+        int length = path.length();
+        while (start < length && path.charAt(start) == '/') {
+            start++;
+        }
+        if (start == length) {
+            return node.value != null ? node.value : node.subtree;
+        }
+        int end = start;
+        int hash = 0;
+        while (end < length && path.charAt(end) != '/') {
+            hash = 31 * hash + path.charAt(end);
+            end++;
+        }
+        Node<T> literal = node.child(path, start, end, hash);
+        if (literal != null) {
+            T matched = match(literal, path, end);
+            if (matched != null) {
+                return matched;
+            }
+        }
+        if (node.wildcard != null) {
+            T matched = match(node.wildcard, path, end);
+            if (matched != null) {
+                return matched;
+            }
+        }
+        return node.subtree;
+    }
+
+    public static final class Builder<T> {
+
+        private final MutableNode<T> root = new MutableNode<>();
+
+        public Builder<T> add(String pattern, T value) {
+            List<String> segments = segments(pattern);
+            MutableNode<T> node = root;
+            for (int i = 0; i < segments.size(); i++) {
+                String segment = segments.get(i);
+                if (ANY_SEGMENTS.equals(segment)) {
+                    if (i != segments.size() - 1) {
+                        throw new IllegalArgumentException("** is only allowed as the last segment: " + pattern);
+                    }
+                    if (node.subtree != null) {
+                        throw new IllegalArgumentException("Duplicate path pattern: " + pattern);
+                    }
+                    node.subtree = value;
+                    return this;
+                }
+                node = node.children.computeIfAbsent(segment, key -> new MutableNode<>());
+            }
+            if (node.value != null) {
+                throw new IllegalArgumentException("Duplicate path pattern: " + pattern);
+            }
+            node.value = value;
+            return this;
+        }
+
+        public PathTrie<T> build() {
+            return new PathTrie<>(root.freeze());
+        }
+
+        private static List<String> segments(String pattern) {
+            List<String> segments = new ArrayList<>();
+            for (String segment : pattern.split("/")) {
+                if (!segment.isEmpty()) {
+                    segments.add(segment);
+                }
+            }
+            return segments;
+        }
+    }
+
+    private static final class MutableNode<T> {
+
+        private final Map<String, MutableNode<T>> children = new LinkedHashMap<>();
+        private T value;
+        private T subtree;
+
+        Node<T> freeze() {
+            MutableNode<T> wildcard = children.remove(ONE_SEGMENT);
+            // Open addressing at most half full, so probe chains stay short
+            int capacity = Integer.highestOneBit(Math.max(1, children.size()) * 2 - 1) << 1;
+            String[] keys = new String[capacity];
+            @SuppressWarnings("unchecked")
+            Node<T>[] nodes = new Node[capacity];
+            for (Map.Entry<String, MutableNode<T>> child : children.entrySet()) {
+                int slot = child.getKey().hashCode() & (capacity - 1);
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                keys[slot] = child.getKey();
+                nodes[slot] = child.getValue().freeze();
+            }
+            return new Node<>(keys, nodes, wildcard != null ? wildcard.freeze() : null, value, subtree);
+        }
+    }
+
+    private static final class Node<T> {
+
+        private final String[] keys;
+        private final Node<T>[] children;
+        private final Node<T> wildcard;
+        private final T value;
+        private final T subtree;
+
+        Node(String[] keys, Node<T>[] children, Node<T> wildcard, T value, T subtree) {
+            this.keys = keys;
+            this.children = children;
+            this.wildcard = wildcard;
+            this.value = value;
+            this.subtree = subtree;
+        }
+
+        // hash is String.hashCode() of path[start, end), computed by the caller while scanning
+        Node<T> child(String path, int start, int end, int hash) {
+            int mask = keys.length - 1;
+            int length = end - start;
+            for (int slot = hash & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+                String key = keys[slot];
+                if (key.length() == length && path.regionMatches(start, key, 0, length)) {
+                    return children[slot];
+                }
+            }
+            return null;
+        }
+    }
+}
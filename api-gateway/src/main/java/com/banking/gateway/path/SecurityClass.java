@@ -0,0 +1,9 @@
+package com.banking.gateway.path;
+
+public enum SecurityClass {
+    PUBLIC,
+    AUTHENTICATED,
+    ADMIN,
+    // Service-to-service endpoints; the gateway never forwards them
+    DENIED
+}
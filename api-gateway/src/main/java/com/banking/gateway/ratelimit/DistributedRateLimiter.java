@@ -0,0 +1,228 @@
+package com.banking.gateway.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Cluster-wide limits decided locally from quota leased out of a shared QuotaStore.
+ * <p>
+ * Each client holds a lease per window: a batch of requests reserved in the store for the current
+ * window, packed with the window index into one long and spent by CAS. Only an empty lease costs a
+ * store round trip, made off the event loop. Leases are counted as used the moment they are granted,
+ * so the cluster never admits more than a limit; quota stranded in other instances' leases can make
+ * it admit less, by at most instances x lease size per window.
+ * <p>
+ * While the store is unreachable the instance falls back to its own SlidingWindowRateLimiter, so
+ * limits keep holding per instance instead of across the cluster. After a failed reservation the store
+ * is left alone for storeRetryMillis, and lease misses go straight to the fallback on the caller's thread.
+ */
+public class DistributedRateLimiter implements RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DistributedRateLimiter.class);
+
+    private static final int INDEX_BITS = 24;
+    private static final int REMAINING_BITS = 64 - INDEX_BITS;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+    private static final long REMAINING_MASK = (1L << REMAINING_BITS) - 1;
+
+    private final QuotaStore store;
+    private final SlidingWindowRateLimiter fallback;
+    private final double leaseRatio;
+    private final int maxClients;
+    private final long storeRetryMillis;
+    private final Scheduler leaseScheduler;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, Lease> leases = new ConcurrentHashMap<>();
+    // 0 while the store is healthy, otherwise when it may be tried again
+    private volatile long storeDownUntil;
+
+    public DistributedRateLimiter(QuotaStore store, SlidingWindowRateLimiter fallback, double leaseRatio,
+                                  int maxClients, long storeRetryMillis, Scheduler leaseScheduler) {
+        this(store, fallback, leaseRatio, maxClients, storeRetryMillis, leaseScheduler, System::currentTimeMillis);
+    }
+
+    public DistributedRateLimiter(QuotaStore store, SlidingWindowRateLimiter fallback, double leaseRatio,
+                                  int maxClients, long storeRetryMillis, Scheduler leaseScheduler, LongSupplier clock) {
+        if (leaseRatio <= 0 || leaseRatio > 1) {
+            throw new IllegalArgumentException("Lease ratio must be in (0, 1]: " + leaseRatio);
+        }
+        this.store = store;
+        this.fallback = fallback;
+        this.leaseRatio = leaseRatio;
+        this.maxClients = maxClients;
+        this.storeRetryMillis = storeRetryMillis;
+        this.leaseScheduler = leaseScheduler;
+        this.clock = clock;
+    }
+
+    @Override
+    public Mono<Long> acquire(String key, RateLimit limit) {
+        if (limit.windowCount() == 0) {
+            return ALLOWED;
+        }
+        Lease lease = leases.get(key);
+        if (lease == null) {
+            lease = track(key, limit);
+        }
+        long now = clock.getAsLong();
+        if (lease.tryTake(now)) {
+            return ALLOWED;
+        }
+        if (storeDown(now)) {
+            return Mono.just(fallback.tryAcquire(key, limit));
+        }
+        Lease refilled = lease;
+        return Mono.fromCallable(() -> refillAndTake(key, refilled)).subscribeOn(leaseScheduler);
+    }
+
+    public int trackedClients() {
+        return leases.size();
+    }
+
+    // Blocking: runs on leaseScheduler. Refills of one client are serialized so concurrent misses share one lease
+    long refillAndTake(String key, Lease lease) {
+        synchronized (lease) {
+            while (true) {
+                long now = clock.getAsLong();
+                if (lease.tryTake(now)) {
+                    return 0;
+                }
+                RateLimit limit = lease.limit;
+                if (storeDown(now)) {
+                    return fallback.tryAcquire(key, limit);
+                }
+                for (int window = 0; window < limit.windowCount(); window++) {
+                    if (lease.remaining(window, now) > 0) {
+                        continue;
+                    }
+                    long period = limit.periodMillis(window);
+                    long index = now / period;
+                    long granted;
+                    try {
+                        granted = store.reserve(key, period, index, now - index * period, limit.limit(window),
+                            leaseSize(limit.limit(window)));
+                    } catch (RuntimeException e) {
+                        if (storeDownUntil == 0) {
+                            logger.warn("Quota store unavailable, limiting locally for the next {} ms: {}",
+                                storeRetryMillis, e.getMessage());
+                        }
+                        storeDownUntil = now + storeRetryMillis;
+                        return fallback.tryAcquire(key, limit);
+                    }
+                    if (storeDownUntil != 0) {
+                        storeDownUntil = 0;
+                        logger.info("Quota store reachable again, limiting across the cluster");
+                    }
+                    if (granted == 0) {
+                        // Slots free up about once per period / limit as the window slides
+                        return Math.max(1, Math.min(period - (now - index * period), period / limit.limit(window)));
+                    }
+                    lease.refill(window, index, granted);
+                }
+            }
+        }
+    }
+
+    private boolean storeDown(long now) {
+        long until = storeDownUntil;
+        return until != 0 && now < until;
+    }
+
+    int leaseSize(int limit) {
+        return (int) Math.max(1, Math.min(limit, Math.floor(limit * leaseRatio)));
+    }
+
+    private Lease track(String key, RateLimit limit) {
+        if (leases.size() >= maxClients) {
+            long now = clock.getAsLong();
+            // Unspent quota of a dropped lease is only lost to this instance, which errs toward admitting less
+            leases.values().removeIf(lease -> lease.isStale(now));
+            if (leases.size() >= maxClients) {
+                leases.clear();
+            }
+        }
+        return leases.computeIfAbsent(key, k -> new Lease(limit));
+    }
+
+    static final class Lease extends AtomicLongArray {
+
+        private final RateLimit limit;
+
+        Lease(RateLimit limit) {
+            super(limit.windowCount());
+            this.limit = limit;
+        }
+
+        boolean tryTake(long now) {
+            for (int window = 0; window < length(); window++) {
+                if (!take(window, now / limit.periodMillis(window))) {
+                    for (int taken = 0; taken < window; taken++) {
+                        giveBack(taken, now / limit.periodMillis(taken));
+                    }
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long remaining(int window, long now) {
+            long packed = get(window);
+            return (packed >>> REMAINING_BITS) == ((now / limit.periodMillis(window)) & INDEX_MASK)
+                ? packed & REMAINING_MASK : 0;
+        }
+
+        void refill(int window, long index, long granted) {
+            while (true) {
+                long packed = get(window);
+                long remaining = (packed >>> REMAINING_BITS) == (index & INDEX_MASK) ? packed & REMAINING_MASK : 0;
+                if (compareAndSet(window, packed, pack(index, remaining + granted))) {
+                    return;
+                }
+            }
+        }
+
+        boolean isStale(long now) {
+            for (int window = 0; window < length(); window++) {
+                if (remaining(window, now) > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean take(int window, long index) {
+            while (true) {
+                long packed = get(window);
+                if ((packed >>> REMAINING_BITS) != (index & INDEX_MASK) || (packed & REMAINING_MASK) == 0) {
+                    return false;
+                }
+                if (compareAndSet(window, packed, packed - 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void giveBack(int window, long index) {
+            while (true) {
+                long packed = get(window);
+                // A lease of a window that has ended is worthless, so there is nothing to give back to
+                if ((packed >>> REMAINING_BITS) != (index & INDEX_MASK)) {
+                    return;
+                }
+                if (compareAndSet(window, packed, packed + 1)) {
+                    return;
+                }
+            }
+        }
+
+        private static long pack(long index, long remaining) {
+            return ((index & INDEX_MASK) << REMAINING_BITS) | remaining;
+        }
+    }
+}
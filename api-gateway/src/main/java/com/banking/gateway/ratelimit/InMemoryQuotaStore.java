@@ -0,0 +1,29 @@
+package com.banking.gateway.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * QuotaStore kept in this JVM. Stands in for the shared store in tests and single-instance setups.
+ */
+public class InMemoryQuotaStore implements QuotaStore {
+
+    private final ConcurrentHashMap<String, long[]> windows = new ConcurrentHashMap<>();
+
+    @Override
+    public long reserve(String key, long periodMillis, long windowIndex, long elapsedMillis, int limit, int wanted) {
+        long[] granted = new long[1];
+        // Per key: index of the current window, its count and the previous window's count
+        windows.compute(key + '|' + periodMillis, (k, state) -> {
+            if (state == null) {
+                state = new long[] {windowIndex, 0, 0};
+            } else if (state[0] != windowIndex) {
+                long previous = state[0] == windowIndex - 1 ? state[1] : 0;
+                state = new long[] {windowIndex, 0, previous};
+            }
+            granted[0] = QuotaMath.grant(state[2], state[1], periodMillis, elapsedMillis, limit, wanted);
+            state[1] += granted[0];
+            return state;
+        });
+        return granted[0];
+    }
+}
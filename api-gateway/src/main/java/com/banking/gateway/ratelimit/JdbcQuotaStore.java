@@ -0,0 +1,90 @@
+package com.banking.gateway.ratelimit;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * QuotaStore on a relational database, for clusters without a Redis-compatible store.
+ * Each lease is one short transaction that locks the client's current window row.
+ * The table comes from the gateway's Flyway migration (db/migration/V1__create_rate_limit_windows.sql).
+ */
+public class JdbcQuotaStore implements QuotaStore {
+
+    private static final String TABLE = "gateway_rate_limit_windows";
+    private static final long PURGE_INTERVAL_MILLIS = 600_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate savepointTemplate;
+    private final LongSupplier clock;
+    private final AtomicLong nextPurgeAt;
+
+    public JdbcQuotaStore(DataSource dataSource) {
+        this(dataSource, System::currentTimeMillis);
+    }
+
+    public JdbcQuotaStore(DataSource dataSource, LongSupplier clock) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // A failed insert would abort the whole transaction on PostgreSQL, so it runs under a savepoint
+        this.savepointTemplate = new TransactionTemplate(transactionManager);
+        this.savepointTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.clock = clock;
+        this.nextPurgeAt = new AtomicLong(clock.getAsLong() + PURGE_INTERVAL_MILLIS);
+    }
+
+    @Override
+    public long reserve(String key, long periodMillis, long windowIndex, long elapsedMillis, int limit, int wanted) {
+        String limitKey = key + '|' + periodMillis;
+        Long granted = transactionTemplate.execute(status -> {
+            Long current = lockWindow(limitKey, windowIndex);
+            if (current == null) {
+                try {
+                    // Rows outlive their window by one period, while they still weigh on the next window
+                    savepointTemplate.execute(insert -> jdbcTemplate.update(
+                        "INSERT INTO " + TABLE + " (limit_key, window_index, used, expires_at) VALUES (?, ?, 0, ?)",
+                        limitKey, windowIndex, (windowIndex + 2) * periodMillis));
+                } catch (DuplicateKeyException e) {
+                    // Another gateway created the row first; its lock below serializes us behind it
+                }
+                current = lockWindow(limitKey, windowIndex);
+            }
+            List<Long> previous = jdbcTemplate.queryForList(
+                "SELECT used FROM " + TABLE + " WHERE limit_key = ? AND window_index = ?",
+                Long.class, limitKey, windowIndex - 1);
+            long grant = QuotaMath.grant(previous.isEmpty() ? 0 : previous.get(0), current,
+                periodMillis, elapsedMillis, limit, wanted);
+            if (grant > 0) {
+                jdbcTemplate.update("UPDATE " + TABLE + " SET used = used + ? WHERE limit_key = ? AND window_index = ?",
+                    grant, limitKey, windowIndex);
+            }
+            return grant;
+        });
+        purgeExpiredWindows();
+        return granted != null ? granted : 0;
+    }
+
+    private Long lockWindow(String limitKey, long windowIndex) {
+        List<Long> used = jdbcTemplate.queryForList(
+            "SELECT used FROM " + TABLE + " WHERE limit_key = ? AND window_index = ? FOR UPDATE",
+            Long.class, limitKey, windowIndex);
+        return used.isEmpty() ? null : used.get(0);
+    }
+
+    private void purgeExpiredWindows() {
+        long now = clock.getAsLong();
+        long purgeAt = nextPurgeAt.get();
+        if (now >= purgeAt && nextPurgeAt.compareAndSet(purgeAt, now + PURGE_INTERVAL_MILLIS)) {
+            jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE expires_at < ?", now);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.banking.gateway.ratelimit;
+
+final class QuotaMath {
+
+    private QuotaMath() {
+    }
+
+    // Largest n <= wanted with previous * (period - elapsed) / period + current + n <= limit
+    static long grant(long previous, long current, long period, long elapsed, int limit, int wanted) {
+        long free = (limit * period - previous * (period - elapsed)) / period - current;
+        return Math.max(0, Math.min(wanted, free));
+    }
+}
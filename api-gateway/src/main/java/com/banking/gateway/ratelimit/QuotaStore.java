@@ -0,0 +1,15 @@
+package com.banking.gateway.ratelimit;
+
+/**
+ * Shared quota counters that gateway instances lease batches from, so limits hold across the cluster.
+ * Counts follow the same sliding-window rule as SlidingWindowRateLimiter, with leased quota counted as used.
+ */
+public interface QuotaStore {
+
+    /**
+     * Reserves up to wanted requests of key's window number windowIndex, elapsedMillis into the window.
+     *
+     * @return how many requests were granted, 0 once the sliding window is full
+     */
+    long reserve(String key, long periodMillis, long windowIndex, long elapsedMillis, int limit, int wanted);
+}
@@ -0,0 +1,67 @@
+package com.banking.gateway.ratelimit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The windows one route enforces for each client: at most limit(i) requests in any period(i) long stretch.
+ */
+public final class RateLimit {
+
+    public static final long MINUTE_MILLIS = 60_000L;
+    public static final long HOUR_MILLIS = 3_600_000L;
+    public static final long DAY_MILLIS = 86_400_000L;
+
+    private final long[] periodMillis;
+    private final int[] limits;
+
+    public RateLimit(long[] periodMillis, int[] limits) {
+        if (periodMillis.length != limits.length) {
+            throw new IllegalArgumentException("Every window needs both a period and a limit");
+        }
+        for (int i = 0; i < limits.length; i++) {
+            if (periodMillis[i] <= 0) {
+                throw new IllegalArgumentException("Window period must be positive");
+            }
+            if (limits[i] <= 0 || limits[i] > SlidingWindowRateLimiter.MAX_COUNT) {
+                throw new IllegalArgumentException(
+                    "Window limit must be between 1 and " + SlidingWindowRateLimiter.MAX_COUNT + ": " + limits[i]);
+            }
+        }
+        this.periodMillis = periodMillis.clone();
+        this.limits = limits.clone();
+    }
+
+    // Limits that are null or not positive switch that window off
+    public static RateLimit of(Integer perMinute, Integer perHour, Integer perDay) {
+        List<long[]> windows = new ArrayList<>(3);
+        if (perMinute != null && perMinute > 0) {
+            windows.add(new long[] {MINUTE_MILLIS, perMinute});
+        }
+        if (perHour != null && perHour > 0) {
+            windows.add(new long[] {HOUR_MILLIS, perHour});
+        }
+        if (perDay != null && perDay > 0) {
+            windows.add(new long[] {DAY_MILLIS, perDay});
+        }
+        long[] periods = new long[windows.size()];
+        int[] limits = new int[windows.size()];
+        for (int i = 0; i < periods.length; i++) {
+            periods[i] = windows.get(i)[0];
+            limits[i] = (int) windows.get(i)[1];
+        }
+        return new RateLimit(periods, limits);
+    }
+
+    public int windowCount() {
+        return limits.length;
+    }
+
+    public long periodMillis(int window) {
+        return periodMillis[window];
+    }
+
+    public int limit(int window) {
+        return limits[window];
+    }
+}
@@ -0,0 +1,16 @@
+package com.banking.gateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Decides whether one request of a client may pass the limits of its route.
+ */
+public interface RateLimiter {
+
+    Mono<Long> ALLOWED = Mono.just(0L);
+
+    /**
+     * @return 0 if the request may proceed, otherwise how many milliseconds to wait before retrying
+     */
+    Mono<Long> acquire(String key, RateLimit limit);
+}
@@ -0,0 +1,186 @@
+package com.banking.gateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Sliding-window counters kept as one packed long per client and window, updated by CAS.
+ * <p>
+ * Each long holds the index of the current fixed window and the counts of the current and previous
+ * window. A request is let through when the previous count, weighted by how much of the previous
+ * window still overlaps the sliding window, plus the current count stays within the limit. That
+ * removes the doubled bursts fixed windows allow at their edges without keeping a log of requests.
+ * <p>
+ * Clients whose counters have all slid out of their windows carry no state any more and are swept
+ * out when new clients arrive. If the table is still full of active clients, an arbitrary batch is
+ * evicted; those clients start from empty windows, so the limiter errs toward admitting them.
+ */
+public class SlidingWindowRateLimiter implements RateLimiter {
+
+    static final int COUNT_BITS = 20;
+    static final int MAX_COUNT = (1 << COUNT_BITS) - 1;
+    private static final int INDEX_BITS = 64 - 2 * COUNT_BITS;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+    private final ConcurrentHashMap<String, ClientWindows> clients = new ConcurrentHashMap<>();
+    private final int maxClients;
+    private final long sweepIntervalMillis;
+    private final AtomicLong nextSweepAt;
+    private final LongSupplier clock;
+
+    public SlidingWindowRateLimiter(int maxClients, long sweepIntervalMillis) {
+        this(maxClients, sweepIntervalMillis, System::currentTimeMillis);
+    }
+
+    public SlidingWindowRateLimiter(int maxClients, long sweepIntervalMillis, LongSupplier clock) {
+        this.maxClients = maxClients;
+        this.sweepIntervalMillis = sweepIntervalMillis;
+        this.clock = clock;
+        this.nextSweepAt = new AtomicLong(clock.getAsLong() + sweepIntervalMillis);
+    }
+
+    @Override
+    public Mono<Long> acquire(String key, RateLimit limit) {
+        long waitMillis = tryAcquire(key, limit);
+        return waitMillis == 0 ? ALLOWED : Mono.just(waitMillis);
+    }
+
+    /**
+     * Counts one request of the client against every window of the limit.
+     *
+     * @return 0 if the request may proceed, otherwise how many milliseconds to wait before retrying
+     */
+    public long tryAcquire(String key, RateLimit limit) {
+        int windows = limit.windowCount();
+        if (windows == 0) {
+            return 0;
+        }
+        long now = clock.getAsLong();
+        ClientWindows counters = clients.get(key);
+        if (counters == null) {
+            counters = track(key, limit, now);
+        }
+        for (int window = 0; window < windows; window++) {
+            long waitMillis = acquire(counters, window, limit.periodMillis(window), limit.limit(window), now);
+            if (waitMillis > 0) {
+                // Windows already counted give the request back, so a rejection costs the client nothing
+                for (int counted = 0; counted < window; counted++) {
+                    release(counters, counted, limit.periodMillis(counted), now);
+                }
+                return waitMillis;
+            }
+        }
+        return 0;
+    }
+
+    public int trackedClients() {
+        return clients.size();
+    }
+
+    // Only the path that adds clients sweeps, so requests from known clients never pay for it
+    private ClientWindows track(String key, RateLimit limit, long now) {
+        long sweepAt = nextSweepAt.get();
+        boolean full = clients.size() >= maxClients;
+        if ((full || now >= sweepAt) && nextSweepAt.compareAndSet(sweepAt, now + sweepIntervalMillis)) {
+            sweep(now, full);
+        }
+        return clients.computeIfAbsent(key, k -> new ClientWindows(limit));
+    }
+
+    private void sweep(long now, boolean full) {
+        clients.values().removeIf(client -> client.isIdle(now));
+        if (full) {
+            int excess = clients.size() - maxClients + Math.max(1, maxClients / 100);
+            Iterator<ClientWindows> iterator = clients.values().iterator();
+            while (excess-- > 0 && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    private static long acquire(AtomicLongArray counters, int window, long period, int limit, long now) {
+        long index = now / period;
+        long elapsed = now - index * period;
+        while (true) {
+            long packed = counters.get(window);
+            long previous;
+            long current;
+            long storedIndex = packed >>> (2 * COUNT_BITS);
+            if (storedIndex == (index & INDEX_MASK)) {
+                previous = (packed >>> COUNT_BITS) & MAX_COUNT;
+                current = packed & MAX_COUNT;
+            } else if (storedIndex == ((index - 1) & INDEX_MASK)) {
+                previous = packed & MAX_COUNT;
+                current = 0;
+            } else {
+                previous = 0;
+                current = 0;
+            }
+            // previous * (period - elapsed) / period + current + 1 <= limit, kept in integers
+            if (previous * (period - elapsed) + (current + 1) * period > limit * period) {
+                return waitMillis(previous, current, limit, period, elapsed);
+            }
+            if (counters.compareAndSet(window, packed, pack(index, previous, current + 1))) {
+                return 0;
+            }
+        }
+    }
+
+    private static void release(AtomicLongArray counters, int window, long period, long now) {
+        long index = now / period;
+        while (true) {
+            long packed = counters.get(window);
+            long current = packed & MAX_COUNT;
+            // A window that rolled over in the meantime has already moved the request into its previous count
+            if ((packed >>> (2 * COUNT_BITS)) != (index & INDEX_MASK) || current == 0) {
+                return;
+            }
+            if (counters.compareAndSet(window, packed, packed - 1)) {
+                return;
+            }
+        }
+    }
+
+    private static long waitMillis(long previous, long current, int limit, long period, long elapsed) {
+        if (current < limit) {
+            // Room opens up as the previous window slides out
+            long openAt = period - (limit - current - 1) * period / previous;
+            return Math.max(1, openAt - elapsed);
+        }
+        // The current window is full: wait for it to become the previous one and slide out far enough
+        long openAt = period - (limit - 1) * period / current;
+        return (period - elapsed) + Math.max(1, openAt);
+    }
+
+    private static long pack(long index, long previous, long current) {
+        return ((index & INDEX_MASK) << (2 * COUNT_BITS)) | (previous << COUNT_BITS) | current;
+    }
+
+    private static final class ClientWindows extends AtomicLongArray {
+
+        private final RateLimit limit;
+
+        ClientWindows(RateLimit limit) {
+            super(limit.windowCount());
+            this.limit = limit;
+        }
+
+        // Idle once no window holds counts for the current or the previous period
+        boolean isIdle(long now) {
+            for (int window = 0; window < length(); window++) {
+                long index = now / limit.periodMillis(window);
+                long storedIndex = get(window) >>> (2 * COUNT_BITS);
+                if (storedIndex == (index & INDEX_MASK) || storedIndex == ((index - 1) & INDEX_MASK)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.banking.gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.impl.TextCodec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Verifies JWTs signed with the shared HMAC secret and remembers the tokens that passed.
+ * <p>
+ * Clients send the same token on every call, so a verified token is cached under the SHA-256 of its
+ * text until its exp claim, and later calls skip parsing and the HMAC check. Tokens that fail
+ * verification are never cached. Tokens without an exp claim are cached for at most maxTtlMillis.
+ */
+public class JwtTokenVerifier {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final JwtParser parser;
+    private final Cache<TokenHash, VerifiedToken> verified;
+    private final long maxTtlMillis;
+    private final LongSupplier clock;
+
+    public JwtTokenVerifier(String base64Secret, long maxCachedTokens, long maxTtlMillis) {
+        this(base64Secret, maxCachedTokens, maxTtlMillis, System::currentTimeMillis);
+    }
+
+    public JwtTokenVerifier(String base64Secret, long maxCachedTokens, long maxTtlMillis, LongSupplier clock) {
+        // Same key decoding as Jwts.parser().setSigningKey(String), done once instead of per request
+        this.parser = Jwts.parser().setSigningKey(TextCodec.BASE64.decode(base64Secret));
+        this.maxTtlMillis = maxTtlMillis;
+        this.clock = clock;
+        this.verified = Caffeine.newBuilder()
+            .maximumSize(maxCachedTokens)
+            .expireAfter(new Expiry<TokenHash, VerifiedToken>() {
+                @Override
+                public long expireAfterCreate(TokenHash key, VerifiedToken token, long currentTime) {
+                    long ttlMillis = Math.max(0, token.getExpiresAtMillis() - JwtTokenVerifier.this.clock.getAsLong());
+                    return TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+                }
+
+                @Override
+                public long expireAfterUpdate(TokenHash key, VerifiedToken token, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(TokenHash key, VerifiedToken token, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+    }
+
+    /**
+     * @return the token's forwarded claims, or null if it is not validly signed or has expired
+     */
+    public VerifiedToken verify(String token) {
+        TokenHash hash = TokenHash.of(token);
+        long now = clock.getAsLong();
+        VerifiedToken cached = verified.getIfPresent(hash);
+        if (cached != null) {
+            // The cache evicts around exp; this check makes the cut-off exact
+            return cached.getExpiresAtMillis() > now ? cached : null;
+        }
+        VerifiedToken parsed = parse(token, now);
+        if (parsed != null) {
+            verified.put(hash, parsed);
+        }
+        return parsed;
+    }
+
+    public long cachedTokens() {
+        verified.cleanUp();
+        return verified.estimatedSize();
+    }
+
+    private VerifiedToken parse(String token, long now) {
+        // Claims of the wrong type (a numeric role, say) throw RequiredTypeException and make the token invalid
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Date expiration = claims.getExpiration();
+            long expiresAt = expiration != null ? Math.min(expiration.getTime(), now + maxTtlMillis) : now + maxTtlMillis;
+            return new VerifiedToken(claims.getSubject(), claims.get("role", String.class),
+                claims.get("email", String.class), expiresAt);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    // 256 bits of the token's SHA-256; collisions are not a practical concern and the token text is not retained
+    static final class TokenHash {
+
+        private final long h0;
+        private final long h1;
+        private final long h2;
+        private final long h3;
+
+        private TokenHash(long h0, long h1, long h2, long h3) {
+            this.h0 = h0;
+            this.h1 = h1;
+            this.h2 = h2;
+            this.h3 = h3;
+        }
+
+        static TokenHash of(String token) {
+            MessageDigest digest = SHA_256.get();
+            ByteBuffer hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenHash(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof TokenHash)) {
+                return false;
+            }
+            TokenHash that = (TokenHash) other;
+            return h0 == that.h0 && h1 == that.h1 && h2 == that.h2 && h3 == that.h3;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) h0;
+        }
+    }
+}
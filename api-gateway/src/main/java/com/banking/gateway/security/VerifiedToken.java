@@ -0,0 +1,35 @@
+package com.banking.gateway.security;
+
+/**
+ * The parts of a verified JWT the gateway forwards, kept until the token's exp claim.
+ */
+public final class VerifiedToken {
+
+    private final String userId;
+    private final String role;
+    private final String email;
+    private final long expiresAtMillis;
+
+    public VerifiedToken(String userId, String role, String email, long expiresAtMillis) {
+        this.userId = userId;
+        this.role = role;
+        this.email = email;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+}
@@ -0,0 +1,11 @@
+-- One row per client and sliding window, leased from by every gateway instance when
+-- rate-limit.distributed.store is jdbc. Rows expire one period after their window ends
+-- and are purged by the gateways themselves.
+
+CREATE TABLE IF NOT EXISTS gateway_rate_limit_windows (
+    limit_key    VARCHAR(512) NOT NULL,
+    window_index BIGINT       NOT NULL,
+    used         BIGINT       NOT NULL,
+    expires_at   BIGINT       NOT NULL,
+    PRIMARY KEY (limit_key, window_index)
+);
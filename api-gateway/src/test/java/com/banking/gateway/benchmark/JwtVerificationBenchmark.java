@@ -0,0 +1,78 @@
+package com.banking.gateway.benchmark;
+
+import com.banking.gateway.security.JwtTokenVerifier;
+import com.banking.gateway.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cost of verifying a bearer token in AuthenticationFilter. legacyParse is the previous code path:
+ * a new parser and key per request. coldVerify rotates through more distinct tokens than the cache
+ * holds, so every call parses, verifies and inserts; warmVerify repeats one token as real clients do.
+ *
+ * Run with: mvn -pl api-gateway -am -Pbenchmark -DskipTests test -Dbenchmark=JwtVerificationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "your-super-secret-jwt-key-for-banking-application-2024";
+    private static final int DISTINCT_TOKENS = 50_000;
+
+    private JwtTokenVerifier coldVerifier;
+    private JwtTokenVerifier warmVerifier;
+    private String[] tokens;
+    private String token;
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long expiresAt = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            tokens[i] = Jwts.builder()
+                .setSubject(String.valueOf(i))
+                .claim("role", "USER")
+                .claim("email", "user" + i + "@example.com")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(expiresAt))
+                .signWith(SignatureAlgorithm.HS512, SECRET)
+                .compact();
+        }
+        token = tokens[0];
+        coldVerifier = new JwtTokenVerifier(SECRET, 1024, TimeUnit.HOURS.toMillis(1));
+        warmVerifier = new JwtTokenVerifier(SECRET, 1024, TimeUnit.HOURS.toMillis(1));
+        warmVerifier.verify(token);
+    }
+
+    @Benchmark
+    public Claims legacyParse() {
+        return Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public VerifiedToken coldVerify() {
+        return coldVerifier.verify(tokens[Math.floorMod(next.getAndIncrement(), DISTINCT_TOKENS)]);
+    }
+
+    @Benchmark
+    public VerifiedToken warmVerify() {
+        return warmVerifier.verify(token);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public VerifiedToken warmVerifyContended() {
+        return warmVerifier.verify(token);
+    }
+}
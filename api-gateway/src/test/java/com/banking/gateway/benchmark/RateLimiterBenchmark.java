@@ -0,0 +1,106 @@
+package com.banking.gateway.benchmark;
+
+import com.banking.gateway.ratelimit.RateLimit;
+import com.banking.gateway.ratelimit.SlidingWindowRateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cost of one throttling decision in the gateway, for a single hot client hammered by every thread and
+ * for requests spread over many clients. The legacy methods replay the previous ThrottlingFilter:
+ * a lookup plus a compute() on a never-evicted map with fixed minute/hour/day windows.
+ *
+ * Run with: mvn -pl api-gateway -am -Pbenchmark -DskipTests test -Dbenchmark=RateLimiterBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    // 60 keeps a hot client mostly rejected, 100000 keeps it mostly admitted
+    @Param({"60", "100000"})
+    public int requestsPerMinute;
+
+    private SlidingWindowRateLimiter limiter;
+    private RateLimit limit;
+    private String[] clientKeys;
+    private ConcurrentHashMap<String, LegacyThrottleInfo> legacyMap;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        limiter = new SlidingWindowRateLimiter(100_000, RateLimit.MINUTE_MILLIS);
+        int longerWindows = Math.min(requestsPerMinute * 60, 1_000_000);
+        limit = RateLimit.of(requestsPerMinute, longerWindows, longerWindows);
+        clientKeys = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clientKeys[i] = "account-service-route|ip:10.0." + (i / 256) + "." + (i % 256);
+        }
+        legacyMap = new ConcurrentHashMap<>();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long slidingWindowHotClient() {
+        return limiter.tryAcquire(clientKeys[0], limit);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long slidingWindowManyClients() {
+        return limiter.tryAcquire(clientKeys[ThreadLocalRandom.current().nextInt(CLIENTS)], limit);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean legacyHotClient() {
+        return legacyDecision(clientKeys[0]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean legacyManyClients() {
+        return legacyDecision(clientKeys[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+    }
+
+    private boolean legacyDecision(String clientId) {
+        LegacyThrottleInfo info = legacyMap.get(clientId);
+        long now = System.currentTimeMillis();
+        if (info != null && info.minuteCount.get() >= requestsPerMinute && now - info.minuteStart < 60000) {
+            return false;
+        }
+        legacyMap.compute(clientId, (key, existing) -> {
+            if (existing == null) {
+                return new LegacyThrottleInfo(now);
+            }
+            if (now - existing.minuteStart >= 60000) {
+                existing.minuteCount.set(0);
+                existing.minuteStart = now;
+            }
+            existing.minuteCount.incrementAndGet();
+            existing.hourCount.incrementAndGet();
+            existing.dayCount.incrementAndGet();
+            return existing;
+        });
+        return true;
+    }
+
+    private static class LegacyThrottleInfo {
+        private final AtomicInteger minuteCount = new AtomicInteger(1);
+        private final AtomicInteger hourCount = new AtomicInteger(1);
+        private final AtomicInteger dayCount = new AtomicInteger(1);
+        private long minuteStart;
+
+        LegacyThrottleInfo(long now) {
+            this.minuteStart = now;
+        }
+    }
+}
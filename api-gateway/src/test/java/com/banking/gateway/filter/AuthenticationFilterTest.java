@@ -0,0 +1,139 @@
+package com.banking.gateway.filter;
+
+import com.banking.gateway.config.PathPolicyProperties;
+import com.banking.gateway.path.PathPolicyMatcher;
+import com.banking.gateway.path.SecurityClass;
+import com.banking.gateway.security.JwtTokenVerifier;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthenticationFilterTest {
+
+    private static final String SECRET = "your-super-secret-jwt-key-for-banking-application-2024";
+
+    private final AuthenticationFilter filter = new AuthenticationFilter();
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        PathPolicyProperties properties = new PathPolicyProperties();
+        properties.getRules().add(rule("/api/**", SecurityClass.AUTHENTICATED));
+        properties.getRules().add(rule("/api/users/login", SecurityClass.PUBLIC));
+        properties.getRules().add(rule("/internal/**", SecurityClass.DENIED));
+        properties.getRules().add(rule("/*/internal/**", SecurityClass.DENIED));
+        ReflectionTestUtils.setField(filter, "pathPolicyMatcher", new PathPolicyMatcher(properties));
+        ReflectionTestUtils.setField(filter, "tokenVerifier", new JwtTokenVerifier(SECRET, 100, 86400000));
+    }
+
+    @Test
+    void refusesInternalEndpointsEvenWithAValidToken() {
+        for (String path : new String[] {"/internal/events", "/transaction-service/internal/events"}) {
+            MockServerWebExchange exchange = exchange(MockServerHttpRequest.post(path)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("42")));
+
+            filter.filter(exchange, this::forward).block();
+
+            assertEquals(HttpStatus.FORBIDDEN, exchange.getResponse().getStatusCode());
+            assertNull(forwarded.get());
+        }
+    }
+
+    @Test
+    void refusesInternalEndpointsHiddenBehindPathParametersOrPercentEncoding() {
+        for (String path : new String[] {"/account-service/internal;x=y/accounts/postings",
+                                         "/account-service/%69nternal/accounts/postings",
+                                         "/%69nternal;v=1/events"}) {
+            MockServerWebExchange exchange = exchange(MockServerHttpRequest.method(HttpMethod.POST, URI.create(path))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("42")));
+
+            filter.filter(exchange, this::forward).block();
+
+            assertEquals(HttpStatus.FORBIDDEN, exchange.getResponse().getStatusCode(), path);
+            assertNull(forwarded.get(), path);
+        }
+    }
+
+    @Test
+    void refusesPathsWithEncodedSeparators() {
+        for (String path : new String[] {"/transaction-service/internal%2Fevents", "/api/users/login%5C..%5Cinternal"}) {
+            MockServerWebExchange exchange = exchange(MockServerHttpRequest.method(HttpMethod.POST, URI.create(path))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("42")));
+
+            filter.filter(exchange, this::forward).block();
+
+            assertEquals(HttpStatus.BAD_REQUEST, exchange.getResponse().getStatusCode(), path);
+            assertNull(forwarded.get(), path);
+        }
+    }
+
+    @Test
+    void forwardsAuthenticatedRequestsWithTheTokensIdentity() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/payments/1")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("42"))
+            .header("X-User-ID", "7"));
+
+        filter.filter(exchange, this::forward).block();
+
+        assertEquals("42", forwarded.get().getRequest().getHeaders().getFirst("X-User-ID"));
+        assertEquals("USER", forwarded.get().getRequest().getHeaders().getFirst("X-User-Role"));
+    }
+
+    @Test
+    void stripsClientSuppliedIdentityFromPublicRequests() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.post("/api/users/login")
+            .header("X-User-ID", "1")
+            .header("X-User-Role", "ADMIN")
+            .header("X-User-Email", "admin@example.com")
+            .header(HttpHeaders.CONTENT_TYPE, "application/json"));
+
+        filter.filter(exchange, this::forward).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertFalse(headers.containsKey("X-User-ID"));
+        assertFalse(headers.containsKey("X-User-Role"));
+        assertFalse(headers.containsKey("X-User-Email"));
+        assertEquals("application/json", headers.getFirst(HttpHeaders.CONTENT_TYPE));
+    }
+
+    private Mono<Void> forward(ServerWebExchange exchange) {
+        forwarded.set(exchange);
+        return exchange.getResponse().setComplete();
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request);
+    }
+
+    private static PathPolicyProperties.Rule rule(String pattern, SecurityClass security) {
+        PathPolicyProperties.Rule rule = new PathPolicyProperties.Rule();
+        rule.setPattern(pattern);
+        rule.setSecurity(security);
+        return rule;
+    }
+
+    private static String token(String userId) {
+        return Jwts.builder()
+            .setSubject(userId)
+            .claim("role", "USER")
+            .claim("email", "user" + userId + "@example.com")
+            .setExpiration(new Date(System.currentTimeMillis() + 60000))
+            .signWith(SignatureAlgorithm.HS512, SECRET)
+            .compact();
+    }
+}
@@ -0,0 +1,125 @@
+package com.banking.gateway.filter;
+
+import com.banking.gateway.config.PathPolicyProperties;
+import com.banking.gateway.path.PathPolicyMatcher;
+import com.banking.gateway.path.SecurityClass;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeaderPipelineFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HeaderPipelineFilter filter = new HeaderPipelineFilter(matcher(), meterRegistry);
+
+    @Test
+    void addsRequestHeadersInOneMutation() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/payments/1")
+            .header(HttpHeaders.USER_AGENT, "test-client"));
+        AtomicReference<ServerHttpRequest> forwarded = new AtomicReference<>();
+
+        filter.filter(exchange, next -> {
+            forwarded.set(next.getRequest());
+            return next.getResponse().setComplete();
+        }).block();
+
+        HttpHeaders headers = forwarded.get().getHeaders();
+        String requestId = headers.getFirst(HeaderPipelineFilter.REQUEST_ID_HEADER);
+        assertNotNull(requestId);
+        assertEquals(4, UUID.fromString(requestId).version());
+        assertNotNull(headers.getFirst("X-Request-Timestamp"));
+        assertEquals("api-gateway", headers.getFirst("X-Gateway-ID"));
+        assertEquals("test-client", headers.getFirst("X-User-Agent"));
+        assertEquals(requestId, exchange.getResponse().getHeaders().getFirst(HeaderPipelineFilter.REQUEST_ID_HEADER));
+    }
+
+    @Test
+    void keepsTheClientsRequestId() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/payments/1")
+            .header(HeaderPipelineFilter.REQUEST_ID_HEADER, "client-id-1"));
+        AtomicReference<ServerHttpRequest> forwarded = new AtomicReference<>();
+
+        filter.filter(exchange, next -> {
+            forwarded.set(next.getRequest());
+            return next.getResponse().setComplete();
+        }).block();
+
+        assertEquals(Collections.singletonList("client-id-1"),
+            forwarded.get().getHeaders().get(HeaderPipelineFilter.REQUEST_ID_HEADER));
+        assertEquals(Collections.singletonList("client-id-1"),
+            exchange.getResponse().getHeaders().get(HeaderPipelineFilter.REQUEST_ID_HEADER));
+    }
+
+    @Test
+    void setsStaticResponseHeadersOnceEvenOverDownstreamValues() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/payments/1"));
+
+        filter.filter(exchange, next -> {
+            next.getResponse().getHeaders().add("X-Frame-Options", "SAMEORIGIN");
+            return next.getResponse().setComplete();
+        }).block();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertEquals(Collections.singletonList("DENY"), headers.get("X-Frame-Options"));
+        assertEquals(Collections.singletonList("nosniff"), headers.get("X-Content-Type-Options"));
+        assertEquals(Collections.singletonList("api-gateway"), headers.get("X-Gateway-ID"));
+        assertEquals("no-store, no-cache, must-revalidate, private", headers.getFirst(HttpHeaders.CACHE_CONTROL));
+        assertNotNull(headers.getFirst("X-Response-Timestamp"));
+    }
+
+    @Test
+    void leavesCachingAloneWhereThePolicyAllowsIt() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/health"));
+
+        filter.filter(exchange, next -> next.getResponse().setComplete()).block();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertNull(headers.getFirst(HttpHeaders.CACHE_CONTROL));
+        assertEquals("DENY", headers.getFirst("X-Frame-Options"));
+    }
+
+    @Test
+    void recordsStageTimings() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/payments/1"));
+
+        filter.filter(exchange, next -> next.getResponse().setComplete()).block();
+
+        assertEquals(1, meterRegistry.get("gateway.pipeline.stage").tag("stage", "request-headers").timer().count());
+        assertEquals(1, meterRegistry.get("gateway.pipeline.stage").tag("stage", "response-headers").timer().count());
+        assertEquals(1, meterRegistry.get("gateway.pipeline.request").timer().count());
+    }
+
+    @Test
+    void formatsEachSecondOnce() {
+        HeaderPipelineFilter.SecondTimestamps timestamps = new HeaderPipelineFilter.SecondTimestamps(ZoneOffset.UTC);
+
+        String first = timestamps.format(1_700_000_000_123L);
+
+        assertEquals("2023-11-14 22:13:20", first);
+        assertSame(first, timestamps.format(1_700_000_000_999L));
+        assertEquals("2023-11-14 22:13:21", timestamps.format(1_700_000_001_000L));
+    }
+
+    private static PathPolicyMatcher matcher() {
+        PathPolicyProperties properties = new PathPolicyProperties();
+        PathPolicyProperties.Rule api = new PathPolicyProperties.Rule();
+        api.setPattern("/api/**");
+        PathPolicyProperties.Rule health = new PathPolicyProperties.Rule();
+        health.setPattern("/health/**");
+        health.setSecurity(SecurityClass.PUBLIC);
+        health.setNoStore(false);
+        properties.getRules().add(api);
+        properties.getRules().add(health);
+        return new PathPolicyMatcher(properties);
+    }
+}
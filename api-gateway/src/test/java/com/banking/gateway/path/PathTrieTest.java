@@ -0,0 +1,106 @@
+package com.banking.gateway.path;
+
+import com.banking.gateway.config.PathPolicyProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathTrieTest {
+
+    @Test
+    void prefersTheMostSpecificPattern() {
+        PathTrie<String> trie = PathTrie.<String>builder()
+            .add("/api/**", "api")
+            .add("/api/users/**", "users")
+            .add("/api/users/*/profile", "profile")
+            .add("/api/users/me/profile", "my-profile")
+            .build();
+
+        assertEquals("my-profile", trie.match("/api/users/me/profile"));
+        assertEquals("profile", trie.match("/api/users/42/profile"));
+        assertEquals("users", trie.match("/api/users/42/settings"));
+        assertEquals("users", trie.match("/api/users"));
+        assertEquals("api", trie.match("/api/payments/7"));
+        assertNull(trie.match("/health"));
+    }
+
+    @Test
+    void backtracksFromALiteralSegmentThatLeadsNowhere() {
+        PathTrie<String> trie = PathTrie.<String>builder()
+            .add("/api/users/register", "register")
+            .add("/api/*/actuator", "actuator")
+            .build();
+
+        assertEquals("actuator", trie.match("/api/users/actuator"));
+        assertEquals("register", trie.match("/api/users/register"));
+        assertNull(trie.match("/api/users/register/confirm"));
+        assertNull(trie.match("/api/users"));
+    }
+
+    @Test
+    void ignoresEmptySegmentsAndComparesWholeSegments() {
+        PathTrie<String> trie = PathTrie.<String>builder()
+            .add("/api/users", "users")
+            .add("/api/accounts/**", "accounts")
+            .build();
+
+        assertEquals("users", trie.match("/api//users/"));
+        assertEquals("accounts", trie.match("api/accounts"));
+        assertNull(trie.match("/api/usersX"));
+        assertNull(trie.match("/api/user"));
+        assertNull(trie.match("/api/accountsX/1"));
+    }
+
+    @Test
+    void handlesManySiblingsWithCollidingSlots() {
+        PathTrie.Builder<String> builder = PathTrie.builder();
+        for (int i = 0; i < 200; i++) {
+            builder.add("/api/service" + i + "/**", "service" + i);
+        }
+        PathTrie<String> trie = builder.build();
+
+        for (int i = 0; i < 200; i++) {
+            assertEquals("service" + i, trie.match("/api/service" + i + "/items/" + i));
+        }
+        assertNull(trie.match("/api/service200/items"));
+    }
+
+    @Test
+    void rejectsDuplicateAndMisplacedDoubleWildcards() {
+        assertThrows(IllegalArgumentException.class,
+            () -> PathTrie.<String>builder().add("/api/**/users", "x"));
+        assertThrows(IllegalArgumentException.class,
+            () -> PathTrie.<String>builder().add("/api/users", "a").add("/api/users/", "b"));
+    }
+
+    @Test
+    void matcherFallsBackToTheDefaultPolicy() {
+        PathPolicyProperties properties = new PathPolicyProperties();
+        properties.setRules(Arrays.asList(
+            rule("/api/**", SecurityClass.AUTHENTICATED, true),
+            rule("/api/users/login", SecurityClass.PUBLIC, true),
+            rule("/api/admin/**", SecurityClass.ADMIN, true),
+            rule("/health/**", SecurityClass.PUBLIC, false)));
+        PathPolicyMatcher matcher = new PathPolicyMatcher(properties);
+
+        assertEquals(SecurityClass.PUBLIC, matcher.match("/api/users/login").getSecurityClass());
+        assertEquals(SecurityClass.AUTHENTICATED, matcher.match("/api/users/42").getSecurityClass());
+        assertEquals(SecurityClass.ADMIN, matcher.match("/api/admin/audit").getSecurityClass());
+        assertFalse(matcher.match("/health").isNoStore());
+        assertTrue(matcher.match("/api/payments").isNoStore());
+
+        PathPolicy fallback = matcher.match("/swagger-ui/index.html");
+        assertEquals(SecurityClass.AUTHENTICATED, fallback.getSecurityClass());
+        assertFalse(fallback.isNoStore());
+    }
+
+    private static PathPolicyProperties.Rule rule(String pattern, SecurityClass security, boolean noStore) {
+        PathPolicyProperties.Rule rule = new PathPolicyProperties.Rule();
+        rule.setPattern(pattern);
+        rule.setSecurity(security);
+        rule.setNoStore(noStore);
+        return rule;
+    }
+}
@@ -0,0 +1,116 @@
+package com.banking.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistributedRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(10 * RateLimit.MINUTE_MILLIS);
+    private final AtomicInteger storeCalls = new AtomicInteger();
+    private final InMemoryQuotaStore sharedStore = new InMemoryQuotaStore();
+
+    private final QuotaStore countingStore = (key, period, index, elapsed, limit, wanted) -> {
+        storeCalls.incrementAndGet();
+        return sharedStore.reserve(key, period, index, elapsed, limit, wanted);
+    };
+
+    @Test
+    void instancesShareOneLimitWithinTheLeaseBound() {
+        RateLimit limit = RateLimit.of(1000, null, null);
+        DistributedRateLimiter first = instance(countingStore, 0.05);
+        DistributedRateLimiter second = instance(countingStore, 0.05);
+
+        int admitted = 0;
+        for (int i = 0; i < 1500; i++) {
+            DistributedRateLimiter gateway = i % 3 == 0 ? first : second;
+            if (gateway.acquire("route|ip:1", limit).block() == 0) {
+                admitted++;
+            }
+        }
+
+        // Never above the limit, and short of it by at most one lease of 50 per instance
+        assertTrue(admitted <= 1000, "admitted " + admitted);
+        assertTrue(admitted >= 1000 - 2 * 50, "admitted " + admitted);
+    }
+
+    @Test
+    void mostDecisionsAreServedFromTheLease() {
+        RateLimit limit = RateLimit.of(10000, null, null);
+        DistributedRateLimiter gateway = instance(countingStore, 0.01);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, gateway.acquire("route|ip:1", limit).block());
+        }
+
+        assertEquals(10, storeCalls.get());
+    }
+
+    @Test
+    void leasesDoNotCarryOverIntoTheNextWindow() {
+        RateLimit limit = RateLimit.of(100, null, null);
+        DistributedRateLimiter gateway = instance(countingStore, 0.5);
+        assertEquals(0, gateway.acquire("route|ip:1", limit).block());
+
+        now.addAndGet(RateLimit.MINUTE_MILLIS);
+        assertEquals(0, gateway.acquire("route|ip:1", limit).block());
+
+        assertEquals(2, storeCalls.get());
+    }
+
+    @Test
+    void fallsBackToLocalLimitsWhenTheStoreFails() {
+        QuotaStore broken = (key, period, index, elapsed, limit, wanted) -> {
+            throw new IllegalStateException("connection refused");
+        };
+        RateLimit limit = RateLimit.of(2, null, null);
+        DistributedRateLimiter gateway = instance(broken, 0.5);
+
+        assertEquals(0, gateway.acquire("route|ip:1", limit).block());
+        assertEquals(0, gateway.acquire("route|ip:1", limit).block());
+        assertTrue(gateway.acquire("route|ip:1", limit).block() > 0);
+    }
+
+    @Test
+    void leavesAFailedStoreAloneForTheRetryPeriod() {
+        AtomicInteger attempts = new AtomicInteger();
+        boolean[] down = {true};
+        QuotaStore flaky = (key, period, index, elapsed, limit, wanted) -> {
+            attempts.incrementAndGet();
+            if (down[0]) {
+                throw new IllegalStateException("connection refused");
+            }
+            return sharedStore.reserve(key, period, index, elapsed, limit, wanted);
+        };
+        RateLimit limit = RateLimit.of(1000, null, null);
+        DistributedRateLimiter gateway = instance(flaky, 0.001);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, gateway.acquire("route|ip:" + i, limit).block());
+        }
+        assertEquals(1, attempts.get());
+
+        down[0] = false;
+        now.addAndGet(5000);
+        assertEquals(0, gateway.acquire("route|ip:1", limit).block());
+        assertEquals(0, gateway.acquire("route|ip:1", limit).block());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void leaseSizeFollowsTheRatio() {
+        DistributedRateLimiter gateway = instance(countingStore, 0.02);
+
+        assertEquals(1, gateway.leaseSize(10));
+        assertEquals(20, gateway.leaseSize(1000));
+    }
+
+    private DistributedRateLimiter instance(QuotaStore store, double leaseRatio) {
+        SlidingWindowRateLimiter local = new SlidingWindowRateLimiter(1000, RateLimit.MINUTE_MILLIS, now::get);
+        return new DistributedRateLimiter(store, local, leaseRatio, 1000, 5000, Schedulers.immediate(), now::get);
+    }
+}
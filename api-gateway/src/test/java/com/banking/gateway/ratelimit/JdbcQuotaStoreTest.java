@@ -0,0 +1,46 @@
+package com.banking.gateway.ratelimit;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcQuotaStoreTest {
+
+    private JdbcQuotaStore store;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        store = new JdbcQuotaStore(dataSource);
+    }
+
+    @Test
+    void grantsUpToTheLimitOfAWindow() {
+        assertEquals(40, store.reserve("route|ip:1", 60000, 5, 0, 100, 40));
+        assertEquals(40, store.reserve("route|ip:1", 60000, 5, 1000, 100, 40));
+        assertEquals(20, store.reserve("route|ip:1", 60000, 5, 2000, 100, 40));
+        assertEquals(0, store.reserve("route|ip:1", 60000, 5, 3000, 100, 40));
+    }
+
+    @Test
+    void weighsThePreviousWindowAsItSlidesOut() {
+        store.reserve("route|ip:1", 60000, 5, 0, 100, 100);
+
+        // A quarter into the next window, three quarters of the previous 100 still count
+        assertEquals(25, store.reserve("route|ip:1", 60000, 6, 15000, 100, 100));
+    }
+
+    @Test
+    void keepsKeysAndPeriodsApart() {
+        assertEquals(10, store.reserve("route|ip:1", 60000, 5, 0, 10, 10));
+        assertEquals(10, store.reserve("route|ip:2", 60000, 5, 0, 10, 10));
+        assertEquals(10, store.reserve("route|ip:1", 3600000, 5, 0, 10, 10));
+    }
+}
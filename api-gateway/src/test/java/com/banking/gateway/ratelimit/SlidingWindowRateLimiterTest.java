@@ -0,0 +1,131 @@
+package com.banking.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(10 * RateLimit.MINUTE_MILLIS);
+    private final SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(1000, RateLimit.MINUTE_MILLIS, now::get);
+
+    @Test
+    void rejectsOnceTheWindowIsFullAndSaysWhenToRetry() {
+        RateLimit limit = RateLimit.of(3, null, null);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("ip:1", limit));
+        }
+        long waitMillis = limiter.tryAcquire("ip:1", limit);
+
+        assertTrue(waitMillis > 0);
+        now.addAndGet(waitMillis);
+        assertEquals(0, limiter.tryAcquire("ip:1", limit));
+    }
+
+    @Test
+    void doesNotAllowADoubleBurstAcrossTheWindowEdge() {
+        RateLimit limit = RateLimit.of(10, null, null);
+        now.set(11 * RateLimit.MINUTE_MILLIS - 1000);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.tryAcquire("ip:1", limit));
+        }
+
+        // Two seconds later a fixed window would have reset; the sliding window still sees the last burst
+        now.addAndGet(2000);
+
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (limiter.tryAcquire("ip:1", limit) == 0) {
+                allowed++;
+            }
+        }
+        assertEquals(0, allowed);
+    }
+
+    @Test
+    void keepsClientsAndRoutesApart() {
+        RateLimit limit = RateLimit.of(1, null, null);
+
+        assertEquals(0, limiter.tryAcquire("accounts|ip:1", limit));
+        assertTrue(limiter.tryAcquire("accounts|ip:1", limit) > 0);
+        assertEquals(0, limiter.tryAcquire("accounts|ip:2", limit));
+        assertEquals(0, limiter.tryAcquire("payments|ip:1", limit));
+    }
+
+    @Test
+    void rejectionByALongerWindowDoesNotUseUpTheShorterOne() {
+        RateLimit limit = new RateLimit(new long[] {1000, RateLimit.HOUR_MILLIS}, new int[] {3, 2});
+
+        assertEquals(0, limiter.tryAcquire("ip:1", limit));
+        assertEquals(0, limiter.tryAcquire("ip:1", limit));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire("ip:1", limit) > 0);
+        }
+
+        // Same client state, checked against the per-second window alone: only the two admitted requests count
+        RateLimit perSecondOnly = new RateLimit(new long[] {1000}, new int[] {3});
+        assertEquals(0, limiter.tryAcquire("ip:1", perSecondOnly));
+        assertTrue(limiter.tryAcquire("ip:1", perSecondOnly) > 0);
+    }
+
+    @Test
+    void neverAdmitsMoreThanTheLimitUnderContention() throws InterruptedException {
+        RateLimit limit = RateLimit.of(1000, null, null);
+        AtomicInteger allowed = new AtomicInteger();
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 500; i++) {
+                    if (limiter.tryAcquire("ip:hot", limit) == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000, allowed.get());
+    }
+
+    @Test
+    void sweepsIdleClientsAndStaysBounded() {
+        SlidingWindowRateLimiter small = new SlidingWindowRateLimiter(100, RateLimit.MINUTE_MILLIS, now::get);
+        RateLimit limit = RateLimit.of(10, null, null);
+        for (int i = 0; i < 50; i++) {
+            small.tryAcquire("ip:old-" + i, limit);
+        }
+
+        // Two minutes on, the old clients' windows are empty and the next new client sweeps them out
+        now.addAndGet(2 * RateLimit.MINUTE_MILLIS);
+        small.tryAcquire("ip:new", limit);
+        assertEquals(1, small.trackedClients());
+
+        for (int i = 0; i < 500; i++) {
+            small.tryAcquire("ip:burst-" + i, limit);
+        }
+        assertTrue(small.trackedClients() <= 100);
+    }
+
+    @Test
+    void rejectsLimitsThatDoNotFitTheCounter() {
+        assertThrows(IllegalArgumentException.class, () -> RateLimit.of(SlidingWindowRateLimiter.MAX_COUNT + 1, null, null));
+    }
+}
@@ -0,0 +1,86 @@
+package com.banking.gateway.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenVerifierTest {
+
+    private static final String SECRET = "your-super-secret-jwt-key-for-banking-application-2024";
+
+    private final AtomicLong now = new AtomicLong(System.currentTimeMillis());
+    private final JwtTokenVerifier verifier = new JwtTokenVerifier(SECRET, 1000, 86400000, now::get);
+
+    @Test
+    void verifiesAndCachesAValidToken() {
+        String token = token(SECRET, "42", now.get() + 60000);
+
+        VerifiedToken first = verifier.verify(token);
+        VerifiedToken second = verifier.verify(token);
+
+        assertNotNull(first);
+        assertEquals("42", first.getUserId());
+        assertEquals("USER", first.getRole());
+        assertEquals("user42@example.com", first.getEmail());
+        assertSame(first, second);
+        assertEquals(1, verifier.cachedTokens());
+    }
+
+    @Test
+    void rejectsATokenSignedWithAnotherKey() {
+        String forged = token("c29tZS1vdGhlci1rZXktdGhhdC1pcy1ub3QtdGhlLWdhdGV3YXlz", "42", now.get() + 60000);
+
+        assertNull(verifier.verify(forged));
+        assertNull(verifier.verify(forged));
+        assertEquals(0, verifier.cachedTokens());
+    }
+
+    @Test
+    void stopsAcceptingACachedTokenAtItsExpiry() {
+        String token = token(SECRET, "42", now.get() + 60000);
+        assertNotNull(verifier.verify(token));
+
+        now.addAndGet(60000);
+
+        assertNull(verifier.verify(token));
+    }
+
+    @Test
+    void rejectsATamperedToken() {
+        String token = token(SECRET, "42", now.get() + 60000);
+        assertNotNull(verifier.verify(token));
+
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + token(SECRET, "1", now.get() + 60000).split("\\.")[1] + "." + parts[2];
+
+        assertNull(verifier.verify(tampered));
+    }
+
+    @Test
+    void rejectsATokenWhoseRoleIsNotAString() {
+        String token = Jwts.builder()
+            .setSubject("42")
+            .claim("role", 7)
+            .setExpiration(new Date(now.get() + 60000))
+            .signWith(SignatureAlgorithm.HS512, SECRET)
+            .compact();
+
+        assertNull(verifier.verify(token));
+        assertEquals(0, verifier.cachedTokens());
+    }
+
+    private static String token(String secret, String userId, long expiresAt) {
+        return Jwts.builder()
+            .setSubject(userId)
+            .claim("role", "USER")
+            .claim("email", "user" + userId + "@example.com")
+            .setExpiration(new Date(expiresAt))
+            .signWith(SignatureAlgorithm.HS512, secret)
+            .compact();
+    }
+}
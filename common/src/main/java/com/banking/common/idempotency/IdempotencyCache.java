@@ -0,0 +1,42 @@
+package com.banking.common.idempotency;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of the most recent completed responses. Only committed responses are put here, so a hit
+ * can be replayed without touching the database.
+ */
+public class IdempotencyCache {
+
+    private final Map<String, StoredResponse<Object>> entries;
+
+    public IdempotencyCache(int maxSize) {
+        this.entries = new LinkedHashMap<String, StoredResponse<Object>>(Math.min(maxSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse<Object>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized StoredResponse<Object> get(String scope, String principal, String key) {
+        return entries.get(cacheKey(scope, principal, key));
+    }
+
+    public synchronized void put(String scope, String principal, String key, StoredResponse<Object> response) {
+        entries.put(cacheKey(scope, principal, key), response);
+    }
+
+    public synchronized void remove(String scope, String principal, String key) {
+        entries.remove(cacheKey(scope, principal, key));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static String cacheKey(String scope, String principal, String key) {
+        return scope + '\u0000' + principal + '\u0000' + key;
+    }
+}
@@ -0,0 +1,35 @@
+package com.banking.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+
+/**
+ * Imported by services that accept an Idempotency-Key; the service's migrations create the key table.
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfiguration {
+
+    @Bean
+    public JdbcIdempotencyStore idempotencyStore(JdbcTemplate jdbcTemplate, IdempotencyProperties properties) {
+        return new JdbcIdempotencyStore(jdbcTemplate, properties.getTableName());
+    }
+
+    @Bean
+    public IdempotencyService idempotencyService(JdbcIdempotencyStore idempotencyStore,
+                                                 PlatformTransactionManager transactionManager,
+                                                 ObjectMapper objectMapper,
+                                                 IdempotencyProperties properties,
+                                                 MeterRegistry meterRegistry) {
+        return new IdempotencyService(idempotencyStore, new TransactionTemplate(transactionManager),
+            objectMapper, properties, meterRegistry, Clock.systemUTC());
+    }
+}
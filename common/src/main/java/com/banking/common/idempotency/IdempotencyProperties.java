@@ -0,0 +1,24 @@
+package com.banking.common.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "banking.idempotency")
+public class IdempotencyProperties {
+    /**
+     * Table holding the keys; see the service's migrations for its definition.
+     */
+    private String tableName = "idempotency_keys";
+    /**
+     * How long a stored response is replayed for the same key.
+     */
+    private Duration ttl = Duration.ofHours(24);
+    /**
+     * Number of recent responses kept in memory so replays skip the database.
+     */
+    private int cacheSize = 10_000;
+    private int maxKeyLength = 255;
+}
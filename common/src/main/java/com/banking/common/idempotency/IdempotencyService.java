@@ -0,0 +1,197 @@
+package com.banking.common.idempotency;
+
+import com.banking.common.dto.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Executes a write at most once per Idempotency-Key. The key is claimed in the same database transaction
+ * as the write and its response, so a retry either replays the committed response or, while the first
+ * attempt is still running, waits on the key's row lock and then replays it. Only successful responses
+ * are kept; an error response rolls the claim back so the client can retry with the same key.
+ * <p>
+ * Keys belong to the caller that sent them: two users sending the same key get separate entries, so one
+ * caller's response is never replayed to another.
+ */
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final String PRINCIPAL_HEADER = "X-User-ID";
+
+    private static final int MAX_PRINCIPAL_LENGTH = 64;
+
+    private final JdbcIdempotencyStore store;
+    private final IdempotencyCache cache;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    public IdempotencyService(JdbcIdempotencyStore store, TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper, IdempotencyProperties properties,
+                              MeterRegistry meterRegistry, Clock clock) {
+        this.store = store;
+        this.cache = new IdempotencyCache(properties.getCacheSize());
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    /**
+     * @param scope     namespace of the key: the method and path of the endpoint, e.g. "POST /api/payments"
+     * @param principal authenticated caller from {@value #PRINCIPAL_HEADER}; null for anonymous callers
+     * @param key       client supplied key; when null the write runs without deduplication
+     * @param request   request body, fingerprinted so a key cannot be reused for a different request
+     * @param dataType  type of {@link ApiResponse#getData()}, needed to read stored responses back
+     */
+    public <T> ResponseEntity<ApiResponse<T>> execute(String scope, String principal, String key, Object request,
+                                                      Class<T> dataType, Supplier<ResponseEntity<ApiResponse<T>>> write) {
+        if (key == null) {
+            return write.get();
+        }
+        if (key.trim().isEmpty() || key.length() > properties.getMaxKeyLength()) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(
+                HEADER + " must be between 1 and " + properties.getMaxKeyLength() + " characters", "INVALID_IDEMPOTENCY_KEY"));
+        }
+        String owner = principal != null ? principal : "";
+        if (owner.length() > MAX_PRINCIPAL_LENGTH) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(
+                PRINCIPAL_HEADER + " must be at most " + MAX_PRINCIPAL_LENGTH + " characters", "INVALID_IDEMPOTENCY_KEY"));
+        }
+        // Fingerprint before the write runs, services fill generated fields into the request object
+        String requestHash = fingerprint(request);
+        Instant now = clock.instant();
+
+        StoredResponse<Object> cached = cache.get(scope, owner, key);
+        if (cached != null && !cached.isExpired(now)) {
+            return replay(scope, "cache", cached, requestHash);
+        }
+        Optional<StoredResponse<Object>> stored = findStored(scope, owner, key, dataType, now);
+        if (stored.isPresent()) {
+            return replay(scope, "store", stored.get(), requestHash);
+        }
+        store.deleteIfExpired(scope, owner, key, now);
+
+        Instant expiresAt = now.plus(properties.getTtl());
+        ResponseEntity<ApiResponse<T>> response = transactionTemplate.execute(status -> {
+            if (!store.claim(scope, owner, key, requestHash, now, expiresAt)) {
+                // A concurrent request committed the key first; the failed insert may have aborted this transaction
+                status.setRollbackOnly();
+                return null;
+            }
+            ResponseEntity<ApiResponse<T>> result = write.get();
+            if (!result.getStatusCode().is2xxSuccessful()) {
+                status.setRollbackOnly();
+                return result;
+            }
+            store.complete(scope, owner, key, result.getStatusCodeValue(), toJson(result.getBody()));
+            return result;
+        });
+
+        if (response == null) {
+            stored = findStored(scope, owner, key, dataType, now);
+            if (stored.isPresent()) {
+                return replay(scope, "store", stored.get(), requestHash);
+            }
+            count(scope, "conflict");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(
+                "A request with this " + HEADER + " is still being processed", "IDEMPOTENCY_KEY_IN_USE"));
+        }
+        if (response.getStatusCode().is2xxSuccessful()) {
+            cache.put(scope, owner, key, new StoredResponse<>(requestHash, response.getStatusCodeValue(), response.getBody(), expiresAt));
+            count(scope, "executed");
+        } else {
+            count(scope, "failed");
+        }
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${banking.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        int purged = store.purgeExpired(clock.instant());
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<ApiResponse<T>> replay(String scope, String source, StoredResponse<Object> stored, String requestHash) {
+        if (!stored.getRequestHash().equals(requestHash)) {
+            count(scope, "mismatch");
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(ApiResponse.error(
+                HEADER + " was already used with a different request", "IDEMPOTENCY_KEY_REUSED"));
+        }
+        count(scope, "replayed_" + source);
+        return ResponseEntity.status(stored.getStatus())
+            .header(REPLAYED_HEADER, "true")
+            .body((ApiResponse<T>) stored.getBody());
+    }
+
+    private <T> Optional<StoredResponse<Object>> findStored(String scope, String principal, String key, Class<T> dataType,
+                                                            Instant now) {
+        Optional<StoredResponse<String>> row = store.find(scope, principal, key);
+        if (!row.isPresent() || row.get().isExpired(now)) {
+            return Optional.empty();
+        }
+        StoredResponse<String> json = row.get();
+        JavaType bodyType = objectMapper.getTypeFactory().constructParametricType(ApiResponse.class, dataType);
+        try {
+            Object body = objectMapper.readValue(json.getBody(), bodyType);
+            StoredResponse<Object> stored = new StoredResponse<>(json.getRequestHash(), json.getStatus(), body, json.getExpiresAt());
+            cache.put(scope, principal, key, stored);
+            return Optional.of(stored);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable stored response for idempotency key " + key, e);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store response", e);
+        }
+    }
+
+    private void count(String scope, String outcome) {
+        Counter.builder("idempotency.requests")
+            .tag("scope", scope)
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .increment();
+    }
+}
@@ -0,0 +1,80 @@
+package com.banking.common.idempotency;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keys live in one row each, unique on (scope, principal, idempotency_key). Callers claim a key inside the same
+ * database transaction as the write it guards, so the row and the write commit or roll back together.
+ */
+public class JdbcIdempotencyStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String insertSql;
+    private final String completeSql;
+    private final String findSql;
+    private final String deleteExpiredKeySql;
+    private final String purgeSql;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, String tableName) {
+        if (!tableName.matches("[A-Za-z_][A-Za-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid idempotency table name: " + tableName);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.insertSql = "INSERT INTO " + tableName
+            + " (scope, principal, idempotency_key, request_hash, created_at, expires_at) VALUES (?, ?, ?, ?, ?, ?)";
+        this.completeSql = "UPDATE " + tableName
+            + " SET response_status = ?, response_body = ? WHERE scope = ? AND principal = ? AND idempotency_key = ?";
+        this.findSql = "SELECT request_hash, response_status, response_body, expires_at FROM " + tableName
+            + " WHERE scope = ? AND principal = ? AND idempotency_key = ?";
+        this.deleteExpiredKeySql = "DELETE FROM " + tableName
+            + " WHERE scope = ? AND principal = ? AND idempotency_key = ? AND expires_at <= ?";
+        this.purgeSql = "DELETE FROM " + tableName + " WHERE expires_at <= ?";
+    }
+
+    /**
+     * Inserts the claim row. Blocks while another transaction holds an uncommitted claim on the same key.
+     *
+     * @return false when the key is already taken
+     */
+    public boolean claim(String scope, String principal, String key, String requestHash, Instant now, Instant expiresAt) {
+        try {
+            jdbcTemplate.update(insertSql, scope, principal, key, requestHash, Timestamp.from(now), Timestamp.from(expiresAt));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public void complete(String scope, String principal, String key, int status, String body) {
+        jdbcTemplate.update(completeSql, status, body, scope, principal, key);
+    }
+
+    /**
+     * @return the completed response for the key; claims that never completed have no status and are skipped
+     */
+    public Optional<StoredResponse<String>> find(String scope, String principal, String key) {
+        List<StoredResponse<String>> rows = jdbcTemplate.query(findSql, (rs, rowNum) -> {
+            int status = rs.getInt("response_status");
+            if (rs.wasNull()) {
+                return null;
+            }
+            return new StoredResponse<>(rs.getString("request_hash"), status, rs.getString("response_body"),
+                rs.getTimestamp("expires_at").toInstant());
+        }, scope, principal, key);
+        return rows.isEmpty() ? Optional.empty() : Optional.ofNullable(rows.get(0));
+    }
+
+    public void deleteIfExpired(String scope, String principal, String key, Instant now) {
+        jdbcTemplate.update(deleteExpiredKeySql, scope, principal, key, Timestamp.from(now));
+    }
+
+    public int purgeExpired(Instant now) {
+        return jdbcTemplate.update(purgeSql, Timestamp.from(now));
+    }
+}
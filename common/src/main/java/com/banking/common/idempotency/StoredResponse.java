@@ -0,0 +1,23 @@
+package com.banking.common.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * A response recorded for an idempotency key, with the fingerprint of the request that produced it.
+ * The body is the response object itself when cached in memory and its JSON form when read from the store.
+ */
+@Getter
+@AllArgsConstructor
+public class StoredResponse<B> {
+    private final String requestHash;
+    private final int status;
+    private final B body;
+    private final Instant expiresAt;
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,27 @@
+package com.banking.common.mapping;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maps a persistent entity to the DTO a service returns. List results are built in one presized
+ * ArrayList instead of going through a stream collector, which grows its backing array from ten
+ * elements and copies it on every resize.
+ *
+ * Read-only list endpoints should prefer a JPQL constructor projection straight into the DTO
+ * ({@code SELECT new ...Dto(...)}), which skips entity hydration and dirty-checking snapshots
+ * altogether; the mapper is for entities that were loaded anyway.
+ */
+public interface DtoMapper<E, D> {
+
+    D toDto(E entity);
+
+    default List<D> toDtos(Collection<? extends E> entities) {
+        List<D> dtos = new ArrayList<>(entities.size());
+        for (E entity : entities) {
+            dtos.add(toDto(entity));
+        }
+        return dtos;
+    }
+}
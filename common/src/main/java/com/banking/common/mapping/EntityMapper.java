@@ -0,0 +1,9 @@
+package com.banking.common.mapping;
+
+/**
+ * A {@link DtoMapper} that can also build a new, not yet persisted entity from a request DTO.
+ */
+public interface EntityMapper<E, D> extends DtoMapper<E, D> {
+
+    E toEntity(D dto);
+}
@@ -0,0 +1,29 @@
+package com.banking.common.outbox;
+
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * POSTs each event as JSON to the subscribers of its aggregate type. A non-2xx answer from any of them
+ * fails the delivery, so subscribers that already accepted the event will see it again on retry.
+ */
+public class HttpOutboxPublisher implements OutboxPublisher {
+
+    private final RestTemplate restTemplate;
+    private final Map<String, List<String>> subscribers;
+
+    public HttpOutboxPublisher(RestTemplate restTemplate, Map<String, List<String>> subscribers) {
+        this.restTemplate = restTemplate;
+        this.subscribers = subscribers;
+    }
+
+    @Override
+    public void publish(OutboxEvent event) {
+        for (String url : subscribers.getOrDefault(event.getAggregateType(), Collections.emptyList())) {
+            restTemplate.postForEntity(url, event, Void.class);
+        }
+    }
+}
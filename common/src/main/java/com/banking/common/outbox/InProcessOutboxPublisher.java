@@ -0,0 +1,27 @@
+package com.banking.common.outbox;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Stands in for a broker: events go straight to the listeners of the same application. Meant for tests
+ * and single-process setups. Listeners run outside the relay's transaction, as a remote consumer would,
+ * so a failing listener cannot roll back the relay's bookkeeping.
+ */
+public class InProcessOutboxPublisher implements OutboxPublisher {
+
+    private final OutboxEventDispatcher dispatcher;
+    private final TransactionTemplate suspended;
+
+    public InProcessOutboxPublisher(OutboxEventDispatcher dispatcher, PlatformTransactionManager transactionManager) {
+        this.dispatcher = dispatcher;
+        this.suspended = new TransactionTemplate(transactionManager);
+        this.suspended.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+    }
+
+    @Override
+    public void publish(OutboxEvent event) {
+        suspended.executeWithoutResult(status -> dispatcher.dispatch(event));
+    }
+}
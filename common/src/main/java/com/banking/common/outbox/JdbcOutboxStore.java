@@ -0,0 +1,115 @@
+package com.banking.common.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One row per event, appended in the transaction that changes the aggregate. Rows stay until they are
+ * published or marked dead; published rows are purged after the retention period.
+ */
+public class JdbcOutboxStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String insertSql;
+    private final String lockBatchSql;
+    private final String publishSql;
+    private final String failureSql;
+    private final String deadSql;
+    private final String backlogSql;
+    private final String purgeSql;
+
+    public JdbcOutboxStore(JdbcTemplate jdbcTemplate, String tableName) {
+        if (!tableName.matches("[A-Za-z_][A-Za-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid outbox table name: " + tableName);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.insertSql = "INSERT INTO " + tableName
+            + " (aggregate_type, aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+        this.lockBatchSql = "SELECT id, aggregate_type, aggregate_id, event_type, payload, created_at, attempts,"
+            + " next_attempt_at FROM " + tableName + " e"
+            + " WHERE published_at IS NULL AND dead = FALSE"
+            + " AND NOT EXISTS (SELECT 1 FROM " + tableName + " b WHERE b.aggregate_type = e.aggregate_type"
+            + " AND b.aggregate_id = e.aggregate_id AND b.id <= e.id AND b.published_at IS NULL AND b.dead = FALSE"
+            + " AND b.next_attempt_at > ?)"
+            + " ORDER BY id LIMIT ? FOR UPDATE NOWAIT";
+        this.publishSql = "UPDATE " + tableName + " SET published_at = ? WHERE id = ?";
+        this.failureSql = "UPDATE " + tableName
+            + " SET attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+        this.deadSql = "UPDATE " + tableName + " SET attempts = ?, dead = TRUE, last_error = ? WHERE id = ?";
+        this.backlogSql = "SELECT COUNT(*), MIN(created_at) FROM " + tableName
+            + " WHERE published_at IS NULL AND dead = FALSE";
+        this.purgeSql = "DELETE FROM " + tableName + " WHERE published_at < ?";
+    }
+
+    public void append(String aggregateType, String aggregateId, String eventType, String payload, Instant now) {
+        jdbcTemplate.update(insertSql, aggregateType, aggregateId, eventType, payload, Timestamp.from(now));
+    }
+
+    public void appendAll(String aggregateType, String eventType, List<String[]> idsAndPayloads, Instant now) {
+        Timestamp createdAt = Timestamp.from(now);
+        jdbcTemplate.batchUpdate(insertSql, idsAndPayloads, idsAndPayloads.size(), (ps, row) -> {
+            ps.setString(1, aggregateType);
+            ps.setString(2, row[0]);
+            ps.setString(3, eventType);
+            ps.setString(4, row[1]);
+            ps.setTimestamp(5, createdAt);
+        });
+    }
+
+    /**
+     * Locks the oldest events that are due. An event still backing off is skipped together with the later
+     * events of its aggregate, so it neither fills the batch nor lets its successors overtake it. NOWAIT
+     * makes a second relay fail fast instead of delivering the rows after the first one, which would
+     * break the order.
+     */
+    public List<OutboxEvent> lockNextBatch(int limit, Instant now) {
+        return jdbcTemplate.query(lockBatchSql, (rs, rowNum) -> {
+            Timestamp nextAttemptAt = rs.getTimestamp("next_attempt_at");
+            return new OutboxEvent(rs.getLong("id"), rs.getString("aggregate_type"), rs.getString("aggregate_id"),
+                rs.getString("event_type"), rs.getString("payload"), rs.getTimestamp("created_at").toInstant(),
+                rs.getInt("attempts"), nextAttemptAt == null ? null : nextAttemptAt.toInstant());
+        }, Timestamp.from(now), limit);
+    }
+
+    public void markPublished(List<Long> ids, Instant now) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Timestamp publishedAt = Timestamp.from(now);
+        jdbcTemplate.batchUpdate(publishSql, ids, ids.size(), (ps, id) -> {
+            ps.setTimestamp(1, publishedAt);
+            ps.setLong(2, id);
+        });
+    }
+
+    public void recordFailure(long id, int attempts, Instant nextAttemptAt, String error) {
+        jdbcTemplate.update(failureSql, attempts, Timestamp.from(nextAttemptAt), error, id);
+    }
+
+    public void markDead(long id, int attempts, String error) {
+        jdbcTemplate.update(deadSql, attempts, error, id);
+    }
+
+    public Backlog backlog() {
+        return jdbcTemplate.queryForObject(backlogSql, (rs, rowNum) -> {
+            Timestamp oldest = rs.getTimestamp(2);
+            return new Backlog(rs.getLong(1), oldest == null ? null : oldest.toInstant());
+        });
+    }
+
+    public int purgePublished(Instant before) {
+        return jdbcTemplate.update(purgeSql, Timestamp.from(before));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Backlog {
+        private final long pending;
+        private final Instant oldestCreatedAt;
+    }
+}
@@ -0,0 +1,65 @@
+package com.banking.common.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records domain events for the {@link OutboxRelay} to deliver. Events must be appended inside the
+ * transaction that changes the aggregate, so the change and its event commit or roll back together.
+ */
+public class Outbox {
+
+    private final JdbcOutboxStore store;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    public Outbox(JdbcOutboxStore store, ObjectMapper objectMapper, Clock clock) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    /**
+     * @param aggregateId events of the same aggregate are delivered in the order they were appended
+     * @param payload     serialized to JSON
+     */
+    public void append(String aggregateType, Object aggregateId, String eventType, Object payload) {
+        requireTransaction(eventType);
+        store.append(aggregateType, String.valueOf(aggregateId), eventType, toJson(eventType, payload), clock.instant());
+    }
+
+    /**
+     * Appends one event per entry in a single JDBC batch, in the iteration order of the map.
+     */
+    public void appendAll(String aggregateType, String eventType, Map<?, ?> payloadsByAggregateId) {
+        requireTransaction(eventType);
+        if (payloadsByAggregateId.isEmpty()) {
+            return;
+        }
+        List<String[]> rows = new ArrayList<>(payloadsByAggregateId.size());
+        for (Map.Entry<?, ?> entry : payloadsByAggregateId.entrySet()) {
+            rows.add(new String[] {String.valueOf(entry.getKey()), toJson(eventType, entry.getValue())});
+        }
+        store.appendAll(aggregateType, eventType, rows, clock.instant());
+    }
+
+    private void requireTransaction(String eventType) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox event " + eventType + " must be appended inside a transaction");
+        }
+    }
+
+    private String toJson(String eventType, Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox event " + eventType, e);
+        }
+    }
+}
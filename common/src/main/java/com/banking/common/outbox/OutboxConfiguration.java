@@ -0,0 +1,60 @@
+package com.banking.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.util.stream.Collectors;
+
+/**
+ * Imported by services that publish or consume domain events; the service's migrations create the outbox table.
+ */
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfiguration {
+
+    @Bean
+    public JdbcOutboxStore outboxStore(JdbcTemplate jdbcTemplate, OutboxProperties properties) {
+        return new JdbcOutboxStore(jdbcTemplate, properties.getTableName());
+    }
+
+    @Bean
+    public Outbox outbox(JdbcOutboxStore outboxStore, ObjectMapper objectMapper) {
+        return new Outbox(outboxStore, objectMapper, Clock.systemUTC());
+    }
+
+    @Bean
+    public OutboxEventDispatcher outboxEventDispatcher(ObjectProvider<OutboxEventListener> listeners) {
+        return new OutboxEventDispatcher(listeners.orderedStream().collect(Collectors.toList()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "banking.outbox", name = "transport", havingValue = "http", matchIfMissing = true)
+    public OutboxPublisher httpOutboxPublisher(RestTemplate restTemplate, OutboxProperties properties) {
+        return new HttpOutboxPublisher(restTemplate, properties.getSubscribers());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "banking.outbox", name = "transport", havingValue = "in-process")
+    public OutboxPublisher inProcessOutboxPublisher(OutboxEventDispatcher outboxEventDispatcher,
+                                                    PlatformTransactionManager transactionManager) {
+        return new InProcessOutboxPublisher(outboxEventDispatcher, transactionManager);
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(JdbcOutboxStore outboxStore, OutboxPublisher outboxPublisher,
+                                   PlatformTransactionManager transactionManager, OutboxProperties properties,
+                                   MeterRegistry meterRegistry) {
+        return new OutboxRelay(outboxStore, outboxPublisher, new TransactionTemplate(transactionManager),
+            properties, meterRegistry, Clock.systemUTC());
+    }
+}
@@ -0,0 +1,33 @@
+package com.banking.common.outbox;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A domain event recorded in the outbox table. Ids increase in insertion order and are sent along so
+ * consumers can discard redeliveries; the payload is the event body as JSON.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    private Long id;
+    private String aggregateType;
+    private String aggregateId;
+    private String eventType;
+    private String payload;
+    private Instant createdAt;
+    @JsonIgnore
+    private int attempts;
+    @JsonIgnore
+    private Instant nextAttemptAt;
+
+    @JsonIgnore
+    public String getAggregateKey() {
+        return aggregateType + ':' + aggregateId;
+    }
+}
@@ -0,0 +1,22 @@
+package com.banking.common.outbox;
+
+import java.util.List;
+
+/**
+ * Hands a received event to every {@link OutboxEventListener} of the application; used by the
+ * in-process transport and by endpoints that receive events over HTTP.
+ */
+public class OutboxEventDispatcher {
+
+    private final List<OutboxEventListener> listeners;
+
+    public OutboxEventDispatcher(List<OutboxEventListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    public void dispatch(OutboxEvent event) {
+        for (OutboxEventListener listener : listeners) {
+            listener.onEvent(event);
+        }
+    }
+}
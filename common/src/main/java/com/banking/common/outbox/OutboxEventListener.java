@@ -0,0 +1,10 @@
+package com.banking.common.outbox;
+
+/**
+ * Consumes outbox events, whichever transport delivered them. Delivery is at least once, so listeners
+ * must tolerate seeing the same event id again; throwing makes the producer retry the event later.
+ */
+public interface OutboxEventListener {
+
+    void onEvent(OutboxEvent event);
+}
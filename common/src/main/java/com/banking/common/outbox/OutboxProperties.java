@@ -0,0 +1,50 @@
+package com.banking.common.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "banking.outbox")
+public class OutboxProperties {
+    /**
+     * Table holding the events; see the service's migrations for its definition.
+     */
+    private String tableName = "outbox_events";
+    /**
+     * How events leave the service: "http" posts them to the subscribers below, "in-process" hands them
+     * to the {@link OutboxEventListener} beans of the same application.
+     */
+    private String transport = "http";
+    /**
+     * Endpoint URLs that receive the events of each aggregate type. Aggregate types without subscribers
+     * are marked published without being delivered.
+     */
+    private Map<String, List<String>> subscribers = new HashMap<>();
+    private boolean relayEnabled = true;
+    /**
+     * Events locked and delivered per relay transaction.
+     */
+    private int batchSize = 100;
+    /**
+     * Batches drained back to back before the relay waits for its next poll.
+     */
+    private int maxBatchesPerPoll = 10;
+    /**
+     * Failed deliveries are retried with exponential backoff from the initial to the maximum delay.
+     */
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(5);
+    /**
+     * After this many failed deliveries an event is marked dead and no longer holds back its aggregate.
+     */
+    private int maxAttempts = 20;
+    /**
+     * How long published events are kept before they are purged.
+     */
+    private Duration retention = Duration.ofDays(7);
+}
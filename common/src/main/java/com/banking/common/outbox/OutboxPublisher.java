@@ -0,0 +1,10 @@
+package com.banking.common.outbox;
+
+/**
+ * Delivers one event to its consumers. Returning normally marks the event published; any exception
+ * leaves it in the outbox for a later retry.
+ */
+public interface OutboxPublisher {
+
+    void publish(OutboxEvent event);
+}
@@ -0,0 +1,161 @@
+package com.banking.common.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Polls the outbox and delivers pending events in id order, at least once. The batch stays locked while
+ * it is delivered, so only one relay per table makes progress at a time. The first failed delivery ends
+ * the batch, so a subscriber that is down costs one timeout per poll rather than one per event. The
+ * failed event then backs off, and the later events of its aggregate are held back until it succeeds or
+ * is marked dead; other aggregates go on with the next batch.
+ */
+@Slf4j
+public class OutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcOutboxStore store;
+    private final OutboxPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final Clock clock;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter published;
+    private final Counter failed;
+    private final Counter dead;
+    private final Timer deliveryLag;
+
+    public OutboxRelay(JdbcOutboxStore store, OutboxPublisher publisher, TransactionTemplate transactionTemplate,
+                       OutboxProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.store = store;
+        this.publisher = publisher;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        String table = properties.getTableName();
+        this.published = outcome(meterRegistry, table, "published");
+        this.failed = outcome(meterRegistry, table, "failed");
+        this.dead = outcome(meterRegistry, table, "dead");
+        this.deliveryLag = Timer.builder("outbox.delivery.lag")
+            .description("Time from appending an event to its delivery")
+            .tag("table", table)
+            .register(meterRegistry);
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+            .description("Events waiting to be delivered")
+            .tag("table", table)
+            .register(meterRegistry);
+        TimeGauge.builder("outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+            .description("Age of the oldest event waiting to be delivered")
+            .tag("table", table)
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${banking.outbox.poll-interval-ms:500}")
+    public void relay() {
+        if (!properties.isRelayEnabled()) {
+            return;
+        }
+        for (int i = 0; i < properties.getMaxBatchesPerPoll() && relayBatch(); i++) {
+            // a full batch went out cleanly, more events are probably waiting
+        }
+        refreshBacklog();
+    }
+
+    /**
+     * @return true when a full batch was delivered without a failure
+     */
+    boolean relayBatch() {
+        try {
+            return transactionTemplate.execute(status -> {
+                Instant now = clock.instant();
+                List<OutboxEvent> batch = store.lockNextBatch(properties.getBatchSize(), now);
+                List<Long> delivered = new ArrayList<>(batch.size());
+                boolean failedDelivery = false;
+                for (OutboxEvent event : batch) {
+                    try {
+                        publisher.publish(event);
+                        delivered.add(event.getId());
+                        deliveryLag.record(Duration.between(event.getCreatedAt(), clock.instant()));
+                    } catch (RuntimeException e) {
+                        recordFailure(event, e, now);
+                        failedDelivery = true;
+                        break;
+                    }
+                }
+                store.markPublished(delivered, clock.instant());
+                published.increment(delivered.size());
+                return batch.size() == properties.getBatchSize() && !failedDelivery;
+            });
+        } catch (PessimisticLockingFailureException e) {
+            log.debug("Outbox {} is being relayed by another instance", properties.getTableName());
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${banking.outbox.purge-interval-ms:3600000}")
+    public void purgePublished() {
+        int purged = store.purgePublished(clock.instant().minus(properties.getRetention()));
+        if (purged > 0) {
+            log.info("Purged {} published outbox events", purged);
+        }
+    }
+
+    long pending() {
+        return pending.get();
+    }
+
+    private void recordFailure(OutboxEvent event, RuntimeException e, Instant now) {
+        int attempts = event.getAttempts() + 1;
+        String error = e.toString();
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        if (attempts >= properties.getMaxAttempts()) {
+            store.markDead(event.getId(), attempts, error);
+            dead.increment();
+            log.error("Giving up on outbox event {} ({} {}) after {} attempts: {}",
+                event.getId(), event.getEventType(), event.getAggregateKey(), attempts, error);
+        } else {
+            store.recordFailure(event.getId(), attempts, now.plus(backoff(attempts)), error);
+            failed.increment();
+            log.warn("Delivery of outbox event {} ({} {}) failed, attempt {}: {}",
+                event.getId(), event.getEventType(), event.getAggregateKey(), attempts, error);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : delay;
+    }
+
+    private void refreshBacklog() {
+        JdbcOutboxStore.Backlog backlog = store.backlog();
+        pending.set(backlog.getPending());
+        Instant oldest = backlog.getOldestCreatedAt();
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, clock.instant()).toMillis()));
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String table, String outcome) {
+        return Counter.builder("outbox.events")
+            .tag("table", table)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
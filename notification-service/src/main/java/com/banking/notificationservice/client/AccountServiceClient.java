@@ -0,0 +1,33 @@
+package com.banking.notificationservice.client;
+
+import com.banking.notificationservice.config.NotificationServiceConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+@Component
+public class AccountServiceClient {
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private NotificationServiceConfig config;
+
+    /**
+     * @return the id of the user owning the account, or null when account-service does not know it
+     * @throws org.springframework.web.client.RestClientException when account-service cannot be reached
+     */
+    public Long findOwnerUserId(Long accountId) {
+        JsonNode response;
+        try {
+            response = restTemplate.getForObject(config.getAccountServiceUrl() + "/api/accounts/{id}", JsonNode.class, accountId);
+        } catch (HttpClientErrorException.NotFound e) {
+            return null;
+        }
+        JsonNode userId = response == null ? null : response.path("data").path("userId");
+        return userId == null || !userId.canConvertToLong() ? null : userId.asLong();
+    }
+}
@@ -0,0 +1,29 @@
+package com.banking.notificationservice.config;
+
+import com.banking.notificationservice.delivery.ChannelAdapter;
+import com.banking.notificationservice.delivery.StubChannelAdapter;
+import com.banking.notificationservice.entity.NotificationType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Real providers replace these by registering their own ChannelAdapter beans with stub-adapters-enabled off
+@Configuration
+@ConditionalOnProperty(prefix = "notification.service", name = "stub-adapters-enabled", havingValue = "true", matchIfMissing = true)
+public class ChannelAdapterConfig {
+
+    @Bean
+    public ChannelAdapter emailChannelAdapter(NotificationServiceConfig config) {
+        return new StubChannelAdapter(NotificationType.EMAIL, config.getStubLatencyMs(), config.getStubFailureRate());
+    }
+
+    @Bean
+    public ChannelAdapter smsChannelAdapter(NotificationServiceConfig config) {
+        return new StubChannelAdapter(NotificationType.SMS, config.getStubLatencyMs(), config.getStubFailureRate());
+    }
+
+    @Bean
+    public ChannelAdapter pushChannelAdapter(NotificationServiceConfig config) {
+        return new StubChannelAdapter(NotificationType.PUSH, config.getStubLatencyMs(), config.getStubFailureRate());
+    }
+}
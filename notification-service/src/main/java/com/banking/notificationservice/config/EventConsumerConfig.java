@@ -0,0 +1,19 @@
+package com.banking.notificationservice.config;
+
+import com.banking.common.outbox.OutboxEventDispatcher;
+import com.banking.common.outbox.OutboxEventListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.stream.Collectors;
+
+// Only consumes events, so the outbox table and relay of OutboxConfiguration are not needed here
+@Configuration
+public class EventConsumerConfig {
+
+    @Bean
+    public OutboxEventDispatcher outboxEventDispatcher(ObjectProvider<OutboxEventListener> listeners) {
+        return new OutboxEventDispatcher(listeners.orderedStream().collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,198 @@
+package com.banking.notificationservice.config;
+
+import com.banking.notificationservice.entity.NotificationType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "notification.service")
+public class NotificationServiceConfig {
+
+    private boolean deliveryEnabled = true;
+    private long deliveryIntervalMs = 200;
+    private long deliveryLeaseMs = 300000;
+    private int maxAttempts = 5;
+    private long retryInitialBackoffMs = 1000;
+    private long retryMaxBackoffMs = 300000;
+    private Map<NotificationType, Channel> channels = new EnumMap<>(NotificationType.class);
+    private boolean stubAdaptersEnabled = true;
+    private long stubLatencyMs = 20;
+    private double stubFailureRate = 0.0;
+    private String accountServiceUrl = "http://account-service";
+    private int accountServiceConnectTimeoutMs = 1000;
+    private int accountServiceReadTimeoutMs = 3000;
+    private int inboxDefaultPageSize = 20;
+    private int inboxMaxPageSize = 100;
+
+    // Channels that are not configured run with the defaults of Channel
+    public Channel getChannel(NotificationType type) {
+        return channels.computeIfAbsent(type, key -> new Channel());
+    }
+
+    public boolean isDeliveryEnabled() {
+        return deliveryEnabled;
+    }
+
+    public void setDeliveryEnabled(boolean deliveryEnabled) {
+        this.deliveryEnabled = deliveryEnabled;
+    }
+
+    public long getDeliveryIntervalMs() {
+        return deliveryIntervalMs;
+    }
+
+    public void setDeliveryIntervalMs(long deliveryIntervalMs) {
+        this.deliveryIntervalMs = deliveryIntervalMs;
+    }
+
+    public long getDeliveryLeaseMs() {
+        return deliveryLeaseMs;
+    }
+
+    public void setDeliveryLeaseMs(long deliveryLeaseMs) {
+        this.deliveryLeaseMs = deliveryLeaseMs;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getRetryInitialBackoffMs() {
+        return retryInitialBackoffMs;
+    }
+
+    public void setRetryInitialBackoffMs(long retryInitialBackoffMs) {
+        this.retryInitialBackoffMs = retryInitialBackoffMs;
+    }
+
+    public long getRetryMaxBackoffMs() {
+        return retryMaxBackoffMs;
+    }
+
+    public void setRetryMaxBackoffMs(long retryMaxBackoffMs) {
+        this.retryMaxBackoffMs = retryMaxBackoffMs;
+    }
+
+    public Map<NotificationType, Channel> getChannels() {
+        return channels;
+    }
+
+    public void setChannels(Map<NotificationType, Channel> channels) {
+        this.channels = channels;
+    }
+
+    public boolean isStubAdaptersEnabled() {
+        return stubAdaptersEnabled;
+    }
+
+    public void setStubAdaptersEnabled(boolean stubAdaptersEnabled) {
+        this.stubAdaptersEnabled = stubAdaptersEnabled;
+    }
+
+    public long getStubLatencyMs() {
+        return stubLatencyMs;
+    }
+
+    public void setStubLatencyMs(long stubLatencyMs) {
+        this.stubLatencyMs = stubLatencyMs;
+    }
+
+    public double getStubFailureRate() {
+        return stubFailureRate;
+    }
+
+    public void setStubFailureRate(double stubFailureRate) {
+        this.stubFailureRate = stubFailureRate;
+    }
+
+    public String getAccountServiceUrl() {
+        return accountServiceUrl;
+    }
+
+    public void setAccountServiceUrl(String accountServiceUrl) {
+        this.accountServiceUrl = accountServiceUrl;
+    }
+
+    public int getAccountServiceConnectTimeoutMs() {
+        return accountServiceConnectTimeoutMs;
+    }
+
+    public void setAccountServiceConnectTimeoutMs(int accountServiceConnectTimeoutMs) {
+        this.accountServiceConnectTimeoutMs = accountServiceConnectTimeoutMs;
+    }
+
+    public int getAccountServiceReadTimeoutMs() {
+        return accountServiceReadTimeoutMs;
+    }
+
+    public void setAccountServiceReadTimeoutMs(int accountServiceReadTimeoutMs) {
+        this.accountServiceReadTimeoutMs = accountServiceReadTimeoutMs;
+    }
+
+    public int getInboxDefaultPageSize() {
+        return inboxDefaultPageSize;
+    }
+
+    public void setInboxDefaultPageSize(int inboxDefaultPageSize) {
+        this.inboxDefaultPageSize = inboxDefaultPageSize;
+    }
+
+    public int getInboxMaxPageSize() {
+        return inboxMaxPageSize;
+    }
+
+    public void setInboxMaxPageSize(int inboxMaxPageSize) {
+        this.inboxMaxPageSize = inboxMaxPageSize;
+    }
+
+    /**
+     * Delivery limits of one channel: messages per provider call, provider calls in flight, and a token
+     * bucket refilled at ratePerSecond messages that holds at most burst of them.
+     */
+    public static class Channel {
+
+        private int batchSize = 50;
+        private int concurrency = 4;
+        private double ratePerSecond = 100;
+        private int burst = 200;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public double getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        public void setRatePerSecond(double ratePerSecond) {
+            this.ratePerSecond = ratePerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.banking.notificationservice.config;
+
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class RestClientConfig {
+
+    // Resolves service names such as http://account-service through Eureka
+    @Bean
+    @LoadBalanced
+    public RestTemplate restTemplate(RestTemplateBuilder builder, NotificationServiceConfig config) {
+        return builder
+            .setConnectTimeout(Duration.ofMillis(config.getAccountServiceConnectTimeoutMs()))
+            .setReadTimeout(Duration.ofMillis(config.getAccountServiceReadTimeoutMs()))
+            .build();
+    }
+}
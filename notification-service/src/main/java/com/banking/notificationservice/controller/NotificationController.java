@@ -1,7 +1,9 @@
 package com.banking.notificationservice.controller;
 
 import com.banking.common.dto.ApiResponse;
+import com.banking.notificationservice.dto.NotificationDeadLetterDto;
 import com.banking.notificationservice.dto.NotificationDto;
+import com.banking.notificationservice.dto.NotificationPageDto;
 import com.banking.notificationservice.entity.NotificationType;
 import com.banking.notificationservice.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,7 +26,7 @@ public class NotificationController {
     public ResponseEntity<ApiResponse<NotificationDto>> send(@Valid @RequestBody NotificationDto notificationDto) {
         try {
             NotificationDto saved = notificationService.send(notificationDto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Notification sent", saved));
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("Notification queued", saved));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
@@ -48,6 +50,40 @@ public class NotificationController {
         }
     }
 
+    @GetMapping("/user/{userId}/inbox")
+    public ResponseEntity<ApiResponse<NotificationPageDto>> getInbox(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Boolean read,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            NotificationPageDto page = notificationService.getInbox(userId, read, cursor, size);
+            return ResponseEntity.ok(ApiResponse.success("Notifications retrieved", page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/user/{userId}/unread-count")
+    public ResponseEntity<ApiResponse<Long>> getUnreadCount(@PathVariable Long userId) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Unread count retrieved", notificationService.getUnreadCount(userId)));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PatchMapping("/user/{userId}/read-all")
+    public ResponseEntity<ApiResponse<Integer>> markAllAsRead(@PathVariable Long userId) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Notifications marked as read", notificationService.markAllAsRead(userId)));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @GetMapping("/type/{type}")
     public ResponseEntity<ApiResponse<List<NotificationDto>>> getByType(@PathVariable NotificationType type) {
         try {
@@ -65,6 +101,24 @@ public class NotificationController {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
-}
 
+    @GetMapping("/dead-letters")
+    public ResponseEntity<ApiResponse<List<NotificationDeadLetterDto>>> getDeadLetters(
+            @RequestParam(required = false) NotificationType type) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Dead letters retrieved", notificationService.getDeadLetters(type)));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error(e.getMessage()));
+        }
+    }
 
+    @PostMapping("/dead-letters/{id}/retry")
+    public ResponseEntity<ApiResponse<NotificationDto>> retryDeadLetter(@PathVariable Long id) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Notification queued again", notificationService.retryDeadLetter(id)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.banking.notificationservice.delivery;
+
+import com.banking.notificationservice.entity.NotificationType;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends notifications of one type through a provider. Register an implementation as a bean to plug in
+ * a real provider; the dispatcher applies the channel's batch size, concurrency and rate limit.
+ */
+public interface ChannelAdapter {
+
+    NotificationType getType();
+
+    /**
+     * @return an error per notification id the provider rejected, empty when the whole batch went out;
+     *         throwing fails every message of the batch
+     */
+    Map<Long, String> deliver(List<DeliveryMessage> batch);
+}
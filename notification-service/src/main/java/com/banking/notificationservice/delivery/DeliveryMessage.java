@@ -0,0 +1,41 @@
+package com.banking.notificationservice.delivery;
+
+import com.banking.notificationservice.entity.Notification;
+import com.banking.notificationservice.entity.NotificationType;
+
+import java.time.LocalDateTime;
+
+/**
+ * What a channel adapter needs, copied out of the entity so nothing managed crosses threads.
+ */
+public final class DeliveryMessage {
+
+    private final Long id;
+    private final Long userId;
+    private final NotificationType type;
+    private final String recipient;
+    private final String subject;
+    private final String message;
+    private final int attempts;
+    private final LocalDateTime claimedAt;
+
+    public DeliveryMessage(Notification notification) {
+        this.id = notification.getId();
+        this.userId = notification.getUserId();
+        this.type = notification.getType();
+        this.recipient = notification.getRecipient();
+        this.subject = notification.getSubject();
+        this.message = notification.getMessage();
+        this.attempts = notification.getAttempts();
+        this.claimedAt = notification.getClaimedAt();
+    }
+
+    public Long getId() { return id; }
+    public Long getUserId() { return userId; }
+    public NotificationType getType() { return type; }
+    public String getRecipient() { return recipient; }
+    public String getSubject() { return subject; }
+    public String getMessage() { return message; }
+    public int getAttempts() { return attempts; }
+    public LocalDateTime getClaimedAt() { return claimedAt; }
+}
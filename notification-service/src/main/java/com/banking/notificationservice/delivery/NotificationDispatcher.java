@@ -0,0 +1,321 @@
+package com.banking.notificationservice.delivery;
+
+import com.banking.notificationservice.config.NotificationServiceConfig;
+import com.banking.notificationservice.entity.Notification;
+import com.banking.notificationservice.entity.NotificationDeadLetter;
+import com.banking.notificationservice.entity.NotificationStatus;
+import com.banking.notificationservice.entity.NotificationType;
+import com.banking.notificationservice.repository.NotificationDeadLetterRepository;
+import com.banking.notificationservice.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers QUEUED notifications through the {@link ChannelAdapter} of their type.
+ *
+ * <p>Each tick first commits the outcomes finished since the last tick in one transaction, then lets
+ * every channel claim batches while it has both a free concurrency slot and rate-limit tokens. Claims use
+ * SELECT ... FOR UPDATE SKIP LOCKED and commit the SENDING status right away, so concurrent instances
+ * never pick the same notification. Failed messages are retried with exponential backoff; after
+ * maxAttempts they are marked FAILED and copied to the dead-letter table. Outcomes are written only
+ * while the row still carries the claim they came from, so a batch that outlived its lease cannot
+ * overwrite the result of the instance that reclaimed it.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    // Indexes into the per-type outcome counts; STALE outcomes were overtaken by a newer claim and are dropped
+    private static final int SENT = 0;
+    private static final int RETRIED = 1;
+    private static final int DEAD = 2;
+    private static final int STALE = -1;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationDeadLetterRepository deadLetterRepository;
+
+    @Autowired
+    private List<ChannelAdapter> adapters;
+
+    @Autowired
+    private NotificationServiceConfig config;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<NotificationType, Channel> channels = new EnumMap<>(NotificationType.class);
+    private final Queue<Outcome> outcomes = new ConcurrentLinkedQueue<>();
+
+    @PostConstruct
+    public void start() {
+        for (ChannelAdapter adapter : adapters) {
+            channels.put(adapter.getType(), new Channel(adapter, config.getChannel(adapter.getType())));
+        }
+        for (NotificationType type : NotificationType.values()) {
+            if (!channels.containsKey(type)) {
+                logger.warn("No channel adapter for {}, those notifications stay queued", type);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        for (Channel channel : channels.values()) {
+            channel.workers.shutdown();
+        }
+        for (Channel channel : channels.values()) {
+            channel.workers.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        flushOutcomes();
+    }
+
+    @Scheduled(fixedDelayString = "${notification.service.delivery-interval-ms:200}")
+    public void poll() {
+        if (!config.isDeliveryEnabled()) {
+            return;
+        }
+        flushOutcomes();
+        for (Channel channel : channels.values()) {
+            dispatch(channel);
+        }
+    }
+
+    // Slots are taken on the scheduler thread only and given back by the workers
+    void dispatch(Channel channel) {
+        while (channel.slots.tryAcquire()) {
+            int tokens = channel.rateLimit.tryAcquire(channel.batchSize);
+            List<DeliveryMessage> batch = Collections.emptyList();
+            try {
+                if (tokens > 0) {
+                    batch = claim(channel.adapter.getType(), tokens);
+                }
+            } finally {
+                channel.rateLimit.refund(tokens - batch.size());
+                if (batch.isEmpty()) {
+                    channel.slots.release();
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<DeliveryMessage> claimed = batch;
+            channel.inFlight.incrementAndGet();
+            channel.workers.execute(() -> deliver(channel, claimed));
+        }
+    }
+
+    List<DeliveryMessage> claim(NotificationType type, int limit) {
+        // Truncated to what the column stores, so the claimedAt carried by the messages matches the row
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime staleBefore = now.minusNanos(TimeUnit.MILLISECONDS.toNanos(config.getDeliveryLeaseMs()));
+        List<DeliveryMessage> claimed = new TransactionTemplate(transactionManager).execute(status -> {
+            List<DeliveryMessage> batch = new ArrayList<>();
+            for (Notification notification : notificationRepository.claim(type, now, staleBefore, PageRequest.of(0, limit))) {
+                notification.setStatus(NotificationStatus.SENDING);
+                notification.setClaimedAt(now);
+                batch.add(new DeliveryMessage(notification));
+            }
+            return batch;
+        });
+        return claimed == null ? Collections.<DeliveryMessage>emptyList() : claimed;
+    }
+
+    void deliver(Channel channel, List<DeliveryMessage> batch) {
+        Map<Long, String> failures;
+        try {
+            failures = channel.adapter.deliver(batch);
+        } catch (RuntimeException e) {
+            logger.warn("{} batch of {} failed: {}", channel.adapter.getType(), batch.size(), e.getMessage());
+            failures = new HashMap<>();
+            for (DeliveryMessage message : batch) {
+                failures.put(message.getId(), String.valueOf(e.getMessage()));
+            }
+        } finally {
+            channel.inFlight.decrementAndGet();
+            channel.slots.release();
+        }
+        outcomes.add(new Outcome(batch, failures));
+    }
+
+    // Commits every finished batch in one transaction: one UPDATE per claim for the sent messages, one per failure
+    void flushOutcomes() {
+        List<Outcome> batch = new ArrayList<>();
+        Outcome outcome;
+        while ((outcome = outcomes.poll()) != null) {
+            batch.add(outcome);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<NotificationType, int[]> counts = new EnumMap<>(NotificationType.class);
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                counts.clear();
+                LocalDateTime now = LocalDateTime.now();
+                for (Outcome finished : batch) {
+                    Map<LocalDateTime, List<Long>> sentByClaim = new HashMap<>();
+                    for (DeliveryMessage message : finished.messages) {
+                        String error = finished.failures.get(message.getId());
+                        if (error == null) {
+                            sentByClaim.computeIfAbsent(message.getClaimedAt(), key -> new ArrayList<>()).add(message.getId());
+                            continue;
+                        }
+                        int result = recordFailure(message, error, now);
+                        if (result != STALE) {
+                            counts.computeIfAbsent(message.getType(), key -> new int[3])[result]++;
+                        }
+                    }
+                    for (Map.Entry<LocalDateTime, List<Long>> sent : sentByClaim.entrySet()) {
+                        int updated = notificationRepository.markSent(sent.getValue(), sent.getKey(), now);
+                        if (updated < sent.getValue().size()) {
+                            logger.info("{} sent notifications had been reclaimed, their outcome is dropped",
+                                sent.getValue().size() - updated);
+                        }
+                        NotificationType type = finished.messages.get(0).getType();
+                        counts.computeIfAbsent(type, key -> new int[3])[SENT] += updated;
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.error("Could not record {} notification batches, will retry: {}", batch.size(), e.getMessage());
+            outcomes.addAll(batch);
+            return;
+        }
+        for (Map.Entry<NotificationType, int[]> entry : counts.entrySet()) {
+            count(entry.getKey(), "sent", entry.getValue()[SENT]);
+            count(entry.getKey(), "retry", entry.getValue()[RETRIED]);
+            count(entry.getKey(), "dead", entry.getValue()[DEAD]);
+        }
+    }
+
+    int inFlight(NotificationType type) {
+        Channel channel = channels.get(type);
+        return channel == null ? 0 : channel.inFlight.get();
+    }
+
+    int freeSlots(NotificationType type) {
+        Channel channel = channels.get(type);
+        return channel == null ? 0 : channel.slots.availablePermits();
+    }
+
+    Channel channel(NotificationType type) {
+        return channels.get(type);
+    }
+
+    /**
+     * @return RETRIED when the message was queued for another attempt, DEAD when it went to the dead letters,
+     *         STALE when another claim has taken the notification over since
+     */
+    private int recordFailure(DeliveryMessage message, String error, LocalDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        String lastError = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (attempts < config.getMaxAttempts()) {
+            LocalDateTime retryAt = now.plusNanos(TimeUnit.MILLISECONDS.toNanos(backoffMs(attempts)));
+            int updated = notificationRepository.recordFailure(message.getId(), message.getClaimedAt(),
+                NotificationStatus.QUEUED, attempts, retryAt, lastError);
+            return updated == 0 ? STALE : RETRIED;
+        }
+        if (notificationRepository.recordFailure(message.getId(), message.getClaimedAt(),
+                NotificationStatus.FAILED, attempts, null, lastError) == 0) {
+            return STALE;
+        }
+        NotificationDeadLetter deadLetter = new NotificationDeadLetter();
+        deadLetter.setNotificationId(message.getId());
+        deadLetter.setUserId(message.getUserId());
+        deadLetter.setType(message.getType());
+        deadLetter.setRecipient(message.getRecipient());
+        deadLetter.setAttempts(attempts);
+        deadLetter.setLastError(lastError);
+        deadLetter.setFailedAt(now);
+        deadLetterRepository.save(deadLetter);
+        logger.warn("{} notification {} dead after {} attempts: {}", message.getType(), message.getId(), attempts, lastError);
+        return DEAD;
+    }
+
+    private long backoffMs(int attempts) {
+        long delay = config.getRetryInitialBackoffMs() << Math.min(attempts - 1, 20);
+        return Math.min(delay, config.getRetryMaxBackoffMs());
+    }
+
+    private void count(NotificationType type, String outcome, int amount) {
+        if (amount > 0) {
+            Counter.builder("notifications.delivered")
+                .tag("type", type.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(amount);
+        }
+    }
+
+    // One dispatcher per notification type: its adapter, concurrency slots, rate limit and workers
+    static final class Channel {
+        private final ChannelAdapter adapter;
+        private final int batchSize;
+        private final Semaphore slots;
+        private final TokenBucket rateLimit;
+        private final ExecutorService workers;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        Channel(ChannelAdapter adapter, NotificationServiceConfig.Channel settings) {
+            this.adapter = adapter;
+            this.batchSize = Math.max(1, settings.getBatchSize());
+            int concurrency = Math.max(1, settings.getConcurrency());
+            this.slots = new Semaphore(concurrency);
+            this.rateLimit = new TokenBucket(settings.getRatePerSecond(), settings.getBurst(), System::nanoTime);
+            AtomicInteger threadIndex = new AtomicInteger();
+            String prefix = "notification-" + adapter.getType().name().toLowerCase() + "-";
+            // Never more batches than slots are submitted, so the pool needs no bounded queue
+            this.workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+                Thread thread = new Thread(runnable, prefix + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private static final class Outcome {
+        private final List<DeliveryMessage> messages;
+        private final Map<Long, String> failures;
+
+        private Outcome(List<DeliveryMessage> messages, Map<Long, String> failures) {
+            this.messages = messages;
+            this.failures = failures;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.banking.notificationservice.delivery;
+
+import com.banking.notificationservice.entity.NotificationType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Pretends to be a provider: waits a fixed latency per batch and rejects messages at a configurable
+ * rate. Used for local runs and load tests.
+ */
+public class StubChannelAdapter implements ChannelAdapter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StubChannelAdapter.class);
+
+    private final NotificationType type;
+    private final long latencyMs;
+    private final double failureRate;
+
+    public StubChannelAdapter(NotificationType type, long latencyMs, double failureRate) {
+        this.type = type;
+        this.latencyMs = latencyMs;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public NotificationType getType() {
+        return type;
+    }
+
+    @Override
+    public Map<Long, String> deliver(List<DeliveryMessage> batch) {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while sending " + type + " batch", e);
+            }
+        }
+        Map<Long, String> failures = new HashMap<>();
+        for (DeliveryMessage message : batch) {
+            if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+                failures.put(message.getId(), "Stub " + type + " provider rejected the message");
+            }
+        }
+        logger.debug("Stub {} provider sent {} of {} messages", type, batch.size() - failures.size(), batch.size());
+        return failures;
+    }
+}
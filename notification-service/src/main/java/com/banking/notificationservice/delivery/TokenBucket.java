@@ -0,0 +1,45 @@
+package com.banking.notificationservice.delivery;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Refills at a fixed rate up to its capacity and hands out as many tokens as are available right now,
+ * so callers shrink a batch instead of waiting for the full amount.
+ */
+public class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double ratePerSecond, int capacity, LongSupplier nanoClock) {
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.capacity = Math.max(1, capacity);
+        this.nanoClock = nanoClock;
+        this.tokens = this.capacity;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * @return how many of the wanted tokens were taken, between 0 and wanted
+     */
+    public synchronized int tryAcquire(int wanted) {
+        refill();
+        int granted = (int) Math.min(wanted, Math.floor(tokens));
+        tokens -= granted;
+        return granted;
+    }
+
+    // Gives back tokens taken for messages that turned out not to be there
+    public synchronized void refund(int unused) {
+        tokens = Math.min(capacity, tokens + unused);
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
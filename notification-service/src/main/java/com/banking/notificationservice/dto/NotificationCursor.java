@@ -0,0 +1,52 @@
+package com.banking.notificationservice.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position inside a user's inbox.
+ * Serialized as an opaque URL-safe token so clients never depend on its layout.
+ */
+public class NotificationCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final Long userId;
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public NotificationCursor(Long userId, LocalDateTime createdAt, Long id) {
+        this.userId = userId;
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = userId + SEPARATOR + createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static NotificationCursor decode(String token, Long expectedUserId) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            Long userId = Long.valueOf(parts[0]);
+            if (!userId.equals(expectedUserId)) {
+                throw new IllegalArgumentException("Cursor does not belong to user " + expectedUserId);
+            }
+            return new NotificationCursor(userId, LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    public Long getUserId() { return userId; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Long getId() { return id; }
+}
@@ -0,0 +1,33 @@
+package com.banking.notificationservice.dto;
+
+import com.banking.notificationservice.entity.NotificationType;
+
+import java.time.LocalDateTime;
+
+public class NotificationDeadLetterDto {
+    private Long id;
+    private Long notificationId;
+    private Long userId;
+    private NotificationType type;
+    private String recipient;
+    private int attempts;
+    private String lastError;
+    private LocalDateTime failedAt;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getNotificationId() { return notificationId; }
+    public void setNotificationId(Long notificationId) { this.notificationId = notificationId; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public NotificationType getType() { return type; }
+    public void setType(NotificationType type) { this.type = type; }
+    public String getRecipient() { return recipient; }
+    public void setRecipient(String recipient) { this.recipient = recipient; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    public LocalDateTime getFailedAt() { return failedAt; }
+    public void setFailedAt(LocalDateTime failedAt) { this.failedAt = failedAt; }
+}
@@ -1,6 +1,8 @@
 package com.banking.notificationservice.dto;
 
+import com.banking.notificationservice.entity.NotificationStatus;
 import com.banking.notificationservice.entity.NotificationType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import javax.validation.constraints.NotNull;
 import java.time.LocalDateTime;
@@ -11,6 +13,7 @@ public class NotificationDto {
     @NotNull
     private Long userId;
 
+    @NotNull(message = "Notification type is required")
     private NotificationType type;
     private String subject;
     private String message;
@@ -18,6 +21,11 @@ public class NotificationDto {
     private boolean read;
     private LocalDateTime createdAt;
     private LocalDateTime readAt;
+    private NotificationStatus status;
+    private int attempts;
+    private LocalDateTime sentAt;
+    @JsonIgnore
+    private String dedupeKey;
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -37,6 +45,12 @@ public class NotificationDto {
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getReadAt() { return readAt; }
     public void setReadAt(LocalDateTime readAt) { this.readAt = readAt; }
+    public NotificationStatus getStatus() { return status; }
+    public void setStatus(NotificationStatus status) { this.status = status; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public LocalDateTime getSentAt() { return sentAt; }
+    public void setSentAt(LocalDateTime sentAt) { this.sentAt = sentAt; }
+    public String getDedupeKey() { return dedupeKey; }
+    public void setDedupeKey(String dedupeKey) { this.dedupeKey = dedupeKey; }
 }
-
-
@@ -0,0 +1,28 @@
+package com.banking.notificationservice.dto;
+
+import java.util.List;
+
+public class NotificationPageDto {
+    private List<NotificationDto> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    public NotificationPageDto() {}
+
+    public NotificationPageDto(List<NotificationDto> content, int size, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = nextCursor != null;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<NotificationDto> getContent() { return content; }
+    public void setContent(List<NotificationDto> content) { this.content = content; }
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -5,7 +5,13 @@ import javax.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    // Dispatchers claim the oldest due rows of one type
+    @Index(name = "idx_notifications_dispatch", columnList = "type, status, id"),
+    // Inbox pages walk one user's notifications newest first, optionally only the read or unread ones
+    @Index(name = "idx_notifications_inbox", columnList = "userId, createdAt, id"),
+    @Index(name = "idx_notifications_inbox_read", columnList = "userId, read, createdAt, id")
+})
 public class Notification {
 
     @Id
@@ -31,6 +37,24 @@ public class Notification {
 
     private LocalDateTime readAt;
 
+    @Enumerated(EnumType.STRING)
+    private NotificationStatus status;
+
+    private Integer attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime claimedAt;
+
+    private LocalDateTime sentAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    // Set for notifications raised by events, so a redelivered event does not notify twice
+    @Column(unique = true)
+    private String dedupeKey;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -54,6 +78,20 @@ public class Notification {
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getReadAt() { return readAt; }
     public void setReadAt(LocalDateTime readAt) { this.readAt = readAt; }
+    public NotificationStatus getStatus() { return status; }
+    public void setStatus(NotificationStatus status) { this.status = status; }
+    public int getAttempts() { return attempts == null ? 0 : attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+    public LocalDateTime getClaimedAt() { return claimedAt; }
+    public void setClaimedAt(LocalDateTime claimedAt) { this.claimedAt = claimedAt; }
+    public LocalDateTime getSentAt() { return sentAt; }
+    public void setSentAt(LocalDateTime sentAt) { this.sentAt = sentAt; }
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    public String getDedupeKey() { return dedupeKey; }
+    public void setDedupeKey(String dedupeKey) { this.dedupeKey = dedupeKey; }
 }
 
 
@@ -0,0 +1,8 @@
+package com.banking.notificationservice.entity;
+
+public enum NotificationStatus {
+    QUEUED,
+    SENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,23 @@
+package com.banking.notificationservice.entity;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Unread notifications per user, kept in step by NotificationServiceImpl so the inbox badge never counts rows.
+ */
+@Entity
+@Table(name = "notification_unread_counts")
+public class NotificationUnreadCount {
+
+    @Id
+    private Long userId;
+
+    private long unreadCount;
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public long getUnreadCount() { return unreadCount; }
+    public void setUnreadCount(long unreadCount) { this.unreadCount = unreadCount; }
+}
@@ -0,0 +1,80 @@
+package com.banking.notificationservice.event;
+
+import com.banking.common.outbox.OutboxEvent;
+import com.banking.common.outbox.OutboxEventListener;
+import com.banking.notificationservice.client.AccountServiceClient;
+import com.banking.notificationservice.dto.NotificationDto;
+import com.banking.notificationservice.entity.NotificationType;
+import com.banking.notificationservice.repository.NotificationRepository;
+import com.banking.notificationservice.service.NotificationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Queues a PUSH notification for the owners of both accounts of every transaction.completed event from
+ * transaction-service. Each notification carries a key derived from the event id, so a redelivered
+ * event is acknowledged without notifying anyone twice.
+ */
+@Component
+public class TransactionEventListener implements OutboxEventListener {
+
+    public static final String TRANSACTION_COMPLETED = "transaction.completed";
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private AccountServiceClient accountServiceClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    @Transactional
+    public void onEvent(OutboxEvent event) {
+        if (!TRANSACTION_COMPLETED.equals(event.getEventType())) {
+            return;
+        }
+        JsonNode transaction;
+        try {
+            transaction = objectMapper.readTree(event.getPayload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unreadable payload in event " + event.getId(), e);
+        }
+
+        Set<Long> users = new LinkedHashSet<>();
+        for (String side : new String[] {"fromAccountId", "toAccountId"}) {
+            JsonNode accountId = transaction.path(side);
+            if (accountId.canConvertToLong()) {
+                Long userId = accountServiceClient.findOwnerUserId(accountId.asLong());
+                if (userId != null) {
+                    users.add(userId);
+                }
+            }
+        }
+        for (Long userId : users) {
+            String dedupeKey = event.getAggregateType() + ":" + event.getId() + ":" + userId;
+            if (notificationRepository.existsByDedupeKey(dedupeKey)) {
+                continue;
+            }
+            NotificationDto notification = new NotificationDto();
+            notification.setUserId(userId);
+            notification.setType(NotificationType.PUSH);
+            notification.setSubject("Transaction completed");
+            notification.setMessage("Transaction " + transaction.path("transactionId").asText() + " of "
+                + transaction.path("amount").asText() + " has completed");
+            notification.setDedupeKey(dedupeKey);
+            notificationService.send(notification);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.banking.notificationservice.mapper;
+
+import com.banking.common.mapping.DtoMapper;
+import com.banking.notificationservice.dto.NotificationDeadLetterDto;
+import com.banking.notificationservice.entity.NotificationDeadLetter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class NotificationDeadLetterMapper implements DtoMapper<NotificationDeadLetter, NotificationDeadLetterDto> {
+
+    @Override
+    public NotificationDeadLetterDto toDto(NotificationDeadLetter d) {
+        NotificationDeadLetterDto dto = new NotificationDeadLetterDto();
+        dto.setId(d.getId());
+        dto.setNotificationId(d.getNotificationId());
+        dto.setUserId(d.getUserId());
+        dto.setType(d.getType());
+        dto.setRecipient(d.getRecipient());
+        dto.setAttempts(d.getAttempts());
+        dto.setLastError(d.getLastError());
+        dto.setFailedAt(d.getFailedAt());
+        return dto;
+    }
+}
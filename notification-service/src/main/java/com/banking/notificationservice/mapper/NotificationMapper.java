@@ -0,0 +1,43 @@
+package com.banking.notificationservice.mapper;
+
+import com.banking.common.mapping.EntityMapper;
+import com.banking.notificationservice.dto.NotificationDto;
+import com.banking.notificationservice.entity.Notification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class NotificationMapper implements EntityMapper<Notification, NotificationDto> {
+
+    @Override
+    public NotificationDto toDto(Notification n) {
+        NotificationDto dto = new NotificationDto();
+        dto.setId(n.getId());
+        dto.setUserId(n.getUserId());
+        dto.setType(n.getType());
+        dto.setSubject(n.getSubject());
+        dto.setMessage(n.getMessage());
+        dto.setRecipient(n.getRecipient());
+        dto.setRead(n.isRead());
+        dto.setCreatedAt(n.getCreatedAt());
+        dto.setReadAt(n.getReadAt());
+        dto.setStatus(n.getStatus());
+        dto.setAttempts(n.getAttempts());
+        dto.setSentAt(n.getSentAt());
+        return dto;
+    }
+
+    @Override
+    public Notification toEntity(NotificationDto dto) {
+        Notification n = new Notification();
+        n.setUserId(dto.getUserId());
+        n.setType(dto.getType());
+        n.setSubject(dto.getSubject());
+        n.setMessage(dto.getMessage());
+        n.setRecipient(dto.getRecipient());
+        n.setRead(dto.isRead());
+        n.setCreatedAt(dto.getCreatedAt());
+        n.setReadAt(dto.getReadAt());
+        n.setDedupeKey(dto.getDedupeKey());
+        return n;
+    }
+}
@@ -0,0 +1,14 @@
+package com.banking.notificationservice.repository;
+
+import com.banking.notificationservice.entity.NotificationDeadLetter;
+import com.banking.notificationservice.entity.NotificationType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface NotificationDeadLetterRepository extends JpaRepository<NotificationDeadLetter, Long> {
+    List<NotificationDeadLetter> findAllByOrderByFailedAtDesc();
+    List<NotificationDeadLetter> findByTypeOrderByFailedAtDesc(NotificationType type);
+}
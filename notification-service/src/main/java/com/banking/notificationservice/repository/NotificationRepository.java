@@ -1,16 +1,89 @@
 package com.banking.notificationservice.repository;
 
 import com.banking.notificationservice.entity.Notification;
+import com.banking.notificationservice.entity.NotificationStatus;
 import com.banking.notificationservice.entity.NotificationType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    // Hibernate's SKIP LOCKED timeout: each channel's claim takes the next free rows rather than queueing behind another instance
+    String SKIP_LOCKED = "-2";
+
     List<Notification> findByUserId(Long userId);
     List<Notification> findByType(NotificationType type);
-}
+    boolean existsByDedupeKey(String dedupeKey);
+
+    // Inbox pages are keyset pages over (createdAt, id) descending, served by idx_notifications_inbox(_read)
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxPageAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND n.read = :read " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxFirstPageByRead(@Param("userId") Long userId, @Param("read") boolean read,
+                                                Pageable pageable);
 
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND n.read = :read " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxPageAfterByRead(@Param("userId") Long userId, @Param("read") boolean read,
+                                                @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                                Pageable pageable);
 
+    // Conditional so that only the caller that actually flips the flag adjusts the unread counter
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.read = true, n.readAt = :now WHERE n.id = :id AND n.read = false")
+    int markRead(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true, n.readAt = :now WHERE n.userId = :userId AND n.read = false")
+    int markAllRead(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    // QUEUED rows whose retry is due, and SENDING rows whose lease ran out because their instance died mid-batch
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("SELECT n FROM Notification n WHERE n.type = :type AND " +
+           "((n.status = com.banking.notificationservice.entity.NotificationStatus.QUEUED " +
+           "AND (n.nextAttemptAt IS NULL OR n.nextAttemptAt <= :now)) " +
+           "OR (n.status = com.banking.notificationservice.entity.NotificationStatus.SENDING AND n.claimedAt < :staleBefore)) " +
+           "ORDER BY n.id")
+    List<Notification> claim(@Param("type") NotificationType type, @Param("now") LocalDateTime now,
+                             @Param("staleBefore") LocalDateTime staleBefore, Pageable pageable);
+
+    // Outcomes only land on the claim that produced them; a row reclaimed after its lease ran out belongs to
+    // the newer claim, so these match nothing and the caller drops the stale outcome
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = com.banking.notificationservice.entity.NotificationStatus.SENT, " +
+           "n.sentAt = :now, n.lastError = NULL WHERE n.id IN :ids " +
+           "AND n.status = com.banking.notificationservice.entity.NotificationStatus.SENDING AND n.claimedAt = :claimedAt")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("claimedAt") LocalDateTime claimedAt,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = :status, n.attempts = :attempts, n.nextAttemptAt = :nextAttemptAt, " +
+           "n.lastError = :error WHERE n.id = :id " +
+           "AND n.status = com.banking.notificationservice.entity.NotificationStatus.SENDING AND n.claimedAt = :claimedAt")
+    int recordFailure(@Param("id") Long id, @Param("claimedAt") LocalDateTime claimedAt,
+                      @Param("status") NotificationStatus status, @Param("attempts") int attempts,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+}
@@ -0,0 +1,26 @@
+package com.banking.notificationservice.repository;
+
+import com.banking.notificationservice.entity.NotificationUnreadCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationUnreadCountRepository extends JpaRepository<NotificationUnreadCount, Long> {
+
+    @Modifying
+    @Query("UPDATE NotificationUnreadCount c SET c.unreadCount = c.unreadCount + :delta WHERE c.userId = :userId")
+    int adjust(@Param("userId") Long userId, @Param("delta") long delta);
+
+    // Seeds a user's counter from their rows the first time it is needed; returns 0 if another transaction got there first.
+    // PostgreSQL only: ON CONFLICT DO NOTHING is what lets the loser of the race carry on. Catching the duplicate key
+    // instead would not work there, since the failed INSERT aborts the caller's transaction, and a standard MERGE
+    // can still raise it under concurrent inserts. Porting the service means replacing this statement.
+    @Modifying
+    @Query(value = "INSERT INTO notification_unread_counts (user_id, unread_count) " +
+                   "SELECT :userId, COUNT(*) FROM notifications WHERE user_id = :userId AND read = false " +
+                   "ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int initialize(@Param("userId") Long userId);
+}
@@ -1,6 +1,8 @@
 package com.banking.notificationservice.service;
 
+import com.banking.notificationservice.dto.NotificationDeadLetterDto;
 import com.banking.notificationservice.dto.NotificationDto;
+import com.banking.notificationservice.dto.NotificationPageDto;
 import com.banking.notificationservice.entity.NotificationType;
 
 import java.util.List;
@@ -10,7 +12,12 @@ public interface NotificationService {
     NotificationDto getById(Long id);
     List<NotificationDto> getByUserId(Long userId);
     List<NotificationDto> getByType(NotificationType type);
+    NotificationPageDto getInbox(Long userId, Boolean read, String cursor, Integer size);
+    long getUnreadCount(Long userId);
     NotificationDto markAsRead(Long id);
+    int markAllAsRead(Long userId);
+    List<NotificationDeadLetterDto> getDeadLetters(NotificationType type);
+    NotificationDto retryDeadLetter(Long deadLetterId);
 }
 
 
@@ -1,16 +1,27 @@
 package com.banking.notificationservice.service.impl;
 
+import com.banking.notificationservice.config.NotificationServiceConfig;
+import com.banking.notificationservice.dto.NotificationCursor;
+import com.banking.notificationservice.dto.NotificationDeadLetterDto;
 import com.banking.notificationservice.dto.NotificationDto;
+import com.banking.notificationservice.dto.NotificationPageDto;
 import com.banking.notificationservice.entity.Notification;
+import com.banking.notificationservice.entity.NotificationDeadLetter;
+import com.banking.notificationservice.entity.NotificationStatus;
 import com.banking.notificationservice.entity.NotificationType;
+import com.banking.notificationservice.mapper.NotificationDeadLetterMapper;
+import com.banking.notificationservice.mapper.NotificationMapper;
+import com.banking.notificationservice.repository.NotificationDeadLetterRepository;
 import com.banking.notificationservice.repository.NotificationRepository;
+import com.banking.notificationservice.repository.NotificationUnreadCountRepository;
 import com.banking.notificationservice.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class NotificationServiceImpl implements NotificationService {
@@ -18,12 +29,40 @@ public class NotificationServiceImpl implements NotificationService {
     @Autowired
     private NotificationRepository repository;
 
+    @Autowired
+    private NotificationMapper notificationMapper;
+
+    @Autowired
+    private NotificationDeadLetterRepository deadLetterRepository;
+
+    @Autowired
+    private NotificationDeadLetterMapper deadLetterMapper;
+
+    @Autowired
+    private NotificationUnreadCountRepository unreadCountRepository;
+
+    @Autowired
+    private NotificationServiceConfig config;
+
     @Override
     @Transactional
     public NotificationDto send(NotificationDto notificationDto) {
-        Notification notification = toEntity(notificationDto);
+        if (notificationDto.getType() == null) {
+            throw new IllegalArgumentException("Notification type is required");
+        }
+        if (notificationDto.getType() != NotificationType.PUSH
+                && (notificationDto.getRecipient() == null || notificationDto.getRecipient().trim().isEmpty())) {
+            throw new IllegalArgumentException(notificationDto.getType() + " notifications need a recipient");
+        }
+        Notification notification = notificationMapper.toEntity(notificationDto);
+        // Only queued here; NotificationDispatcher delivers it off the request thread
+        notification.setStatus(NotificationStatus.QUEUED);
+        notification.setAttempts(0);
+        notification.setRead(false);
+        notification.setReadAt(null);
         Notification saved = repository.save(notification);
-        return toDto(saved);
+        incrementUnread(saved.getUserId());
+        return notificationMapper.toDto(saved);
     }
 
     @Override
@@ -31,19 +70,60 @@ public class NotificationServiceImpl implements NotificationService {
     public NotificationDto getById(Long id) {
         Notification notification = repository.findById(id)
             .orElseThrow(() -> new RuntimeException("Notification not found with id: " + id));
-        return toDto(notification);
+        return notificationMapper.toDto(notification);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<NotificationDto> getByUserId(Long userId) {
-        return repository.findByUserId(userId).stream().map(this::toDto).collect(Collectors.toList());
+        return notificationMapper.toDtos(repository.findByUserId(userId));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<NotificationDto> getByType(NotificationType type) {
-        return repository.findByType(type).stream().map(this::toDto).collect(Collectors.toList());
+        return notificationMapper.toDtos(repository.findByType(type));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationPageDto getInbox(Long userId, Boolean read, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        // Fetch one extra row so we know whether another page exists without a COUNT query
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<Notification> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = read == null
+                ? repository.findInboxFirstPage(userId, limit)
+                : repository.findInboxFirstPageByRead(userId, read, limit);
+        } else {
+            NotificationCursor position = NotificationCursor.decode(cursor, userId);
+            rows = read == null
+                ? repository.findInboxPageAfter(userId, position.getCreatedAt(), position.getId(), limit)
+                : repository.findInboxPageAfterByRead(userId, read, position.getCreatedAt(), position.getId(), limit);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            Notification last = rows.get(pageSize - 1);
+            nextCursor = new NotificationCursor(userId, last.getCreatedAt(), last.getId()).encode();
+        }
+        return new NotificationPageDto(notificationMapper.toDtos(rows), pageSize, nextCursor);
+    }
+
+    @Override
+    @Transactional
+    public long getUnreadCount(Long userId) {
+        return unreadCountRepository.findById(userId)
+            .orElseGet(() -> {
+                // Users with notifications from before the counter existed are counted once, then kept in step
+                unreadCountRepository.initialize(userId);
+                return unreadCountRepository.findById(userId)
+                    .orElseThrow(() -> new IllegalStateException("Unread counter missing for user " + userId));
+            })
+            .getUnreadCount();
     }
 
     @Override
@@ -51,37 +131,67 @@ public class NotificationServiceImpl implements NotificationService {
     public NotificationDto markAsRead(Long id) {
         Notification notification = repository.findById(id)
             .orElseThrow(() -> new RuntimeException("Notification not found with id: " + id));
-        notification.setRead(true);
-        Notification updated = repository.save(notification);
-        return toDto(updated);
+        if (notification.isRead()) {
+            return notificationMapper.toDto(notification);
+        }
+        if (repository.markRead(id, LocalDateTime.now()) == 1) {
+            // No counter row yet means it will be seeded from the rows, which already see this one as read
+            unreadCountRepository.adjust(notification.getUserId(), -1);
+        }
+        Notification updated = repository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Notification not found with id: " + id));
+        return notificationMapper.toDto(updated);
+    }
+
+    @Override
+    @Transactional
+    public int markAllAsRead(Long userId) {
+        int marked = repository.markAllRead(userId, LocalDateTime.now());
+        if (marked > 0) {
+            unreadCountRepository.adjust(userId, -marked);
+        }
+        return marked;
     }
 
-    private NotificationDto toDto(Notification n) {
-        NotificationDto dto = new NotificationDto();
-        dto.setId(n.getId());
-        dto.setUserId(n.getUserId());
-        dto.setType(n.getType());
-        dto.setSubject(n.getSubject());
-        dto.setMessage(n.getMessage());
-        dto.setRecipient(n.getRecipient());
-        dto.setRead(n.isRead());
-        dto.setCreatedAt(n.getCreatedAt());
-        dto.setReadAt(n.getReadAt());
-        return dto;
+    @Override
+    @Transactional(readOnly = true)
+    public List<NotificationDeadLetterDto> getDeadLetters(NotificationType type) {
+        List<NotificationDeadLetter> deadLetters = type == null
+            ? deadLetterRepository.findAllByOrderByFailedAtDesc()
+            : deadLetterRepository.findByTypeOrderByFailedAtDesc(type);
+        return deadLetterMapper.toDtos(deadLetters);
     }
 
-    private Notification toEntity(NotificationDto dto) {
-        Notification n = new Notification();
-        n.setUserId(dto.getUserId());
-        n.setType(dto.getType());
-        n.setSubject(dto.getSubject());
-        n.setMessage(dto.getMessage());
-        n.setRecipient(dto.getRecipient());
-        n.setRead(dto.isRead());
-        n.setCreatedAt(dto.getCreatedAt());
-        n.setReadAt(dto.getReadAt());
-        return n;
+    @Override
+    @Transactional
+    public NotificationDto retryDeadLetter(Long deadLetterId) {
+        NotificationDeadLetter deadLetter = deadLetterRepository.findById(deadLetterId)
+            .orElseThrow(() -> new RuntimeException("Dead letter not found with id: " + deadLetterId));
+        Notification notification = repository.findById(deadLetter.getNotificationId())
+            .orElseThrow(() -> new RuntimeException("Notification not found with id: " + deadLetter.getNotificationId()));
+        notification.setStatus(NotificationStatus.QUEUED);
+        notification.setAttempts(0);
+        notification.setNextAttemptAt(null);
+        notification.setLastError(null);
+        deadLetterRepository.delete(deadLetter);
+        return notificationMapper.toDto(repository.save(notification));
     }
-}
 
+    private void incrementUnread(Long userId) {
+        if (unreadCountRepository.adjust(userId, 1) == 1) {
+            return;
+        }
+        // First notification since the counter existed: seed it from the rows, which include the one just saved.
+        // Losing the insert race means the winner counted without our uncommitted row, so add it on top.
+        if (unreadCountRepository.initialize(userId) == 0) {
+            unreadCountRepository.adjust(userId, 1);
+        }
+    }
 
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return config.getInboxDefaultPageSize();
+        }
+        return Math.min(size, config.getInboxMaxPageSize());
+    }
+}
@@ -0,0 +1,241 @@
+package com.banking.notificationservice.delivery;
+
+import com.banking.notificationservice.config.NotificationServiceConfig;
+import com.banking.notificationservice.entity.Notification;
+import com.banking.notificationservice.entity.NotificationDeadLetter;
+import com.banking.notificationservice.entity.NotificationStatus;
+import com.banking.notificationservice.entity.NotificationType;
+import com.banking.notificationservice.repository.NotificationDeadLetterRepository;
+import com.banking.notificationservice.repository.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class NotificationDispatcherTest {
+
+    @Spy
+    private NotificationServiceConfig config = new NotificationServiceConfig();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationDeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private NotificationDispatcher dispatcher;
+
+    private final RecordingAdapter sms = new RecordingAdapter();
+    private long nextId;
+
+    @BeforeEach
+    void setUp() {
+        NotificationServiceConfig.Channel channel = new NotificationServiceConfig.Channel();
+        channel.setBatchSize(10);
+        channel.setConcurrency(2);
+        channel.setRatePerSecond(0.001);
+        channel.setBurst(15);
+        config.getChannels().put(NotificationType.SMS, channel);
+        config.setMaxAttempts(3);
+        ReflectionTestUtils.setField(dispatcher, "adapters", Collections.singletonList(sms));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(notificationRepository.claim(any(), any(), any(), any()))
+            .thenAnswer(invocation -> notifications(((Pageable) invocation.getArgument(3)).getPageSize(), 0));
+        when(notificationRepository.markSent(any(), any(), any()))
+            .thenAnswer(invocation -> ((Collection<?>) invocation.getArgument(0)).size());
+        when(notificationRepository.recordFailure(any(), any(), any(), anyInt(), any(), any())).thenReturn(1);
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.stop();
+    }
+
+    @Test
+    void testDispatch_ClaimsBatchesUntilRateLimitRunsOut() throws Exception {
+        // Act
+        dispatcher.dispatch(dispatcher.channel(NotificationType.SMS));
+        awaitIdle();
+
+        // Assert: the burst of 15 allows one full batch and a partial one, both slots then stay free
+        ArgumentCaptor<Pageable> pages = ArgumentCaptor.forClass(Pageable.class);
+        verify(notificationRepository, times(2)).claim(eq(NotificationType.SMS), any(), any(), pages.capture());
+        assertEquals(10, pages.getAllValues().get(0).getPageSize());
+        assertEquals(5, pages.getAllValues().get(1).getPageSize());
+        assertEquals(2, sms.batches.size());
+        dispatcher.dispatch(dispatcher.channel(NotificationType.SMS));
+        verify(notificationRepository, times(2)).claim(any(), any(), any(), any());
+    }
+
+    @Test
+    void testDispatch_RefundsTokensWhenFewerMessagesAreQueued() throws Exception {
+        // Arrange
+        doReturn(notifications(2, 0)).doReturn(Collections.emptyList())
+            .when(notificationRepository).claim(any(), any(), any(), any());
+
+        // Act
+        dispatcher.dispatch(dispatcher.channel(NotificationType.SMS));
+        awaitIdle();
+        dispatcher.dispatch(dispatcher.channel(NotificationType.SMS));
+
+        // Assert: 13 tokens were left, so the next round asks for a full batch again
+        ArgumentCaptor<Pageable> pages = ArgumentCaptor.forClass(Pageable.class);
+        verify(notificationRepository, times(3)).claim(any(), any(), any(), pages.capture());
+        assertEquals(10, pages.getAllValues().get(2).getPageSize());
+    }
+
+    @Test
+    void testFlushOutcomes_MarksSentRetriesFailuresAndDeadLettersExhaustedOnes() throws Exception {
+        // Arrange
+        List<Notification> rows = notifications(2, 0);
+        rows.addAll(notifications(1, 2));
+        doReturn(rows).doReturn(Collections.emptyList())
+            .when(notificationRepository).claim(any(), any(), any(), any());
+        sms.failures.put(rows.get(1).getId(), "rate limited by provider");
+        sms.failures.put(rows.get(2).getId(), "invalid number");
+
+        // Act
+        dispatcher.dispatch(dispatcher.channel(NotificationType.SMS));
+        awaitIdle();
+        dispatcher.flushOutcomes();
+
+        // Assert
+        verify(notificationRepository).markSent(eq(Collections.singletonList(rows.get(0).getId())), notNull(), any());
+        verify(notificationRepository).recordFailure(eq(rows.get(1).getId()), notNull(), eq(NotificationStatus.QUEUED), eq(1),
+            notNull(), eq("rate limited by provider"));
+        verify(notificationRepository).recordFailure(eq(rows.get(2).getId()), notNull(), eq(NotificationStatus.FAILED), eq(3),
+            isNull(), eq("invalid number"));
+        ArgumentCaptor<NotificationDeadLetter> deadLetter = ArgumentCaptor.forClass(NotificationDeadLetter.class);
+        verify(deadLetterRepository).save(deadLetter.capture());
+        assertEquals(rows.get(2).getId(), deadLetter.getValue().getNotificationId());
+        assertEquals(1.0, meterRegistry.get("notifications.delivered").tag("outcome", "dead").counter().count());
+        assertEquals(1.0, meterRegistry.get("notifications.delivered").tag("outcome", "sent").counter().count());
+    }
+
+    @Test
+    void testFlushOutcomes_DropsOutcomesOfNotificationsReclaimedSinceTheirClaim() throws Exception {
+        // Arrange: the lease ran out mid-delivery and another instance claimed both rows again
+        List<Notification> rows = notifications(2, 2);
+        doReturn(rows).doReturn(Collections.emptyList())
+            .when(notificationRepository).claim(any(), any(), any(), any());
+        sms.failures.put(rows.get(1).getId(), "invalid number");
+        doReturn(0).when(notificationRepository).markSent(any(), any(), any());
+        doReturn(0).when(notificationRepository).recordFailure(any(), any(), any(), anyInt(), any(), any());
+
+        // Act
+        dispatcher.dispatch(dispatcher.channel(NotificationType.SMS));
+        awaitIdle();
+        dispatcher.flushOutcomes();
+
+        // Assert: the UPDATEs carried this claim's claimedAt, matched nothing, and nothing was counted
+        ArgumentCaptor<LocalDateTime> claimedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(notificationRepository).markSent(eq(Collections.singletonList(rows.get(0).getId())), claimedAt.capture(), any());
+        assertEquals(rows.get(0).getClaimedAt(), claimedAt.getValue());
+        verify(notificationRepository).recordFailure(eq(rows.get(1).getId()), eq(rows.get(1).getClaimedAt()),
+            eq(NotificationStatus.FAILED), eq(3), isNull(), eq("invalid number"));
+        verifyNoInteractions(deadLetterRepository);
+        assertTrue(meterRegistry.find("notifications.delivered").counters().isEmpty());
+    }
+
+    @Test
+    void testDispatch_AdapterExceptionFailsWholeBatchAndFreesSlots() throws Exception {
+        // Arrange
+        sms.error = new IllegalStateException("provider down");
+
+        // Act
+        dispatcher.dispatch(dispatcher.channel(NotificationType.SMS));
+        awaitIdle();
+        dispatcher.flushOutcomes();
+
+        // Assert
+        verify(notificationRepository, never()).markSent(any(), any(), any());
+        verify(notificationRepository, times(15)).recordFailure(any(), any(), eq(NotificationStatus.QUEUED), eq(1), any(), eq("provider down"));
+        assertEquals(2, dispatcher.freeSlots(NotificationType.SMS));
+        // Two claims and one flush
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        for (int i = 0; i < 100 && dispatcher.inFlight(NotificationType.SMS) > 0; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private List<Notification> notifications(int count, int attempts) {
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Notification notification = new Notification();
+            notification.setId(++nextId);
+            notification.setUserId(7L);
+            notification.setType(NotificationType.SMS);
+            notification.setRecipient("+15550100");
+            notification.setMessage("Your code is 1234");
+            notification.setStatus(NotificationStatus.QUEUED);
+            notification.setAttempts(attempts);
+            notifications.add(notification);
+        }
+        return notifications;
+    }
+
+    private static class RecordingAdapter implements ChannelAdapter {
+        private final List<List<DeliveryMessage>> batches = new CopyOnWriteArrayList<>();
+        private final Map<Long, String> failures = new HashMap<>();
+        private RuntimeException error;
+
+        @Override
+        public NotificationType getType() {
+            return NotificationType.SMS;
+        }
+
+        @Override
+        public Map<Long, String> deliver(List<DeliveryMessage> batch) {
+            batches.add(batch);
+            if (error != null) {
+                throw error;
+            }
+            Map<Long, String> result = new HashMap<>();
+            for (DeliveryMessage message : batch) {
+                if (failures.containsKey(message.getId())) {
+                    result.put(message.getId(), failures.get(message.getId()));
+                }
+            }
+            return result;
+        }
+    }
+}
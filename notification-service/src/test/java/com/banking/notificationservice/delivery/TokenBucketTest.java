@@ -0,0 +1,38 @@
+package com.banking.notificationservice.delivery;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void testTryAcquire_GrantsBurstThenRefillsAtRate() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, 5, nanos::get);
+
+        // Act & Assert
+        assertEquals(5, bucket.tryAcquire(8));
+        assertEquals(0, bucket.tryAcquire(1));
+        nanos.addAndGet(300_000_000L);
+        assertEquals(3, bucket.tryAcquire(8));
+    }
+
+    @Test
+    void testRefill_IsCappedAtCapacity() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, 5, nanos::get);
+        bucket.tryAcquire(5);
+
+        // Act
+        nanos.addAndGet(60_000_000_000L);
+        bucket.refund(3);
+
+        // Assert
+        assertEquals(5, bucket.tryAcquire(100));
+    }
+}
@@ -0,0 +1,165 @@
+package com.banking.notificationservice.service;
+
+import com.banking.notificationservice.config.NotificationServiceConfig;
+import com.banking.notificationservice.dto.NotificationCursor;
+import com.banking.notificationservice.dto.NotificationDto;
+import com.banking.notificationservice.dto.NotificationPageDto;
+import com.banking.notificationservice.entity.Notification;
+import com.banking.notificationservice.entity.NotificationType;
+import com.banking.notificationservice.entity.NotificationUnreadCount;
+import com.banking.notificationservice.mapper.NotificationMapper;
+import com.banking.notificationservice.repository.NotificationRepository;
+import com.banking.notificationservice.repository.NotificationUnreadCountRepository;
+import com.banking.notificationservice.service.impl.NotificationServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceTest {
+
+    @Mock
+    private NotificationRepository repository;
+
+    @Mock
+    private NotificationUnreadCountRepository unreadCountRepository;
+
+    @Spy
+    private NotificationMapper notificationMapper = new NotificationMapper();
+
+    @Spy
+    private NotificationServiceConfig config = new NotificationServiceConfig();
+
+    @InjectMocks
+    private NotificationServiceImpl notificationService;
+
+    @Test
+    void testSend_IncrementsUnreadCounter() {
+        when(repository.save(any(Notification.class))).thenAnswer(invocation -> {
+            Notification notification = invocation.getArgument(0);
+            notification.setId(1L);
+            return notification;
+        });
+        when(unreadCountRepository.adjust(7L, 1)).thenReturn(1);
+
+        notificationService.send(pushFor(7L));
+
+        verify(unreadCountRepository).adjust(7L, 1);
+        verify(unreadCountRepository, never()).initialize(anyLong());
+    }
+
+    @Test
+    void testSend_SeedsCounterForFirstNotification() {
+        when(repository.save(any(Notification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(unreadCountRepository.adjust(7L, 1)).thenReturn(0);
+        when(unreadCountRepository.initialize(7L)).thenReturn(1);
+
+        notificationService.send(pushFor(7L));
+
+        verify(unreadCountRepository).initialize(7L);
+        verify(unreadCountRepository, times(1)).adjust(7L, 1);
+    }
+
+    @Test
+    void testMarkAsRead_DecrementsOnlyWhenFlagFlips() {
+        Notification unread = notification(3L, 7L, LocalDateTime.now());
+        when(repository.findById(3L)).thenReturn(Optional.of(unread));
+        when(repository.markRead(eq(3L), any(LocalDateTime.class))).thenReturn(0);
+
+        notificationService.markAsRead(3L);
+
+        verify(unreadCountRepository, never()).adjust(anyLong(), anyLong());
+
+        when(repository.markRead(eq(3L), any(LocalDateTime.class))).thenReturn(1);
+
+        notificationService.markAsRead(3L);
+
+        verify(unreadCountRepository).adjust(7L, -1);
+    }
+
+    @Test
+    void testMarkAllAsRead_AdjustsCounterByUpdatedRows() {
+        when(repository.markAllRead(eq(7L), any(LocalDateTime.class))).thenReturn(4);
+
+        assertEquals(4, notificationService.markAllAsRead(7L));
+
+        verify(unreadCountRepository).adjust(7L, -4);
+        verify(repository, never()).save(any(Notification.class));
+    }
+
+    @Test
+    void testGetUnreadCount_ReadsCounterRow() {
+        NotificationUnreadCount counter = new NotificationUnreadCount();
+        counter.setUserId(7L);
+        counter.setUnreadCount(12);
+        when(unreadCountRepository.findById(7L)).thenReturn(Optional.of(counter));
+
+        assertEquals(12, notificationService.getUnreadCount(7L));
+
+        verify(unreadCountRepository, never()).initialize(anyLong());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testGetInbox_ReturnsCursorWhenMoreRowsExist() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> rows = new ArrayList<>();
+        for (long id = 10; id > 7; id--) {
+            rows.add(notification(id, 7L, now.minusMinutes(10 - id)));
+        }
+        when(repository.findInboxFirstPageByRead(eq(7L), eq(false), any(Pageable.class))).thenReturn(rows);
+
+        NotificationPageDto page = notificationService.getInbox(7L, false, null, 2);
+
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.isHasNext());
+        NotificationCursor cursor = NotificationCursor.decode(page.getNextCursor(), 7L);
+        assertEquals(9L, cursor.getId());
+        assertEquals(rows.get(1).getCreatedAt(), cursor.getCreatedAt());
+
+        when(repository.findInboxPageAfterByRead(eq(7L), eq(false), eq(cursor.getCreatedAt()), eq(9L), any(Pageable.class)))
+            .thenReturn(new ArrayList<>(rows.subList(2, 3)));
+
+        NotificationPageDto next = notificationService.getInbox(7L, false, page.getNextCursor(), 2);
+
+        assertEquals(1, next.getContent().size());
+        assertFalse(next.isHasNext());
+    }
+
+    @Test
+    void testGetInbox_RejectsCursorOfAnotherUser() {
+        String cursor = new NotificationCursor(8L, LocalDateTime.now(), 1L).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> notificationService.getInbox(7L, null, cursor, 10));
+    }
+
+    private NotificationDto pushFor(Long userId) {
+        NotificationDto dto = new NotificationDto();
+        dto.setUserId(userId);
+        dto.setType(NotificationType.PUSH);
+        dto.setMessage("hello");
+        return dto;
+    }
+
+    private Notification notification(Long id, Long userId, LocalDateTime createdAt) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setUserId(userId);
+        notification.setType(NotificationType.PUSH);
+        notification.setCreatedAt(createdAt);
+        return notification;
+    }
+}
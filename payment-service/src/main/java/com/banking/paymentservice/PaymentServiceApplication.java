@@ -1,11 +1,17 @@
 package com.banking.paymentservice;
 
+import com.banking.common.idempotency.IdempotencyConfiguration;
+import com.banking.common.outbox.OutboxConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableScheduling
+@Import({IdempotencyConfiguration.class, OutboxConfiguration.class})
 public class PaymentServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,58 @@
+package com.banking.paymentservice.client;
+
+import com.banking.paymentservice.config.PaymentServiceConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class AccountServiceClient {
+
+    // Transaction-service posts under its own transaction ids in the same key space
+    static final String POSTING_KEY_PREFIX = "PAY:";
+    static final String REFUND_KEY_SUFFIX = ":REFUND";
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private PaymentServiceConfig config;
+
+    /**
+     * Asks account-service to move the money for a payment. Postings are keyed by the payment id, so
+     * repeating the call after a timeout or a reclaimed lease cannot move the money twice. The key is
+     * prefixed with {@value #POSTING_KEY_PREFIX} so a payment id never matches a transaction id.
+     *
+     * @throws org.springframework.web.client.HttpClientErrorException when account-service rejects the transfer
+     * @throws org.springframework.web.client.RestClientException when the outcome is unknown and the call may be retried
+     */
+    public void transfer(String paymentId, Long fromAccountId, Long toAccountId, BigDecimal amount) {
+        post(POSTING_KEY_PREFIX + paymentId, fromAccountId, toAccountId, amount);
+    }
+    
+    /**
+     * Posts the reversal of a completed payment, moving the amount back from the payee to the payer.
+     * The reversal has its own key, so a retried refund cannot move the money back twice.
+     *
+     * @throws org.springframework.web.client.HttpClientErrorException when account-service rejects the reversal
+     * @throws org.springframework.web.client.RestClientException when the outcome is unknown and the call may be retried
+     */
+    public void refund(String paymentId, Long fromAccountId, Long toAccountId, BigDecimal amount) {
+        post(POSTING_KEY_PREFIX + paymentId + REFUND_KEY_SUFFIX, toAccountId, fromAccountId, amount);
+    }
+    
+    private void post(String postingKey, Long fromAccountId, Long toAccountId, BigDecimal amount) {
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("transactionId", postingKey);
+        request.put("postingType", "TRANSFER");
+        request.put("fromAccountId", fromAccountId);
+        request.put("toAccountId", toAccountId);
+        request.put("amount", amount);
+        restTemplate.postForEntity(config.getAccountServiceUrl() + "/internal/accounts/postings", request, JsonNode.class);
+    }
+}
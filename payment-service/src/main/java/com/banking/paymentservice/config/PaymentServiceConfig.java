@@ -0,0 +1,176 @@
+package com.banking.paymentservice.config;
+
+import com.banking.paymentservice.entity.PaymentMethod;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "payment.service")
+public class PaymentServiceConfig {
+
+    private boolean aggregateCacheEnabled = true;
+    private long aggregateCacheMaximumSize = 20000;
+    private long aggregateCacheExpireAfterWriteMs = 600000;
+    private long aggregateCloseGraceMs = 60000;
+    private int aggregateMaxBuckets = 1000;
+    private boolean processingEnabled = true;
+    private long processingIntervalMs = 500;
+    private int processingBatchSize = 100;
+    private int processingWorkers = 8;
+    private int processingDefaultMethodConcurrency = 4;
+    private Map<PaymentMethod, Integer> processingMethodConcurrency = new EnumMap<>(PaymentMethod.class);
+    private long processingLeaseMs = 300000;
+    private int processingMaxAttempts = 5;
+    private long processingRetryInitialBackoffMs = 1000;
+    private long processingRetryMaxBackoffMs = 300000;
+    private String accountServiceUrl = "http://account-service";
+    private int accountServiceConnectTimeoutMs = 1000;
+    private int accountServiceReadTimeoutMs = 3000;
+
+    public boolean isAggregateCacheEnabled() {
+        return aggregateCacheEnabled;
+    }
+
+    public void setAggregateCacheEnabled(boolean aggregateCacheEnabled) {
+        this.aggregateCacheEnabled = aggregateCacheEnabled;
+    }
+
+    public long getAggregateCacheMaximumSize() {
+        return aggregateCacheMaximumSize;
+    }
+
+    public void setAggregateCacheMaximumSize(long aggregateCacheMaximumSize) {
+        this.aggregateCacheMaximumSize = aggregateCacheMaximumSize;
+    }
+
+    public long getAggregateCacheExpireAfterWriteMs() {
+        return aggregateCacheExpireAfterWriteMs;
+    }
+
+    public void setAggregateCacheExpireAfterWriteMs(long aggregateCacheExpireAfterWriteMs) {
+        this.aggregateCacheExpireAfterWriteMs = aggregateCacheExpireAfterWriteMs;
+    }
+
+    public long getAggregateCloseGraceMs() {
+        return aggregateCloseGraceMs;
+    }
+
+    public void setAggregateCloseGraceMs(long aggregateCloseGraceMs) {
+        this.aggregateCloseGraceMs = aggregateCloseGraceMs;
+    }
+
+    public int getAggregateMaxBuckets() {
+        return aggregateMaxBuckets;
+    }
+
+    public void setAggregateMaxBuckets(int aggregateMaxBuckets) {
+        this.aggregateMaxBuckets = aggregateMaxBuckets;
+    }
+
+    public boolean isProcessingEnabled() {
+        return processingEnabled;
+    }
+
+    public void setProcessingEnabled(boolean processingEnabled) {
+        this.processingEnabled = processingEnabled;
+    }
+
+    public long getProcessingIntervalMs() {
+        return processingIntervalMs;
+    }
+
+    public void setProcessingIntervalMs(long processingIntervalMs) {
+        this.processingIntervalMs = processingIntervalMs;
+    }
+
+    public int getProcessingBatchSize() {
+        return processingBatchSize;
+    }
+
+    public void setProcessingBatchSize(int processingBatchSize) {
+        this.processingBatchSize = processingBatchSize;
+    }
+
+    public int getProcessingWorkers() {
+        return processingWorkers;
+    }
+
+    public void setProcessingWorkers(int processingWorkers) {
+        this.processingWorkers = processingWorkers;
+    }
+
+    public int getProcessingDefaultMethodConcurrency() {
+        return processingDefaultMethodConcurrency;
+    }
+
+    public void setProcessingDefaultMethodConcurrency(int processingDefaultMethodConcurrency) {
+        this.processingDefaultMethodConcurrency = processingDefaultMethodConcurrency;
+    }
+
+    public Map<PaymentMethod, Integer> getProcessingMethodConcurrency() {
+        return processingMethodConcurrency;
+    }
+
+    public void setProcessingMethodConcurrency(Map<PaymentMethod, Integer> processingMethodConcurrency) {
+        this.processingMethodConcurrency = processingMethodConcurrency;
+    }
+
+    public long getProcessingLeaseMs() {
+        return processingLeaseMs;
+    }
+
+    public void setProcessingLeaseMs(long processingLeaseMs) {
+        this.processingLeaseMs = processingLeaseMs;
+    }
+
+    public int getProcessingMaxAttempts() {
+        return processingMaxAttempts;
+    }
+
+    public void setProcessingMaxAttempts(int processingMaxAttempts) {
+        this.processingMaxAttempts = processingMaxAttempts;
+    }
+
+    public long getProcessingRetryInitialBackoffMs() {
+        return processingRetryInitialBackoffMs;
+    }
+
+    public void setProcessingRetryInitialBackoffMs(long processingRetryInitialBackoffMs) {
+        this.processingRetryInitialBackoffMs = processingRetryInitialBackoffMs;
+    }
+
+    public long getProcessingRetryMaxBackoffMs() {
+        return processingRetryMaxBackoffMs;
+    }
+
+    public void setProcessingRetryMaxBackoffMs(long processingRetryMaxBackoffMs) {
+        this.processingRetryMaxBackoffMs = processingRetryMaxBackoffMs;
+    }
+
+    public String getAccountServiceUrl() {
+        return accountServiceUrl;
+    }
+
+    public void setAccountServiceUrl(String accountServiceUrl) {
+        this.accountServiceUrl = accountServiceUrl;
+    }
+
+    public int getAccountServiceConnectTimeoutMs() {
+        return accountServiceConnectTimeoutMs;
+    }
+
+    public void setAccountServiceConnectTimeoutMs(int accountServiceConnectTimeoutMs) {
+        this.accountServiceConnectTimeoutMs = accountServiceConnectTimeoutMs;
+    }
+
+    public int getAccountServiceReadTimeoutMs() {
+        return accountServiceReadTimeoutMs;
+    }
+
+    public void setAccountServiceReadTimeoutMs(int accountServiceReadTimeoutMs) {
+        this.accountServiceReadTimeoutMs = accountServiceReadTimeoutMs;
+    }
+}
@@ -1,16 +1,28 @@
 package com.banking.paymentservice.controller;
 
 import com.banking.common.dto.ApiResponse;
+import com.banking.common.idempotency.IdempotencyService;
+import com.banking.paymentservice.dto.AggregateDimension;
+import com.banking.paymentservice.dto.PaymentAggregateDto;
 import com.banking.paymentservice.dto.PaymentDto;
+import com.banking.paymentservice.dto.TimeBucket;
 import com.banking.paymentservice.entity.PaymentStatus;
 import com.banking.paymentservice.entity.PaymentType;
+import com.banking.paymentservice.service.PaymentAggregateService;
 import com.banking.paymentservice.service.PaymentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -23,8 +35,25 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private PaymentAggregateService aggregateService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
-    public ResponseEntity<ApiResponse<PaymentDto>> createPayment(@Valid @RequestBody PaymentDto paymentDto) {
+    public ResponseEntity<ApiResponse<PaymentDto>> createPayment(
+            @Valid @RequestBody PaymentDto paymentDto,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = IdempotencyService.PRINCIPAL_HEADER, required = false) String userId) {
+        return idempotencyService.execute("POST /api/payments", userId, idempotencyKey, paymentDto, PaymentDto.class,
+            () -> doCreatePayment(paymentDto));
+    }
+
+    private ResponseEntity<ApiResponse<PaymentDto>> doCreatePayment(PaymentDto paymentDto) {
         try {
             PaymentDto created = paymentService.createPayment(paymentDto);
             return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Payment created successfully", created));
@@ -87,6 +116,13 @@ public class PaymentController {
         }
     }
 
+    @GetMapping(value = "/status/{status}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPaymentsByStatus(@PathVariable PaymentStatus status) {
+        StreamingResponseBody body = outputStream ->
+            paymentService.streamPaymentsByStatus(status, payment -> writeLine(outputStream, payment));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/type/{type}")
     public ResponseEntity<ApiResponse<List<PaymentDto>>> getPaymentsByType(@PathVariable PaymentType type) {
         try {
@@ -114,6 +150,39 @@ public class PaymentController {
         }
     }
 
+    @GetMapping(value = "/date/range/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPaymentsByDateRange(@RequestParam LocalDateTime startDate, @RequestParam LocalDateTime endDate) {
+        // Rows come off a database cursor and go straight to the response instead of being collected first
+        StreamingResponseBody body = outputStream ->
+            paymentService.streamPaymentsByDateRange(startDate, endDate, payment -> writeLine(outputStream, payment));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private void writeLine(OutputStream outputStream, Object value) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @GetMapping("/aggregates")
+    public ResponseEntity<ApiResponse<List<PaymentAggregateDto>>> getPaymentAggregates(
+            @RequestParam AggregateDimension groupBy,
+            @RequestParam(required = false) TimeBucket bucket,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Payment aggregates retrieved successfully",
+                aggregateService.aggregate(groupBy, bucket, startDate, endDate)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @GetMapping("/reference/{referenceNumber}")
     public ResponseEntity<ApiResponse<List<PaymentDto>>> getPaymentsByReference(@PathVariable String referenceNumber) {
         try {
@@ -131,6 +200,13 @@ public class PaymentController {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
-}
-
 
+    @PostMapping("/{id}/refund")
+    public ResponseEntity<ApiResponse<PaymentDto>> refundPayment(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Payment refunded successfully", paymentService.refundPayment(id)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.banking.paymentservice.dto;
+
+public enum AggregateDimension {
+    TYPE("paymentType"),
+    METHOD("paymentMethod"),
+    STATUS("status");
+
+    private final String property;
+
+    AggregateDimension(String property) {
+        this.property = property;
+    }
+
+    // Payment attribute grouped on; only these fixed names ever reach the JPQL
+    public String getProperty() {
+        return property;
+    }
+}
@@ -0,0 +1,52 @@
+package com.banking.paymentservice.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class PaymentAggregateDto {
+    private LocalDateTime bucketStart;
+    private String group;
+    private long count;
+    private BigDecimal volume;
+
+    public PaymentAggregateDto() {}
+
+    public PaymentAggregateDto(LocalDateTime bucketStart, String group, long count, BigDecimal volume) {
+        this.bucketStart = bucketStart;
+        this.group = group;
+        this.count = count;
+        this.volume = volume;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public void setGroup(String group) {
+        this.group = group;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public BigDecimal getVolume() {
+        return volume;
+    }
+
+    public void setVolume(BigDecimal volume) {
+        this.volume = volume;
+    }
+}
@@ -47,6 +47,24 @@ public class PaymentDto {
         this.description = description;
     }
 
+    // Used by JPQL constructor projections, so the argument order must match PaymentRepository.DTO_SELECT
+    public PaymentDto(Long id, String paymentId, Long fromAccountId, Long toAccountId, BigDecimal amount,
+                     PaymentType paymentType, PaymentStatus status, String description, String referenceNumber,
+                     PaymentMethod paymentMethod, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.paymentId = paymentId;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.paymentType = paymentType;
+        this.status = status;
+        this.description = description;
+        this.referenceNumber = referenceNumber;
+        this.paymentMethod = paymentMethod;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -56,6 +56,12 @@ public class Payment {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @Column(name = "processing_attempts")
+    private Integer processingAttempts;
+    
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -180,6 +186,22 @@ public class Payment {
         this.updatedAt = updatedAt;
     }
     
+    public Integer getProcessingAttempts() {
+        return processingAttempts;
+    }
+    
+    public void setProcessingAttempts(Integer processingAttempts) {
+        this.processingAttempts = processingAttempts;
+    }
+    
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+    
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+    
     @Override
     public String toString() {
         return "Payment{" +
@@ -9,4 +9,7 @@ public enum PaymentStatus {
     DECLINED,
     REFUNDED,
     PARTIALLY_REFUNDED
+    // PENDING -> PROCESSING -> COMPLETED/FAILED/DECLINED, and PROCESSING -> PENDING for a retry, belong to the
+    // payment processor alone. By hand a payment can only be cancelled before its first attempt, and
+    // COMPLETED -> REFUNDED happens only through the refund, which posts the reversal first.
 }
@@ -0,0 +1,21 @@
+package com.banking.paymentservice.event;
+
+import com.banking.paymentservice.entity.PaymentStatus;
+
+/**
+ * Names of the events payment-service writes to its outbox. Every event carries the payment as a
+ * PaymentDto and is keyed by paymentId, so consumers see the events of one payment in order.
+ */
+public final class PaymentEvents {
+
+    public static final String AGGREGATE_TYPE = "payment";
+    public static final String CREATED = "payment.created";
+
+    private PaymentEvents() {
+    }
+
+    // payment.completed, payment.declined, payment.cancelled, ...
+    public static String statusChanged(PaymentStatus status) {
+        return AGGREGATE_TYPE + "." + status.name().toLowerCase();
+    }
+}
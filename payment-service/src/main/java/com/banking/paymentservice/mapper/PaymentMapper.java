@@ -0,0 +1,45 @@
+package com.banking.paymentservice.mapper;
+
+import com.banking.common.mapping.EntityMapper;
+import com.banking.paymentservice.dto.PaymentDto;
+import com.banking.paymentservice.entity.Payment;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PaymentMapper implements EntityMapper<Payment, PaymentDto> {
+
+    @Override
+    public PaymentDto toDto(Payment payment) {
+        return new PaymentDto(
+            payment.getId(),
+            payment.getPaymentId(),
+            payment.getFromAccountId(),
+            payment.getToAccountId(),
+            payment.getAmount(),
+            payment.getPaymentType(),
+            payment.getStatus(),
+            payment.getDescription(),
+            payment.getReferenceNumber(),
+            payment.getPaymentMethod(),
+            payment.getCreatedAt(),
+            payment.getUpdatedAt()
+        );
+    }
+
+    @Override
+    public Payment toEntity(PaymentDto dto) {
+        Payment payment = new Payment();
+        payment.setPaymentId(dto.getPaymentId());
+        payment.setFromAccountId(dto.getFromAccountId());
+        payment.setToAccountId(dto.getToAccountId());
+        payment.setAmount(dto.getAmount());
+        payment.setPaymentType(dto.getPaymentType());
+        payment.setStatus(dto.getStatus());
+        payment.setDescription(dto.getDescription());
+        payment.setReferenceNumber(dto.getReferenceNumber());
+        payment.setPaymentMethod(dto.getPaymentMethod());
+        payment.setCreatedAt(dto.getCreatedAt());
+        payment.setUpdatedAt(dto.getUpdatedAt());
+        return payment;
+    }
+}
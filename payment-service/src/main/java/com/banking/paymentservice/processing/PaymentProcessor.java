@@ -0,0 +1,324 @@
+package com.banking.paymentservice.processing;
+
+import com.banking.common.outbox.Outbox;
+import com.banking.paymentservice.client.AccountServiceClient;
+import com.banking.paymentservice.config.PaymentServiceConfig;
+import com.banking.paymentservice.dto.PaymentDto;
+import com.banking.paymentservice.entity.Payment;
+import com.banking.paymentservice.entity.PaymentMethod;
+import com.banking.paymentservice.entity.PaymentStatus;
+import com.banking.paymentservice.event.PaymentEvents;
+import com.banking.paymentservice.mapper.PaymentMapper;
+import com.banking.paymentservice.repository.PaymentRepository;
+import com.banking.paymentservice.service.PaymentAggregateService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moves PENDING payments through PROCESSING to COMPLETED, DECLINED or FAILED.
+ *
+ * <p>Each tick first commits the outcomes finished since the last tick in one transaction, then claims
+ * as many payments as there are free workers. Claims use SELECT ... FOR UPDATE SKIP LOCKED and commit
+ * the PROCESSING status right away, so concurrent instances never pick the same payment. Each
+ * {@link PaymentMethod} has its own concurrency limit, enforced by claiming at most that many per
+ * method. A PROCESSING payment whose lease ran out is claimed again; account-service keys postings by
+ * payment id, so finishing it twice cannot move the money twice. A payment whose outcome was unknown
+ * goes back to PENDING with exponential backoff and is marked FAILED after processingMaxAttempts.
+ * Final outcomes are written to the outbox in the same transaction as the status change.
+ */
+@Component
+public class PaymentProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentProcessor.class);
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private AccountServiceClient accountServiceClient;
+
+    @Autowired
+    private PaymentAggregateService aggregateService;
+
+    @Autowired
+    private PaymentMapper paymentMapper;
+
+    @Autowired
+    private Outbox outbox;
+
+    @Autowired
+    private PaymentServiceConfig config;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor workers;
+    private final Map<PaymentMethod, Semaphore> methodLimits = new EnumMap<>(PaymentMethod.class);
+    private Semaphore unspecifiedMethodLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<Outcome> outcomes = new ConcurrentLinkedQueue<>();
+    private final Map<PaymentStatus, Counter> outcomeCounters = new EnumMap<>(PaymentStatus.class);
+    private int nextMethod;
+
+    @PostConstruct
+    public void start() {
+        int size = Math.max(1, config.getProcessingWorkers());
+        AtomicInteger threadIndex = new AtomicInteger();
+        // Never more tasks than workers are submitted, so the queue only covers the hand-off
+        workers = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(size), runnable -> {
+            Thread thread = new Thread(runnable, "payment-worker-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (PaymentMethod method : PaymentMethod.values()) {
+            methodLimits.put(method, new Semaphore(config.getProcessingMethodConcurrency()
+                .getOrDefault(method, config.getProcessingDefaultMethodConcurrency())));
+        }
+        unspecifiedMethodLimit = new Semaphore(config.getProcessingDefaultMethodConcurrency());
+        for (PaymentStatus status : new PaymentStatus[] {PaymentStatus.COMPLETED, PaymentStatus.DECLINED,
+                                                         PaymentStatus.FAILED, PaymentStatus.PENDING}) {
+            outcomeCounters.put(status, Counter.builder("payments.processed")
+                .tag("outcome", status.name())
+                .register(meterRegistry));
+        }
+        Gauge.builder("payments.processing.in_flight", inFlight, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(config.getAccountServiceReadTimeoutMs() * 2L, TimeUnit.MILLISECONDS);
+        flushOutcomes();
+    }
+
+    @Scheduled(fixedDelayString = "${payment.service.processing-interval-ms:500}")
+    public void poll() {
+        if (!config.isProcessingEnabled()) {
+            return;
+        }
+        flushOutcomes();
+        int free = Math.max(1, config.getProcessingWorkers()) - inFlight.get();
+        if (free <= 0) {
+            return;
+        }
+        for (Claimed payment : claim(free)) {
+            inFlight.incrementAndGet();
+            workers.execute(() -> process(payment));
+        }
+    }
+
+    // Permits are taken on the scheduler thread only and given back by the workers
+    List<Claimed> claim(int free) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minusNanos(TimeUnit.MILLISECONDS.toNanos(config.getProcessingLeaseMs()));
+        int batchSize = Math.max(1, config.getProcessingBatchSize());
+
+        List<Claimed> claimed = template.execute(status -> {
+            List<Claimed> batch = new ArrayList<>();
+            PaymentMethod[] methods = PaymentMethod.values();
+            // Rotate the starting method so a busy method cannot starve the ones after it
+            int start = nextMethod++ % (methods.length + 1);
+            for (int i = 0; i <= methods.length && batch.size() < free; i++) {
+                int index = (start + i) % (methods.length + 1);
+                PaymentMethod method = index < methods.length ? methods[index] : null;
+                Semaphore limit = limitFor(method);
+                int wanted = Math.min(Math.min(free - batch.size(), batchSize - batch.size()), limit.availablePermits());
+                if (wanted <= 0) {
+                    continue;
+                }
+                PageRequest page = PageRequest.of(0, wanted);
+                List<Payment> rows = method == null
+                    ? paymentRepository.claimWithoutMethod(now, staleBefore, page)
+                    : paymentRepository.claimByMethod(method, now, staleBefore, page);
+                for (Payment payment : rows) {
+                    payment.setStatus(PaymentStatus.PROCESSING);
+                    batch.add(new Claimed(payment));
+                }
+            }
+            return batch;
+        });
+        if (claimed == null) {
+            return Collections.emptyList();
+        }
+        // Taken only once the claim committed; the sizes above guarantee the permits are there
+        for (Claimed payment : claimed) {
+            limitFor(payment.method).acquireUninterruptibly();
+        }
+        return claimed;
+    }
+
+    void process(Claimed payment) {
+        PaymentStatus result;
+        boolean unknown = false;
+        try {
+            accountServiceClient.transfer(payment.paymentId, payment.fromAccountId, payment.toAccountId, payment.amount);
+            result = PaymentStatus.COMPLETED;
+        } catch (HttpClientErrorException e) {
+            result = e.getStatusCode() == HttpStatus.UNPROCESSABLE_ENTITY ? PaymentStatus.DECLINED : PaymentStatus.FAILED;
+            logger.info("Payment {} {}: {}", payment.paymentId, result, e.getResponseBodyAsString());
+        } catch (RuntimeException e) {
+            // Outcome unknown (timeout, 5xx, no instance); hand it back and let the idempotent posting sort it out
+            unknown = true;
+            if (payment.attempts + 1 < config.getProcessingMaxAttempts()) {
+                result = PaymentStatus.PENDING;
+                logger.warn("Payment {} will be retried: {}", payment.paymentId, e.getMessage());
+            } else {
+                result = PaymentStatus.FAILED;
+                logger.warn("Payment {} FAILED after {} attempts: {}", payment.paymentId, payment.attempts + 1, e.getMessage());
+            }
+        } finally {
+            limitFor(payment.method).release();
+            inFlight.decrementAndGet();
+        }
+        outcomes.add(new Outcome(payment, result, unknown));
+    }
+
+    // Commits every finished payment in one transaction, one UPDATE per target status
+    void flushOutcomes() {
+        List<Outcome> batch = new ArrayList<>();
+        Outcome outcome;
+        while ((outcome = outcomes.poll()) != null) {
+            batch.add(outcome);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<Long, PaymentStatus> statusById = new HashMap<>();
+        Set<Long> unknownIds = new HashSet<>();
+        for (Outcome finished : batch) {
+            statusById.put(finished.payment.id, finished.status);
+            if (finished.unknown) {
+                unknownIds.add(finished.payment.id);
+            }
+        }
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                // Payments moved on by hand while in flight are left alone and get no event
+                List<Payment> stillProcessing = paymentRepository.lockProcessing(statusById.keySet());
+                Map<PaymentStatus, List<Long>> idsByStatus = new EnumMap<>(PaymentStatus.class);
+                for (Payment payment : stillProcessing) {
+                    PaymentStatus result = statusById.get(payment.getId());
+                    if (unknownIds.contains(payment.getId())) {
+                        int attempts = attemptsOf(payment) + 1;
+                        LocalDateTime retryAt = result == PaymentStatus.PENDING
+                            ? now.plusNanos(TimeUnit.MILLISECONDS.toNanos(backoffMs(attempts))) : null;
+                        paymentRepository.recordAttempt(payment.getId(), result, attempts, retryAt, now);
+                    } else {
+                        idsByStatus.computeIfAbsent(result, key -> new ArrayList<>()).add(payment.getId());
+                    }
+                }
+                for (Map.Entry<PaymentStatus, List<Long>> entry : idsByStatus.entrySet()) {
+                    paymentRepository.finishProcessing(entry.getValue(), entry.getKey(), now);
+                }
+                for (Payment payment : stillProcessing) {
+                    PaymentStatus result = statusById.get(payment.getId());
+                    if (result != PaymentStatus.PENDING) {
+                        PaymentDto dto = paymentMapper.toDto(payment);
+                        dto.setStatus(result);
+                        dto.setUpdatedAt(now);
+                        outbox.append(PaymentEvents.AGGREGATE_TYPE, payment.getPaymentId(), PaymentEvents.statusChanged(result), dto);
+                    }
+                }
+                for (Outcome finished : batch) {
+                    aggregateService.evictStatusBuckets(finished.payment.createdAt);
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.error("Could not record {} payment outcomes, will retry: {}", batch.size(), e.getMessage());
+            outcomes.addAll(batch);
+            return;
+        }
+        for (Outcome finished : batch) {
+            outcomeCounters.get(finished.status).increment();
+        }
+    }
+
+    private long backoffMs(int attempts) {
+        long delay = config.getProcessingRetryInitialBackoffMs() << Math.min(attempts - 1, 20);
+        return Math.min(delay, config.getProcessingRetryMaxBackoffMs());
+    }
+
+    private static int attemptsOf(Payment payment) {
+        return payment.getProcessingAttempts() == null ? 0 : payment.getProcessingAttempts();
+    }
+
+    private Semaphore limitFor(PaymentMethod method) {
+        return method == null ? unspecifiedMethodLimit : methodLimits.get(method);
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    // What a worker needs, copied out of the entity so nothing managed crosses threads
+    static final class Claimed {
+        private final Long id;
+        private final String paymentId;
+        private final Long fromAccountId;
+        private final Long toAccountId;
+        private final BigDecimal amount;
+        private final PaymentMethod method;
+        private final LocalDateTime createdAt;
+        private final int attempts;
+
+        Claimed(Payment payment) {
+            this.id = payment.getId();
+            this.paymentId = payment.getPaymentId();
+            this.fromAccountId = payment.getFromAccountId();
+            this.toAccountId = payment.getToAccountId();
+            this.amount = payment.getAmount();
+            this.method = payment.getPaymentMethod();
+            this.createdAt = payment.getCreatedAt();
+            this.attempts = attemptsOf(payment);
+        }
+    }
+
+    private static final class Outcome {
+        private final Claimed payment;
+        private final PaymentStatus status;
+        private final boolean unknown;
+
+        private Outcome(Claimed payment, PaymentStatus status, boolean unknown) {
+            this.payment = payment;
+            this.status = status;
+            this.unknown = unknown;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.banking.paymentservice.repository;
+
+import com.banking.paymentservice.dto.AggregateDimension;
+import com.banking.paymentservice.dto.PaymentAggregateDto;
+import com.banking.paymentservice.dto.TimeBucket;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GROUP BY queries over payments. The JPQL is assembled from enum-controlled fragments only, so the
+ * database does the counting and summing and just one row per group and bucket comes back.
+ */
+@Repository
+public class PaymentAggregateRepository {
+
+    private static final String HOUR_COLUMNS = "year(p.createdAt), month(p.createdAt), day(p.createdAt), hour(p.createdAt)";
+    private static final String DAY_COLUMNS = "year(p.createdAt), month(p.createdAt), day(p.createdAt)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<PaymentAggregateDto> aggregate(AggregateDimension dimension, TimeBucket bucket,
+                                               LocalDateTime startDate, LocalDateTime endDate) {
+        String timeColumns = bucket == null ? null : bucket == TimeBucket.HOUR ? HOUR_COLUMNS : DAY_COLUMNS;
+        String groupColumns = (timeColumns == null ? "" : timeColumns + ", ") + "p." + dimension.getProperty();
+        String jpql = "SELECT " + groupColumns + ", COUNT(p), SUM(p.amount) FROM Payment p " +
+            "WHERE p.createdAt >= :startDate AND p.createdAt < :endDate " +
+            "GROUP BY " + groupColumns + " ORDER BY " + groupColumns;
+
+        List<?> rows = entityManager.createQuery(jpql)
+            .setParameter("startDate", startDate)
+            .setParameter("endDate", endDate)
+            .getResultList();
+
+        int timeParts = bucket == null ? 0 : bucket == TimeBucket.HOUR ? 4 : 3;
+        List<PaymentAggregateDto> aggregates = new ArrayList<>(rows.size());
+        for (Object result : rows) {
+            Object[] row = (Object[]) result;
+            LocalDateTime bucketStart = timeParts == 0 ? null : LocalDateTime.of(
+                ((Number) row[0]).intValue(), ((Number) row[1]).intValue(), ((Number) row[2]).intValue(),
+                timeParts == 4 ? ((Number) row[3]).intValue() : 0, 0);
+            Object group = row[timeParts];
+            aggregates.add(new PaymentAggregateDto(bucketStart, group == null ? null : group.toString(),
+                ((Number) row[timeParts + 1]).longValue(), (BigDecimal) row[timeParts + 2]));
+        }
+        return aggregates;
+    }
+}
@@ -1,22 +1,125 @@
 package com.banking.paymentservice.repository;
 
+import com.banking.paymentservice.dto.PaymentDto;
 import com.banking.paymentservice.entity.Payment;
 import com.banking.paymentservice.entity.PaymentStatus;
 import com.banking.paymentservice.entity.PaymentType;
 import com.banking.paymentservice.entity.PaymentMethod;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
+    // Shared by the lists and the cursor-backed streams below; a stream over entities would fill the session with every row
+    String DTO_SELECT = "SELECT new com.banking.paymentservice.dto.PaymentDto(p.id, p.paymentId, p.fromAccountId, " +
+        "p.toAccountId, p.amount, p.paymentType, p.status, p.description, p.referenceNumber, p.paymentMethod, " +
+        "p.createdAt, p.updatedAt) FROM Payment p ";
+    
+    // Lock timeout -2 makes Hibernate add SKIP LOCKED, so a claim passes over payments another instance is about to process
+    String SKIP_LOCKED = "-2";
+    
+    String CLAIMABLE = "((p.status = com.banking.paymentservice.entity.PaymentStatus.PENDING " +
+        "AND (p.nextAttemptAt IS NULL OR p.nextAttemptAt <= :now)) " +
+        "OR (p.status = com.banking.paymentservice.entity.PaymentStatus.PROCESSING AND p.updatedAt < :staleBefore)) ";
+    
+    // Rows pulled per round trip by the cursor-backed streams; only that many DTOs are ever buffered
+    String STREAM_FETCH_SIZE = "500";
+    
+    @Query(DTO_SELECT + "WHERE p.fromAccountId = :accountId")
+    List<PaymentDto> findDtosByFromAccountId(@Param("accountId") Long fromAccountId);
+    
+    @Query(DTO_SELECT + "WHERE p.toAccountId = :accountId")
+    List<PaymentDto> findDtosByToAccountId(@Param("accountId") Long toAccountId);
+    
+    @Query(DTO_SELECT + "WHERE p.fromAccountId = :accountId OR p.toAccountId = :accountId")
+    List<PaymentDto> findDtosByAccountId(@Param("accountId") Long accountId);
+    
+    @Query(DTO_SELECT + "WHERE p.paymentType = :paymentType")
+    List<PaymentDto> findDtosByPaymentType(@Param("paymentType") PaymentType paymentType);
+    
+    @Query(DTO_SELECT + "WHERE p.status = :status")
+    List<PaymentDto> findDtosByStatus(@Param("status") PaymentStatus status);
+    
+    @Query(DTO_SELECT + "WHERE p.amount BETWEEN :minAmount AND :maxAmount")
+    List<PaymentDto> findDtosByAmountBetween(@Param("minAmount") BigDecimal minAmount, @Param("maxAmount") BigDecimal maxAmount);
+    
+    @Query(DTO_SELECT + "WHERE p.createdAt >= :startDate AND p.createdAt <= :endDate")
+    List<PaymentDto> findDtosByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    
+    @Query(DTO_SELECT + "WHERE p.referenceNumber = :referenceNumber")
+    List<PaymentDto> findDtosByReferenceNumber(@Param("referenceNumber") String referenceNumber);
+    
+    // Streams hold an open JDBC cursor, so callers must consume them inside a read-only transaction and close them
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(DTO_SELECT + "WHERE p.status = :status")
+    Stream<PaymentDto> streamDtosByStatus(@Param("status") PaymentStatus status);
+    
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(DTO_SELECT + "WHERE p.createdAt >= :startDate AND p.createdAt <= :endDate ORDER BY p.createdAt, p.id")
+    Stream<PaymentDto> streamDtosByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    
+    // PROCESSING rows whose lease ran out belong to an instance that died mid-payment and are claimed again
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("SELECT p FROM Payment p WHERE p.paymentMethod = :method AND " + CLAIMABLE + "ORDER BY p.id")
+    List<Payment> claimByMethod(@Param("method") PaymentMethod method, @Param("now") LocalDateTime now,
+                                @Param("staleBefore") LocalDateTime staleBefore, Pageable pageable);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("SELECT p FROM Payment p WHERE p.paymentMethod IS NULL AND " + CLAIMABLE + "ORDER BY p.id")
+    List<Payment> claimWithoutMethod(@Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore,
+                                     Pageable pageable);
+    
+    // Locks the payments that are still PROCESSING so their outcome and its outbox event are written together
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.id IN :ids AND p.status = com.banking.paymentservice.entity.PaymentStatus.PROCESSING")
+    List<Payment> lockProcessing(@Param("ids") Collection<Long> ids);
+    
+    // Only rows still PROCESSING move on, so a status set by hand while the payment was in flight wins
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = :status, p.updatedAt = :now " +
+           "WHERE p.id IN :ids AND p.status = com.banking.paymentservice.entity.PaymentStatus.PROCESSING")
+    int finishProcessing(@Param("ids") Collection<Long> ids, @Param("status") PaymentStatus status,
+                         @Param("now") LocalDateTime now);
+    
+    // An attempt whose outcome was unknown: back to PENDING until nextAttemptAt, or FAILED once attempts run out
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = :status, p.processingAttempts = :attempts, p.nextAttemptAt = :nextAttemptAt, " +
+           "p.updatedAt = :now WHERE p.id = :id AND p.status = com.banking.paymentservice.entity.PaymentStatus.PROCESSING")
+    int recordAttempt(@Param("id") Long id, @Param("status") PaymentStatus status, @Param("attempts") int attempts,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("now") LocalDateTime now);
+    
+    // Once attempted, a PENDING payment may already have moved money, so only untried ones can be withdrawn
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = com.banking.paymentservice.entity.PaymentStatus.CANCELLED, p.updatedAt = :now " +
+           "WHERE p.id = :id AND p.status = com.banking.paymentservice.entity.PaymentStatus.PENDING " +
+           "AND (p.processingAttempts IS NULL OR p.processingAttempts = 0)")
+    int cancelUnattempted(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = com.banking.paymentservice.entity.PaymentStatus.REFUNDED, p.updatedAt = :now " +
+           "WHERE p.id = :id AND p.status = com.banking.paymentservice.entity.PaymentStatus.COMPLETED")
+    int markRefunded(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
     Optional<Payment> findByPaymentId(String paymentId);
     
     List<Payment> findByFromAccountId(Long fromAccountId);
@@ -0,0 +1,20 @@
+package com.banking.paymentservice.service;
+
+import com.banking.paymentservice.dto.AggregateDimension;
+import com.banking.paymentservice.dto.PaymentAggregateDto;
+import com.banking.paymentservice.dto.TimeBucket;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PaymentAggregateService {
+
+    /**
+     * Count and volume of payments created in the range, grouped by {@code dimension} and, when a
+     * bucket is given, by hour or day. Bucketed ranges are widened to whole buckets.
+     */
+    List<PaymentAggregateDto> aggregate(AggregateDimension dimension, TimeBucket bucket,
+                                        LocalDateTime startDate, LocalDateTime endDate);
+
+    void evictStatusBuckets(LocalDateTime createdAt);
+}
@@ -7,6 +7,7 @@ import com.banking.paymentservice.entity.PaymentType;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface PaymentService {
 
@@ -32,7 +33,13 @@ public interface PaymentService {
 
     List<PaymentDto> getPaymentsByReferenceNumber(String referenceNumber);
 
+    long streamPaymentsByStatus(PaymentStatus status, Consumer<PaymentDto> sink);
+
+    long streamPaymentsByDateRange(LocalDateTime startDate, LocalDateTime endDate, Consumer<PaymentDto> sink);
+
     PaymentDto updatePaymentStatus(Long id, PaymentStatus status);
+    
+    PaymentDto refundPayment(Long id);
 }
 
 
@@ -0,0 +1,195 @@
+package com.banking.paymentservice.service.impl;
+
+import com.banking.paymentservice.config.PaymentServiceConfig;
+import com.banking.paymentservice.dto.AggregateDimension;
+import com.banking.paymentservice.dto.PaymentAggregateDto;
+import com.banking.paymentservice.dto.TimeBucket;
+import com.banking.paymentservice.repository.PaymentAggregateRepository;
+import com.banking.paymentservice.service.PaymentAggregateService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves bucketed aggregates from a cache of closed buckets plus one GROUP BY query for whatever is
+ * missing or still open. A bucket is closed once it ended more than the configured grace ago; its
+ * type and method groups can then no longer change, and status groups are evicted when a payment in
+ * the bucket changes status. Expiry bounds staleness for status changes made on other instances.
+ */
+@Service
+public class PaymentAggregateServiceImpl implements PaymentAggregateService {
+
+    @Autowired
+    private PaymentAggregateRepository aggregateRepository;
+
+    @Autowired
+    private PaymentServiceConfig config;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<BucketKey, List<PaymentAggregateDto>> closedBuckets;
+    // Bumped on every eviction; a load that overlapped one does not store its possibly stale result
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        closedBuckets = Caffeine.newBuilder()
+            .maximumSize(config.getAggregateCacheMaximumSize())
+            .expireAfterWrite(config.getAggregateCacheExpireAfterWriteMs(), TimeUnit.MILLISECONDS)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, closedBuckets, "payment-aggregates");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PaymentAggregateDto> aggregate(AggregateDimension dimension, TimeBucket bucket,
+                                               LocalDateTime startDate, LocalDateTime endDate) {
+        if (dimension == null || startDate == null || endDate == null || !endDate.isAfter(startDate)) {
+            throw new IllegalArgumentException("A grouping and a start date before the end date are required");
+        }
+        if (bucket == null) {
+            return aggregateRepository.aggregate(dimension, null, startDate, endDate);
+        }
+
+        LocalDateTime from = bucket.floor(startDate);
+        LocalDateTime to = bucket.ceil(endDate);
+        if (bucket.count(from, to) > config.getAggregateMaxBuckets()) {
+            throw new IllegalArgumentException("Range spans more than " + config.getAggregateMaxBuckets()
+                + " buckets; use a shorter range or a coarser bucket");
+        }
+
+        LocalDateTime closedLimit = bucket.floor(LocalDateTime.now().minusNanos(
+            TimeUnit.MILLISECONDS.toNanos(config.getAggregateCloseGraceMs())));
+        LocalDateTime openFrom = from;
+        List<PaymentAggregateDto> aggregates = new ArrayList<>();
+        if (config.isAggregateCacheEnabled() && from.isBefore(closedLimit)) {
+            openFrom = to.isBefore(closedLimit) ? to : closedLimit;
+            for (List<PaymentAggregateDto> rows : closedAggregates(dimension, bucket, from, openFrom)) {
+                for (PaymentAggregateDto row : rows) {
+                    aggregates.add(new PaymentAggregateDto(row.getBucketStart(), row.getGroup(), row.getCount(), row.getVolume()));
+                }
+            }
+        }
+        if (openFrom.isBefore(to)) {
+            aggregates.addAll(aggregateRepository.aggregate(dimension, bucket, openFrom, to));
+        }
+        return aggregates;
+    }
+
+    // One entry per closed bucket in order; misses are filled by a single query spanning them all
+    private List<List<PaymentAggregateDto>> closedAggregates(AggregateDimension dimension, TimeBucket bucket,
+                                                            LocalDateTime from, LocalDateTime to) {
+        Map<LocalDateTime, List<PaymentAggregateDto>> found = new HashMap<>();
+        LocalDateTime firstMissing = null;
+        LocalDateTime lastMissingEnd = null;
+        for (LocalDateTime start = from; start.isBefore(to); start = bucket.next(start)) {
+            List<PaymentAggregateDto> cached = closedBuckets.getIfPresent(new BucketKey(dimension, bucket, start));
+            if (cached != null) {
+                found.put(start, cached);
+            } else {
+                if (firstMissing == null) {
+                    firstMissing = start;
+                }
+                lastMissingEnd = bucket.next(start);
+            }
+        }
+
+        if (firstMissing != null) {
+            long observed = generation.get();
+            Map<LocalDateTime, List<PaymentAggregateDto>> loaded = new HashMap<>();
+            for (PaymentAggregateDto row : aggregateRepository.aggregate(dimension, bucket, firstMissing, lastMissingEnd)) {
+                loaded.computeIfAbsent(row.getBucketStart(), key -> new ArrayList<>()).add(row);
+            }
+            for (LocalDateTime start = firstMissing; start.isBefore(lastMissingEnd); start = bucket.next(start)) {
+                List<PaymentAggregateDto> rows = Collections.unmodifiableList(
+                    loaded.getOrDefault(start, Collections.emptyList()));
+                found.put(start, rows);
+                if (generation.get() == observed) {
+                    closedBuckets.put(new BucketKey(dimension, bucket, start), rows);
+                }
+            }
+        }
+
+        List<List<PaymentAggregateDto>> ordered = new ArrayList<>();
+        for (LocalDateTime start = from; start.isBefore(to); start = bucket.next(start)) {
+            ordered.add(found.get(start));
+        }
+        return ordered;
+    }
+
+    /**
+     * Drops the cached status groups of the buckets holding a payment created at {@code createdAt},
+     * now and again when the current transaction completes, so a read racing the commit cannot
+     * re-cache the old status.
+     */
+    @Override
+    public void evictStatusBuckets(LocalDateTime createdAt) {
+        if (createdAt == null) {
+            return;
+        }
+        evictNow(createdAt);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(createdAt);
+                }
+            });
+        }
+    }
+
+    private void evictNow(LocalDateTime createdAt) {
+        generation.incrementAndGet();
+        for (TimeBucket bucket : TimeBucket.values()) {
+            closedBuckets.invalidate(new BucketKey(AggregateDimension.STATUS, bucket, bucket.floor(createdAt)));
+        }
+    }
+
+    private static final class BucketKey {
+        private final AggregateDimension dimension;
+        private final TimeBucket bucket;
+        private final LocalDateTime start;
+
+        private BucketKey(AggregateDimension dimension, TimeBucket bucket, LocalDateTime start) {
+            this.dimension = dimension;
+            this.bucket = bucket;
+            this.start = start;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BucketKey)) {
+                return false;
+            }
+            BucketKey other = (BucketKey) o;
+            return dimension == other.dimension && bucket == other.bucket && start.equals(other.start);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dimension, bucket, start);
+        }
+    }
+}
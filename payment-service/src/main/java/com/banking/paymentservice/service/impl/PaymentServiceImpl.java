@@ -1,20 +1,29 @@
 package com.banking.paymentservice.service.impl;
 
+import com.banking.common.outbox.Outbox;
+import com.banking.paymentservice.client.AccountServiceClient;
 import com.banking.paymentservice.dto.PaymentDto;
 import com.banking.paymentservice.entity.Payment;
 import com.banking.paymentservice.entity.PaymentStatus;
 import com.banking.paymentservice.entity.PaymentType;
+import com.banking.paymentservice.event.PaymentEvents;
+import com.banking.paymentservice.mapper.PaymentMapper;
 import com.banking.paymentservice.repository.PaymentRepository;
+import com.banking.paymentservice.service.PaymentAggregateService;
 import com.banking.paymentservice.service.PaymentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class PaymentServiceImpl implements PaymentService {
@@ -22,12 +31,31 @@ public class PaymentServiceImpl implements PaymentService {
     @Autowired
     private PaymentRepository paymentRepository;
 
+    @Autowired
+    private PaymentMapper paymentMapper;
+
+    @Autowired
+    private PaymentAggregateService aggregateService;
+
+    @Autowired
+    private Outbox outbox;
+
+    @Autowired
+    private AccountServiceClient accountServiceClient;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Override
     @Transactional
     public PaymentDto createPayment(PaymentDto paymentDto) {
-        Payment payment = toEntity(paymentDto);
+        Payment payment = paymentMapper.toEntity(paymentDto);
+        // Every payment starts PENDING; from there only the payment processor moves it forward
+        payment.setStatus(PaymentStatus.PENDING);
         Payment saved = paymentRepository.save(payment);
-        return toDto(saved);
+        PaymentDto created = paymentMapper.toDto(saved);
+        outbox.append(PaymentEvents.AGGREGATE_TYPE, created.getPaymentId(), PaymentEvents.CREATED, created);
+        return created;
     }
 
     @Override
@@ -35,7 +63,7 @@ public class PaymentServiceImpl implements PaymentService {
     public PaymentDto getPaymentById(Long id) {
         Payment payment = paymentRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Payment not found with id: " + id));
-        return toDto(payment);
+        return paymentMapper.toDto(payment);
     }
 
     @Override
@@ -43,99 +71,134 @@ public class PaymentServiceImpl implements PaymentService {
     public PaymentDto getPaymentByPaymentId(String paymentId) {
         Payment payment = paymentRepository.findByPaymentId(paymentId)
             .orElseThrow(() -> new RuntimeException("Payment not found with paymentId: " + paymentId));
-        return toDto(payment);
+        return paymentMapper.toDto(payment);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PaymentDto> getPaymentsByFromAccount(Long fromAccountId) {
-        return paymentRepository.findByFromAccountId(fromAccountId).stream().map(this::toDto).collect(Collectors.toList());
+        return paymentRepository.findDtosByFromAccountId(fromAccountId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PaymentDto> getPaymentsByToAccount(Long toAccountId) {
-        return paymentRepository.findByToAccountId(toAccountId).stream().map(this::toDto).collect(Collectors.toList());
+        return paymentRepository.findDtosByToAccountId(toAccountId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PaymentDto> getPaymentsByAccount(Long accountId) {
-        return paymentRepository.findByFromAccountIdOrToAccountId(accountId, accountId).stream().map(this::toDto).collect(Collectors.toList());
+        return paymentRepository.findDtosByAccountId(accountId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PaymentDto> getPaymentsByStatus(PaymentStatus status) {
-        return paymentRepository.findByStatus(status).stream().map(this::toDto).collect(Collectors.toList());
+        return paymentRepository.findDtosByStatus(status);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PaymentDto> getPaymentsByType(PaymentType type) {
-        return paymentRepository.findByPaymentType(type).stream().map(this::toDto).collect(Collectors.toList());
+        return paymentRepository.findDtosByPaymentType(type);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PaymentDto> getPaymentsByAmountRange(BigDecimal minAmount, BigDecimal maxAmount) {
-        return paymentRepository.findByAmountBetween(minAmount, maxAmount).stream().map(this::toDto).collect(Collectors.toList());
+        return paymentRepository.findDtosByAmountBetween(minAmount, maxAmount);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PaymentDto> getPaymentsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return paymentRepository.findByDateRange(startDate, endDate).stream().map(this::toDto).collect(Collectors.toList());
+        return paymentRepository.findDtosByDateRange(startDate, endDate);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PaymentDto> getPaymentsByReferenceNumber(String referenceNumber) {
-        return paymentRepository.findByReferenceNumber(referenceNumber).stream().map(this::toDto).collect(Collectors.toList());
+        return paymentRepository.findDtosByReferenceNumber(referenceNumber);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long streamPaymentsByStatus(PaymentStatus status, Consumer<PaymentDto> sink) {
+        try (Stream<PaymentDto> rows = paymentRepository.streamDtosByStatus(status)) {
+            return drain(rows, sink);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long streamPaymentsByDateRange(LocalDateTime startDate, LocalDateTime endDate, Consumer<PaymentDto> sink) {
+        try (Stream<PaymentDto> rows = paymentRepository.streamDtosByDateRange(startDate, endDate)) {
+            return drain(rows, sink);
+        }
+    }
+
+    private long drain(Stream<PaymentDto> rows, Consumer<PaymentDto> sink) {
+        long[] count = new long[1];
+        rows.forEach(row -> {
+            sink.accept(row);
+            count[0]++;
+        });
+        return count[0];
     }
 
     @Override
     @Transactional
     public PaymentDto updatePaymentStatus(Long id, PaymentStatus status) {
+        if (status != PaymentStatus.CANCELLED) {
+            throw new IllegalArgumentException("Only CANCELLED can be set by hand; the payment processor sets "
+                + "every other status and refunds go through the refund endpoint");
+        }
+        if (paymentRepository.cancelUnattempted(id, LocalDateTime.now()) == 0) {
+            Payment payment = paymentRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Payment not found with id: " + id));
+            throw new IllegalStateException("Payment " + payment.getPaymentId() + " can no longer be cancelled from "
+                + payment.getStatus());
+        }
+        return publishStatusChange(id, PaymentStatus.CANCELLED);
+    }
+
+    @Override
+    public PaymentDto refundPayment(Long id) {
         Payment payment = paymentRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Payment not found with id: " + id));
-        payment.setStatus(status);
-        Payment updated = paymentRepository.save(payment);
-        return toDto(updated);
-    }
-
-    private PaymentDto toDto(Payment payment) {
-        PaymentDto dto = new PaymentDto();
-        dto.setId(payment.getId());
-        dto.setPaymentId(payment.getPaymentId());
-        dto.setFromAccountId(payment.getFromAccountId());
-        dto.setToAccountId(payment.getToAccountId());
-        dto.setAmount(payment.getAmount());
-        dto.setPaymentType(payment.getPaymentType());
-        dto.setStatus(payment.getStatus());
-        dto.setDescription(payment.getDescription());
-        dto.setReferenceNumber(payment.getReferenceNumber());
-        dto.setPaymentMethod(payment.getPaymentMethod());
-        dto.setCreatedAt(payment.getCreatedAt());
-        dto.setUpdatedAt(payment.getUpdatedAt());
-        return dto;
+        if (payment.getStatus() == PaymentStatus.REFUNDED) {
+            return paymentMapper.toDto(payment);
+        }
+        if (payment.getStatus() != PaymentStatus.COMPLETED) {
+            throw new IllegalStateException("Payment " + payment.getPaymentId() + " cannot be refunded from "
+                + payment.getStatus());
+        }
+        // The reversal is posted before the status changes, outside any transaction; its posting key makes
+        // a repeated refund after a timeout safe
+        try {
+            accountServiceClient.refund(payment.getPaymentId(), payment.getFromAccountId(),
+                payment.getToAccountId(), payment.getAmount());
+        } catch (HttpClientErrorException e) {
+            throw new IllegalStateException("Refund of payment " + payment.getPaymentId()
+                + " was rejected by account-service: " + e.getStatusCode());
+        }
+        return new TransactionTemplate(transactionManager).execute(tx -> {
+            if (paymentRepository.markRefunded(id, LocalDateTime.now()) == 0) {
+                // A concurrent refund of the same payment got there first
+                return paymentMapper.toDto(paymentRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Payment not found with id: " + id)));
+            }
+            return publishStatusChange(id, PaymentStatus.REFUNDED);
+        });
     }
 
-    private Payment toEntity(PaymentDto dto) {
-        Payment payment = new Payment();
-        payment.setPaymentId(dto.getPaymentId());
-        payment.setFromAccountId(dto.getFromAccountId());
-        payment.setToAccountId(dto.getToAccountId());
-        payment.setAmount(dto.getAmount());
-        payment.setPaymentType(dto.getPaymentType());
-        payment.setStatus(dto.getStatus());
-        payment.setDescription(dto.getDescription());
-        payment.setReferenceNumber(dto.getReferenceNumber());
-        payment.setPaymentMethod(dto.getPaymentMethod());
-        payment.setCreatedAt(dto.getCreatedAt());
-        payment.setUpdatedAt(dto.getUpdatedAt());
-        return payment;
+    private PaymentDto publishStatusChange(Long id, PaymentStatus status) {
+        Payment updated = paymentRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Payment not found with id: " + id));
+        aggregateService.evictStatusBuckets(updated.getCreatedAt());
+        PaymentDto dto = paymentMapper.toDto(updated);
+        outbox.append(PaymentEvents.AGGREGATE_TYPE, dto.getPaymentId(), PaymentEvents.statusChanged(status), dto);
+        return dto;
     }
 }
-
-
@@ -0,0 +1,5 @@
+-- The relay skips the events of an aggregate whose earliest pending event is still backing off;
+-- this index serves that per-aggregate lookup.
+
+CREATE INDEX IF NOT EXISTS idx_payment_outbox_events_aggregate
+    ON payment_outbox_events (aggregate_type, aggregate_id, id);
@@ -0,0 +1,266 @@
+package com.banking.paymentservice.processing;
+
+import com.banking.common.outbox.Outbox;
+import com.banking.paymentservice.client.AccountServiceClient;
+import com.banking.paymentservice.config.PaymentServiceConfig;
+import com.banking.paymentservice.dto.PaymentDto;
+import com.banking.paymentservice.entity.Payment;
+import com.banking.paymentservice.entity.PaymentMethod;
+import com.banking.paymentservice.entity.PaymentStatus;
+import com.banking.paymentservice.mapper.PaymentMapper;
+import com.banking.paymentservice.repository.PaymentRepository;
+import com.banking.paymentservice.service.PaymentAggregateService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PaymentProcessorTest {
+
+    @Spy
+    private PaymentServiceConfig config = new PaymentServiceConfig();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private AccountServiceClient accountServiceClient;
+
+    @Mock
+    private PaymentAggregateService aggregateService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PaymentMapper paymentMapper;
+
+    @Mock
+    private Outbox outbox;
+
+    @InjectMocks
+    private PaymentProcessor processor;
+
+    private long nextId;
+
+    private final Map<Long, Integer> attempts = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        config.getProcessingMethodConcurrency().put(PaymentMethod.WIRE_TRANSFER, 1);
+        config.setProcessingDefaultMethodConcurrency(3);
+        config.setProcessingWorkers(4);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(paymentRepository.claimByMethod(any(), any(), any(), any())).thenReturn(Collections.emptyList());
+        when(paymentRepository.claimWithoutMethod(any(), any(), any())).thenReturn(Collections.emptyList());
+        when(paymentRepository.lockProcessing(any())).thenAnswer(invocation -> processing(invocation.getArgument(0)));
+        when(paymentMapper.toDto(any())).thenAnswer(invocation -> new PaymentDto());
+        processor.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        processor.stop();
+    }
+
+    @Test
+    void testClaim_RespectsMethodLimitAndFreeWorkers() {
+        // Arrange
+        when(paymentRepository.claimByMethod(eq(PaymentMethod.WIRE_TRANSFER), any(), any(), any()))
+            .thenAnswer(invocation -> payments(PaymentMethod.WIRE_TRANSFER, ((Pageable) invocation.getArgument(3)).getPageSize()));
+        when(paymentRepository.claimByMethod(eq(PaymentMethod.CARD_PAYMENT), any(), any(), any()))
+            .thenAnswer(invocation -> payments(PaymentMethod.CARD_PAYMENT, ((Pageable) invocation.getArgument(3)).getPageSize()));
+
+        // Act
+        List<PaymentProcessor.Claimed> claimed = processor.claim(4);
+
+        // Assert
+        ArgumentCaptor<Pageable> pages = ArgumentCaptor.forClass(Pageable.class);
+        verify(paymentRepository).claimByMethod(eq(PaymentMethod.WIRE_TRANSFER), any(), any(), pages.capture());
+        assertEquals(1, pages.getValue().getPageSize());
+        assertEquals(4, claimed.size());
+        // Permits stay taken until the workers finish, so a second tick leaves both methods alone
+        assertTrue(processor.claim(4).isEmpty());
+        verify(paymentRepository, times(1)).claimByMethod(eq(PaymentMethod.WIRE_TRANSFER), any(), any(), any());
+        verify(paymentRepository, times(1)).claimByMethod(eq(PaymentMethod.CARD_PAYMENT), any(), any(), any());
+    }
+
+    @Test
+    void testProcess_MapsAccountServiceResponsesToOutcomesAndCommitsThemInOneBatch() {
+        // Arrange
+        List<Payment> rows = payments(PaymentMethod.BANK_TRANSFER, 3);
+        rows.addAll(payments(null, 1));
+        doNothing().when(accountServiceClient).transfer(eq("PAY-1"), any(), any(), any());
+        doThrow(HttpClientErrorException.create(HttpStatus.UNPROCESSABLE_ENTITY, "Unprocessable", null, null, null))
+            .when(accountServiceClient).transfer(eq("PAY-2"), any(), any(), any());
+        doThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null))
+            .when(accountServiceClient).transfer(eq("PAY-3"), any(), any(), any());
+        doThrow(new ResourceAccessException("timeout"))
+            .when(accountServiceClient).transfer(eq("PAY-4"), any(), any(), any());
+
+        // Act
+        for (Payment payment : rows) {
+            processor.process(new PaymentProcessor.Claimed(payment));
+        }
+        processor.flushOutcomes();
+
+        // Assert
+        verify(paymentRepository).finishProcessing(eq(Collections.singletonList(1L)), eq(PaymentStatus.COMPLETED), any());
+        verify(paymentRepository).finishProcessing(eq(Collections.singletonList(2L)), eq(PaymentStatus.DECLINED), any());
+        verify(paymentRepository).finishProcessing(eq(Collections.singletonList(3L)), eq(PaymentStatus.FAILED), any());
+        verify(paymentRepository).recordAttempt(eq(4L), eq(PaymentStatus.PENDING), eq(1), notNull(), any());
+        verify(paymentRepository, never()).finishProcessing(any(), eq(PaymentStatus.PENDING), any());
+        verify(transactionManager, times(1)).commit(any());
+        verify(aggregateService, times(4)).evictStatusBuckets(any());
+        verify(outbox).append(eq("payment"), eq("PAY-1"), eq("payment.completed"), any());
+        verify(outbox).append(eq("payment"), eq("PAY-2"), eq("payment.declined"), any());
+        verify(outbox).append(eq("payment"), eq("PAY-3"), eq("payment.failed"), any());
+        verify(outbox, never()).append(any(), eq("PAY-4"), any(), any());
+        assertEquals(1.0, meterRegistry.get("payments.processed").tag("outcome", "COMPLETED").counter().count());
+    }
+
+    @Test
+    void testProcess_BacksOffUnknownOutcomesAndFailsThemAfterMaxAttempts() {
+        // Arrange
+        config.setProcessingMaxAttempts(3);
+        config.setProcessingRetryInitialBackoffMs(1000);
+        List<Payment> rows = payments(PaymentMethod.CHECK, 2);
+        rows.get(0).setProcessingAttempts(1);
+        rows.get(1).setProcessingAttempts(2);
+        attempts.put(1L, 1);
+        attempts.put(2L, 2);
+        doThrow(new ResourceAccessException("timeout")).when(accountServiceClient).transfer(anyString(), any(), any(), any());
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        for (Payment payment : rows) {
+            processor.process(new PaymentProcessor.Claimed(payment));
+        }
+        processor.flushOutcomes();
+
+        // Assert
+        ArgumentCaptor<LocalDateTime> retryAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(paymentRepository).recordAttempt(eq(1L), eq(PaymentStatus.PENDING), eq(2), retryAt.capture(), any());
+        assertFalse(retryAt.getValue().isBefore(before.plusSeconds(2)));
+        verify(paymentRepository).recordAttempt(eq(2L), eq(PaymentStatus.FAILED), eq(3), isNull(), any());
+        verify(outbox).append(eq("payment"), eq("PAY-2"), eq("payment.failed"), any());
+        verify(outbox, never()).append(any(), eq("PAY-1"), any(), any());
+        assertEquals(1.0, meterRegistry.get("payments.processed").tag("outcome", "FAILED").counter().count());
+    }
+
+    @Test
+    void testFlushOutcomes_KeepsOutcomesWhenCommitFails() {
+        // Arrange
+        processor.process(new PaymentProcessor.Claimed(payments(PaymentMethod.CHECK, 1).get(0)));
+        doThrow(new IllegalStateException("database down"))
+            .doReturn(1)
+            .when(paymentRepository).finishProcessing(any(), any(), any());
+
+        // Act
+        processor.flushOutcomes();
+        processor.flushOutcomes();
+
+        // Assert
+        verify(paymentRepository, times(2)).finishProcessing(eq(Collections.singletonList(1L)), eq(PaymentStatus.COMPLETED), any());
+    }
+
+    @Test
+    void testFlushOutcomes_SkipsPaymentsNoLongerProcessing() {
+        // Arrange
+        processor.process(new PaymentProcessor.Claimed(payments(PaymentMethod.CHECK, 1).get(0)));
+        doReturn(Collections.emptyList()).when(paymentRepository).lockProcessing(any());
+
+        // Act
+        processor.flushOutcomes();
+
+        // Assert
+        verify(paymentRepository, never()).finishProcessing(any(), any(), any());
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void testPoll_DispatchesClaimedPaymentsToWorkers() throws Exception {
+        // Arrange
+        when(paymentRepository.claimByMethod(eq(PaymentMethod.MOBILE_PAYMENT), any(), any(), any()))
+            .thenReturn(payments(PaymentMethod.MOBILE_PAYMENT, 2))
+            .thenReturn(Collections.emptyList());
+
+        // Act
+        processor.poll();
+        for (int i = 0; i < 100 && processor.inFlight() > 0; i++) {
+            Thread.sleep(10);
+        }
+        processor.poll();
+
+        // Assert
+        assertEquals(0, processor.inFlight());
+        verify(accountServiceClient, times(2)).transfer(anyString(), any(), any(), any());
+        verify(paymentRepository).finishProcessing(argThat(ids -> ids.size() == 2 && ids.containsAll(Arrays.asList(1L, 2L))),
+            eq(PaymentStatus.COMPLETED), any());
+    }
+
+    private List<Payment> processing(Collection<Long> ids) {
+        List<Payment> payments = new ArrayList<>();
+        for (Long id : new TreeSet<>(ids)) {
+            Payment payment = new Payment();
+            payment.setId(id);
+            payment.setPaymentId("PAY-" + id);
+            payment.setStatus(PaymentStatus.PROCESSING);
+            payment.setProcessingAttempts(attempts.get(id));
+            payments.add(payment);
+        }
+        return payments;
+    }
+
+    private List<Payment> payments(PaymentMethod method, int count) {
+        List<Payment> payments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Payment payment = new Payment();
+            payment.setId(++nextId);
+            payment.setPaymentId("PAY-" + nextId);
+            payment.setFromAccountId(10L);
+            payment.setToAccountId(20L);
+            payment.setAmount(new BigDecimal("12.50"));
+            payment.setPaymentMethod(method);
+            payment.setStatus(PaymentStatus.PENDING);
+            payment.setCreatedAt(LocalDateTime.now());
+            payments.add(payment);
+        }
+        return payments;
+    }
+}
@@ -0,0 +1,125 @@
+package com.banking.paymentservice.service;
+
+import com.banking.paymentservice.config.PaymentServiceConfig;
+import com.banking.paymentservice.dto.AggregateDimension;
+import com.banking.paymentservice.dto.PaymentAggregateDto;
+import com.banking.paymentservice.dto.TimeBucket;
+import com.banking.paymentservice.repository.PaymentAggregateRepository;
+import com.banking.paymentservice.service.impl.PaymentAggregateServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentAggregateServiceImplTest {
+
+    @Spy
+    private PaymentServiceConfig config = new PaymentServiceConfig();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private PaymentAggregateRepository aggregateRepository;
+
+    @InjectMocks
+    private PaymentAggregateServiceImpl aggregateService;
+
+    private final LocalDateTime today = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+
+    @BeforeEach
+    void setUp() {
+        // No grace, so yesterday is always closed and today always open
+        config.setAggregateCloseGraceMs(0);
+        aggregateService.start();
+    }
+
+    @Test
+    void testAggregate_CachesClosedBucketsAndRequeriesOpenOne() {
+        // Arrange
+        LocalDateTime from = today.minusDays(2);
+        when(aggregateRepository.aggregate(AggregateDimension.TYPE, TimeBucket.DAY, from, today))
+            .thenReturn(Arrays.asList(row(from, "TRANSFER", 3), row(from.plusDays(1), "BILL_PAYMENT", 1)));
+        when(aggregateRepository.aggregate(AggregateDimension.TYPE, TimeBucket.DAY, today, today.plusDays(1)))
+            .thenReturn(Collections.singletonList(row(today, "TRANSFER", 5)));
+
+        // Act
+        List<PaymentAggregateDto> first = aggregateService.aggregate(AggregateDimension.TYPE, TimeBucket.DAY, from, today.plusHours(1));
+        List<PaymentAggregateDto> second = aggregateService.aggregate(AggregateDimension.TYPE, TimeBucket.DAY, from, today.plusHours(1));
+
+        // Assert
+        assertEquals(3, first.size());
+        assertEquals(from, first.get(0).getBucketStart());
+        assertEquals(today, first.get(2).getBucketStart());
+        assertEquals(3, second.size());
+        verify(aggregateRepository, times(1)).aggregate(AggregateDimension.TYPE, TimeBucket.DAY, from, today);
+        verify(aggregateRepository, times(2)).aggregate(AggregateDimension.TYPE, TimeBucket.DAY, today, today.plusDays(1));
+    }
+
+    @Test
+    void testAggregate_QueriesOnlyMissingClosedBuckets() {
+        // Arrange
+        LocalDateTime from = today.minusDays(3);
+        when(aggregateRepository.aggregate(any(), any(), any(), any())).thenReturn(Collections.emptyList());
+        aggregateService.aggregate(AggregateDimension.METHOD, TimeBucket.DAY, from.plusDays(1), today);
+
+        // Act
+        aggregateService.aggregate(AggregateDimension.METHOD, TimeBucket.DAY, from, today);
+
+        // Assert
+        verify(aggregateRepository).aggregate(AggregateDimension.METHOD, TimeBucket.DAY, from.plusDays(1), today);
+        verify(aggregateRepository).aggregate(AggregateDimension.METHOD, TimeBucket.DAY, from, from.plusDays(1));
+        verifyNoMoreInteractions(aggregateRepository);
+    }
+
+    @Test
+    void testEvictStatusBuckets_ForcesReloadOfThatBucket() {
+        // Arrange
+        LocalDateTime yesterday = today.minusDays(1);
+        when(aggregateRepository.aggregate(AggregateDimension.STATUS, TimeBucket.DAY, yesterday, today))
+            .thenReturn(Collections.singletonList(row(yesterday, "PENDING", 1)))
+            .thenReturn(Collections.singletonList(row(yesterday, "COMPLETED", 1)));
+        aggregateService.aggregate(AggregateDimension.STATUS, TimeBucket.DAY, yesterday, today);
+
+        // Act
+        aggregateService.evictStatusBuckets(yesterday.plusHours(5));
+        List<PaymentAggregateDto> result = aggregateService.aggregate(AggregateDimension.STATUS, TimeBucket.DAY, yesterday, today);
+
+        // Assert
+        assertEquals("COMPLETED", result.get(0).getGroup());
+        verify(aggregateRepository, times(2)).aggregate(AggregateDimension.STATUS, TimeBucket.DAY, yesterday, today);
+    }
+
+    @Test
+    void testAggregate_RejectsTooManyBucketsAndInvertedRange() {
+        config.setAggregateMaxBuckets(24);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> aggregateService.aggregate(AggregateDimension.TYPE, TimeBucket.HOUR, today.minusDays(2), today));
+        assertThrows(IllegalArgumentException.class,
+            () -> aggregateService.aggregate(AggregateDimension.TYPE, null, today, today.minusDays(1)));
+        verify(aggregateRepository, never()).aggregate(any(), any(), any(), eq(today));
+    }
+
+    private PaymentAggregateDto row(LocalDateTime bucketStart, String group, long count) {
+        return new PaymentAggregateDto(bucketStart, group, count, BigDecimal.TEN.multiply(BigDecimal.valueOf(count)));
+    }
+}
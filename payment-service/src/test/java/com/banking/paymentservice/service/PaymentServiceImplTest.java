@@ -0,0 +1,145 @@
+package com.banking.paymentservice.service;
+
+import com.banking.common.outbox.Outbox;
+import com.banking.paymentservice.client.AccountServiceClient;
+import com.banking.paymentservice.dto.PaymentDto;
+import com.banking.paymentservice.entity.Payment;
+import com.banking.paymentservice.entity.PaymentStatus;
+import com.banking.paymentservice.event.PaymentEvents;
+import com.banking.paymentservice.mapper.PaymentMapper;
+import com.banking.paymentservice.repository.PaymentRepository;
+import com.banking.paymentservice.service.impl.PaymentServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PaymentServiceImplTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentMapper paymentMapper;
+
+    @Mock
+    private PaymentAggregateService aggregateService;
+
+    @Mock
+    private Outbox outbox;
+
+    @Mock
+    private AccountServiceClient accountServiceClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private PaymentServiceImpl paymentService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(paymentMapper.toDto(any())).thenAnswer(invocation -> {
+            Payment payment = invocation.getArgument(0);
+            PaymentDto dto = new PaymentDto();
+            dto.setPaymentId(payment.getPaymentId());
+            dto.setStatus(payment.getStatus());
+            return dto;
+        });
+    }
+
+    @Test
+    void manualStatusChangesOtherThanCancellingAreRefused() {
+        for (PaymentStatus status : PaymentStatus.values()) {
+            if (status != PaymentStatus.CANCELLED) {
+                assertThrows(IllegalArgumentException.class, () -> paymentService.updatePaymentStatus(1L, status));
+            }
+        }
+        verify(paymentRepository, never()).cancelUnattempted(anyLong(), any());
+        verify(outbox, never()).append(any(), any(), any(), any());
+    }
+
+    @Test
+    void cancelsAnUntriedPendingPayment() {
+        Payment payment = payment(PaymentStatus.CANCELLED);
+        when(paymentRepository.cancelUnattempted(eq(1L), any())).thenReturn(1);
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment));
+
+        PaymentDto dto = paymentService.updatePaymentStatus(1L, PaymentStatus.CANCELLED);
+
+        assertEquals(PaymentStatus.CANCELLED, dto.getStatus());
+        verify(outbox).append(PaymentEvents.AGGREGATE_TYPE, "PAY-1", PaymentEvents.statusChanged(PaymentStatus.CANCELLED), dto);
+    }
+
+    @Test
+    void refusesToCancelAPaymentThatLeftPending() {
+        when(paymentRepository.cancelUnattempted(eq(1L), any())).thenReturn(0);
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment(PaymentStatus.COMPLETED)));
+
+        assertThrows(IllegalStateException.class, () -> paymentService.updatePaymentStatus(1L, PaymentStatus.CANCELLED));
+        verify(outbox, never()).append(any(), any(), any(), any());
+    }
+
+    @Test
+    void refundPostsTheReversalBeforeMarkingThePaymentRefunded() {
+        Payment completed = payment(PaymentStatus.COMPLETED);
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(completed), Optional.of(payment(PaymentStatus.REFUNDED)));
+        when(paymentRepository.markRefunded(eq(1L), any())).thenReturn(1);
+
+        PaymentDto dto = paymentService.refundPayment(1L);
+
+        assertEquals(PaymentStatus.REFUNDED, dto.getStatus());
+        verify(accountServiceClient).refund("PAY-1", 10L, 20L, new BigDecimal("25.00"));
+        verify(outbox).append(PaymentEvents.AGGREGATE_TYPE, "PAY-1", PaymentEvents.statusChanged(PaymentStatus.REFUNDED), dto);
+    }
+
+    @Test
+    void rejectedReversalLeavesThePaymentCompleted() {
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment(PaymentStatus.COMPLETED)));
+        doThrow(new HttpClientErrorException(HttpStatus.UNPROCESSABLE_ENTITY))
+            .when(accountServiceClient).refund(any(), any(), any(), any());
+
+        assertThrows(IllegalStateException.class, () -> paymentService.refundPayment(1L));
+        verify(paymentRepository, never()).markRefunded(anyLong(), any());
+        verify(outbox, never()).append(any(), any(), any(), any());
+    }
+
+    @Test
+    void onlyCompletedPaymentsCanBeRefunded() {
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment(PaymentStatus.PENDING)));
+
+        assertThrows(IllegalStateException.class, () -> paymentService.refundPayment(1L));
+        verify(accountServiceClient, never()).refund(any(), any(), any(), any());
+    }
+
+    private Payment payment(PaymentStatus status) {
+        Payment payment = new Payment();
+        payment.setId(1L);
+        payment.setPaymentId("PAY-1");
+        payment.setFromAccountId(10L);
+        payment.setToAccountId(20L);
+        payment.setAmount(new BigDecimal("25.00"));
+        payment.setStatus(status);
+        payment.setCreatedAt(LocalDateTime.now());
+        return payment;
+    }
+}
@@ -0,0 +1,13 @@
+package com.banking.transactionservice.audit;
+
+/**
+ * What to do with an audit event when the ring buffer is full. None of the policies block the caller.
+ */
+public enum AuditOverflowPolicy {
+    /** Discard the event being published. */
+    DROP_NEWEST,
+    /** Evict the oldest buffered event to make room. */
+    DROP_OLDEST,
+    /** Discard the event but keep it in the application log as a synchronous [AUDIT] line. */
+    LOG
+}
@@ -0,0 +1,60 @@
+package com.banking.transactionservice.client;
+
+import com.banking.transactionservice.config.TransactionServiceConfig;
+import com.banking.transactionservice.dto.TransactionDto;
+import com.banking.transactionservice.exception.TransactionValidationException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class AccountServiceClient {
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private TransactionServiceConfig config;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Asks account-service to move the money for a transaction. Account-service keys postings by
+     * transaction id, so repeating the call after a timeout cannot apply the transaction twice.
+     *
+     * @throws TransactionValidationException when account-service rejects the posting, e.g. for insufficient funds
+     */
+    public void post(TransactionDto transaction, String postingType) {
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("transactionId", transaction.getTransactionId());
+        request.put("postingType", postingType);
+        request.put("fromAccountId", transaction.getFromAccountId());
+        request.put("toAccountId", transaction.getToAccountId());
+        request.put("amount", transaction.getAmount());
+        try {
+            restTemplate.postForEntity(config.getAccountServiceUrl() + "/internal/accounts/postings", request, JsonNode.class);
+        } catch (HttpClientErrorException e) {
+            throw new TransactionValidationException("Posting rejected by account-service: " + errorMessage(e), e);
+        }
+    }
+
+    private String errorMessage(HttpClientErrorException e) {
+        try {
+            JsonNode body = objectMapper.readTree(e.getResponseBodyAsString());
+            if (body != null && body.hasNonNull("message")) {
+                return body.get("message").asText();
+            }
+        } catch (IOException ignored) {
+            // fall through to the status text
+        }
+        return e.getStatusText();
+    }
+}
@@ -0,0 +1,57 @@
+package com.banking.transactionservice.config;
+
+import com.banking.transactionservice.id.IdGenerator;
+import com.banking.transactionservice.id.SnowflakeIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cloud.netflix.eureka.EurekaInstanceConfigBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.management.ManagementFactory;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdGeneratorConfig.class);
+
+    @Bean
+    @ConditionalOnMissingBean(IdGenerator.class)
+    public IdGenerator idGenerator(TransactionServiceConfig config,
+                                   ObjectProvider<EurekaInstanceConfigBean> eurekaInstance) {
+        int nodeId = config.getNodeId() >= 0
+            ? config.getNodeId()
+            : deriveNodeId(eurekaInstance.getIfAvailable());
+        logger.info("Using Snowflake id generator with node id {}", nodeId);
+        return new SnowflakeIdGenerator(nodeId);
+    }
+
+    /**
+     * Takes the low 10 bits of the Eureka instance's IPv4 address, which are distinct
+     * for every instance inside a /22 (the usual container network size). Instances
+     * sharing a host must set transaction.service.node-id explicitly.
+     */
+    static int deriveNodeId(EurekaInstanceConfigBean instance) {
+        String instanceId = null;
+        try {
+            InetAddress address = instance != null && instance.getIpAddress() != null
+                ? InetAddress.getByName(instance.getIpAddress())
+                : InetAddress.getLocalHost();
+            if (address instanceof Inet4Address) {
+                byte[] octets = address.getAddress();
+                return ((octets[2] & 0xFF) << 8 | (octets[3] & 0xFF)) & SnowflakeIdGenerator.MAX_NODE_ID;
+            }
+            instanceId = instance != null ? instance.getInstanceId() : address.getHostName();
+        } catch (UnknownHostException e) {
+            logger.warn("Could not resolve instance address for node id: {}", e.getMessage());
+        }
+        String key = instanceId != null ? instanceId : ManagementFactory.getRuntimeMXBean().getName();
+        logger.warn("No IPv4 address available, deriving node id from '{}'; set transaction.service.node-id to guarantee uniqueness", key);
+        return (key.hashCode() & Integer.MAX_VALUE) % (SnowflakeIdGenerator.MAX_NODE_ID + 1);
+    }
+}
@@ -1,5 +1,6 @@
 package com.banking.transactionservice.config;
 
+import com.banking.transactionservice.audit.AuditOverflowPolicy;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
@@ -8,11 +9,34 @@ import org.springframework.context.annotation.Configuration;
 public class TransactionServiceConfig {
     
     private int maxRetryAttempts = 3;
-    private long retryDelayMs = 1000;
+    private long retryDelayMs = 100;
+    private long retryMaxDelayMs = 5000;
+    private double retryBackoffMultiplier = 2.0;
+    private double retryBudgetRatio = 0.1;
+    private int retryBudgetMinPerSecond = 10;
     private boolean enableAuditLogging = true;
     private String defaultCurrency = "USD";
     private int transactionIdLength = 20;
     private int referenceNumberLength = 10;
+    private int defaultPageSize = 50;
+    private int maxPageSize = 500;
+    private int statisticsMinuteRetentionHours = 48;
+    private int statisticsRebuildBatchSize = 1000;
+    private int nodeId = -1;
+    private int batchInsertSize = 500;
+    private int auditBufferSize = 8192;
+    private int auditBatchSize = 256;
+    private long auditFlushIntervalMs = 200;
+    private AuditOverflowPolicy auditOverflowPolicy = AuditOverflowPolicy.LOG;
+    private int partitionMonthsAhead = 3;
+    private String partitionMaintenanceCron = "0 15 1 * * *";
+    private boolean archiveEnabled = false;
+    private int archiveAfterMonths = 24;
+    private String archiveDirectory = "archive/transactions";
+    private String accountServiceUrl = "http://account-service";
+    private int accountServiceConnectTimeoutMs = 1000;
+    private int accountServiceReadTimeoutMs = 3000;
+    private int statementBufferSize = 65536;
     
     // Getters and Setters
     public int getMaxRetryAttempts() {
@@ -62,4 +86,188 @@ public class TransactionServiceConfig {
     public void setReferenceNumberLength(int referenceNumberLength) {
         this.referenceNumberLength = referenceNumberLength;
     }
+    
+    public int getDefaultPageSize() {
+        return defaultPageSize;
+    }
+    
+    public void setDefaultPageSize(int defaultPageSize) {
+        this.defaultPageSize = defaultPageSize;
+    }
+    
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+    
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+    
+    public int getStatisticsMinuteRetentionHours() {
+        return statisticsMinuteRetentionHours;
+    }
+    
+    public void setStatisticsMinuteRetentionHours(int statisticsMinuteRetentionHours) {
+        this.statisticsMinuteRetentionHours = statisticsMinuteRetentionHours;
+    }
+    
+    public int getStatisticsRebuildBatchSize() {
+        return statisticsRebuildBatchSize;
+    }
+    
+    public void setStatisticsRebuildBatchSize(int statisticsRebuildBatchSize) {
+        this.statisticsRebuildBatchSize = statisticsRebuildBatchSize;
+    }
+    
+    public int getNodeId() {
+        return nodeId;
+    }
+    
+    public void setNodeId(int nodeId) {
+        this.nodeId = nodeId;
+    }
+    
+    public int getBatchInsertSize() {
+        return batchInsertSize;
+    }
+    
+    public void setBatchInsertSize(int batchInsertSize) {
+        this.batchInsertSize = batchInsertSize;
+    }
+    
+    public int getAuditBufferSize() {
+        return auditBufferSize;
+    }
+    
+    public void setAuditBufferSize(int auditBufferSize) {
+        this.auditBufferSize = auditBufferSize;
+    }
+    
+    public int getAuditBatchSize() {
+        return auditBatchSize;
+    }
+    
+    public void setAuditBatchSize(int auditBatchSize) {
+        this.auditBatchSize = auditBatchSize;
+    }
+    
+    public long getAuditFlushIntervalMs() {
+        return auditFlushIntervalMs;
+    }
+    
+    public void setAuditFlushIntervalMs(long auditFlushIntervalMs) {
+        this.auditFlushIntervalMs = auditFlushIntervalMs;
+    }
+    
+    public AuditOverflowPolicy getAuditOverflowPolicy() {
+        return auditOverflowPolicy;
+    }
+    
+    public void setAuditOverflowPolicy(AuditOverflowPolicy auditOverflowPolicy) {
+        this.auditOverflowPolicy = auditOverflowPolicy;
+    }
+    
+    public long getRetryMaxDelayMs() {
+        return retryMaxDelayMs;
+    }
+    
+    public void setRetryMaxDelayMs(long retryMaxDelayMs) {
+        this.retryMaxDelayMs = retryMaxDelayMs;
+    }
+    
+    public double getRetryBackoffMultiplier() {
+        return retryBackoffMultiplier;
+    }
+    
+    public void setRetryBackoffMultiplier(double retryBackoffMultiplier) {
+        this.retryBackoffMultiplier = retryBackoffMultiplier;
+    }
+    
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+    
+    public void setRetryBudgetRatio(double retryBudgetRatio) {
+        this.retryBudgetRatio = retryBudgetRatio;
+    }
+    
+    public int getRetryBudgetMinPerSecond() {
+        return retryBudgetMinPerSecond;
+    }
+    
+    public void setRetryBudgetMinPerSecond(int retryBudgetMinPerSecond) {
+        this.retryBudgetMinPerSecond = retryBudgetMinPerSecond;
+    }
+    
+    public int getPartitionMonthsAhead() {
+        return partitionMonthsAhead;
+    }
+    
+    public void setPartitionMonthsAhead(int partitionMonthsAhead) {
+        this.partitionMonthsAhead = partitionMonthsAhead;
+    }
+    
+    public String getPartitionMaintenanceCron() {
+        return partitionMaintenanceCron;
+    }
+    
+    public void setPartitionMaintenanceCron(String partitionMaintenanceCron) {
+        this.partitionMaintenanceCron = partitionMaintenanceCron;
+    }
+    
+    public boolean isArchiveEnabled() {
+        return archiveEnabled;
+    }
+    
+    public void setArchiveEnabled(boolean archiveEnabled) {
+        this.archiveEnabled = archiveEnabled;
+    }
+    
+    public int getArchiveAfterMonths() {
+        return archiveAfterMonths;
+    }
+    
+    public void setArchiveAfterMonths(int archiveAfterMonths) {
+        this.archiveAfterMonths = archiveAfterMonths;
+    }
+    
+    public String getArchiveDirectory() {
+        return archiveDirectory;
+    }
+    
+    public void setArchiveDirectory(String archiveDirectory) {
+        this.archiveDirectory = archiveDirectory;
+    }
+    
+    public String getAccountServiceUrl() {
+        return accountServiceUrl;
+    }
+    
+    public void setAccountServiceUrl(String accountServiceUrl) {
+        this.accountServiceUrl = accountServiceUrl;
+    }
+    
+    public int getAccountServiceConnectTimeoutMs() {
+        return accountServiceConnectTimeoutMs;
+    }
+    
+    public void setAccountServiceConnectTimeoutMs(int accountServiceConnectTimeoutMs) {
+        this.accountServiceConnectTimeoutMs = accountServiceConnectTimeoutMs;
+    }
+    
+    public int getAccountServiceReadTimeoutMs() {
+        return accountServiceReadTimeoutMs;
+    }
+    
+    public void setAccountServiceReadTimeoutMs(int accountServiceReadTimeoutMs) {
+        this.accountServiceReadTimeoutMs = accountServiceReadTimeoutMs;
+    }
+    
+    public int getStatementBufferSize() {
+        return statementBufferSize;
+    }
+    
+    public void setStatementBufferSize(int statementBufferSize) {
+        this.statementBufferSize = statementBufferSize;
+    }
 }
@@ -0,0 +1,30 @@
+package com.banking.transactionservice.controller;
+
+import com.banking.common.dto.ApiResponse;
+import com.banking.common.outbox.OutboxEvent;
+import com.banking.common.outbox.OutboxEventDispatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Receives outbox events relayed by other services. The gateway refuses /internal/** and, for paths the
+ * discovery locator exposes, /<service-id>/internal/**, so only other services reach it. Any error answers
+ * 5xx and the producer delivers the event again later.
+ */
+@RestController
+public class InternalEventController {
+    
+    public static final String EVENTS_PATH = "/internal/events";
+    
+    @Autowired
+    private OutboxEventDispatcher outboxEventDispatcher;
+    
+    @PostMapping(EVENTS_PATH)
+    public ResponseEntity<ApiResponse<Void>> receive(@RequestBody OutboxEvent event) {
+        outboxEventDispatcher.dispatch(event);
+        return ResponseEntity.ok(ApiResponse.success("Event " + event.getId() + " accepted", null));
+    }
+}
@@ -1,18 +1,37 @@
 package com.banking.transactionservice.controller;
 
 import com.banking.common.dto.ApiResponse;
+import com.banking.common.idempotency.IdempotencyService;
+import com.banking.transactionservice.dto.TransactionBatchSummaryDto;
 import com.banking.transactionservice.dto.TransactionDto;
+import com.banking.transactionservice.dto.TransactionPageDto;
 import com.banking.transactionservice.entity.TransactionStatus;
 import com.banking.transactionservice.entity.TransactionType;
+import com.banking.transactionservice.exception.TransactionBatchAbortedException;
+import com.banking.transactionservice.exception.TransactionValidationException;
+import com.banking.transactionservice.service.TransactionBatchService;
+import com.banking.transactionservice.service.TransactionPostingService;
+import com.banking.transactionservice.service.StatementExportService;
 import com.banking.transactionservice.service.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -24,8 +43,32 @@ public class TransactionController {
     @Autowired
     private TransactionService transactionService;
     
+    @Autowired
+    private TransactionBatchService transactionBatchService;
+    
+    @Autowired
+    private TransactionPostingService transactionPostingService;
+    
+    @Autowired
+    private StatementExportService statementExportService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private IdempotencyService idempotencyService;
+    
     @PostMapping
-    public ResponseEntity<ApiResponse<TransactionDto>> createTransaction(@Valid @RequestBody TransactionDto transactionDto) {
+    public ResponseEntity<ApiResponse<TransactionDto>> createTransaction(
+            @Valid @RequestBody TransactionDto transactionDto,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = IdempotencyService.PRINCIPAL_HEADER, required = false) String userId) {
+        return idempotencyService.execute("POST /api/transactions", userId, idempotencyKey, transactionDto,
+            TransactionDto.class,
+            () -> doCreateTransaction(transactionDto));
+    }
+    
+    private ResponseEntity<ApiResponse<TransactionDto>> doCreateTransaction(TransactionDto transactionDto) {
         try {
             TransactionDto createdTransaction = transactionService.createTransaction(transactionDto);
             return ResponseEntity.status(HttpStatus.CREATED)
@@ -36,6 +79,46 @@ public class TransactionController {
         }
     }
     
+    @PostMapping(value = "/batch",
+                 consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> createTransactionsBatch(HttpServletRequest request) throws IOException {
+        boolean ndjson = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()));
+        InputStream input = request.getInputStream();
+        // One result line per item as it is decided, then a closing ApiResponse line with the totals
+        StreamingResponseBody body = outputStream -> {
+            ApiResponse<TransactionBatchSummaryDto> outcome;
+            try {
+                TransactionBatchSummaryDto summary = transactionBatchService.ingest(input, ndjson, result -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(result));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                outcome = ApiResponse.success("Batch processed", summary);
+            } catch (TransactionBatchAbortedException e) {
+                outcome = ApiResponse.<TransactionBatchSummaryDto>builder()
+                    .success(false)
+                    .message(e.getMessage())
+                    .data(e.getSummary())
+                    .timestamp(LocalDateTime.now())
+                    .build();
+            } catch (TransactionValidationException e) {
+                outcome = ApiResponse.error(e.getMessage());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            outputStream.write(objectMapper.writeValueAsBytes(outcome));
+            outputStream.write('\n');
+            outputStream.flush();
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<TransactionDto>> getTransactionById(@PathVariable Long id) {
         try {
@@ -91,6 +174,101 @@ public class TransactionController {
         }
     }
     
+    @GetMapping("/account/{accountId}/page")
+    public ResponseEntity<ApiResponse<TransactionPageDto>> getTransactionPageByAccountId(
+            @PathVariable Long accountId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            TransactionPageDto page = transactionService.getTransactionPageByAccountId(accountId, cursor, size);
+            return ResponseEntity.ok(ApiResponse.success("Transactions retrieved successfully", page));
+        } catch (TransactionValidationException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @GetMapping(value = "/account/{accountId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTransactionsByAccountId(
+            @PathVariable Long accountId,
+            @RequestParam(required = false) Integer pageSize) {
+        // Walk the keyset cursor page by page so only one page is ever held in memory
+        StreamingResponseBody body = outputStream -> {
+            String cursor = null;
+            do {
+                TransactionPageDto page = transactionService.getTransactionPageByAccountId(accountId, cursor, pageSize);
+                for (TransactionDto transaction : page.getContent()) {
+                    outputStream.write(objectMapper.writeValueAsBytes(transaction));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+    
+    @GetMapping("/account/{accountId}/statement")
+    public ResponseEntity<?> exportStatement(
+            @PathVariable Long accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("endDate must not be before startDate"));
+        }
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = outputStream ->
+            statementExportService.exportCsv(accountId, startDate, endDate, gzip, outputStream);
+        
+        String filename = "statement-" + accountId + "-" + startDate.toLocalDate() + "-" + endDate.toLocalDate() + ".csv";
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+    
+    // gzip is used only when the client gives it (or "*") a non-zero q-value; gzip;q=0 forbids it
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase();
+            double q = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0.0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = q;
+            } else if (coding.equals("*")) {
+                wildcard = q;
+            }
+        }
+        Double q = gzip != null ? gzip : wildcard;
+        return q != null && q > 0;
+    }
+    
     @GetMapping("/type/{transactionType}")
     public ResponseEntity<ApiResponse<List<TransactionDto>>> getTransactionsByType(@PathVariable TransactionType transactionType) {
         try {
@@ -113,6 +291,15 @@ public class TransactionController {
         }
     }
     
+    @GetMapping(value = "/status/{status}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTransactionsByStatus(@PathVariable TransactionStatus status) {
+        StreamingResponseBody body = outputStream ->
+            transactionService.streamTransactionsByStatus(status, transaction -> writeLine(outputStream, transaction));
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+    
     @GetMapping("/amount/range")
     public ResponseEntity<ApiResponse<List<TransactionDto>>> getTransactionsByAmountRange(
             @RequestParam BigDecimal minAmount, @RequestParam BigDecimal maxAmount) {
@@ -138,6 +325,27 @@ public class TransactionController {
         }
     }
     
+    @GetMapping(value = "/date/range/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTransactionsByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        // Rows come off a database cursor and go straight to the response, so the result size never sits in memory
+        StreamingResponseBody body = outputStream ->
+            transactionService.streamTransactionsByDateRange(startDate, endDate, transaction -> writeLine(outputStream, transaction));
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+    
+    private void writeLine(OutputStream outputStream, Object value) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
     @GetMapping("/reference/{referenceNumber}")
     public ResponseEntity<ApiResponse<List<TransactionDto>>> getTransactionsByReferenceNumber(@PathVariable String referenceNumber) {
         try {
@@ -173,6 +381,20 @@ public class TransactionController {
         }
     }
     
+    @PostMapping("/{id}/post")
+    public ResponseEntity<ApiResponse<TransactionDto>> postTransaction(@PathVariable Long id) {
+        try {
+            TransactionDto postedTransaction = transactionPostingService.postTransaction(id);
+            return ResponseEntity.ok(ApiResponse.success("Transaction posted successfully", postedTransaction));
+        } catch (TransactionValidationException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteTransaction(@PathVariable Long id) {
         try {
@@ -0,0 +1,150 @@
+package com.banking.transactionservice.controller;
+
+import com.banking.common.dto.ApiResponse;
+import com.banking.transactionservice.entity.TransactionStatus;
+import com.banking.transactionservice.entity.TransactionType;
+import com.banking.transactionservice.exception.TransactionValidationException;
+import com.banking.transactionservice.service.TransactionStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/transactions/statistics")
+@CrossOrigin(origins = "*")
+public class TransactionStatisticsController {
+
+    @Autowired
+    private TransactionStatisticsService statisticsService;
+
+    @GetMapping("/summary")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getTransactionSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        try {
+            Map<String, Object> summary = statisticsService.getTransactionSummary(startDate, endDate);
+            return ResponseEntity.ok(ApiResponse.success("Transaction summary retrieved successfully", summary));
+        } catch (TransactionValidationException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/count/type")
+    public ResponseEntity<ApiResponse<Map<TransactionType, Long>>> getTransactionCountByType(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        try {
+            Map<TransactionType, Long> counts = statisticsService.getTransactionCountByType(startDate, endDate);
+            return ResponseEntity.ok(ApiResponse.success("Transaction counts retrieved successfully", counts));
+        } catch (TransactionValidationException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/count/status")
+    public ResponseEntity<ApiResponse<Map<TransactionStatus, Long>>> getTransactionCountByStatus(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        try {
+            Map<TransactionStatus, Long> counts = statisticsService.getTransactionCountByStatus(startDate, endDate);
+            return ResponseEntity.ok(ApiResponse.success("Transaction counts retrieved successfully", counts));
+        } catch (TransactionValidationException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/amount/total")
+    public ResponseEntity<ApiResponse<BigDecimal>> getTotalTransactionAmount(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        try {
+            BigDecimal total = statisticsService.getTotalTransactionAmount(startDate, endDate);
+            return ResponseEntity.ok(ApiResponse.success("Total amount retrieved successfully", total));
+        } catch (TransactionValidationException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/amount/average")
+    public ResponseEntity<ApiResponse<BigDecimal>> getAverageTransactionAmount(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        try {
+            BigDecimal average = statisticsService.getAverageTransactionAmount(startDate, endDate);
+            return ResponseEntity.ok(ApiResponse.success("Average amount retrieved successfully", average));
+        } catch (TransactionValidationException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/account/{accountId}/amount")
+    public ResponseEntity<ApiResponse<Map<String, BigDecimal>>> getTransactionAmountByAccount(
+            @PathVariable Long accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        try {
+            Map<String, BigDecimal> amounts = statisticsService.getTransactionAmountByAccount(accountId, startDate, endDate);
+            return ResponseEntity.ok(ApiResponse.success("Account amounts retrieved successfully", amounts));
+        } catch (TransactionValidationException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/account/{accountId}/count")
+    public ResponseEntity<ApiResponse<Map<String, Long>>> getTransactionCountByAccount(
+            @PathVariable Long accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        try {
+            Map<String, Long> counts = statisticsService.getTransactionCountByAccount(accountId, startDate, endDate);
+            return ResponseEntity.ok(ApiResponse.success("Account counts retrieved successfully", counts));
+        } catch (TransactionValidationException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<ApiResponse<Void>> rebuildStatistics() {
+        try {
+            statisticsService.rebuildStatistics();
+            return ResponseEntity.ok(ApiResponse.success("Transaction statistics rebuilt successfully", null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.banking.transactionservice.dto;
+
+public class TransactionBatchItemResult {
+    private long index;
+    private String transactionId;
+    private Long id;
+    private TransactionBatchItemStatus status;
+    private String message;
+
+    // Constructors
+    public TransactionBatchItemResult() {}
+
+    public TransactionBatchItemResult(long index, String transactionId, Long id,
+                                      TransactionBatchItemStatus status, String message) {
+        this.index = index;
+        this.transactionId = transactionId;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public long getIndex() {
+        return index;
+    }
+
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TransactionBatchItemStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TransactionBatchItemStatus status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
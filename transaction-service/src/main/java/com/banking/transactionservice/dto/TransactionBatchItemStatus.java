@@ -0,0 +1,8 @@
+package com.banking.transactionservice.dto;
+
+public enum TransactionBatchItemStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID,
+    FAILED
+}
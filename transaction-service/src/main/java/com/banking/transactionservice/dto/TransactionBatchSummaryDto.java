@@ -0,0 +1,67 @@
+package com.banking.transactionservice.dto;
+
+public class TransactionBatchSummaryDto {
+    private long total;
+    private long created;
+    private long duplicates;
+    private long invalid;
+    private long failed;
+
+    public void record(TransactionBatchItemStatus status) {
+        total++;
+        switch (status) {
+            case CREATED:
+                created++;
+                break;
+            case DUPLICATE:
+                duplicates++;
+                break;
+            case INVALID:
+                invalid++;
+                break;
+            default:
+                failed++;
+        }
+    }
+
+    // Getters and Setters
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public void setCreated(long created) {
+        this.created = created;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(long duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    public long getInvalid() {
+        return invalid;
+    }
+
+    public void setInvalid(long invalid) {
+        this.invalid = invalid;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+}
@@ -0,0 +1,62 @@
+package com.banking.transactionservice.dto;
+
+import com.banking.transactionservice.exception.TransactionValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position inside an account's transaction history.
+ * Serialized as an opaque URL-safe token so clients never depend on its layout.
+ */
+public class TransactionCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final Long accountId;
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public TransactionCursor(Long accountId, LocalDateTime createdAt, Long id) {
+        this.accountId = accountId;
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = accountId + SEPARATOR + createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String token, Long expectedAccountId) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new TransactionValidationException("Malformed cursor");
+            }
+            Long accountId = Long.valueOf(parts[0]);
+            if (!accountId.equals(expectedAccountId)) {
+                throw new TransactionValidationException("Cursor does not belong to account " + expectedAccountId);
+            }
+            return new TransactionCursor(accountId, LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (TransactionValidationException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new TransactionValidationException("Malformed cursor", e);
+        }
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
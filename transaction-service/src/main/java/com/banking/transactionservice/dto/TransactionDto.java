@@ -44,6 +44,23 @@ public class TransactionDto {
         this.description = description;
     }
 
+    // Used by JPQL constructor projections, so the argument order must match TransactionRepository.DTO_SELECT
+    public TransactionDto(Long id, String transactionId, Long fromAccountId, Long toAccountId, BigDecimal amount,
+                         TransactionType transactionType, TransactionStatus status, String description,
+                         String referenceNumber, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.transactionId = transactionId;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.transactionType = transactionType;
+        this.status = status;
+        this.description = description;
+        this.referenceNumber = referenceNumber;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
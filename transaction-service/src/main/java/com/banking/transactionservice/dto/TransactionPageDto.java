@@ -0,0 +1,53 @@
+package com.banking.transactionservice.dto;
+
+import java.util.List;
+
+public class TransactionPageDto {
+    private List<TransactionDto> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    // Constructors
+    public TransactionPageDto() {}
+
+    public TransactionPageDto(List<TransactionDto> content, int size, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = nextCursor != null;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<TransactionDto> getContent() {
+        return content;
+    }
+
+    public void setContent(List<TransactionDto> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
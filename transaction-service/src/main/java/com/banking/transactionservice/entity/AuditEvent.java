@@ -0,0 +1,130 @@
+package com.banking.transactionservice.entity;
+
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only audit trail row. Rows are only ever inserted by the audit writer.
+ */
+@Entity
+@Immutable
+@Table(name = "transaction_audit_log")
+public class AuditEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_audit_log_seq")
+    @SequenceGenerator(name = "transaction_audit_log_seq", sequenceName = "transaction_audit_log_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, updatable = false)
+    private AuditEventType eventType;
+
+    @Column(name = "transaction_id", updatable = false)
+    private Long transactionId;
+
+    @Column(name = "transaction_reference", updatable = false)
+    private String transactionReference;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "old_status", updatable = false)
+    private TransactionStatus oldStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "new_status", updatable = false)
+    private TransactionStatus newStatus;
+
+    @Column(precision = 19, scale = 2, updatable = false)
+    private BigDecimal amount;
+
+    @Column(name = "detail", length = 1000, updatable = false)
+    private String detail;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+
+    // Constructors
+    public AuditEvent() {}
+
+    public AuditEvent(AuditEventType eventType, Long transactionId) {
+        this.eventType = eventType;
+        this.transactionId = transactionId;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public AuditEventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(AuditEventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public String getTransactionReference() {
+        return transactionReference;
+    }
+
+    public void setTransactionReference(String transactionReference) {
+        this.transactionReference = transactionReference;
+    }
+
+    public TransactionStatus getOldStatus() {
+        return oldStatus;
+    }
+
+    public void setOldStatus(TransactionStatus oldStatus) {
+        this.oldStatus = oldStatus;
+    }
+
+    public TransactionStatus getNewStatus() {
+        return newStatus;
+    }
+
+    public void setNewStatus(TransactionStatus newStatus) {
+        this.newStatus = newStatus;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public void setDetail(String detail) {
+        this.detail = detail;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
@@ -0,0 +1,9 @@
+package com.banking.transactionservice.entity;
+
+public enum AuditEventType {
+    CREATED,
+    STATUS_CHANGED,
+    DELETED,
+    ERROR,
+    RETRY
+}
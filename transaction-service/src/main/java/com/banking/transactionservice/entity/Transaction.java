@@ -5,13 +5,16 @@ import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.NotNull;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
 @Table(name = "transactions")
 public class Transaction {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence ids with a pooled optimizer keep Hibernate's JDBC insert batching available
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
     
     @NotNull(message = "Transaction ID is required")
@@ -51,8 +54,9 @@ public class Transaction {
     
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        // Keep the in-memory value at the precision the database stores so keyset cursors compare exactly
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        updatedAt = createdAt;
         if (status == null) {
             status = TransactionStatus.PENDING;
         }
@@ -65,7 +69,7 @@ public class Transaction {
         validateTransaction();
     }
     
-    private void validateTransaction() {
+    public void validateTransaction() {
         // Validate that fromAccountId is present for transactions that require it
         if (transactionType != null && 
             (transactionType == TransactionType.TRANSFER || 
@@ -0,0 +1,65 @@
+package com.banking.transactionservice.event;
+
+import com.banking.common.outbox.OutboxEvent;
+import com.banking.common.outbox.OutboxEventListener;
+import com.banking.transactionservice.dto.TransactionDto;
+import com.banking.transactionservice.entity.TransactionStatus;
+import com.banking.transactionservice.entity.TransactionType;
+import com.banking.transactionservice.service.TransactionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records a COMPLETED transfer for every payment.completed event from payment-service. The transaction
+ * reuses the payment id, which is also the key account-service posted the money under, so a redelivered
+ * event finds its transaction and is acknowledged without writing anything.
+ */
+@Component
+public class PaymentEventListener implements OutboxEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentEventListener.class);
+
+    public static final String PAYMENT_COMPLETED = "payment.completed";
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    @Transactional
+    public void onEvent(OutboxEvent event) {
+        if (!PAYMENT_COMPLETED.equals(event.getEventType())) {
+            return;
+        }
+        JsonNode payment;
+        try {
+            payment = objectMapper.readTree(event.getPayload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unreadable payload in event " + event.getId(), e);
+        }
+        String paymentId = payment.path("paymentId").asText();
+        if (transactionService.existsByTransactionId(paymentId)) {
+            logger.debug("Payment {} already recorded, skipping event {}", paymentId, event.getId());
+            return;
+        }
+
+        TransactionDto transaction = new TransactionDto();
+        transaction.setTransactionId(paymentId);
+        transaction.setFromAccountId(payment.path("fromAccountId").asLong());
+        transaction.setToAccountId(payment.path("toAccountId").asLong());
+        transaction.setAmount(payment.path("amount").decimalValue());
+        transaction.setTransactionType(TransactionType.TRANSFER);
+        transaction.setDescription(payment.path("description").isTextual() ? payment.path("description").asText() : null);
+        transaction.setReferenceNumber(payment.path("referenceNumber").isTextual() ? payment.path("referenceNumber").asText() : null);
+        transactionService.createTransaction(transaction);
+        transactionService.updateTransactionStatusByTransactionId(paymentId, TransactionStatus.COMPLETED);
+    }
+}
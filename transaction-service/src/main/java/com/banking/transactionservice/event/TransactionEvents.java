@@ -0,0 +1,21 @@
+package com.banking.transactionservice.event;
+
+import com.banking.transactionservice.entity.TransactionStatus;
+
+/**
+ * Names of the events transaction-service writes to its outbox. Every event carries the transaction as a
+ * TransactionDto and is keyed by transactionId, so consumers see the events of one transaction in order.
+ */
+public final class TransactionEvents {
+
+    public static final String AGGREGATE_TYPE = "transaction";
+    public static final String CREATED = "transaction.created";
+
+    private TransactionEvents() {
+    }
+
+    // transaction.completed, transaction.failed, transaction.reversed, ...
+    public static String statusChanged(TransactionStatus status) {
+        return AGGREGATE_TYPE + "." + status.name().toLowerCase();
+    }
+}
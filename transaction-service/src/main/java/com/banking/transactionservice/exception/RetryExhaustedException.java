@@ -0,0 +1,15 @@
+package com.banking.transactionservice.exception;
+
+public class RetryExhaustedException extends RuntimeException {
+    
+    private final int attempts;
+    
+    public RetryExhaustedException(String message, int attempts, Throwable cause) {
+        super(message, cause);
+        this.attempts = attempts;
+    }
+    
+    public int getAttempts() {
+        return attempts;
+    }
+}
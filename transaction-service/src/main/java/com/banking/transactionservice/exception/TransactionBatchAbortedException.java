@@ -0,0 +1,17 @@
+package com.banking.transactionservice.exception;
+
+import com.banking.transactionservice.dto.TransactionBatchSummaryDto;
+
+public class TransactionBatchAbortedException extends TransactionValidationException {
+    
+    private final TransactionBatchSummaryDto summary;
+    
+    public TransactionBatchAbortedException(String message, TransactionBatchSummaryDto summary, Throwable cause) {
+        super(message, cause);
+        this.summary = summary;
+    }
+    
+    public TransactionBatchSummaryDto getSummary() {
+        return summary;
+    }
+}
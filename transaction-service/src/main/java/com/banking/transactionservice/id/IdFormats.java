@@ -0,0 +1,42 @@
+package com.banking.transactionservice.id;
+
+/**
+ * Fixed-width renderings of generated ids. Each call allocates only the
+ * backing char array and the resulting String.
+ */
+public final class IdFormats {
+
+    public static final String TRANSACTION_ID_PREFIX = "TXN";
+
+    // Long.MAX_VALUE needs 13 base-36 digits and 19 decimal digits
+    public static final int TRANSACTION_ID_DIGITS = 13;
+    public static final int REFERENCE_NUMBER_DIGITS = 19;
+
+    private static final char[] DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+    private IdFormats() {
+    }
+
+    public static String transactionId(long id) {
+        char[] buf = new char[TRANSACTION_ID_PREFIX.length() + TRANSACTION_ID_DIGITS];
+        TRANSACTION_ID_PREFIX.getChars(0, TRANSACTION_ID_PREFIX.length(), buf, 0);
+        fill(id, 36, buf, TRANSACTION_ID_PREFIX.length());
+        return new String(buf);
+    }
+
+    public static String referenceNumber(long id) {
+        char[] buf = new char[REFERENCE_NUMBER_DIGITS];
+        fill(id, 10, buf, 0);
+        return new String(buf);
+    }
+
+    private static void fill(long value, int radix, char[] buf, int from) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Id must not be negative: " + value);
+        }
+        for (int i = buf.length - 1; i >= from; i--) {
+            buf[i] = DIGITS[(int) (value % radix)];
+            value /= radix;
+        }
+    }
+}
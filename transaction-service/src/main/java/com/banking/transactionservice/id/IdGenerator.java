@@ -0,0 +1,19 @@
+package com.banking.transactionservice.id;
+
+/**
+ * Source of cluster-wide unique, roughly time-ordered 64-bit identifiers.
+ * Transaction ids and reference numbers are both rendered from these values,
+ * so a replacement implementation only has to guarantee uniqueness of {@link #nextId()}.
+ */
+public interface IdGenerator {
+
+    long nextId();
+
+    default String nextTransactionId() {
+        return IdFormats.transactionId(nextId());
+    }
+
+    default String nextReferenceNumber() {
+        return IdFormats.referenceNumber(nextId());
+    }
+}
@@ -0,0 +1,74 @@
+package com.banking.transactionservice.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style generator: 41 bits of milliseconds since {@link #EPOCH_MILLIS},
+ * 10 bits of node id and 12 bits of per-millisecond sequence.
+ *
+ * <p>Timestamp and sequence live in a single {@link AtomicLong} advanced by CAS,
+ * so callers never block. When a millisecond's sequence is exhausted, or the wall
+ * clock steps backwards, the generator keeps issuing ids from its own logical clock
+ * instead of waiting; it falls back in line once the wall clock catches up.
+ * Ids are unique across the cluster as long as every instance runs with a distinct node id.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    // 2024-01-01T00:00:00Z
+    public static final long EPOCH_MILLIS = 1704067200000L;
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeBits;
+
+    // (millis since epoch << SEQUENCE_BITS) | sequence of the last issued id
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = ((long) nodeId) << SEQUENCE_BITS;
+    }
+
+    @Override
+    public long nextId() {
+        for (;;) {
+            long last = state.get();
+            long now = currentTimeMillis() - EPOCH_MILLIS;
+            long lastMillis = last >>> SEQUENCE_BITS;
+            long next;
+            if (now > lastMillis) {
+                next = now << SEQUENCE_BITS;
+            } else if ((last & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = last + 1;
+            } else {
+                next = (lastMillis + 1) << SEQUENCE_BITS;
+            }
+            if (state.compareAndSet(last, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                return (millis << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public int getNodeId() {
+        return (int) (nodeBits >>> SEQUENCE_BITS);
+    }
+
+    public static int nodeIdOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+}
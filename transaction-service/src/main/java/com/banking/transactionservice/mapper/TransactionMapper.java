@@ -0,0 +1,27 @@
+package com.banking.transactionservice.mapper;
+
+import com.banking.common.mapping.DtoMapper;
+import com.banking.transactionservice.dto.TransactionDto;
+import com.banking.transactionservice.entity.Transaction;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TransactionMapper implements DtoMapper<Transaction, TransactionDto> {
+
+    @Override
+    public TransactionDto toDto(Transaction transaction) {
+        return new TransactionDto(
+            transaction.getId(),
+            transaction.getTransactionId(),
+            transaction.getFromAccountId(),
+            transaction.getToAccountId(),
+            transaction.getAmount(),
+            transaction.getTransactionType(),
+            transaction.getStatus(),
+            transaction.getDescription(),
+            transaction.getReferenceNumber(),
+            transaction.getCreatedAt(),
+            transaction.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package com.banking.transactionservice.partition;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Naming and bounds of the monthly transactions partitions, e.g. transactions_y2024m03
+ * holds rows with created_at in [2024-03-01, 2024-04-01).
+ */
+public final class MonthlyPartitions {
+
+    public static final String PARENT_TABLE = "transactions";
+
+    private static final Pattern NAME = Pattern.compile("^" + PARENT_TABLE + "_y(\\d{4})m(\\d{2})$");
+
+    private MonthlyPartitions() {
+    }
+
+    public static String partitionName(YearMonth month) {
+        return String.format("%s_y%04dm%02d", PARENT_TABLE, month.getYear(), month.getMonthValue());
+    }
+
+    /**
+     * @return the month a partition covers, or null when the table is not a monthly partition
+     */
+    public static YearMonth monthOf(String tableName) {
+        Matcher matcher = NAME.matcher(tableName);
+        if (!matcher.matches()) {
+            return null;
+        }
+        int month = Integer.parseInt(matcher.group(2));
+        if (month < 1 || month > 12) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), month);
+    }
+
+    public static LocalDate rangeStart(YearMonth month) {
+        return month.atDay(1);
+    }
+
+    public static LocalDate rangeEnd(YearMonth month) {
+        return month.plusMonths(1).atDay(1);
+    }
+
+    /**
+     * A month is cold once all of it lies more than {@code retainMonths} full months before the current month.
+     */
+    public static boolean isCold(YearMonth month, YearMonth current, int retainMonths) {
+        return month.isBefore(current.minusMonths(retainMonths));
+    }
+}
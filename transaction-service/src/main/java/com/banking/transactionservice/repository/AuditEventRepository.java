@@ -0,0 +1,13 @@
+package com.banking.transactionservice.repository;
+
+import com.banking.transactionservice.entity.AuditEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AuditEventRepository extends JpaRepository<AuditEvent, Long> {
+
+    List<AuditEvent> findByTransactionIdOrderByOccurredAtAsc(Long transactionId);
+}
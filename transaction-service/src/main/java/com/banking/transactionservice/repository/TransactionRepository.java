@@ -1,23 +1,82 @@
 package com.banking.transactionservice.repository;
 
+import com.banking.transactionservice.dto.TransactionDto;
 import com.banking.transactionservice.entity.Transaction;
 import com.banking.transactionservice.entity.TransactionStatus;
 import com.banking.transactionservice.entity.TransactionType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     
+    // Account histories can run to thousands of rows, so the lists below fill TransactionDto directly and never load entities
+    String DTO_SELECT = "SELECT new com.banking.transactionservice.dto.TransactionDto(t.id, t.transactionId, " +
+        "t.fromAccountId, t.toAccountId, t.amount, t.transactionType, t.status, t.description, t.referenceNumber, " +
+        "t.createdAt, t.updatedAt) FROM Transaction t ";
+    
+    // Rows pulled per round trip by the cursor-backed streams; only that many DTOs are ever buffered
+    String STREAM_FETCH_SIZE = "500";
+    
+    @Query(DTO_SELECT + "WHERE t.fromAccountId = :accountId")
+    List<TransactionDto> findDtosByFromAccountId(@Param("accountId") Long fromAccountId);
+    
+    @Query(DTO_SELECT + "WHERE t.toAccountId = :accountId")
+    List<TransactionDto> findDtosByToAccountId(@Param("accountId") Long toAccountId);
+    
+    @Query(DTO_SELECT + "WHERE t.fromAccountId = :accountId OR t.toAccountId = :accountId ORDER BY t.createdAt DESC")
+    List<TransactionDto> findDtosByAccountId(@Param("accountId") Long accountId);
+    
+    @Query(DTO_SELECT + "WHERE t.transactionType = :transactionType")
+    List<TransactionDto> findDtosByTransactionType(@Param("transactionType") TransactionType transactionType);
+    
+    @Query(DTO_SELECT + "WHERE t.status = :status")
+    List<TransactionDto> findDtosByStatus(@Param("status") TransactionStatus status);
+    
+    @Query(DTO_SELECT + "WHERE t.amount BETWEEN :minAmount AND :maxAmount")
+    List<TransactionDto> findDtosByAmountBetween(@Param("minAmount") BigDecimal minAmount, @Param("maxAmount") BigDecimal maxAmount);
+    
+    @Query(DTO_SELECT + "WHERE t.createdAt >= :startDate AND t.createdAt <= :endDate")
+    List<TransactionDto> findDtosByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    
+    @Query(DTO_SELECT + "WHERE t.referenceNumber = :referenceNumber")
+    List<TransactionDto> findDtosByReferenceNumber(@Param("referenceNumber") String referenceNumber);
+    
+    // Streams hold an open JDBC cursor, so callers must consume them inside a read-only transaction and close them
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(DTO_SELECT + "WHERE t.status = :status")
+    Stream<TransactionDto> streamDtosByStatus(@Param("status") TransactionStatus status);
+    
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(DTO_SELECT + "WHERE t.createdAt >= :startDate AND t.createdAt <= :endDate ORDER BY t.createdAt, t.id")
+    Stream<TransactionDto> streamDtosByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(DTO_SELECT + "WHERE (t.fromAccountId = :accountId OR t.toAccountId = :accountId) " +
+           "AND t.createdAt >= :startDate AND t.createdAt <= :endDate ORDER BY t.createdAt, t.id")
+    Stream<TransactionDto> streamDtosByAccountAndDateRange(@Param("accountId") Long accountId,
+                                                           @Param("startDate") LocalDateTime startDate,
+                                                           @Param("endDate") LocalDateTime endDate);
+    
     Optional<Transaction> findByTransactionId(String transactionId);
     
+    @Query("SELECT t.transactionId FROM Transaction t WHERE t.transactionId IN :transactionIds")
+    List<String> findExistingTransactionIds(@Param("transactionIds") Collection<String> transactionIds);
+    
     List<Transaction> findByFromAccountId(Long fromAccountId);
     
     List<Transaction> findByToAccountId(Long toAccountId);
@@ -47,11 +106,44 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     @Query("SELECT t FROM Transaction t WHERE t.fromAccountId = :accountId OR t.toAccountId = :accountId ORDER BY t.createdAt DESC")
     List<Transaction> findTransactionsByAccountId(@Param("accountId") Long accountId);
     
+    @Query(DTO_SELECT + "WHERE (t.fromAccountId = :accountId OR t.toAccountId = :accountId) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionDto> findAccountHistoryFirstPage(@Param("accountId") Long accountId, Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE (t.fromAccountId = :accountId OR t.toAccountId = :accountId) " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionDto> findAccountHistoryPageAfter(@Param("accountId") Long accountId,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("id") Long id,
+                                                     Pageable pageable);
+    
     @Query("SELECT t FROM Transaction t WHERE t.referenceNumber = :referenceNumber")
     List<Transaction> findByReferenceNumber(@Param("referenceNumber") String referenceNumber);
     
     boolean existsByTransactionId(String transactionId);
     
+    @Query("SELECT t.transactionType, t.status, COUNT(t), SUM(t.amount) FROM Transaction t " +
+           "WHERE t.createdAt >= :startDate AND t.createdAt < :endDate " +
+           "GROUP BY t.transactionType, t.status")
+    List<Object[]> aggregateByTypeAndStatus(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    
+    @Query("SELECT COUNT(t), SUM(t.amount) FROM Transaction t " +
+           "WHERE t.fromAccountId = :accountId AND t.createdAt >= :startDate AND t.createdAt <= :endDate")
+    List<Object[]> aggregateOutgoingByAccount(@Param("accountId") Long accountId,
+                                              @Param("startDate") LocalDateTime startDate,
+                                              @Param("endDate") LocalDateTime endDate);
+    
+    @Query("SELECT COUNT(t), SUM(t.amount) FROM Transaction t " +
+           "WHERE t.toAccountId = :accountId AND t.createdAt >= :startDate AND t.createdAt <= :endDate")
+    List<Object[]> aggregateIncomingByAccount(@Param("accountId") Long accountId,
+                                              @Param("startDate") LocalDateTime startDate,
+                                              @Param("endDate") LocalDateTime endDate);
+    
+    @Query("SELECT t.id, t.createdAt, t.transactionType, t.status, t.amount FROM Transaction t " +
+           "WHERE t.id > :afterId ORDER BY t.id")
+    List<Object[]> findStatisticsRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
     @Query("SELECT COUNT(t) FROM Transaction t WHERE t.fromAccountId = :accountId AND t.status = :status")
     long countByFromAccountIdAndStatus(@Param("accountId") Long accountId, @Param("status") TransactionStatus status);
     
@@ -0,0 +1,34 @@
+package com.banking.transactionservice.retry;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with full jitter: the n-th retry waits a uniformly random time between
+ * zero and min(maxDelay, baseDelay * multiplier^(n-1)), which spreads out retries from clients
+ * that failed at the same moment.
+ */
+public class ExponentialBackoff {
+
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final double multiplier;
+
+    public ExponentialBackoff(long baseDelayMs, long maxDelayMs, double multiplier) {
+        if (baseDelayMs < 0 || maxDelayMs < baseDelayMs || multiplier < 1.0) {
+            throw new IllegalArgumentException("Invalid backoff: base=" + baseDelayMs + "ms, max=" + maxDelayMs
+                + "ms, multiplier=" + multiplier);
+        }
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.multiplier = multiplier;
+    }
+
+    public long ceilingMillis(int retryNumber) {
+        double ceiling = baseDelayMs * Math.pow(multiplier, Math.max(0, retryNumber - 1));
+        return (long) Math.min(maxDelayMs, ceiling);
+    }
+
+    public long delayMillis(int retryNumber) {
+        return ThreadLocalRandom.current().nextLong(ceilingMillis(retryNumber) + 1);
+    }
+}
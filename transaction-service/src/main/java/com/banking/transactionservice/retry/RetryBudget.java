@@ -0,0 +1,67 @@
+package com.banking.transactionservice.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that caps retries to a fraction of traffic. Every call deposits {@code ratio}
+ * tokens and every retry withdraws one, so under a sustained outage retries add at most
+ * {@code ratio} extra load. A small per-second allowance keeps low-traffic operations retryable.
+ */
+public class RetryBudget {
+
+    // Balances are kept in thousandths of a token so fractional deposits stay exact
+    private static final long SCALE = 1000;
+    private static final long REFILL_PERIOD_MS = 1000;
+
+    private final long depositPerCall;
+    private final long refillPerPeriod;
+    private final long maxBalance;
+    private final AtomicLong balance;
+    private final AtomicLong lastRefillMillis;
+
+    public RetryBudget(double ratio, int minRetriesPerSecond) {
+        if (ratio < 0 || minRetriesPerSecond < 0) {
+            throw new IllegalArgumentException("Retry budget ratio and minimum must not be negative");
+        }
+        this.depositPerCall = Math.round(ratio * SCALE);
+        this.refillPerPeriod = minRetriesPerSecond * SCALE;
+        // Never bank more than ten seconds' worth of allowance, or 100 calls' worth of deposits
+        this.maxBalance = Math.max(refillPerPeriod * 10, depositPerCall * 100);
+        this.balance = new AtomicLong(refillPerPeriod);
+        this.lastRefillMillis = new AtomicLong(System.currentTimeMillis());
+    }
+
+    public void recordCall() {
+        deposit(depositPerCall);
+    }
+
+    public boolean tryAcquireRetry() {
+        refill();
+        for (;;) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    public double availableRetries() {
+        return (double) balance.get() / SCALE;
+    }
+
+    private void refill() {
+        long now = System.currentTimeMillis();
+        long last = lastRefillMillis.get();
+        long elapsed = now - last;
+        if (elapsed >= REFILL_PERIOD_MS && lastRefillMillis.compareAndSet(last, now)) {
+            deposit(refillPerPeriod * elapsed / REFILL_PERIOD_MS);
+        }
+    }
+
+    private void deposit(long amount) {
+        balance.accumulateAndGet(amount, (current, added) -> Math.min(maxBalance, current + added));
+    }
+}
@@ -0,0 +1,62 @@
+package com.banking.transactionservice.retry;
+
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import javax.persistence.LockTimeoutException;
+import javax.persistence.PessimisticLockException;
+import javax.persistence.QueryTimeoutException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * Default notion of a transient failure: lock and timeout errors from the database, I/O errors
+ * and 502/503/504 responses from downstream services. Anything else, such as validation or
+ * not-found errors, fails on the first attempt. The whole cause chain is inspected.
+ */
+public class RetryableExceptionClassifier implements Predicate<Throwable> {
+
+    private static final int MAX_CAUSE_DEPTH = 10;
+
+    @Override
+    public boolean test(Throwable failure) {
+        Throwable current = failure;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH; depth++) {
+            if (isTransient(current)) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+            current = current.getCause();
+        }
+        return false;
+    }
+
+    private boolean isTransient(Throwable failure) {
+        if (failure instanceof TransientDataAccessException
+            || failure instanceof RecoverableDataAccessException
+            || failure instanceof ResourceAccessException
+            || failure instanceof LockTimeoutException
+            || failure instanceof PessimisticLockException
+            || failure instanceof QueryTimeoutException
+            || failure instanceof SQLTransientException
+            || failure instanceof SQLRecoverableException
+            || failure instanceof SocketTimeoutException
+            || failure instanceof ConnectException
+            || failure instanceof TimeoutException) {
+            return true;
+        }
+        if (failure instanceof HttpServerErrorException) {
+            int status = ((HttpServerErrorException) failure).getRawStatusCode();
+            return status == 502 || status == 503 || status == 504;
+        }
+        return false;
+    }
+}
@@ -14,4 +14,9 @@ public interface AuditService {
     void logTransactionError(Long transactionId, String errorMessage);
     
     void logTransactionRetry(Long transactionId, int attemptNumber);
+    
+    /**
+     * Writes every event published so far before returning. Never needed on the request path.
+     */
+    void flush();
 }
@@ -1,5 +1,7 @@
 package com.banking.transactionservice.service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 public interface RetryService {
@@ -8,7 +10,17 @@ public interface RetryService {
     
     <T> T executeWithRetry(Supplier<T> operation, String operationName, int maxAttempts);
     
+    <T> T executeWithRetry(Supplier<T> operation, String operationName, int maxAttempts, Predicate<Throwable> retryable);
+    
     void executeWithRetry(Runnable operation, String operationName);
     
     void executeWithRetry(Runnable operation, String operationName, int maxAttempts);
+    
+    /**
+     * Retries without holding a thread between attempts: re-attempts are scheduled after the backoff delay.
+     * The operation should itself be non-blocking, since re-attempts run on the shared retry scheduler.
+     */
+    <T> CompletableFuture<T> executeWithRetryAsync(Supplier<CompletableFuture<T>> operation, String operationName);
+    
+    <T> CompletableFuture<T> executeWithRetryAsync(Supplier<CompletableFuture<T>> operation, String operationName, int maxAttempts);
 }
@@ -0,0 +1,15 @@
+package com.banking.transactionservice.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface StatementExportService {
+
+    /**
+     * Writes an account's transactions in the date range to {@code out} as CSV, oldest first,
+     * optionally gzip-compressed. Returns the number of rows written; {@code out} is left open.
+     */
+    long exportCsv(Long accountId, LocalDateTime startDate, LocalDateTime endDate,
+                   boolean gzip, OutputStream out) throws IOException;
+}
@@ -0,0 +1,18 @@
+package com.banking.transactionservice.service;
+
+import com.banking.transactionservice.dto.TransactionBatchItemResult;
+import com.banking.transactionservice.dto.TransactionBatchSummaryDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface TransactionBatchService {
+
+    /**
+     * Reads transactions from a JSON array or NDJSON body and persists them in chunks,
+     * handing every item's outcome to {@code results} as soon as it is known.
+     */
+    TransactionBatchSummaryDto ingest(InputStream body, boolean ndjson,
+                                      Consumer<TransactionBatchItemResult> results) throws IOException;
+}
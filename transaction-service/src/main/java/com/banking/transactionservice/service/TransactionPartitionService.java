@@ -0,0 +1,21 @@
+package com.banking.transactionservice.service;
+
+import java.util.List;
+
+public interface TransactionPartitionService {
+    
+    boolean isPartitioned();
+    
+    /**
+     * Creates the monthly partitions for the current month and the configured number of months ahead.
+     * @return names of the partitions that were created
+     */
+    List<String> ensureFuturePartitions();
+    
+    /**
+     * Detaches partitions older than the retention window, exports each to a gzip-compressed CSV file
+     * and drops it once the export is verified.
+     * @return names of the partitions that were archived
+     */
+    List<String> archiveColdPartitions();
+}
@@ -0,0 +1,13 @@
+package com.banking.transactionservice.service;
+
+import com.banking.transactionservice.dto.TransactionDto;
+
+public interface TransactionPostingService {
+    
+    /**
+     * Applies a pending DEPOSIT, WITHDRAWAL or TRANSFER to the account balances in account-service and
+     * completes it. A rejected posting marks the transaction FAILED; when the outcome is unknown (account-service
+     * unreachable after retries) the transaction stays PROCESSING and can be posted again safely.
+     */
+    TransactionDto postTransaction(Long id);
+}
@@ -1,12 +1,14 @@
 package com.banking.transactionservice.service;
 
 import com.banking.transactionservice.dto.TransactionDto;
+import com.banking.transactionservice.dto.TransactionPageDto;
 import com.banking.transactionservice.entity.TransactionStatus;
 import com.banking.transactionservice.entity.TransactionType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TransactionService {
     
@@ -22,6 +24,8 @@ public interface TransactionService {
     
     List<TransactionDto> getTransactionsByAccountId(Long accountId);
     
+    TransactionPageDto getTransactionPageByAccountId(Long accountId, String cursor, Integer size);
+    
     List<TransactionDto> getTransactionsByType(TransactionType transactionType);
     
     List<TransactionDto> getTransactionsByStatus(TransactionStatus status);
@@ -32,6 +36,10 @@ public interface TransactionService {
     
     List<TransactionDto> getTransactionsByReferenceNumber(String referenceNumber);
     
+    long streamTransactionsByStatus(TransactionStatus status, Consumer<TransactionDto> sink);
+    
+    long streamTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate, Consumer<TransactionDto> sink);
+    
     TransactionDto updateTransactionStatus(Long id, TransactionStatus status);
     
     TransactionDto updateTransactionStatusByTransactionId(String transactionId, TransactionStatus status);
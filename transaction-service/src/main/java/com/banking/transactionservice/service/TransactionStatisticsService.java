@@ -1,5 +1,6 @@
 package com.banking.transactionservice.service;
 
+import com.banking.transactionservice.dto.TransactionDto;
 import com.banking.transactionservice.entity.TransactionStatus;
 import com.banking.transactionservice.entity.TransactionType;
 
@@ -22,4 +23,14 @@ public interface TransactionStatisticsService {
     Map<String, Long> getTransactionCountByAccount(Long accountId, LocalDateTime startDate, LocalDateTime endDate);
     
     Map<String, Object> getTransactionSummary(LocalDateTime startDate, LocalDateTime endDate);
+    
+    void recordTransactionCreated(TransactionDto transaction);
+    
+    void recordTransactionStatusChanged(TransactionDto transaction, TransactionStatus oldStatus);
+    
+    void recordTransactionDeleted(TransactionDto transaction);
+    
+    void recordRangeArchived(LocalDateTime from, LocalDateTime to);
+    
+    void rebuildStatistics();
 }
@@ -1,53 +1,276 @@
 package com.banking.transactionservice.service.impl;
 
+import com.banking.transactionservice.audit.AuditOverflowPolicy;
+import com.banking.transactionservice.audit.AuditRingBuffer;
+import com.banking.transactionservice.config.TransactionServiceConfig;
 import com.banking.transactionservice.dto.TransactionDto;
+import com.banking.transactionservice.entity.AuditEvent;
+import com.banking.transactionservice.entity.AuditEventType;
 import com.banking.transactionservice.entity.TransactionStatus;
+import com.banking.transactionservice.repository.AuditEventRepository;
 import com.banking.transactionservice.service.AuditService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDateTime;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Publishes audit events into a lock-free ring buffer; a single writer thread drains them
+ * in batches and inserts each batch into transaction_audit_log in one transaction.
+ * Callers never wait on audit I/O: when the buffer is full the configured overflow policy applies.
+ */
 @Service
 public class AuditServiceImpl implements AuditService {
     
     private static final Logger logger = LoggerFactory.getLogger(AuditServiceImpl.class);
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     
+    @Autowired
+    private TransactionServiceConfig config;
+    
+    @Autowired
+    private AuditEventRepository auditEventRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private AuditRingBuffer<QueuedEvent> buffer;
+    private TransactionTemplate writeTemplate;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile boolean running;
+    private Thread writer;
+    
+    private Counter publishedCounter;
+    private Counter droppedCounter;
+    private Counter writtenCounter;
+    private Counter failedCounter;
+    private Timer flushTimer;
+    private Timer commitLagTimer;
+    
+    @PostConstruct
+    public void start() {
+        buffer = new AuditRingBuffer<>(config.getAuditBufferSize());
+        writeTemplate = new TransactionTemplate(transactionManager);
+        writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        
+        Gauge.builder("transaction.audit.buffer.size", buffer, AuditRingBuffer::size)
+            .description("Audit events waiting to be written")
+            .register(meterRegistry);
+        Gauge.builder("transaction.audit.buffer.capacity", buffer, AuditRingBuffer::capacity)
+            .register(meterRegistry);
+        publishedCounter = Counter.builder("transaction.audit.events.published").register(meterRegistry);
+        droppedCounter = Counter.builder("transaction.audit.events.dropped")
+            .tag("policy", config.getAuditOverflowPolicy().name())
+            .register(meterRegistry);
+        writtenCounter = Counter.builder("transaction.audit.events.written").register(meterRegistry);
+        failedCounter = Counter.builder("transaction.audit.events.failed").register(meterRegistry);
+        flushTimer = Timer.builder("transaction.audit.flush.latency")
+            .description("Time to insert and commit one batch of audit events")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        commitLagTimer = Timer.builder("transaction.audit.commit.lag")
+            .description("Time from publishing the oldest event of a batch until it is committed")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        
+        if (config.isEnableAuditLogging()) {
+            running = true;
+            writer = new Thread(this::runWriter, "transaction-audit-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+    
     @Override
     public void logTransactionCreated(TransactionDto transaction) {
-        String timestamp = LocalDateTime.now().format(formatter);
-        logger.info("[AUDIT] [{}] Transaction CREATED - ID: {}, TransactionID: {}, Amount: {}, Type: {}, Status: {}",
-            timestamp, transaction.getId(), transaction.getTransactionId(), 
-            transaction.getAmount(), transaction.getTransactionType(), transaction.getStatus());
+        AuditEvent event = new AuditEvent(AuditEventType.CREATED, transaction.getId());
+        event.setTransactionReference(transaction.getTransactionId());
+        event.setNewStatus(transaction.getStatus());
+        event.setAmount(transaction.getAmount());
+        event.setDetail(transaction.getTransactionType() == null ? null : transaction.getTransactionType().name());
+        publishAfterCommit(event);
     }
     
     @Override
     public void logTransactionStatusChanged(Long transactionId, TransactionStatus oldStatus, TransactionStatus newStatus) {
-        String timestamp = LocalDateTime.now().format(formatter);
-        logger.info("[AUDIT] [{}] Transaction STATUS CHANGED - TransactionID: {}, Old Status: {}, New Status: {}",
-            timestamp, transactionId, oldStatus, newStatus);
+        AuditEvent event = new AuditEvent(AuditEventType.STATUS_CHANGED, transactionId);
+        event.setOldStatus(oldStatus);
+        event.setNewStatus(newStatus);
+        publishAfterCommit(event);
     }
     
     @Override
     public void logTransactionDeleted(Long transactionId) {
-        String timestamp = LocalDateTime.now().format(formatter);
-        logger.info("[AUDIT] [{}] Transaction DELETED - TransactionID: {}", timestamp, transactionId);
+        publishAfterCommit(new AuditEvent(AuditEventType.DELETED, transactionId));
     }
     
     @Override
     public void logTransactionError(Long transactionId, String errorMessage) {
-        String timestamp = LocalDateTime.now().format(formatter);
-        logger.error("[AUDIT] [{}] Transaction ERROR - TransactionID: {}, Error: {}", 
-            timestamp, transactionId, errorMessage);
+        AuditEvent event = new AuditEvent(AuditEventType.ERROR, transactionId);
+        event.setDetail(truncate(errorMessage));
+        publish(event);
     }
     
     @Override
     public void logTransactionRetry(Long transactionId, int attemptNumber) {
-        String timestamp = LocalDateTime.now().format(formatter);
-        logger.warn("[AUDIT] [{}] Transaction RETRY - TransactionID: {}, Attempt: {}", 
-            timestamp, transactionId, attemptNumber);
+        AuditEvent event = new AuditEvent(AuditEventType.RETRY, transactionId);
+        event.setDetail("Attempt " + attemptNumber);
+        publish(event);
+    }
+    
+    @Override
+    public void flush() {
+        drainAndWrite();
+    }
+    
+    private void publishAfterCommit(AuditEvent event) {
+        // Only committed changes belong in the trail; errors and retries are published immediately
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(event);
+                }
+            });
+        } else {
+            publish(event);
+        }
+    }
+    
+    private void publish(AuditEvent event) {
+        if (!config.isEnableAuditLogging()) {
+            return;
+        }
+        QueuedEvent queued = new QueuedEvent(event, System.nanoTime());
+        if (buffer.offer(queued)) {
+            publishedCounter.increment();
+            if (buffer.size() >= config.getAuditBatchSize() && writer != null) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+        
+        AuditOverflowPolicy policy = config.getAuditOverflowPolicy();
+        if (policy == AuditOverflowPolicy.DROP_OLDEST) {
+            for (int attempt = 0; attempt < 3; attempt++) {
+                if (buffer.poll() != null) {
+                    droppedCounter.increment();
+                }
+                if (buffer.offer(queued)) {
+                    publishedCounter.increment();
+                    return;
+                }
+            }
+        } else if (policy == AuditOverflowPolicy.LOG) {
+            logEvent(event);
+        }
+        droppedCounter.increment();
+    }
+    
+    private void runWriter() {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, config.getAuditFlushIntervalMs()));
+        while (running) {
+            // Group commit: wake up when a full batch is waiting or the flush interval elapses
+            if (buffer.size() < config.getAuditBatchSize()) {
+                LockSupport.parkNanos(this, intervalNanos);
+            }
+            try {
+                drainAndWrite();
+            } catch (RuntimeException e) {
+                logger.error("Audit writer iteration failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+    
+    private void drainAndWrite() {
+        int batchSize = Math.max(1, config.getAuditBatchSize());
+        List<QueuedEvent> batch = new ArrayList<>(batchSize);
+        writeLock.lock();
+        try {
+            while (buffer.drainTo(batch, batchSize) > 0) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    private void writeBatch(List<QueuedEvent> batch) {
+        List<AuditEvent> events = new ArrayList<>(batch.size());
+        for (QueuedEvent queued : batch) {
+            events.add(queued.event);
+        }
+        long start = System.nanoTime();
+        try {
+            writeTemplate.execute(status -> auditEventRepository.saveAll(events));
+            long end = System.nanoTime();
+            flushTimer.record(end - start, TimeUnit.NANOSECONDS);
+            commitLagTimer.record(end - batch.get(0).publishedNanos, TimeUnit.NANOSECONDS);
+            writtenCounter.increment(events.size());
+        } catch (RuntimeException e) {
+            failedCounter.increment(events.size());
+            logger.error("Failed to write {} audit events, falling back to the application log: {}",
+                events.size(), e.getMessage());
+            for (AuditEvent event : events) {
+                logEvent(event);
+            }
+        }
+    }
+    
+    private void logEvent(AuditEvent event) {
+        logger.info("[AUDIT] [{}] Transaction {} - TransactionID: {}, Reference: {}, Old Status: {}, New Status: {}, Amount: {}, Detail: {}",
+            event.getOccurredAt().format(formatter), event.getEventType(), event.getTransactionId(),
+            event.getTransactionReference(), event.getOldStatus(), event.getNewStatus(),
+            event.getAmount(), event.getDetail());
+    }
+    
+    private String truncate(String message) {
+        return message != null && message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+    
+    private static class QueuedEvent {
+        private final AuditEvent event;
+        private final long publishedNanos;
+        
+        private QueuedEvent(AuditEvent event, long publishedNanos) {
+            this.event = event;
+            this.publishedNanos = publishedNanos;
+        }
     }
 }
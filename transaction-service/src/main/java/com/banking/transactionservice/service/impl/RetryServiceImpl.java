@@ -1,11 +1,29 @@
 package com.banking.transactionservice.service.impl;
 
+import com.banking.transactionservice.config.TransactionServiceConfig;
+import com.banking.transactionservice.exception.RetryExhaustedException;
+import com.banking.transactionservice.retry.ExponentialBackoff;
+import com.banking.transactionservice.retry.RetryBudget;
+import com.banking.transactionservice.retry.RetryableExceptionClassifier;
 import com.banking.transactionservice.service.RetryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 @Service
@@ -14,7 +32,23 @@ public class RetryServiceImpl implements RetryService {
     private static final Logger logger = LoggerFactory.getLogger(RetryServiceImpl.class);
     
     @Autowired
-    private com.banking.transactionservice.config.TransactionServiceConfig config;
+    private TransactionServiceConfig config;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final RetryableExceptionClassifier classifier = new RetryableExceptionClassifier();
+    private final ConcurrentMap<String, OperationState> operations = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "transaction-retry-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
     
     @Override
     public <T> T executeWithRetry(Supplier<T> operation, String operationName) {
@@ -23,30 +57,31 @@ public class RetryServiceImpl implements RetryService {
     
     @Override
     public <T> T executeWithRetry(Supplier<T> operation, String operationName, int maxAttempts) {
+        return executeWithRetry(operation, operationName, maxAttempts, classifier);
+    }
+    
+    @Override
+    public <T> T executeWithRetry(Supplier<T> operation, String operationName, int maxAttempts,
+                                  Predicate<Throwable> retryable) {
+        OperationState state = state(operationName);
+        state.budget.recordCall();
         int attempt = 1;
-        Exception lastException = null;
         
-        while (attempt <= maxAttempts) {
+        while (true) {
             try {
                 logger.debug("Executing {} - Attempt {}/{}", operationName, attempt, maxAttempts);
                 return operation.get();
-            } catch (Exception e) {
-                lastException = e;
-                logger.warn("Operation {} failed on attempt {}/{}: {}", operationName, attempt, maxAttempts, e.getMessage());
-                
-                if (attempt < maxAttempts) {
-                    try {
-                        Thread.sleep(config.getRetryDelayMs());
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new RuntimeException("Retry operation interrupted", ie);
-                    }
+            } catch (RuntimeException e) {
+                long delay = planRetry(state, operationName, attempt, maxAttempts, e, retryable);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Retry operation interrupted", ie);
                 }
                 attempt++;
             }
         }
-        
-        throw new RuntimeException("Operation " + operationName + " failed after " + maxAttempts + " attempts", lastException);
     }
     
     @Override
@@ -61,4 +96,126 @@ public class RetryServiceImpl implements RetryService {
             return null;
         }, operationName, maxAttempts);
     }
+    
+    @Override
+    public <T> CompletableFuture<T> executeWithRetryAsync(Supplier<CompletableFuture<T>> operation, String operationName) {
+        return executeWithRetryAsync(operation, operationName, config.getMaxRetryAttempts());
+    }
+    
+    @Override
+    public <T> CompletableFuture<T> executeWithRetryAsync(Supplier<CompletableFuture<T>> operation, String operationName,
+                                                          int maxAttempts) {
+        OperationState state = state(operationName);
+        state.budget.recordCall();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attemptAsync(operation, operationName, state, 1, maxAttempts, result);
+        return result;
+    }
+    
+    private <T> void attemptAsync(Supplier<CompletableFuture<T>> operation, String operationName, OperationState state,
+                                  int attempt, int maxAttempts, CompletableFuture<T> result) {
+        CompletableFuture<T> future;
+        try {
+            future = operation.get();
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        
+        future.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+            long delay;
+            try {
+                delay = planRetry(state, operationName, attempt, maxAttempts, unwrap(error), classifier);
+            } catch (RuntimeException giveUp) {
+                result.completeExceptionally(giveUp);
+                return;
+            }
+            try {
+                scheduler.schedule(() -> attemptAsync(operation, operationName, state, attempt + 1, maxAttempts, result),
+                    delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(new RetryExhaustedException(
+                    "Retry scheduler is shut down; operation " + operationName + " abandoned", attempt, unwrap(error)));
+            }
+        });
+    }
+    
+    /**
+     * Decides whether a failed attempt gets another try and returns the delay before it;
+     * otherwise throws the exception the caller should see.
+     */
+    private long planRetry(OperationState state, String operationName, int attempt, int maxAttempts,
+                           Throwable failure, Predicate<Throwable> retryable) {
+        if (!retryable.test(failure)) {
+            state.nonRetryable.increment();
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            throw new RuntimeException(failure);
+        }
+        if (attempt >= maxAttempts) {
+            state.exhausted.increment();
+            throw new RetryExhaustedException(
+                "Operation " + operationName + " failed after " + attempt + " attempts", attempt, failure);
+        }
+        if (!state.budget.tryAcquireRetry()) {
+            state.budgetExhausted.increment();
+            throw new RetryExhaustedException(
+                "Retry budget exhausted for " + operationName + " after " + attempt + " attempts", attempt, failure);
+        }
+        state.retries.increment();
+        long delay = state.backoff.delayMillis(attempt);
+        logger.warn("Operation {} failed on attempt {}/{}: {}; retrying in {} ms",
+            operationName, attempt, maxAttempts, failure.getMessage(), delay);
+        return delay;
+    }
+    
+    private Throwable unwrap(Throwable error) {
+        Throwable current = error;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+               && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+    
+    private OperationState state(String operationName) {
+        return operations.computeIfAbsent(operationName, name -> new OperationState(name, config, meterRegistry));
+    }
+    
+    private static class OperationState {
+        private final RetryBudget budget;
+        private final ExponentialBackoff backoff;
+        private final Counter retries;
+        private final Counter exhausted;
+        private final Counter nonRetryable;
+        private final Counter budgetExhausted;
+        
+        private OperationState(String operationName, TransactionServiceConfig config, MeterRegistry meterRegistry) {
+            this.budget = new RetryBudget(config.getRetryBudgetRatio(), config.getRetryBudgetMinPerSecond());
+            this.backoff = new ExponentialBackoff(config.getRetryDelayMs(), config.getRetryMaxDelayMs(),
+                config.getRetryBackoffMultiplier());
+            this.retries = Counter.builder("transaction.retry.attempts")
+                .description("Re-attempts after a retryable failure")
+                .tag("operation", operationName)
+                .register(meterRegistry);
+            this.exhausted = giveUps(meterRegistry, operationName, "attempts_exhausted");
+            this.nonRetryable = giveUps(meterRegistry, operationName, "non_retryable");
+            this.budgetExhausted = Counter.builder("transaction.retry.budget.exhausted")
+                .description("Retries refused because the operation's retry budget was empty")
+                .tag("operation", operationName)
+                .register(meterRegistry);
+        }
+        
+        private static Counter giveUps(MeterRegistry meterRegistry, String operationName, String reason) {
+            return Counter.builder("transaction.retry.giveups")
+                .tag("operation", operationName)
+                .tag("reason", reason)
+                .register(meterRegistry);
+        }
+    }
 }
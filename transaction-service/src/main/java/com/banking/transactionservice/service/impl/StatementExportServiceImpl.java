@@ -0,0 +1,111 @@
+package com.banking.transactionservice.service.impl;
+
+import com.banking.transactionservice.config.TransactionServiceConfig;
+import com.banking.transactionservice.dto.TransactionDto;
+import com.banking.transactionservice.repository.TransactionRepository;
+import com.banking.transactionservice.service.StatementExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class StatementExportServiceImpl implements StatementExportService {
+
+    static final String HEADER = "created_at,transaction_id,reference_number,transaction_type,status,direction,amount,"
+        + "counterparty_account_id,description";
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionServiceConfig config;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportCsv(Long accountId, LocalDateTime startDate, LocalDateTime endDate,
+                          boolean gzip, OutputStream out) throws IOException {
+        int bufferSize = Math.max(1024, config.getStatementBufferSize());
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, bufferSize) : null;
+        Writer writer = new BufferedWriter(
+            new OutputStreamWriter(gzip ? compressed : out, StandardCharsets.UTF_8), bufferSize);
+
+        writer.write(HEADER);
+        writer.write("\r\n");
+        long rows = 0;
+        // Rows come off a database cursor and leave through the fixed-size buffers, so heap use does not grow with history
+        try (Stream<TransactionDto> transactions =
+                 transactionRepository.streamDtosByAccountAndDateRange(accountId, startDate, endDate)) {
+            Iterator<TransactionDto> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                writeRow(writer, accountId, iterator.next());
+                rows++;
+            }
+        }
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        return rows;
+    }
+
+    private void writeRow(Writer writer, Long accountId, TransactionDto transaction) throws IOException {
+        boolean debit = accountId.equals(transaction.getFromAccountId());
+        Long counterparty = debit ? transaction.getToAccountId() : transaction.getFromAccountId();
+
+        writeField(writer, transaction.getCreatedAt());
+        writer.write(',');
+        writeField(writer, transaction.getTransactionId());
+        writer.write(',');
+        writeField(writer, transaction.getReferenceNumber());
+        writer.write(',');
+        writeField(writer, transaction.getTransactionType());
+        writer.write(',');
+        writeField(writer, transaction.getStatus());
+        writer.write(',');
+        writer.write(debit ? "DEBIT" : "CREDIT");
+        writer.write(',');
+        writeField(writer, transaction.getAmount() == null ? null : transaction.getAmount().toPlainString());
+        writer.write(',');
+        writeField(writer, counterparty);
+        writer.write(',');
+        writeField(writer, transaction.getDescription());
+        writer.write("\r\n");
+    }
+
+    // RFC 4180 quoting: only fields containing a separator, quote or line break are wrapped
+    static void writeField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
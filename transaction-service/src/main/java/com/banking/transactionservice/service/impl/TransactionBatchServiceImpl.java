@@ -0,0 +1,342 @@
+package com.banking.transactionservice.service.impl;
+
+import com.banking.common.outbox.Outbox;
+import com.banking.transactionservice.config.TransactionServiceConfig;
+import com.banking.transactionservice.dto.TransactionBatchItemResult;
+import com.banking.transactionservice.dto.TransactionBatchItemStatus;
+import com.banking.transactionservice.dto.TransactionBatchSummaryDto;
+import com.banking.transactionservice.dto.TransactionDto;
+import com.banking.transactionservice.entity.Transaction;
+import com.banking.transactionservice.event.TransactionEvents;
+import com.banking.transactionservice.exception.TransactionBatchAbortedException;
+import com.banking.transactionservice.exception.TransactionValidationException;
+import com.banking.transactionservice.id.IdGenerator;
+import com.banking.transactionservice.mapper.TransactionMapper;
+import com.banking.transactionservice.repository.TransactionRepository;
+import com.banking.transactionservice.service.AuditService;
+import com.banking.transactionservice.service.TransactionBatchService;
+import com.banking.transactionservice.service.TransactionStatisticsService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@Service
+public class TransactionBatchServiceImpl implements TransactionBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionBatchServiceImpl.class);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionStatisticsService statisticsService;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private TransactionServiceConfig config;
+
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Autowired
+    private TransactionMapper transactionMapper;
+
+    @Autowired
+    private Outbox outbox;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public TransactionBatchSummaryDto ingest(InputStream body, boolean ndjson,
+                                             Consumer<TransactionBatchItemResult> results) throws IOException {
+        int batchSize = Math.max(1, config.getBatchInsertSize());
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        // Every chunk commits on its own so a late failure never undoes rows already reported as created
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        TransactionBatchSummaryDto summary = new TransactionBatchSummaryDto();
+        Set<String> seenTransactionIds = new HashSet<>();
+        List<PendingItem> chunk = new ArrayList<>(batchSize);
+        ItemSource source = ndjson ? new NdjsonSource(body) : new JsonArraySource(objectMapper.getFactory().createParser(body));
+
+        long index = 0;
+        while (advance(source, template, chunk, batchSize, results, summary)) {
+            long itemIndex = index++;
+            TransactionDto dto;
+            try {
+                dto = source.current(objectMapper);
+            } catch (JsonProcessingException e) {
+                report(results, summary, itemIndex, null, null, TransactionBatchItemStatus.INVALID,
+                       "Malformed transaction: " + e.getOriginalMessage());
+                continue;
+            }
+
+            String violation = validate(dto);
+            if (violation != null) {
+                report(results, summary, itemIndex, dto.getTransactionId(), null, TransactionBatchItemStatus.INVALID, violation);
+                continue;
+            }
+            if (!seenTransactionIds.add(dto.getTransactionId())) {
+                report(results, summary, itemIndex, dto.getTransactionId(), null, TransactionBatchItemStatus.DUPLICATE,
+                       "Transaction ID appears earlier in this batch");
+                continue;
+            }
+
+            Transaction transaction = toEntity(dto);
+            try {
+                transaction.validateTransaction();
+            } catch (IllegalArgumentException e) {
+                report(results, summary, itemIndex, dto.getTransactionId(), null, TransactionBatchItemStatus.INVALID, e.getMessage());
+                continue;
+            }
+
+            chunk.add(new PendingItem(itemIndex, transaction));
+            if (chunk.size() >= batchSize) {
+                flushChunk(template, chunk, batchSize, results, summary);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            flushChunk(template, chunk, batchSize, results, summary);
+        }
+        return summary;
+    }
+
+    private boolean advance(ItemSource source, TransactionTemplate template, List<PendingItem> chunk, int batchSize,
+                            Consumer<TransactionBatchItemResult> results, TransactionBatchSummaryDto summary) throws IOException {
+        try {
+            return source.advance();
+        } catch (TransactionValidationException e) {
+            // The rest of the body cannot be read; items that arrived before the break are still decided
+            if (!chunk.isEmpty()) {
+                flushChunk(template, chunk, batchSize, results, summary);
+            }
+            throw new TransactionBatchAbortedException(e.getMessage(), summary, e);
+        }
+    }
+
+    private void flushChunk(TransactionTemplate template, List<PendingItem> chunk, int batchSize,
+                            Consumer<TransactionBatchItemResult> results, TransactionBatchSummaryDto summary) {
+        List<String> transactionIds = new ArrayList<>(chunk.size());
+        for (PendingItem item : chunk) {
+            transactionIds.add(item.transaction.getTransactionId());
+        }
+        Set<String> existing = new HashSet<>(transactionRepository.findExistingTransactionIds(transactionIds));
+
+        List<PendingItem> inserts = new ArrayList<>(chunk.size());
+        for (PendingItem item : chunk) {
+            if (existing.contains(item.transaction.getTransactionId())) {
+                report(results, summary, item.index, item.transaction.getTransactionId(), null,
+                       TransactionBatchItemStatus.DUPLICATE, "Transaction with ID " + item.transaction.getTransactionId() + " already exists");
+            } else {
+                inserts.add(item);
+            }
+        }
+        chunk.clear();
+        if (inserts.isEmpty()) {
+            return;
+        }
+
+        try {
+            template.execute(status -> persist(inserts, batchSize));
+            reportCreated(inserts, results, summary);
+        } catch (RuntimeException e) {
+            // A concurrent writer or a constraint we could not check up front; isolate the offending rows
+            logger.warn("Batch insert of {} transactions failed, retrying individually: {}", inserts.size(), e.getMessage());
+            for (PendingItem item : inserts) {
+                item.transaction.setId(null);
+                try {
+                    template.execute(status -> persist(Collections.singletonList(item), batchSize));
+                    reportCreated(Collections.singletonList(item), results, summary);
+                } catch (RuntimeException itemFailure) {
+                    report(results, summary, item.index, item.transaction.getTransactionId(), null,
+                           TransactionBatchItemStatus.FAILED, itemFailure.getMessage());
+                }
+            }
+        }
+    }
+
+    private Void persist(List<PendingItem> items, int batchSize) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        for (PendingItem item : items) {
+            entityManager.persist(item.transaction);
+        }
+        entityManager.flush();
+        Map<String, TransactionDto> events = new LinkedHashMap<>();
+        for (PendingItem item : items) {
+            TransactionDto created = transactionMapper.toDto(item.transaction);
+            statisticsService.recordTransactionCreated(created);
+            auditService.logTransactionCreated(created);
+            events.put(created.getTransactionId(), created);
+        }
+        outbox.appendAll(TransactionEvents.AGGREGATE_TYPE, TransactionEvents.CREATED, events);
+        entityManager.clear();
+        return null;
+    }
+
+    private void reportCreated(List<PendingItem> items, Consumer<TransactionBatchItemResult> results,
+                               TransactionBatchSummaryDto summary) {
+        for (PendingItem item : items) {
+            report(results, summary, item.index, item.transaction.getTransactionId(), item.transaction.getId(),
+                   TransactionBatchItemStatus.CREATED, null);
+        }
+    }
+
+    private void report(Consumer<TransactionBatchItemResult> results, TransactionBatchSummaryDto summary, long index,
+                        String transactionId, Long id, TransactionBatchItemStatus status, String message) {
+        summary.record(status);
+        results.accept(new TransactionBatchItemResult(index, transactionId, id, status, message));
+    }
+
+    private String validate(TransactionDto dto) {
+        Set<ConstraintViolation<TransactionDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.iterator().next().getMessage();
+    }
+
+    private Transaction toEntity(TransactionDto dto) {
+        Transaction transaction = new Transaction(
+            dto.getTransactionId(),
+            dto.getFromAccountId(),
+            dto.getToAccountId(),
+            dto.getAmount(),
+            dto.getTransactionType(),
+            dto.getDescription()
+        );
+        transaction.setReferenceNumber(dto.getReferenceNumber() == null || dto.getReferenceNumber().isEmpty()
+            ? idGenerator.nextReferenceNumber()
+            : dto.getReferenceNumber());
+        return transaction;
+    }
+
+    private static class PendingItem {
+        private final long index;
+        private final Transaction transaction;
+
+        private PendingItem(long index, Transaction transaction) {
+            this.index = index;
+            this.transaction = transaction;
+        }
+    }
+
+    /**
+     * Pulls one item at a time from the request body so only the current chunk is ever held in memory.
+     */
+    private interface ItemSource {
+        boolean advance() throws IOException;
+
+        TransactionDto current(ObjectMapper objectMapper) throws JsonProcessingException;
+    }
+
+    private static class NdjsonSource implements ItemSource {
+        private final BufferedReader reader;
+        private String line;
+
+        private NdjsonSource(InputStream body) {
+            this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public boolean advance() throws IOException {
+            do {
+                line = reader.readLine();
+            } while (line != null && line.trim().isEmpty());
+            return line != null;
+        }
+
+        @Override
+        public TransactionDto current(ObjectMapper objectMapper) throws JsonProcessingException {
+            return objectMapper.readValue(line, TransactionDto.class);
+        }
+    }
+
+    private static class JsonArraySource implements ItemSource {
+        private final JsonParser parser;
+        private JsonNode node;
+
+        private JsonArraySource(JsonParser parser) throws IOException {
+            this.parser = parser;
+            if (nextToken() != JsonToken.START_ARRAY) {
+                throw new TransactionValidationException("Batch body must be a JSON array or NDJSON");
+            }
+        }
+
+        @Override
+        public boolean advance() throws IOException {
+            JsonToken token = nextToken();
+            if (token == JsonToken.END_ARRAY) {
+                node = null;
+                return false;
+            }
+            if (token == null) {
+                throw new TransactionValidationException("Batch body ended before the closing bracket");
+            }
+            // Reading a subtree keeps the parser in sync even when the item fails to bind
+            try {
+                node = parser.readValueAsTree();
+            } catch (JsonProcessingException e) {
+                throw malformed(e);
+            }
+            return true;
+        }
+
+        private JsonToken nextToken() throws IOException {
+            try {
+                return parser.nextToken();
+            } catch (JsonProcessingException e) {
+                throw malformed(e);
+            }
+        }
+
+        // Broken syntax leaves the parser with no place to resume, so the rest of the body is unreadable
+        private static TransactionValidationException malformed(JsonProcessingException e) {
+            return new TransactionValidationException("Malformed batch body: " + e.getOriginalMessage(), e);
+        }
+
+        @Override
+        public TransactionDto current(ObjectMapper objectMapper) throws JsonProcessingException {
+            return objectMapper.treeToValue(node, TransactionDto.class);
+        }
+    }
+}
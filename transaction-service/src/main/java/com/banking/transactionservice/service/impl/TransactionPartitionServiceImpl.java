@@ -0,0 +1,221 @@
+package com.banking.transactionservice.service.impl;
+
+import com.banking.transactionservice.config.TransactionServiceConfig;
+import com.banking.transactionservice.partition.MonthlyPartitions;
+import com.banking.transactionservice.service.TransactionPartitionService;
+import com.banking.transactionservice.service.TransactionStatisticsService;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the monthly partitions of the transactions table ahead of the clock and moves cold months
+ * out of the database. Everything here is a no-op unless the table is a PostgreSQL partitioned table.
+ */
+@Service
+public class TransactionPartitionServiceImpl implements TransactionPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionPartitionServiceImpl.class);
+
+    private static final String ATTACHED_PARTITIONS =
+        "SELECT c.relname FROM pg_inherits i " +
+        "JOIN pg_class c ON c.oid = i.inhrelid " +
+        "JOIN pg_class p ON p.oid = i.inhparent " +
+        "WHERE p.relname = ? AND pg_table_is_visible(p.oid)";
+
+    // Partitions detached by an archival run that failed before the table was dropped
+    private static final String DETACHED_PARTITIONS =
+        "SELECT c.relname FROM pg_class c " +
+        "WHERE c.relkind = 'r' AND NOT c.relispartition AND c.relname LIKE ? AND pg_table_is_visible(c.oid)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionServiceConfig config;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionStatisticsService statisticsService;
+
+    private volatile Boolean partitioned;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${transaction.service.partition-maintenance-cron:0 15 1 * * *}")
+    public void maintain() {
+        if (!isPartitioned()) {
+            return;
+        }
+        try {
+            ensureFuturePartitions();
+        } catch (RuntimeException e) {
+            logger.error("Failed to create upcoming transaction partitions: {}", e.getMessage(), e);
+        }
+        if (config.isArchiveEnabled()) {
+            try {
+                archiveColdPartitions();
+            } catch (RuntimeException e) {
+                logger.error("Transaction partition archival failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isPartitioned() {
+        Boolean result = partitioned;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+            if (result) {
+                result = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+                    "WHERE c.relname = ? AND pg_table_is_visible(c.oid))", Boolean.class, MonthlyPartitions.PARENT_TABLE);
+            }
+            partitioned = result;
+        }
+        return result;
+    }
+
+    @Override
+    public List<String> ensureFuturePartitions() {
+        if (!isPartitioned()) {
+            return Collections.emptyList();
+        }
+        Set<String> existing = new HashSet<>(
+            jdbcTemplate.queryForList(ATTACHED_PARTITIONS, String.class, MonthlyPartitions.PARENT_TABLE));
+        YearMonth current = YearMonth.now();
+        List<String> created = new ArrayList<>();
+        for (int offset = 0; offset <= config.getPartitionMonthsAhead(); offset++) {
+            YearMonth month = current.plusMonths(offset);
+            String name = MonthlyPartitions.partitionName(month);
+            if (existing.contains(name)) {
+                continue;
+            }
+            // Fails if the default partition already holds rows for this month; they have to be moved by hand
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + MonthlyPartitions.PARENT_TABLE +
+                " FOR VALUES FROM ('" + MonthlyPartitions.rangeStart(month) + "') TO ('" + MonthlyPartitions.rangeEnd(month) + "')");
+            logger.info("Created transaction partition {}", name);
+            created.add(name);
+        }
+        return created;
+    }
+
+    @Override
+    public List<String> archiveColdPartitions() {
+        if (!isPartitioned()) {
+            return Collections.emptyList();
+        }
+        YearMonth current = YearMonth.now();
+        TreeMap<String, Boolean> candidates = new TreeMap<>();
+        for (String name : jdbcTemplate.queryForList(ATTACHED_PARTITIONS, String.class, MonthlyPartitions.PARENT_TABLE)) {
+            if (isCold(name, current)) {
+                candidates.put(name, Boolean.TRUE);
+            }
+        }
+        for (String name : jdbcTemplate.queryForList(DETACHED_PARTITIONS, String.class, MonthlyPartitions.PARENT_TABLE + "\\_y%")) {
+            if (isCold(name, current)) {
+                candidates.put(name, Boolean.FALSE);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Path directory = Paths.get(config.getArchiveDirectory());
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create archive directory " + directory, e);
+        }
+        List<String> archived = new ArrayList<>();
+        for (String name : candidates.keySet()) {
+            archivePartition(name, candidates.get(name), directory);
+            archived.add(name);
+        }
+        return archived;
+    }
+
+    private boolean isCold(String name, YearMonth current) {
+        YearMonth month = MonthlyPartitions.monthOf(name);
+        return month != null && MonthlyPartitions.isCold(month, current, config.getArchiveAfterMonths());
+    }
+
+    private void archivePartition(String name, boolean attached, Path directory) {
+        YearMonth month = MonthlyPartitions.monthOf(name);
+        if (attached) {
+            // Detaching first keeps the parent's lock short; the export then reads a table nobody writes to
+            jdbcTemplate.execute("ALTER TABLE " + MonthlyPartitions.PARENT_TABLE + " DETACH PARTITION " + name);
+        }
+        // Once detached, the month's rows are gone from every query and rebuild, so they leave the statistics too
+        statisticsService.recordRangeArchived(MonthlyPartitions.rangeStart(month).atStartOfDay(),
+            MonthlyPartitions.rangeEnd(month).atStartOfDay());
+
+        Path target = directory.resolve(name + ".csv.gz");
+        Path temp = directory.resolve(name + ".csv.gz.tmp");
+        long exported = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)), 65536)) {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyOut("COPY " + name + " TO STDOUT WITH (FORMAT csv, HEADER)", out);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to export " + name, e);
+            }
+        });
+        long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + name, Long.class);
+        if (exported != rows) {
+            throw new IllegalStateException("Exported " + exported + " rows from " + name + " but it holds " + rows);
+        }
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to finalize archive file " + target, e);
+        }
+
+        new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.update("INSERT INTO transaction_partition_archive " +
+                "(partition_name, range_start, range_end, row_count, file_path) VALUES (?, ?, ?, ?, ?)",
+                name, Date.valueOf(MonthlyPartitions.rangeStart(month)), Date.valueOf(MonthlyPartitions.rangeEnd(month)),
+                rows, target.toAbsolutePath().toString());
+            jdbcTemplate.execute("DROP TABLE " + name);
+            return null;
+        });
+        logger.info("Archived transaction partition {} ({} rows) to {}", name, rows, target);
+    }
+}
@@ -0,0 +1,69 @@
+package com.banking.transactionservice.service.impl;
+
+import com.banking.transactionservice.client.AccountServiceClient;
+import com.banking.transactionservice.dto.TransactionDto;
+import com.banking.transactionservice.entity.TransactionStatus;
+import com.banking.transactionservice.exception.TransactionValidationException;
+import com.banking.transactionservice.service.RetryService;
+import com.banking.transactionservice.service.TransactionPostingService;
+import com.banking.transactionservice.service.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+// Deliberately not @Transactional: no database transaction is held open across the call to account-service
+@Service
+public class TransactionPostingServiceImpl implements TransactionPostingService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TransactionPostingServiceImpl.class);
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private AccountServiceClient accountServiceClient;
+    
+    @Autowired
+    private RetryService retryService;
+    
+    @Override
+    public TransactionDto postTransaction(Long id) {
+        TransactionDto transaction = transactionService.getTransactionById(id);
+        if (transaction.getStatus() == TransactionStatus.COMPLETED) {
+            return transaction;
+        }
+        if (transaction.getStatus() != TransactionStatus.PENDING && transaction.getStatus() != TransactionStatus.PROCESSING) {
+            throw new TransactionValidationException("Transaction " + transaction.getTransactionId()
+                + " cannot be posted in status " + transaction.getStatus());
+        }
+        String postingType = postingTypeOf(transaction);
+        
+        if (transaction.getStatus() == TransactionStatus.PENDING) {
+            transactionService.updateTransactionStatus(id, TransactionStatus.PROCESSING);
+        }
+        try {
+            retryService.executeWithRetry(() -> accountServiceClient.post(transaction, postingType), "account-posting");
+        } catch (TransactionValidationException e) {
+            transactionService.updateTransactionStatus(id, TransactionStatus.FAILED);
+            throw e;
+        } catch (RuntimeException e) {
+            logger.warn("Posting of transaction {} has an unknown outcome and stays PROCESSING: {}",
+                transaction.getTransactionId(), e.getMessage());
+            throw e;
+        }
+        return transactionService.updateTransactionStatus(id, TransactionStatus.COMPLETED);
+    }
+    
+    private String postingTypeOf(TransactionDto transaction) {
+        switch (transaction.getTransactionType()) {
+            case DEPOSIT:
+            case WITHDRAWAL:
+            case TRANSFER:
+                return transaction.getTransactionType().name();
+            default:
+                throw new TransactionValidationException("Transactions of type " + transaction.getTransactionType()
+                    + " are not posted to account balances");
+        }
+    }
+}
@@ -1,21 +1,31 @@
 package com.banking.transactionservice.service.impl;
 
+import com.banking.common.outbox.Outbox;
+import com.banking.transactionservice.config.TransactionServiceConfig;
+import com.banking.transactionservice.dto.TransactionCursor;
 import com.banking.transactionservice.dto.TransactionDto;
+import com.banking.transactionservice.dto.TransactionPageDto;
 import com.banking.transactionservice.entity.Transaction;
 import com.banking.transactionservice.entity.TransactionStatus;
 import com.banking.transactionservice.entity.TransactionType;
+import com.banking.transactionservice.event.TransactionEvents;
+import com.banking.transactionservice.id.IdGenerator;
+import com.banking.transactionservice.mapper.TransactionMapper;
 import com.banking.transactionservice.repository.TransactionRepository;
+import com.banking.transactionservice.service.AuditService;
 import com.banking.transactionservice.service.TransactionService;
+import com.banking.transactionservice.service.TransactionStatisticsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Random;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -24,13 +34,26 @@ public class TransactionServiceImpl implements TransactionService {
     @Autowired
     private TransactionRepository transactionRepository;
     
+    @Autowired
+    private TransactionServiceConfig config;
+    
+    @Autowired
+    private TransactionStatisticsService statisticsService;
+    
+    @Autowired
+    private AuditService auditService;
+    
+    @Autowired
+    private IdGenerator idGenerator;
+    
+    @Autowired
+    private TransactionMapper transactionMapper;
+    
+    @Autowired
+    private Outbox outbox;
+    
     @Override
     public TransactionDto createTransaction(TransactionDto transactionDto) {
-        // Check if transaction ID already exists
-        if (existsByTransactionId(transactionDto.getTransactionId())) {
-            throw new RuntimeException("Transaction with ID " + transactionDto.getTransactionId() + " already exists");
-        }
-        
         // Generate transaction ID if not provided
         if (transactionDto.getTransactionId() == null || transactionDto.getTransactionId().isEmpty()) {
             transactionDto.setTransactionId(generateTransactionId());
@@ -52,8 +75,18 @@ public class TransactionServiceImpl implements TransactionService {
         
         transaction.setReferenceNumber(transactionDto.getReferenceNumber());
         
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        return convertToDto(savedTransaction);
+        // The unique constraint on transaction_id decides duplicates; an exists() pre-check would race
+        Transaction savedTransaction;
+        try {
+            savedTransaction = transactionRepository.saveAndFlush(transaction);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Transaction with ID " + transactionDto.getTransactionId() + " already exists", e);
+        }
+        TransactionDto created = transactionMapper.toDto(savedTransaction);
+        statisticsService.recordTransactionCreated(created);
+        auditService.logTransactionCreated(created);
+        outbox.append(TransactionEvents.AGGREGATE_TYPE, created.getTransactionId(), TransactionEvents.CREATED, created);
+        return created;
     }
     
     @Override
@@ -61,7 +94,7 @@ public class TransactionServiceImpl implements TransactionService {
     public TransactionDto getTransactionById(Long id) {
         Transaction transaction = transactionRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Transaction not found with id: " + id));
-        return convertToDto(transaction);
+        return transactionMapper.toDto(transaction);
     }
     
     @Override
@@ -69,71 +102,105 @@ public class TransactionServiceImpl implements TransactionService {
     public TransactionDto getTransactionByTransactionId(String transactionId) {
         Transaction transaction = transactionRepository.findByTransactionId(transactionId)
             .orElseThrow(() -> new RuntimeException("Transaction not found with ID: " + transactionId));
-        return convertToDto(transaction);
+        return transactionMapper.toDto(transaction);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<TransactionDto> getTransactionsByFromAccountId(Long fromAccountId) {
-        return transactionRepository.findByFromAccountId(fromAccountId).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return transactionRepository.findDtosByFromAccountId(fromAccountId);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<TransactionDto> getTransactionsByToAccountId(Long toAccountId) {
-        return transactionRepository.findByToAccountId(toAccountId).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return transactionRepository.findDtosByToAccountId(toAccountId);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<TransactionDto> getTransactionsByAccountId(Long accountId) {
-        return transactionRepository.findTransactionsByAccountId(accountId).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return transactionRepository.findDtosByAccountId(accountId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionPageDto getTransactionPageByAccountId(Long accountId, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        // Fetch one extra row so we know whether another page exists without a COUNT query
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        
+        List<TransactionDto> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = transactionRepository.findAccountHistoryFirstPage(accountId, limit);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor, accountId);
+            rows = transactionRepository.findAccountHistoryPageAfter(
+                accountId, position.getCreatedAt(), position.getId(), limit);
+        }
+        
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows.remove(pageSize);
+            TransactionDto last = rows.get(pageSize - 1);
+            nextCursor = new TransactionCursor(accountId, last.getCreatedAt(), last.getId()).encode();
+        }
+        return new TransactionPageDto(rows, pageSize, nextCursor);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<TransactionDto> getTransactionsByType(TransactionType transactionType) {
-        return transactionRepository.findByTransactionType(transactionType).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return transactionRepository.findDtosByTransactionType(transactionType);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<TransactionDto> getTransactionsByStatus(TransactionStatus status) {
-        return transactionRepository.findByStatus(status).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return transactionRepository.findDtosByStatus(status);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<TransactionDto> getTransactionsByAmountRange(BigDecimal minAmount, BigDecimal maxAmount) {
-        return transactionRepository.findByAmountBetween(minAmount, maxAmount).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return transactionRepository.findDtosByAmountBetween(minAmount, maxAmount);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<TransactionDto> getTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return transactionRepository.findByDateRange(startDate, endDate).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return transactionRepository.findDtosByDateRange(startDate, endDate);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<TransactionDto> getTransactionsByReferenceNumber(String referenceNumber) {
-        return transactionRepository.findByReferenceNumber(referenceNumber).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return transactionRepository.findDtosByReferenceNumber(referenceNumber);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long streamTransactionsByStatus(TransactionStatus status, Consumer<TransactionDto> sink) {
+        try (Stream<TransactionDto> rows = transactionRepository.streamDtosByStatus(status)) {
+            return drain(rows, sink);
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long streamTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate, Consumer<TransactionDto> sink) {
+        try (Stream<TransactionDto> rows = transactionRepository.streamDtosByDateRange(startDate, endDate)) {
+            return drain(rows, sink);
+        }
+    }
+    
+    private long drain(Stream<TransactionDto> rows, Consumer<TransactionDto> sink) {
+        long[] count = new long[1];
+        rows.forEach(row -> {
+            sink.accept(row);
+            count[0]++;
+        });
+        return count[0];
     }
     
     @Override
@@ -141,9 +208,14 @@ public class TransactionServiceImpl implements TransactionService {
         Transaction transaction = transactionRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Transaction not found with id: " + id));
         
+        TransactionStatus oldStatus = transaction.getStatus();
         transaction.setStatus(status);
         Transaction updatedTransaction = transactionRepository.save(transaction);
-        return convertToDto(updatedTransaction);
+        TransactionDto updated = transactionMapper.toDto(updatedTransaction);
+        statisticsService.recordTransactionStatusChanged(updated, oldStatus);
+        auditService.logTransactionStatusChanged(updated.getId(), oldStatus, status);
+        outbox.append(TransactionEvents.AGGREGATE_TYPE, updated.getTransactionId(), TransactionEvents.statusChanged(status), updated);
+        return updated;
     }
     
     @Override
@@ -151,17 +223,23 @@ public class TransactionServiceImpl implements TransactionService {
         Transaction transaction = transactionRepository.findByTransactionId(transactionId)
             .orElseThrow(() -> new RuntimeException("Transaction not found with ID: " + transactionId));
         
+        TransactionStatus oldStatus = transaction.getStatus();
         transaction.setStatus(status);
         Transaction updatedTransaction = transactionRepository.save(transaction);
-        return convertToDto(updatedTransaction);
+        TransactionDto updated = transactionMapper.toDto(updatedTransaction);
+        statisticsService.recordTransactionStatusChanged(updated, oldStatus);
+        auditService.logTransactionStatusChanged(updated.getId(), oldStatus, status);
+        outbox.append(TransactionEvents.AGGREGATE_TYPE, updated.getTransactionId(), TransactionEvents.statusChanged(status), updated);
+        return updated;
     }
     
     @Override
     public void deleteTransaction(Long id) {
-        if (!transactionRepository.existsById(id)) {
-            throw new RuntimeException("Transaction not found with id: " + id);
-        }
-        transactionRepository.deleteById(id);
+        Transaction transaction = transactionRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Transaction not found with id: " + id));
+        transactionRepository.delete(transaction);
+        statisticsService.recordTransactionDeleted(transactionMapper.toDto(transaction));
+        auditService.logTransactionDeleted(id);
     }
     
     @Override
@@ -184,46 +262,18 @@ public class TransactionServiceImpl implements TransactionService {
     
     @Override
     public String generateTransactionId() {
-        return "TXN" + System.currentTimeMillis() + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return idGenerator.nextTransactionId();
     }
     
     @Override
     public String generateReferenceNumber() {
-        Random random = new Random();
-        StringBuilder referenceNumber = new StringBuilder();
-        
-        // Generate 10-digit reference number
-        for (int i = 0; i < 10; i++) {
-            referenceNumber.append(random.nextInt(10));
-        }
-        
-        String generatedReference = referenceNumber.toString();
-        
-        // Ensure uniqueness
-        while (transactionRepository.findByReferenceNumber(generatedReference).size() > 0) {
-            referenceNumber = new StringBuilder();
-            for (int i = 0; i < 10; i++) {
-                referenceNumber.append(random.nextInt(10));
-            }
-            generatedReference = referenceNumber.toString();
+        return idGenerator.nextReferenceNumber();
+    }
+    
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return config.getDefaultPageSize();
         }
-        
-        return generatedReference;
-    }
-    
-    private TransactionDto convertToDto(Transaction transaction) {
-        TransactionDto dto = new TransactionDto();
-        dto.setId(transaction.getId());
-        dto.setTransactionId(transaction.getTransactionId());
-        dto.setFromAccountId(transaction.getFromAccountId());
-        dto.setToAccountId(transaction.getToAccountId());
-        dto.setAmount(transaction.getAmount());
-        dto.setTransactionType(transaction.getTransactionType());
-        dto.setStatus(transaction.getStatus());
-        dto.setDescription(transaction.getDescription());
-        dto.setReferenceNumber(transaction.getReferenceNumber());
-        dto.setCreatedAt(transaction.getCreatedAt());
-        dto.setUpdatedAt(transaction.getUpdatedAt());
-        return dto;
+        return Math.min(size, config.getMaxPageSize());
     }
 }
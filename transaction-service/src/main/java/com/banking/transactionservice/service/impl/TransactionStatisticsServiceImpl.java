@@ -0,0 +1,570 @@
+package com.banking.transactionservice.service.impl;
+
+import com.banking.transactionservice.config.TransactionServiceConfig;
+import com.banking.transactionservice.dto.TransactionDto;
+import com.banking.transactionservice.entity.TransactionStatus;
+import com.banking.transactionservice.entity.TransactionType;
+import com.banking.transactionservice.exception.TransactionValidationException;
+import com.banking.transactionservice.repository.TransactionRepository;
+import com.banking.transactionservice.service.TransactionStatisticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Statistics backed by pre-aggregated per-minute and per-hour buckets.
+ *
+ * Buckets are updated incrementally after each write commits, so range queries merge
+ * O(buckets) instead of scanning rows. Hour buckets cover the full history; minute buckets
+ * are kept for a configurable window, and any range edge finer than the available buckets
+ * is answered by a small aggregate query over that slice only. Per-account figures have
+ * unbounded cardinality and are computed by index-backed aggregate queries instead.
+ */
+@Service
+public class TransactionStatisticsServiceImpl implements TransactionStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionStatisticsServiceImpl.class);
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final TransactionStatus[] STATUSES = TransactionStatus.values();
+    private static final int AMOUNT_SCALE = 2;
+    private static final long MINUTES_PER_HOUR = 60;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionServiceConfig config;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // Writers hold it shared from just before their commit until their deltas are applied; the rebuild holds it
+    // exclusively while its snapshot is taken. Every write is then either in the snapshot and applied before
+    // capture starts, or committed after the snapshot and captured, never both.
+    private final ReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "transaction-statistics-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // [fromMinute, toMinute) ranges whose rows left the table through archival; a few per year at most
+    private final List<long[]> archivedRanges = new CopyOnWriteArrayList<>();
+    private volatile Buckets buckets = new Buckets(Long.MAX_VALUE);
+    private volatile ConcurrentLinkedQueue<Delta> rebuildCapture;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildExecutor.submit(() -> {
+            try {
+                rebuildStatistics();
+            } catch (Exception e) {
+                logger.error("Initial statistics rebuild failed, queries will fall back to the database", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    @Override
+    public Map<TransactionType, Long> getTransactionCountByType(LocalDateTime startDate, LocalDateTime endDate) {
+        return aggregate(startDate, endDate).countByType();
+    }
+
+    @Override
+    public Map<TransactionStatus, Long> getTransactionCountByStatus(LocalDateTime startDate, LocalDateTime endDate) {
+        return aggregate(startDate, endDate).countByStatus();
+    }
+
+    @Override
+    public BigDecimal getTotalTransactionAmount(LocalDateTime startDate, LocalDateTime endDate) {
+        return aggregate(startDate, endDate).totalAmount();
+    }
+
+    @Override
+    public BigDecimal getAverageTransactionAmount(LocalDateTime startDate, LocalDateTime endDate) {
+        return aggregate(startDate, endDate).averageAmount();
+    }
+
+    @Override
+    public Map<String, BigDecimal> getTransactionAmountByAccount(Long accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        validateRange(startDate, endDate);
+        BigDecimal outgoing = sumOf(transactionRepository.aggregateOutgoingByAccount(accountId, startDate, endDate));
+        BigDecimal incoming = sumOf(transactionRepository.aggregateIncomingByAccount(accountId, startDate, endDate));
+
+        Map<String, BigDecimal> amounts = new LinkedHashMap<>();
+        amounts.put("outgoing", outgoing);
+        amounts.put("incoming", incoming);
+        amounts.put("net", incoming.subtract(outgoing));
+        return amounts;
+    }
+
+    @Override
+    public Map<String, Long> getTransactionCountByAccount(Long accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        validateRange(startDate, endDate);
+        long outgoing = countOf(transactionRepository.aggregateOutgoingByAccount(accountId, startDate, endDate));
+        long incoming = countOf(transactionRepository.aggregateIncomingByAccount(accountId, startDate, endDate));
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("outgoing", outgoing);
+        counts.put("incoming", incoming);
+        counts.put("total", outgoing + incoming);
+        return counts;
+    }
+
+    @Override
+    public Map<String, Object> getTransactionSummary(LocalDateTime startDate, LocalDateTime endDate) {
+        Aggregate aggregate = aggregate(startDate, endDate);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("startDate", startDate);
+        summary.put("endDate", endDate);
+        summary.put("totalCount", aggregate.count);
+        summary.put("totalAmount", aggregate.totalAmount());
+        summary.put("averageAmount", aggregate.averageAmount());
+        summary.put("countByType", aggregate.countByType());
+        summary.put("countByStatus", aggregate.countByStatus());
+        return summary;
+    }
+
+    @Override
+    public void recordTransactionCreated(TransactionDto transaction) {
+        if (transaction.getCreatedAt() == null) {
+            return;
+        }
+        long minute = epochMinute(transaction.getCreatedAt());
+        long amount = toMinorUnits(transaction.getAmount());
+        afterCommit(new Delta(minute, transaction.getTransactionType(), transaction.getStatus(), 1, amount));
+    }
+
+    @Override
+    public void recordTransactionStatusChanged(TransactionDto transaction, TransactionStatus oldStatus) {
+        if (transaction.getCreatedAt() == null || oldStatus == transaction.getStatus()) {
+            return;
+        }
+        long minute = epochMinute(transaction.getCreatedAt());
+        afterCommit(new Delta(minute, null, oldStatus, -1, 0),
+                    new Delta(minute, null, transaction.getStatus(), 1, 0));
+    }
+
+    @Override
+    public void recordTransactionDeleted(TransactionDto transaction) {
+        if (transaction.getCreatedAt() == null) {
+            return;
+        }
+        long minute = epochMinute(transaction.getCreatedAt());
+        long amount = toMinorUnits(transaction.getAmount());
+        afterCommit(new Delta(minute, transaction.getTransactionType(), transaction.getStatus(), -1, -amount));
+    }
+
+    /**
+     * Drops the buckets of a range whose rows were moved out of the table, so live figures match what a
+     * rebuild would find. Bounds must fall on whole hours, as partition bounds do.
+     */
+    @Override
+    public void recordRangeArchived(LocalDateTime from, LocalDateTime to) {
+        long[] range = {epochMinute(from), epochMinute(to)};
+        if (range[0] % MINUTES_PER_HOUR != 0 || range[1] % MINUTES_PER_HOUR != 0) {
+            throw new TransactionValidationException("Archived ranges must start and end on whole hours");
+        }
+        archivedRanges.add(range);
+        swapLock.readLock().lock();
+        try {
+            buckets.clear(range[0], range[1]);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds every bucket from the transactions table. The scan runs in a single repeatable-read
+     * snapshot while deltas committed after that snapshot are captured and replayed on top of it.
+     */
+    @Override
+    public void rebuildStatistics() {
+        long started = System.currentTimeMillis();
+        ConcurrentLinkedQueue<Delta> capture = new ConcurrentLinkedQueue<>();
+
+        Buckets rebuilt = new Buckets(currentMinute() - retentionMinutes());
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        long rows;
+        try {
+            rows = template.execute(status -> {
+                List<Object[]> firstBatch;
+                snapshotLock.writeLock().lock();
+                try {
+                    rebuildCapture = capture;
+                    // Repeatable read takes its snapshot at the first query, so that query runs with no commit in flight
+                    firstBatch = nextBatch(0);
+                } finally {
+                    snapshotLock.writeLock().unlock();
+                }
+                return scanInto(rebuilt, firstBatch);
+            });
+        } catch (RuntimeException e) {
+            rebuildCapture = null;
+            throw e;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            rebuildCapture = null;
+            for (Delta delta : capture) {
+                rebuilt.apply(delta);
+            }
+            // The snapshot may predate a partition detached during the scan
+            for (long[] range : archivedRanges) {
+                rebuilt.clear(range[0], range[1]);
+            }
+            buckets = rebuilt;
+            ready = true;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        logger.info("Transaction statistics rebuilt from {} rows in {}ms", rows, System.currentTimeMillis() - started);
+    }
+
+    private long scanInto(Buckets target, List<Object[]> firstBatch) {
+        int batchSize = config.getStatisticsRebuildBatchSize();
+        long rows = 0;
+        List<Object[]> batch = firstBatch;
+        while (true) {
+            long afterId = 0;
+            for (Object[] row : batch) {
+                afterId = (Long) row[0];
+                LocalDateTime createdAt = (LocalDateTime) row[1];
+                if (createdAt != null) {
+                    target.apply(new Delta(epochMinute(createdAt), (TransactionType) row[2],
+                                           (TransactionStatus) row[3], 1, toMinorUnits((BigDecimal) row[4])));
+                }
+            }
+            rows += batch.size();
+            if (batch.size() < batchSize) {
+                return rows;
+            }
+            batch = nextBatch(afterId);
+        }
+    }
+
+    private List<Object[]> nextBatch(long afterId) {
+        return transactionRepository.findStatisticsRowsAfter(afterId, PageRequest.of(0, config.getStatisticsRebuildBatchSize()));
+    }
+
+    private void afterCommit(Delta... deltas) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean locked;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    snapshotLock.readLock().lock();
+                    locked = true;
+                }
+
+                @Override
+                public void afterCommit() {
+                    apply(deltas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (locked) {
+                        locked = false;
+                        snapshotLock.readLock().unlock();
+                    }
+                }
+            });
+        } else {
+            apply(deltas);
+        }
+    }
+
+    private void apply(Delta... deltas) {
+        swapLock.readLock().lock();
+        try {
+            Buckets current = buckets;
+            current.evictMinutesBefore(currentMinute() - retentionMinutes());
+            ConcurrentLinkedQueue<Delta> capture = rebuildCapture;
+            for (Delta delta : deltas) {
+                current.apply(delta);
+                if (capture != null) {
+                    capture.add(delta);
+                }
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private Aggregate aggregate(LocalDateTime startDate, LocalDateTime endDate) {
+        validateRange(startDate, endDate);
+        // The public API treats endDate as inclusive; internally every slice is half-open
+        LocalDateTime endExclusive = endDate.plusNanos(1);
+        Aggregate result = new Aggregate();
+
+        if (!ready) {
+            addFromDatabase(result, startDate, endExclusive);
+            return result;
+        }
+
+        long firstMinute = ceilMinute(startDate);
+        long endMinute = epochMinute(endExclusive);
+        if (firstMinute >= endMinute) {
+            addFromDatabase(result, startDate, endExclusive);
+            return result;
+        }
+        addFromDatabase(result, startDate, minuteStart(firstMinute));
+        addFromDatabase(result, minuteStart(endMinute), endExclusive);
+
+        Buckets current = buckets;
+        long minute = firstMinute;
+        while (minute < endMinute) {
+            if (minute % MINUTES_PER_HOUR == 0 && minute + MINUTES_PER_HOUR <= endMinute) {
+                result.add(current.hours.get(minute / MINUTES_PER_HOUR));
+                minute += MINUTES_PER_HOUR;
+            } else if (minute >= current.minuteFloor) {
+                result.add(current.minutes.get(minute));
+                minute++;
+            } else {
+                // Minute detail has been evicted, so read the rest of this partial hour from the table
+                long sliceEnd = Math.min(endMinute, (minute / MINUTES_PER_HOUR + 1) * MINUTES_PER_HOUR);
+                addFromDatabase(result, minuteStart(minute), minuteStart(sliceEnd));
+                minute = sliceEnd;
+            }
+        }
+        return result;
+    }
+
+    private void addFromDatabase(Aggregate result, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        for (Object[] row : transactionRepository.aggregateByTypeAndStatus(from, to)) {
+            TransactionType type = (TransactionType) row[0];
+            TransactionStatus status = (TransactionStatus) row[1];
+            long count = ((Number) row[2]).longValue();
+            long amount = toMinorUnits((BigDecimal) row[3]);
+            result.add(type, status, count, amount);
+        }
+    }
+
+    private void validateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new TransactionValidationException("A valid startDate and endDate are required");
+        }
+    }
+
+    private long retentionMinutes() {
+        return config.getStatisticsMinuteRetentionHours() * MINUTES_PER_HOUR;
+    }
+
+    private static long currentMinute() {
+        return epochMinute(LocalDateTime.now());
+    }
+
+    private static long epochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static long ceilMinute(LocalDateTime dateTime) {
+        long minute = epochMinute(dateTime);
+        return minuteStart(minute).equals(dateTime) ? minute : minute + 1;
+    }
+
+    private static LocalDateTime minuteStart(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal fromMinorUnits(long amount) {
+        return BigDecimal.valueOf(amount, AMOUNT_SCALE);
+    }
+
+    private static long countOf(List<Object[]> rows) {
+        return rows.isEmpty() || rows.get(0)[0] == null ? 0 : ((Number) rows.get(0)[0]).longValue();
+    }
+
+    private static BigDecimal sumOf(List<Object[]> rows) {
+        if (rows.isEmpty() || rows.get(0)[1] == null) {
+            return fromMinorUnits(0);
+        }
+        return ((BigDecimal) rows.get(0)[1]).setScale(AMOUNT_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * A signed change to one bucket. A null type leaves type counts and totals untouched,
+     * which is how status transitions are expressed.
+     */
+    private static final class Delta {
+        final long minute;
+        final TransactionType type;
+        final TransactionStatus status;
+        final long count;
+        final long amount;
+
+        Delta(long minute, TransactionType type, TransactionStatus status, long count, long amount) {
+            this.minute = minute;
+            this.type = type;
+            this.status = status;
+            this.count = count;
+            this.amount = amount;
+        }
+    }
+
+    private static final class Buckets {
+        final ConcurrentSkipListMap<Long, Bucket> minutes = new ConcurrentSkipListMap<>();
+        final ConcurrentSkipListMap<Long, Bucket> hours = new ConcurrentSkipListMap<>();
+        volatile long minuteFloor;
+
+        Buckets(long minuteFloor) {
+            this.minuteFloor = minuteFloor;
+        }
+
+        void apply(Delta delta) {
+            hours.computeIfAbsent(delta.minute / MINUTES_PER_HOUR, key -> new Bucket()).apply(delta);
+            if (delta.minute >= minuteFloor) {
+                minutes.computeIfAbsent(delta.minute, key -> new Bucket()).apply(delta);
+            }
+        }
+
+        void clear(long fromMinute, long toMinute) {
+            hours.subMap(fromMinute / MINUTES_PER_HOUR, toMinute / MINUTES_PER_HOUR).clear();
+            minutes.subMap(fromMinute, toMinute).clear();
+        }
+
+        void evictMinutesBefore(long floor) {
+            if (floor > minuteFloor) {
+                // Raise the floor first so readers fall back to the table instead of reading half-evicted minutes
+                minuteFloor = floor;
+                minutes.headMap(floor).clear();
+            }
+        }
+    }
+
+    private static final class Bucket {
+        final LongAdder[] countByType = adders(TYPES.length);
+        final LongAdder[] countByStatus = adders(STATUSES.length);
+        final LongAdder count = new LongAdder();
+        final LongAdder amount = new LongAdder();
+
+        void apply(Delta delta) {
+            if (delta.type != null) {
+                countByType[delta.type.ordinal()].add(delta.count);
+                count.add(delta.count);
+                amount.add(delta.amount);
+            }
+            if (delta.status != null) {
+                countByStatus[delta.status.ordinal()].add(delta.count);
+            }
+        }
+
+        private static LongAdder[] adders(int size) {
+            LongAdder[] adders = new LongAdder[size];
+            for (int i = 0; i < size; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+    }
+
+    private static final class Aggregate {
+        final long[] countByType = new long[TYPES.length];
+        final long[] countByStatus = new long[STATUSES.length];
+        long count;
+        long amount;
+
+        void add(Bucket bucket) {
+            if (bucket == null) {
+                return;
+            }
+            for (int i = 0; i < countByType.length; i++) {
+                countByType[i] += bucket.countByType[i].sum();
+            }
+            for (int i = 0; i < countByStatus.length; i++) {
+                countByStatus[i] += bucket.countByStatus[i].sum();
+            }
+            count += bucket.count.sum();
+            amount += bucket.amount.sum();
+        }
+
+        void add(TransactionType type, TransactionStatus status, long rows, long rowAmount) {
+            if (type != null) {
+                countByType[type.ordinal()] += rows;
+            }
+            if (status != null) {
+                countByStatus[status.ordinal()] += rows;
+            }
+            count += rows;
+            amount += rowAmount;
+        }
+
+        Map<TransactionType, Long> countByType() {
+            Map<TransactionType, Long> counts = new EnumMap<>(TransactionType.class);
+            for (TransactionType type : TYPES) {
+                counts.put(type, countByType[type.ordinal()]);
+            }
+            return counts;
+        }
+
+        Map<TransactionStatus, Long> countByStatus() {
+            Map<TransactionStatus, Long> counts = new EnumMap<>(TransactionStatus.class);
+            for (TransactionStatus status : STATUSES) {
+                counts.put(status, countByStatus[status.ordinal()]);
+            }
+            return counts;
+        }
+
+        BigDecimal totalAmount() {
+            return fromMinorUnits(amount);
+        }
+
+        BigDecimal averageAmount() {
+            if (count == 0) {
+                return fromMinorUnits(0);
+            }
+            return fromMinorUnits(amount).divide(BigDecimal.valueOf(count), AMOUNT_SCALE, RoundingMode.HALF_UP);
+        }
+    }
+}
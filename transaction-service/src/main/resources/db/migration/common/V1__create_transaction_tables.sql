@@ -0,0 +1,35 @@
+-- Baseline schema for transaction-service. IF NOT EXISTS lets this run against databases
+-- that were previously created by Hibernate's ddl-auto.
+
+CREATE SEQUENCE IF NOT EXISTS transactions_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id                 BIGINT         NOT NULL,
+    transaction_id     VARCHAR(255)   NOT NULL,
+    from_account_id    BIGINT,
+    to_account_id      BIGINT,
+    amount             NUMERIC(19, 2) NOT NULL,
+    transaction_type   VARCHAR(255)   NOT NULL,
+    transaction_status VARCHAR(255),
+    description        VARCHAR(255),
+    reference_number   VARCHAR(255),
+    created_at         TIMESTAMP,
+    updated_at         TIMESTAMP,
+    CONSTRAINT pk_transactions PRIMARY KEY (id),
+    CONSTRAINT uk_transactions_transaction_id UNIQUE (transaction_id)
+);
+
+CREATE SEQUENCE IF NOT EXISTS transaction_audit_log_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS transaction_audit_log (
+    id                    BIGINT       NOT NULL,
+    event_type            VARCHAR(255) NOT NULL,
+    transaction_id        BIGINT,
+    transaction_reference VARCHAR(255),
+    old_status            VARCHAR(255),
+    new_status            VARCHAR(255),
+    amount                NUMERIC(19, 2),
+    detail                VARCHAR(1000),
+    occurred_at           TIMESTAMP    NOT NULL,
+    CONSTRAINT pk_transaction_audit_log PRIMARY KEY (id)
+);
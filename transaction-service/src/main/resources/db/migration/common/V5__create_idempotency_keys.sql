@@ -0,0 +1,15 @@
+-- Responses recorded per Idempotency-Key for POST /api/transactions. Rows are claimed in the same
+-- transaction as the write they guard and purged once expires_at has passed.
+
+CREATE TABLE IF NOT EXISTS transaction_idempotency_keys (
+    scope           VARCHAR(64)  NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash    VARCHAR(64)  NOT NULL,
+    response_status INTEGER,
+    response_body   TEXT,
+    created_at      TIMESTAMP    NOT NULL,
+    expires_at      TIMESTAMP    NOT NULL,
+    CONSTRAINT pk_transaction_idempotency_keys PRIMARY KEY (scope, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_idempotency_keys_expires_at ON transaction_idempotency_keys (expires_at);
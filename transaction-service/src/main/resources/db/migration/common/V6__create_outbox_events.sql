@@ -0,0 +1,18 @@
+-- Domain events written in the same transaction as the transaction change they describe. The relay
+-- delivers pending rows in id order, stamps published_at, and purges them after the retention period.
+
+CREATE TABLE IF NOT EXISTS transaction_outbox_events (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_type  VARCHAR(64)   NOT NULL,
+    aggregate_id    VARCHAR(255)  NOT NULL,
+    event_type      VARCHAR(128)  NOT NULL,
+    payload         TEXT          NOT NULL,
+    created_at      TIMESTAMP     NOT NULL,
+    published_at    TIMESTAMP,
+    attempts        INTEGER       NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP,
+    last_error      VARCHAR(1000),
+    dead            BOOLEAN       NOT NULL DEFAULT FALSE
+);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_outbox_events_pending ON transaction_outbox_events (published_at, dead, id);
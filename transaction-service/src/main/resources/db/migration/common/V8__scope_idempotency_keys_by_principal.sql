@@ -0,0 +1,10 @@
+-- Keys are scoped to the caller (X-User-ID) and to the endpoint's method and path, so two users sending the
+-- same Idempotency-Key to POST /api/transactions get separate rows.
+-- Rows written under the old resource-name scopes no longer match any request and are purged when they expire.
+
+ALTER TABLE transaction_idempotency_keys ADD COLUMN principal VARCHAR(64) NOT NULL DEFAULT '';
+
+ALTER TABLE transaction_idempotency_keys DROP CONSTRAINT pk_transaction_idempotency_keys;
+
+ALTER TABLE transaction_idempotency_keys
+    ADD CONSTRAINT pk_transaction_idempotency_keys PRIMARY KEY (scope, principal, idempotency_key);
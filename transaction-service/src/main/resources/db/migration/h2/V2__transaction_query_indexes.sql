@@ -0,0 +1,10 @@
+-- Same access paths as the PostgreSQL migration; H2 has no CONCURRENTLY or INCLUDE.
+CREATE INDEX IF NOT EXISTS idx_transactions_from_account_created ON transactions (from_account_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_transactions_to_account_created ON transactions (to_account_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_transactions_from_account_status ON transactions (from_account_id, transaction_status);
+CREATE INDEX IF NOT EXISTS idx_transactions_to_account_status ON transactions (to_account_id, transaction_status);
+CREATE INDEX IF NOT EXISTS idx_transactions_status_created ON transactions (transaction_status, created_at);
+CREATE INDEX IF NOT EXISTS idx_transactions_type_created ON transactions (transaction_type, created_at);
+CREATE INDEX IF NOT EXISTS idx_transactions_created_at ON transactions (created_at);
+CREATE INDEX IF NOT EXISTS idx_transactions_reference_number ON transactions (reference_number);
+CREATE INDEX IF NOT EXISTS idx_audit_transaction ON transaction_audit_log (transaction_id);
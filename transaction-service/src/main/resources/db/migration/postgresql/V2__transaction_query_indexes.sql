@@ -0,0 +1,37 @@
+-- One index per repository access path. CONCURRENTLY keeps the table writable while
+-- the indexes build, so Flyway runs this script outside a transaction.
+
+-- findByFromAccountId, aggregateOutgoingByAccount, account history (BitmapOr with the to_account index)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_from_account_created
+    ON transactions (from_account_id, created_at);
+
+-- findByToAccountId, aggregateIncomingByAccount, account history
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_to_account_created
+    ON transactions (to_account_id, created_at);
+
+-- countByFromAccountIdAndStatus, findByFromAccountIdAndStatus
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_from_account_status
+    ON transactions (from_account_id, transaction_status);
+
+-- countByToAccountIdAndStatus, findByToAccountIdAndStatus
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_to_account_status
+    ON transactions (to_account_id, transaction_status);
+
+-- findByStatus
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_status_created
+    ON transactions (transaction_status, created_at);
+
+-- findByTransactionType
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_type_created
+    ON transactions (transaction_type, created_at);
+
+-- findByDateRange; INCLUDE lets aggregateByTypeAndStatus run as an index-only scan
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_created_at
+    ON transactions (created_at) INCLUDE (transaction_type, transaction_status, amount);
+
+-- findByReferenceNumber
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_reference_number
+    ON transactions (reference_number);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_audit_transaction
+    ON transaction_audit_log (transaction_id);
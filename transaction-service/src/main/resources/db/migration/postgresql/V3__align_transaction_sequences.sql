@@ -0,0 +1,4 @@
+-- Tables created by ddl-auto used IDENTITY ids; move the pooled sequences past existing rows
+-- so Hibernate's pooled optimizer never hands out an id that is already taken.
+SELECT setval('transactions_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM transactions));
+SELECT setval('transaction_audit_log_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM transaction_audit_log));
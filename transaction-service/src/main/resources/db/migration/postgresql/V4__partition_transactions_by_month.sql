@@ -0,0 +1,93 @@
+-- Rebuild transactions as a table range-partitioned by month on created_at.
+-- Date-bounded queries prune to the months they touch, and cold months can be detached
+-- and archived without a bulk DELETE or the vacuum work that would follow it.
+-- Partitions are named transactions_yYYYYmMM; the application creates upcoming months ahead of time.
+
+UPDATE transactions SET created_at = COALESCE(updated_at, now()) WHERE created_at IS NULL;
+
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+
+-- The primary key has to include the partition key; transaction_id uniqueness moves to a registry table below
+CREATE TABLE transactions (
+    id                 BIGINT         NOT NULL,
+    transaction_id     VARCHAR(255)   NOT NULL,
+    from_account_id    BIGINT,
+    to_account_id      BIGINT,
+    amount             NUMERIC(19, 2) NOT NULL,
+    transaction_type   VARCHAR(255)   NOT NULL,
+    transaction_status VARCHAR(255),
+    description        VARCHAR(255),
+    reference_number   VARCHAR(255),
+    created_at         TIMESTAMP      NOT NULL,
+    updated_at         TIMESTAMP,
+    CONSTRAINT pk_transactions_id_created PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM transactions_unpartitioned), now()))::date;
+    last_month  DATE := (date_trunc('month', now()) + INTERVAL '3 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                       'transactions_y' || to_char(month_start, 'YYYY') || 'm' || to_char(month_start, 'MM'),
+                       month_start, (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- Safety net for rows outside every monthly range; maintenance keeps it empty
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+INSERT INTO transactions (id, transaction_id, from_account_id, to_account_id, amount, transaction_type,
+                          transaction_status, description, reference_number, created_at, updated_at)
+SELECT id, transaction_id, from_account_id, to_account_id, amount, transaction_type,
+       transaction_status, description, reference_number, created_at, updated_at
+FROM transactions_unpartitioned;
+
+DROP TABLE transactions_unpartitioned;
+
+-- Indexes on the parent cascade to every current and future partition
+CREATE INDEX idx_transactions_transaction_id ON transactions (transaction_id);
+CREATE INDEX idx_transactions_from_account_created ON transactions (from_account_id, created_at);
+CREATE INDEX idx_transactions_to_account_created ON transactions (to_account_id, created_at);
+CREATE INDEX idx_transactions_from_account_status ON transactions (from_account_id, transaction_status);
+CREATE INDEX idx_transactions_to_account_status ON transactions (to_account_id, transaction_status);
+CREATE INDEX idx_transactions_status_created ON transactions (transaction_status, created_at);
+CREATE INDEX idx_transactions_type_created ON transactions (transaction_type, created_at);
+CREATE INDEX idx_transactions_created_at ON transactions (created_at) INCLUDE (transaction_type, transaction_status, amount);
+CREATE INDEX idx_transactions_reference_number ON transactions (reference_number);
+
+-- Global transaction_id uniqueness, which a partitioned unique index cannot provide without created_at
+CREATE TABLE transaction_id_registry (
+    transaction_id VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_transaction_id_registry PRIMARY KEY (transaction_id)
+);
+
+INSERT INTO transaction_id_registry (transaction_id) SELECT transaction_id FROM transactions;
+
+CREATE FUNCTION transactions_register_id() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO transaction_id_registry (transaction_id) VALUES (NEW.transaction_id);
+        RETURN NEW;
+    END IF;
+    DELETE FROM transaction_id_registry WHERE transaction_id = OLD.transaction_id;
+    RETURN OLD;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_transactions_register_id
+    AFTER INSERT OR DELETE ON transactions
+    FOR EACH ROW EXECUTE FUNCTION transactions_register_id();
+
+-- One row per partition moved out of the database by the archival job
+CREATE TABLE transaction_partition_archive (
+    partition_name VARCHAR(63)  NOT NULL,
+    range_start    DATE         NOT NULL,
+    range_end      DATE         NOT NULL,
+    row_count      BIGINT       NOT NULL,
+    file_path      VARCHAR(1024) NOT NULL,
+    archived_at    TIMESTAMP    NOT NULL DEFAULT now(),
+    CONSTRAINT pk_transaction_partition_archive PRIMARY KEY (partition_name)
+);
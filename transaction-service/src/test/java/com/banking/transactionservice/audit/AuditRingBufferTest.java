@@ -0,0 +1,86 @@
+package com.banking.transactionservice.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void testCapacity_RoundsUpToPowerOfTwo() {
+        assertEquals(8, new AuditRingBuffer<String>(5).capacity());
+        assertEquals(8, new AuditRingBuffer<String>(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer<String>(1));
+    }
+
+    @Test
+    void testOfferAndPoll_FifoUntilFull() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        assertEquals(Integer.valueOf(0), buffer.poll());
+        assertTrue(buffer.offer(4));
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, buffer.drainTo(drained, 10));
+        assertEquals(java.util.Arrays.asList(1, 2, 3, 4), drained);
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void testConcurrentProducers_NoLossOrDuplication() throws Exception {
+        AuditRingBuffer<Long> buffer = new AuditRingBuffer<>(1024);
+        int producers = 4;
+        int perProducer = 50000;
+        Set<Long> received = ConcurrentHashMap.newKeySet();
+        AtomicBoolean producing = new AtomicBoolean(true);
+        CountDownLatch done = new CountDownLatch(producers);
+        ExecutorService executor = Executors.newFixedThreadPool(producers + 1);
+        try {
+            for (int p = 0; p < producers; p++) {
+                long base = (long) p * perProducer;
+                executor.submit(() -> {
+                    for (long i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.yield();
+                        }
+                    }
+                    done.countDown();
+                });
+            }
+            executor.submit(() -> {
+                List<Long> batch = new ArrayList<>();
+                while (producing.get() || buffer.size() > 0) {
+                    buffer.drainTo(batch, 64);
+                    for (Long value : batch) {
+                        assertTrue(received.add(value));
+                    }
+                    batch.clear();
+                }
+            });
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+            producing.set(false);
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        assertEquals(producers * perProducer, received.size());
+    }
+}
@@ -0,0 +1,116 @@
+package com.banking.transactionservice.benchmark;
+
+import com.banking.transactionservice.TransactionServiceApplication;
+import com.banking.transactionservice.dto.TransactionBatchSummaryDto;
+import com.banking.transactionservice.dto.TransactionDto;
+import com.banking.transactionservice.entity.Transaction;
+import com.banking.transactionservice.entity.TransactionType;
+import com.banking.transactionservice.mapper.TransactionMapper;
+import com.banking.transactionservice.repository.TransactionRepository;
+import com.banking.transactionservice.service.TransactionBatchService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Reads one 10k row list result three ways, each inside a read-only transaction like the service methods:
+ * managed entities mapped through a stream collector (the previous convertToDto path), managed entities
+ * mapped through the presized {@link TransactionMapper}, and a JPQL constructor projection.
+ * One operation is the whole 10k row list, so gc.alloc.rate.norm is the allocation per 10k rows.
+ *
+ * Run with: mvn -pl transaction-service -am -Pbenchmark -DskipTests test -Dbenchmark="DtoMappingBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final long ACCOUNT_ID = 4242L;
+
+    private ConfigurableApplicationContext context;
+    private TransactionRepository repository;
+    private TransactionMapper mapper;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(TransactionServiceApplication.class)
+            .profiles("test")
+            .properties("spring.datasource.url=jdbc:h2:mem:dto-benchmark",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "logging.level.com.banking=WARN",
+                "logging.level.org.hibernate.SQL=WARN",
+                "logging.level.org.springframework.web=WARN")
+            .run();
+        repository = context.getBean(TransactionRepository.class);
+        mapper = context.getBean(TransactionMapper.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            body.append("{\"transactionId\":\"BENCH-").append(i)
+                .append("\",\"fromAccountId\":4241,\"toAccountId\":").append(ACCOUNT_ID)
+                .append(",\"amount\":").append(1 + i % 500).append(".25")
+                .append(",\"transactionType\":\"").append(TransactionType.DEPOSIT)
+                .append("\",\"description\":\"Benchmark row ").append(i).append("\"}\n");
+        }
+        TransactionBatchSummaryDto summary = context.getBean(TransactionBatchService.class).ingest(
+            new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)), true, result -> {});
+        if (summary.getCreated() != ROWS) {
+            throw new IllegalStateException("Seeded " + summary.getCreated() + " of " + ROWS + " rows");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TransactionDto> entitiesStreamCollect() {
+        return readOnly.execute(status -> repository.findByToAccountId(ACCOUNT_ID).stream()
+            .map(DtoMappingBenchmark::convertToDto)
+            .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<TransactionDto> entitiesPresizedMapper() {
+        return readOnly.execute(status -> mapper.toDtos(repository.findByToAccountId(ACCOUNT_ID)));
+    }
+
+    @Benchmark
+    public List<TransactionDto> constructorProjection() {
+        return readOnly.execute(status -> repository.findDtosByToAccountId(ACCOUNT_ID));
+    }
+
+    // The setter-based conversion TransactionServiceImpl used before the shared mapper
+    private static TransactionDto convertToDto(Transaction transaction) {
+        TransactionDto dto = new TransactionDto();
+        dto.setId(transaction.getId());
+        dto.setTransactionId(transaction.getTransactionId());
+        dto.setFromAccountId(transaction.getFromAccountId());
+        dto.setToAccountId(transaction.getToAccountId());
+        dto.setAmount(transaction.getAmount());
+        dto.setTransactionType(transaction.getTransactionType());
+        dto.setStatus(transaction.getStatus());
+        dto.setDescription(transaction.getDescription());
+        dto.setReferenceNumber(transaction.getReferenceNumber());
+        dto.setCreatedAt(transaction.getCreatedAt());
+        dto.setUpdatedAt(transaction.getUpdatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,82 @@
+package com.banking.transactionservice.benchmark;
+
+import com.banking.transactionservice.id.IdGenerator;
+import com.banking.transactionservice.id.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the Snowflake generator with the previous Random/UUID implementation.
+ * The legacy reference number path checks uniqueness against an in-memory set
+ * instead of the database, so its numbers are a lower bound: production also
+ * paid a query round trip per attempt.
+ *
+ * Run with: mvn -pl transaction-service -am -Pbenchmark -DskipTests test -Dbenchmark=IdGeneratorBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdGeneratorBenchmark {
+
+    private IdGenerator snowflake;
+    private Set<String> issuedReferences;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        snowflake = new SnowflakeIdGenerator(1);
+        issuedReferences = ConcurrentHashMap.newKeySet();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long snowflakeNextId() {
+        return snowflake.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long snowflakeNextIdContended() {
+        return snowflake.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String snowflakeTransactionId() {
+        return snowflake.nextTransactionId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String snowflakeReferenceNumber() {
+        return snowflake.nextReferenceNumber();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String legacyTransactionId() {
+        return "TXN" + System.currentTimeMillis() + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String legacyReferenceNumber() {
+        Random random = new Random();
+        String generated;
+        do {
+            StringBuilder referenceNumber = new StringBuilder();
+            for (int i = 0; i < 10; i++) {
+                referenceNumber.append(random.nextInt(10));
+            }
+            generated = referenceNumber.toString();
+        } while (!issuedReferences.add(generated));
+        return generated;
+    }
+}
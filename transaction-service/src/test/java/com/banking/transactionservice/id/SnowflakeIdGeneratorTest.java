@@ -0,0 +1,107 @@
+package com.banking.transactionservice.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    void testNextId_EncodesNodeAndTimestamp() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(617);
+        long before = System.currentTimeMillis();
+
+        long id = generator.nextId();
+
+        assertEquals(617, SnowflakeIdGenerator.nodeIdOf(id));
+        assertTrue(SnowflakeIdGenerator.timestampOf(id) >= before);
+        assertTrue(id > 0);
+    }
+
+    @Test
+    void testNextId_UniqueAcrossThreads() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    long previous = -1;
+                    for (int i = 0; i < 50000; i++) {
+                        long id = generator.nextId();
+                        assertTrue(id > previous);
+                        previous = id;
+                        ids.add(id);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(400000, ids.size());
+    }
+
+    @Test
+    void testNextId_MonotonicWhenClockMovesBackwards() {
+        long[] clock = {SnowflakeIdGenerator.EPOCH_MILLIS + 10000};
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0) {
+            @Override
+            protected long currentTimeMillis() {
+                return clock[0];
+            }
+        };
+
+        long first = generator.nextId();
+        clock[0] -= 5000;
+        long second = generator.nextId();
+
+        assertTrue(second > first);
+    }
+
+    @Test
+    void testNextId_SequenceOverflowBorrowsNextMillisecond() {
+        long now = SnowflakeIdGenerator.EPOCH_MILLIS + 10000;
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0) {
+            @Override
+            protected long currentTimeMillis() {
+                return now;
+            }
+        };
+
+        long previous = -1;
+        for (int i = 0; i < 5000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+
+        assertEquals(now + 1, SnowflakeIdGenerator.timestampOf(previous));
+    }
+
+    @Test
+    void testConstructor_RejectsOutOfRangeNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    void testFormats_FixedWidth() {
+        assertEquals("TXN0000000000001", IdFormats.transactionId(1L));
+        assertEquals("TXN1Y2P0IJ32E8E7", IdFormats.transactionId(Long.MAX_VALUE));
+        assertEquals("0000000000000000042", IdFormats.referenceNumber(42L));
+        assertEquals(String.valueOf(Long.MAX_VALUE), IdFormats.referenceNumber(Long.MAX_VALUE));
+    }
+}
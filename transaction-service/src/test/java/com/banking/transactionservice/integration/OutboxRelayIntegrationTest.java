@@ -0,0 +1,255 @@
+package com.banking.transactionservice.integration;
+
+import com.banking.common.outbox.Outbox;
+import com.banking.common.outbox.OutboxEvent;
+import com.banking.common.outbox.OutboxEventListener;
+import com.banking.common.outbox.OutboxRelay;
+import com.banking.transactionservice.dto.TransactionDto;
+import com.banking.transactionservice.entity.TransactionStatus;
+import com.banking.transactionservice.entity.TransactionType;
+import com.banking.transactionservice.service.TransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: the relay only sees committed events and locks them in its own transactions
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxRelayIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private Outbox outbox;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<String> createdTransactionIds = new ArrayList<>();
+    private long accountId;
+
+    @BeforeEach
+    void setUp() {
+        accountId = 9_000_000L + System.nanoTime() % 1_000_000L;
+        // Events left behind by other test classes would otherwise count against the batch size
+        jdbcTemplate.update("UPDATE transaction_outbox_events SET published_at = CURRENT_TIMESTAMP WHERE published_at IS NULL");
+        listener.received.clear();
+        listener.failing.clear();
+    }
+
+    // Committed rows would show up in the other integration tests' counts
+    @AfterEach
+    void tearDown() {
+        listener.failing.clear();
+        for (String transactionId : createdTransactionIds) {
+            if (transactionService.existsByTransactionId(transactionId)) {
+                transactionService.deleteTransaction(transactionService.getTransactionByTransactionId(transactionId).getId());
+            }
+        }
+    }
+
+    @Test
+    void testRelay_DeliversEventsOfATransactionInOrder() {
+        // Arrange
+        TransactionDto created = create();
+        transactionService.updateTransactionStatusByTransactionId(created.getTransactionId(), TransactionStatus.COMPLETED);
+
+        // Act
+        outboxRelay.relay();
+
+        // Assert
+        assertEquals(Arrays.asList("transaction.created", "transaction.completed"), eventTypes(created.getTransactionId()));
+        assertEquals(0, pending(created.getTransactionId()));
+    }
+
+    @Test
+    void testRelay_HoldsBackFailedAggregateWithoutBlockingOthers() {
+        // Arrange
+        TransactionDto failing = create();
+        transactionService.updateTransactionStatusByTransactionId(failing.getTransactionId(), TransactionStatus.COMPLETED);
+        TransactionDto healthy = create();
+        listener.failing.add(failing.getTransactionId());
+
+        // Act
+        outboxRelay.relay();
+        listener.failing.clear();
+        outboxRelay.relay();
+
+        // Assert: delivered to the healthy one; the failed one waits out its backoff with both events queued
+        assertEquals(Arrays.asList("transaction.created"), eventTypes(healthy.getTransactionId()));
+        assertTrue(eventTypes(failing.getTransactionId()).isEmpty());
+        assertEquals(2, pending(failing.getTransactionId()));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT attempts FROM transaction_outbox_events WHERE aggregate_id = ? "
+            + "AND event_type = 'transaction.created'", Integer.class, failing.getTransactionId()));
+        assertTrue(meterRegistry.get("outbox.pending").gauge().value() >= 2);
+
+        // Act: backoff elapsed
+        expireBackoff(failing.getTransactionId());
+        outboxRelay.relay();
+
+        // Assert
+        assertEquals(Arrays.asList("transaction.created", "transaction.completed"), eventTypes(failing.getTransactionId()));
+        assertEquals(0, pending(failing.getTransactionId()));
+    }
+
+    @Test
+    void testRelay_BackingOffEventsDoNotFillTheBatch() {
+        // Arrange: more events for the failing aggregate than one batch holds (batch-size 5 in tests)
+        String failingId = "TXN-BACKOFF-" + System.nanoTime();
+        String healthyId = "TXN-HEALTHY-" + System.nanoTime();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < 6; i++) {
+                outbox.append("transaction", failingId, "transaction.updated", Collections.singletonMap("step", i));
+            }
+            outbox.append("transaction", healthyId, "transaction.created", Collections.singletonMap("step", 0));
+        });
+        listener.failing.add(failingId);
+
+        // Act
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        // Assert: the failing aggregate waits out its backoff, the event behind it goes out anyway
+        assertEquals(Arrays.asList("transaction.created"), eventTypes(healthyId));
+        assertEquals(6, pending(failingId));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT MAX(attempts) FROM transaction_outbox_events "
+            + "WHERE aggregate_id = ?", Integer.class, failingId));
+    }
+
+    @Test
+    void testRelay_MarksEventDeadAfterMaxAttempts() {
+        // Arrange
+        TransactionDto poisoned = create();
+        listener.failing.add(poisoned.getTransactionId());
+        double deadBefore = meterRegistry.get("outbox.events").tag("outcome", "dead").counter().count();
+
+        // Act
+        for (int attempt = 0; attempt < 3; attempt++) {
+            expireBackoff(poisoned.getTransactionId());
+            outboxRelay.relay();
+        }
+
+        // Assert
+        assertTrue(jdbcTemplate.queryForObject("SELECT dead FROM transaction_outbox_events WHERE aggregate_id = ?",
+            Boolean.class, poisoned.getTransactionId()));
+        assertEquals(0, pending(poisoned.getTransactionId()));
+        assertEquals(deadBefore + 1, meterRegistry.get("outbox.events").tag("outcome", "dead").counter().count());
+    }
+
+    @Test
+    void testPaymentCompletedEvent_RecordsCompletedTransactionOnceAcrossRedeliveries() {
+        // Arrange: what payment-service's relay would send, delivered twice
+        String paymentId = "PAY-" + System.nanoTime();
+        createdTransactionIds.add(paymentId);
+        Map<String, Object> payment = new HashMap<>();
+        payment.put("paymentId", paymentId);
+        payment.put("fromAccountId", accountId);
+        payment.put("toAccountId", accountId + 1);
+        payment.put("amount", new BigDecimal("42.50"));
+        payment.put("referenceNumber", "REF-" + paymentId);
+        payment.put("status", "COMPLETED");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            outbox.append("payment", paymentId, "payment.completed", payment);
+            outbox.append("payment", paymentId, "payment.completed", payment);
+        });
+
+        // Act
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        // Assert
+        TransactionDto recorded = transactionService.getTransactionByTransactionId(paymentId);
+        assertEquals(TransactionStatus.COMPLETED, recorded.getStatus());
+        assertEquals(0, new BigDecimal("42.50").compareTo(recorded.getAmount()));
+        assertEquals("REF-" + paymentId, recorded.getReferenceNumber());
+        assertEquals(Arrays.asList("transaction.created", "transaction.completed"), eventTypes(paymentId));
+    }
+
+    private TransactionDto create() {
+        TransactionDto dto = new TransactionDto();
+        dto.setFromAccountId(accountId);
+        dto.setToAccountId(accountId + 1);
+        dto.setAmount(new BigDecimal("15.00"));
+        dto.setTransactionType(TransactionType.TRANSFER);
+        dto.setDescription("Outbox test");
+        TransactionDto created = transactionService.createTransaction(dto);
+        createdTransactionIds.add(created.getTransactionId());
+        return created;
+    }
+
+    private List<String> eventTypes(String transactionId) {
+        return listener.received.stream()
+            .filter(event -> "transaction".equals(event.getAggregateType()) && transactionId.equals(event.getAggregateId()))
+            .map(OutboxEvent::getEventType)
+            .collect(Collectors.toList());
+    }
+
+    private int pending(String aggregateId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction_outbox_events "
+            + "WHERE aggregate_id = ? AND published_at IS NULL AND dead = FALSE", Integer.class, aggregateId);
+    }
+
+    private void expireBackoff(String aggregateId) {
+        jdbcTemplate.update("UPDATE transaction_outbox_events SET next_attempt_at = NULL WHERE aggregate_id = ?", aggregateId);
+    }
+
+    @TestConfiguration
+    static class RecordingListenerConfig {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    // Stands in for a downstream consumer such as notification-service
+    static class RecordingListener implements OutboxEventListener {
+
+        private final List<OutboxEvent> received = new CopyOnWriteArrayList<>();
+        private final Set<String> failing = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void onEvent(OutboxEvent event) {
+            if (failing.contains(event.getAggregateId())) {
+                throw new IllegalStateException("Consumer unavailable for " + event.getAggregateId());
+            }
+            received.add(event);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.banking.transactionservice.integration;
+
+import com.banking.common.dto.ApiResponse;
+import com.banking.transactionservice.controller.TransactionController;
+import com.banking.transactionservice.dto.TransactionDto;
+import com.banking.transactionservice.entity.TransactionType;
+import com.banking.transactionservice.service.StatementExportService;
+import com.banking.transactionservice.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class StatementExportIntegrationTest {
+
+    @Autowired
+    private StatementExportService statementExportService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionController transactionController;
+
+    private long accountId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @BeforeEach
+    void setUp() {
+        accountId = 8_000_000L + System.nanoTime() % 1_000_000L;
+        start = LocalDateTime.now().minusMinutes(1);
+    }
+
+    @Test
+    void testExportCsv_WritesHeaderAndRowsOldestFirstWithDirection() throws IOException {
+        // Arrange
+        TransactionDto deposit = create(null, accountId, "500.00", TransactionType.DEPOSIT, "Salary");
+        TransactionDto transfer = create(accountId, 42L, "120.50", TransactionType.TRANSFER, "Rent, \"March\"");
+        end = LocalDateTime.now().plusMinutes(1);
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = statementExportService.exportCsv(accountId, start, end, false, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\r\n");
+        assertEquals(2, rows);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("created_at,transaction_id,"));
+        assertTrue(lines[1].contains("," + deposit.getTransactionId() + ","));
+        assertTrue(lines[1].endsWith(",CREDIT,500.00,,Salary"));
+        assertTrue(lines[2].contains("," + transfer.getTransactionId() + ","));
+        assertTrue(lines[2].endsWith(",DEBIT,120.50,42,\"Rent, \"\"March\"\"\""));
+    }
+
+    @Test
+    void testExportCsv_ExcludesRowsOutsideRangeAndOtherAccounts() throws IOException {
+        // Arrange
+        create(null, accountId, "10.00", TransactionType.DEPOSIT, "In range");
+        create(null, accountId + 1, "10.00", TransactionType.DEPOSIT, "Other account");
+        end = LocalDateTime.now().plusMinutes(1);
+
+        // Act
+        long inRange = statementExportService.exportCsv(accountId, start, end, false, new ByteArrayOutputStream());
+        long later = statementExportService.exportCsv(accountId, end, end.plusDays(1), false, new ByteArrayOutputStream());
+
+        // Assert
+        assertEquals(1, inRange);
+        assertEquals(0, later);
+    }
+
+    @Test
+    void testExportStatement_GzipsWhenClientAcceptsIt() throws IOException {
+        // Arrange
+        create(null, accountId, "75.00", TransactionType.DEPOSIT, "Refund");
+        end = LocalDateTime.now().plusMinutes(1);
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        statementExportService.exportCsv(accountId, start, end, false, plain);
+
+        // Act
+        ResponseEntity<?> response = transactionController.exportStatement(accountId, start, end, "gzip, deflate");
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        ((StreamingResponseBody) response.getBody()).writeTo(compressed);
+
+        // Assert
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).contains(".csv"));
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                decompressed.write(buffer, 0, read);
+            }
+            assertArrayEquals(plain.toByteArray(), decompressed.toByteArray());
+        }
+    }
+
+    @Test
+    void testExportStatement_HonoursZeroQValues() throws IOException {
+        // Arrange
+        create(null, accountId, "75.00", TransactionType.DEPOSIT, "Refund");
+        end = LocalDateTime.now().plusMinutes(1);
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        statementExportService.exportCsv(accountId, start, end, false, plain);
+
+        // Act
+        ResponseEntity<?> refused = transactionController.exportStatement(accountId, start, end, "gzip;q=0, identity");
+        ResponseEntity<?> wildcard = transactionController.exportStatement(accountId, start, end, "deflate, *;q=0.5");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        ((StreamingResponseBody) refused.getBody()).writeTo(body);
+
+        // Assert
+        assertNull(refused.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(plain.toByteArray(), body.toByteArray());
+        assertEquals("gzip", wildcard.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void testExportStatement_RejectsInvertedRange() {
+        // Act
+        ResponseEntity<?> response = transactionController.exportStatement(accountId, start, start.minusDays(1), null);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertFalse(((ApiResponse<?>) response.getBody()).isSuccess());
+    }
+
+    private TransactionDto create(Long fromAccountId, Long toAccountId, String amount, TransactionType type, String description) {
+        TransactionDto dto = new TransactionDto();
+        dto.setFromAccountId(fromAccountId);
+        dto.setToAccountId(toAccountId);
+        dto.setAmount(new BigDecimal(amount));
+        dto.setTransactionType(type);
+        dto.setDescription(description);
+        return transactionService.createTransaction(dto);
+    }
+}
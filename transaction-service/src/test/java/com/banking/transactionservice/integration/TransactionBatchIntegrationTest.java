@@ -0,0 +1,155 @@
+package com.banking.transactionservice.integration;
+
+import com.banking.transactionservice.dto.TransactionBatchItemResult;
+import com.banking.transactionservice.dto.TransactionBatchItemStatus;
+import com.banking.transactionservice.dto.TransactionBatchSummaryDto;
+import com.banking.transactionservice.dto.TransactionDto;
+import com.banking.transactionservice.exception.TransactionBatchAbortedException;
+import com.banking.transactionservice.exception.TransactionValidationException;
+import com.banking.transactionservice.service.TransactionBatchService;
+import com.banking.transactionservice.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionBatchIntegrationTest {
+
+    @Autowired
+    private TransactionBatchService transactionBatchService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "BATCH" + System.nanoTime() + "-";
+    }
+
+    @Test
+    void testIngestNdjson_PersistsAcrossChunksAndReportsEachItem() throws Exception {
+        // Arrange: 7 rows with batch-insert-size 3 forces three chunks
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 7; i++) {
+            body.append(deposit(prefix + i, "10.00")).append('\n');
+        }
+        List<TransactionBatchItemResult> results = new ArrayList<>();
+
+        // Act
+        TransactionBatchSummaryDto summary = transactionBatchService.ingest(stream(body.toString()), true, results::add);
+
+        // Assert
+        assertEquals(7, summary.getTotal());
+        assertEquals(7, summary.getCreated());
+        assertEquals(7, results.size());
+        for (TransactionBatchItemResult result : results) {
+            assertEquals(TransactionBatchItemStatus.CREATED, result.getStatus());
+            assertNotNull(result.getId());
+            TransactionDto stored = transactionService.getTransactionByTransactionId(result.getTransactionId());
+            assertEquals(result.getId(), stored.getId());
+            assertEquals(19, stored.getReferenceNumber().length());
+        }
+        assertEquals(7, transactionService.getTransactionsByAccountId(9101L).stream()
+            .filter(t -> t.getTransactionId().startsWith(prefix)).count());
+    }
+
+    @Test
+    void testIngestJsonArray_ReportsDuplicatesAndInvalidItems() throws Exception {
+        // Arrange
+        transactionBatchService.ingest(stream("[" + deposit(prefix + "existing", "5.00") + "]"), false, r -> {});
+        String body = "["
+            + deposit(prefix + "a", "10.00") + ","
+            + deposit(prefix + "a", "11.00") + ","
+            + deposit(prefix + "existing", "12.00") + ","
+            + deposit(prefix + "zero", "0.00") + ","
+            + "{\"transactionId\":\"" + prefix + "bad\",\"transactionType\":\"NOPE\"},"
+            + "{\"transactionId\":\"" + prefix + "w\",\"amount\":3.00,\"transactionType\":\"WITHDRAWAL\"},"
+            + deposit(prefix + "b", "13.00")
+            + "]";
+        List<TransactionBatchItemResult> results = new ArrayList<>();
+
+        // Act
+        TransactionBatchSummaryDto summary = transactionBatchService.ingest(stream(body), false, results::add);
+
+        // Assert
+        assertEquals(7, summary.getTotal());
+        assertEquals(2, summary.getCreated());
+        assertEquals(2, summary.getDuplicates());
+        assertEquals(3, summary.getInvalid());
+        assertEquals(0, summary.getFailed());
+        assertEquals(TransactionBatchItemStatus.DUPLICATE, statusOf(results, 1));
+        assertEquals(TransactionBatchItemStatus.DUPLICATE, statusOf(results, 2));
+        assertEquals(TransactionBatchItemStatus.INVALID, statusOf(results, 3));
+        assertEquals(TransactionBatchItemStatus.INVALID, statusOf(results, 4));
+        assertEquals(TransactionBatchItemStatus.INVALID, statusOf(results, 5));
+        assertEquals(TransactionBatchItemStatus.CREATED, statusOf(results, 6));
+        assertTrue(transactionService.existsByTransactionId(prefix + "a"));
+        assertFalse(transactionService.existsByTransactionId(prefix + "zero"));
+    }
+
+    @Test
+    void testIngest_RejectsBodyThatIsNotAnArray() {
+        assertThrows(TransactionValidationException.class,
+            () -> transactionBatchService.ingest(stream(deposit(prefix + "x", "1.00")), false, r -> {}));
+    }
+
+    @Test
+    void testIngestJsonArray_MalformedSyntaxEndsTheBatchAfterDecidingEarlierItems() {
+        // Arrange: 4 good items (one full chunk plus one pending), then a broken separator
+        String body = "["
+            + deposit(prefix + "0", "10.00") + ","
+            + deposit(prefix + "1", "10.00") + ","
+            + deposit(prefix + "2", "10.00") + ","
+            + deposit(prefix + "3", "10.00") + " ;; "
+            + deposit(prefix + "4", "10.00") + "]";
+        List<TransactionBatchItemResult> results = new ArrayList<>();
+
+        // Act
+        TransactionBatchAbortedException aborted = assertThrows(TransactionBatchAbortedException.class,
+            () -> transactionBatchService.ingest(stream(body), false, results::add));
+
+        // Assert
+        assertTrue(aborted.getMessage().startsWith("Malformed batch body"));
+        assertEquals(4, aborted.getSummary().getTotal());
+        assertEquals(4, aborted.getSummary().getCreated());
+        assertEquals(4, results.size());
+        assertTrue(transactionService.existsByTransactionId(prefix + "3"));
+        assertFalse(transactionService.existsByTransactionId(prefix + "4"));
+    }
+
+    @Test
+    void testIngest_RejectsMalformedOpening() {
+        assertThrows(TransactionValidationException.class,
+            () -> transactionBatchService.ingest(stream("[}"), false, r -> {}));
+    }
+
+    private TransactionBatchItemStatus statusOf(List<TransactionBatchItemResult> results, long index) {
+        return results.stream()
+            .filter(r -> r.getIndex() == index)
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("No result for item " + index))
+            .getStatus();
+    }
+
+    private String deposit(String transactionId, String amount) {
+        return "{\"transactionId\":\"" + transactionId + "\",\"fromAccountId\":9100,\"toAccountId\":9101,"
+            + "\"amount\":" + amount + ",\"transactionType\":\"DEPOSIT\",\"description\":\"settlement\"}";
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
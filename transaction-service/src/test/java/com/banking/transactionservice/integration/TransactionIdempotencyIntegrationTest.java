@@ -0,0 +1,147 @@
+package com.banking.transactionservice.integration;
+
+import com.banking.common.dto.ApiResponse;
+import com.banking.common.idempotency.IdempotencyService;
+import com.banking.transactionservice.controller.TransactionController;
+import com.banking.transactionservice.dto.TransactionDto;
+import com.banking.transactionservice.entity.TransactionType;
+import com.banking.transactionservice.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionIdempotencyIntegrationTest {
+
+    @Autowired
+    private TransactionController transactionController;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private long accountId;
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        accountId = 7_000_000L + System.nanoTime() % 1_000_000L;
+        key = "key-" + System.nanoTime();
+    }
+
+    @Test
+    void testReplay_ReturnsStoredResponseWithoutSecondWrite() {
+        // Act
+        ResponseEntity<ApiResponse<TransactionDto>> first = transactionController.createTransaction(deposit("25.00"), key, "1");
+        ResponseEntity<ApiResponse<TransactionDto>> second = transactionController.createTransaction(deposit("25.00"), key, "1");
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, first.getStatusCode());
+        assertNull(first.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(HttpStatus.CREATED, second.getStatusCode());
+        assertEquals("true", second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(first.getBody().getData().getId(), second.getBody().getData().getId());
+        assertEquals(1, transactionService.getTransactionsByToAccountId(accountId).size());
+    }
+
+    @Test
+    void testReplay_DifferentRequestWithSameKeyIsRejected() {
+        // Arrange
+        transactionController.createTransaction(deposit("25.00"), key, "1");
+
+        // Act
+        ResponseEntity<ApiResponse<TransactionDto>> response = transactionController.createTransaction(deposit("26.00"), key, "1");
+
+        // Assert
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertEquals("IDEMPOTENCY_KEY_REUSED", response.getBody().getErrorCode());
+        assertEquals(1, transactionService.getTransactionsByToAccountId(accountId).size());
+    }
+
+    @Test
+    void testSameKeyFromAnotherUser_IsNotReplayedTheFirstUsersResponse() {
+        // Arrange
+        ResponseEntity<ApiResponse<TransactionDto>> first = transactionController.createTransaction(deposit("25.00"), key, "1");
+
+        // Act
+        ResponseEntity<ApiResponse<TransactionDto>> other = transactionController.createTransaction(deposit("25.00"), key, "2");
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, other.getStatusCode());
+        assertNull(other.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertNotEquals(first.getBody().getData().getId(), other.getBody().getData().getId());
+        assertEquals(2, transactionService.getTransactionsByToAccountId(accountId).size());
+    }
+
+    @Test
+    void testFailedWrite_IsNotStoredSoTheKeyCanBeRetried() {
+        // Arrange: a client supplied transaction ID that already exists makes the write fail
+        TransactionDto existing = transactionService.createTransaction(deposit("10.00"));
+        TransactionDto duplicate = deposit("10.00");
+        duplicate.setTransactionId(existing.getTransactionId());
+
+        // Act
+        ResponseEntity<ApiResponse<TransactionDto>> first = transactionController.createTransaction(duplicate, key, "1");
+        ResponseEntity<ApiResponse<TransactionDto>> retry = transactionController.createTransaction(deposit("11.00"), key, "1");
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, first.getStatusCode());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertNull(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(2, transactionService.getTransactionsByToAccountId(accountId).size());
+    }
+
+    @Test
+    void testConcurrentRequestsWithSameKey_WriteOnce() throws Exception {
+        // Arrange
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<ApiResponse<TransactionDto>>>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return transactionController.createTransaction(deposit("40.00"), key, "1");
+            }));
+        }
+        start.countDown();
+        List<ResponseEntity<ApiResponse<TransactionDto>>> responses = new ArrayList<>();
+        for (Future<ResponseEntity<ApiResponse<TransactionDto>>> future : futures) {
+            responses.add(future.get());
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1, transactionService.getTransactionsByToAccountId(accountId).size());
+        Long id = transactionService.getTransactionsByToAccountId(accountId).get(0).getId();
+        for (ResponseEntity<ApiResponse<TransactionDto>> response : responses) {
+            assertEquals(HttpStatus.CREATED, response.getStatusCode());
+            assertEquals(id, response.getBody().getData().getId());
+        }
+    }
+
+    private TransactionDto deposit(String amount) {
+        TransactionDto dto = new TransactionDto();
+        dto.setToAccountId(accountId);
+        dto.setAmount(new BigDecimal(amount));
+        dto.setTransactionType(TransactionType.DEPOSIT);
+        dto.setDescription("Idempotency test");
+        return dto;
+    }
+}
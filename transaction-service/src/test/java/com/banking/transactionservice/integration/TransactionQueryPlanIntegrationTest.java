@@ -0,0 +1,112 @@
+package com.banking.transactionservice.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the Flyway-managed indexes serve the repository's query shapes. Runs EXPLAIN on H2
+ * for the single-column and composite predicates, where H2's planner behaves like PostgreSQL's.
+ * The OR-based account history query is left out: PostgreSQL answers it with a BitmapOr over the
+ * from/to indexes, which H2 has no equivalent for.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionQueryPlanIntegrationTest {
+
+    private static final String[] STATUSES = {"PENDING", "PROCESSING", "COMPLETED", "FAILED", "CANCELLED", "REVERSED"};
+    private static final String[] TYPES = {"DEPOSIT", "WITHDRAWAL", "TRANSFER", "PAYMENT", "FEE"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        // Negative ids stay clear of the pooled sequence used by the application
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= 2000; i++) {
+            rows.add(new Object[] {
+                (long) -i, "PLAN-" + i, 9500L + (i % 200), 9700L + (i % 150), i,
+                TYPES[i % TYPES.length], STATUSES[i % STATUSES.length], "REF-PLAN-" + i,
+                Timestamp.valueOf(base.plusMinutes(i))
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO transactions (id, transaction_id, from_account_id, to_account_id, amount, "
+            + "transaction_type, transaction_status, reference_number, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE id < 0");
+    }
+
+    @Test
+    void testFindByFromAccountId_UsesFromAccountIndex() {
+        assertUsesIndex("SELECT * FROM transactions WHERE from_account_id = 9510", "IDX_TRANSACTIONS_FROM_ACCOUNT_");
+    }
+
+    @Test
+    void testFindByToAccountId_UsesToAccountIndex() {
+        assertUsesIndex("SELECT * FROM transactions WHERE to_account_id = 9710", "IDX_TRANSACTIONS_TO_ACCOUNT_");
+    }
+
+    @Test
+    void testCountByFromAccountIdAndStatus_UsesAccountStatusIndex() {
+        assertUsesIndex("SELECT COUNT(*) FROM transactions WHERE from_account_id = 9510 AND transaction_status = 'PENDING'",
+            "IDX_TRANSACTIONS_FROM_ACCOUNT_STATUS");
+    }
+
+    @Test
+    void testCountByToAccountIdAndStatus_UsesAccountStatusIndex() {
+        assertUsesIndex("SELECT COUNT(*) FROM transactions WHERE to_account_id = 9710 AND transaction_status = 'FAILED'",
+            "IDX_TRANSACTIONS_TO_ACCOUNT_STATUS");
+    }
+
+    @Test
+    void testAggregateOutgoingByAccount_UsesAccountCreatedIndex() {
+        assertUsesIndex("SELECT COUNT(*), SUM(amount) FROM transactions WHERE from_account_id = 9510 "
+            + "AND created_at >= TIMESTAMP '2024-01-01 01:00:00' AND created_at <= TIMESTAMP '2024-01-01 05:00:00'",
+            "IDX_TRANSACTIONS_FROM_ACCOUNT_CREATED");
+    }
+
+    @Test
+    void testFindByStatus_UsesStatusIndex() {
+        assertUsesIndex("SELECT * FROM transactions WHERE transaction_status = 'FAILED'", "IDX_TRANSACTIONS_STATUS_CREATED");
+    }
+
+    @Test
+    void testFindByTransactionType_UsesTypeIndex() {
+        assertUsesIndex("SELECT * FROM transactions WHERE transaction_type = 'FEE'", "IDX_TRANSACTIONS_TYPE_CREATED");
+    }
+
+    @Test
+    void testFindByDateRange_UsesCreatedAtIndex() {
+        assertUsesIndex("SELECT * FROM transactions WHERE created_at >= TIMESTAMP '2024-01-01 01:00:00' "
+            + "AND created_at <= TIMESTAMP '2024-01-01 02:00:00'", "IDX_TRANSACTIONS_CREATED_AT");
+    }
+
+    @Test
+    void testFindByReferenceNumber_UsesReferenceIndex() {
+        assertUsesIndex("SELECT * FROM transactions WHERE reference_number = 'REF-PLAN-42'",
+            "IDX_TRANSACTIONS_REFERENCE_NUMBER");
+    }
+
+    private void assertUsesIndex(String sql, String indexName) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertNotNull(plan);
+        assertTrue(plan.toUpperCase().contains(indexName), () -> "Expected " + indexName + " in plan:\n" + plan);
+    }
+}
@@ -1,6 +1,7 @@
 package com.banking.transactionservice.integration;
 
 import com.banking.transactionservice.dto.TransactionDto;
+import com.banking.transactionservice.dto.TransactionPageDto;
 import com.banking.transactionservice.entity.TransactionStatus;
 import com.banking.transactionservice.entity.TransactionType;
 import com.banking.transactionservice.service.TransactionService;
@@ -12,7 +13,11 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -67,7 +72,7 @@ class TransactionServiceIntegrationTest {
         assertEquals(1L, result.getFromAccountId());
         assertEquals(2L, result.getToAccountId());
         assertNotNull(result.getReferenceNumber());
-        assertEquals(10, result.getReferenceNumber().length());
+        assertEquals(19, result.getReferenceNumber().length());
     }
 
     @Test
@@ -270,8 +275,8 @@ class TransactionServiceIntegrationTest {
 
         // Assert
         assertNotNull(referenceNumber);
-        assertEquals(10, referenceNumber.length());
-        assertTrue(referenceNumber.matches("\\d{10}"));
+        assertEquals(19, referenceNumber.length());
+        assertTrue(referenceNumber.matches("\\d{19}"));
     }
 
     @Test
@@ -316,4 +321,101 @@ class TransactionServiceIntegrationTest {
         // Assert
         assertEquals(2, count);
     }
+
+    @Test
+    void testGetTransactionPageByAccountId_WalksAllPagesWithoutDuplicates() {
+        // Arrange
+        withdrawalTransaction.setFromAccountId(9001L);
+        depositTransaction.setToAccountId(9001L);
+        for (int i = 0; i < 5; i++) {
+            transactionService.createTransaction(withdrawalTransaction);
+            withdrawalTransaction.setTransactionId(null);
+        }
+        transactionService.createTransaction(depositTransaction);
+
+        // Act
+        List<TransactionDto> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransactionPageDto page = transactionService.getTransactionPageByAccountId(9001L, cursor, 2);
+            assertTrue(page.getContent().size() <= 2);
+            seen.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(6, seen.size());
+        assertEquals(3, pages);
+        Set<Long> ids = new HashSet<>();
+        seen.forEach(t -> ids.add(t.getId()));
+        assertEquals(6, ids.size());
+        for (int i = 1; i < seen.size(); i++) {
+            TransactionDto previous = seen.get(i - 1);
+            TransactionDto current = seen.get(i);
+            int byTime = previous.getCreatedAt().compareTo(current.getCreatedAt());
+            assertTrue(byTime > 0 || (byTime == 0 && previous.getId() > current.getId()));
+        }
+    }
+
+    @Test
+    void testGetTransactionPageByAccountId_RejectsCursorFromAnotherAccount() {
+        // Arrange
+        withdrawalTransaction.setFromAccountId(9002L);
+        transactionService.createTransaction(withdrawalTransaction);
+        withdrawalTransaction.setTransactionId(null);
+        transactionService.createTransaction(withdrawalTransaction);
+        String cursor = transactionService.getTransactionPageByAccountId(9002L, null, 1).getNextCursor();
+
+        // Act & Assert
+        assertNotNull(cursor);
+        assertThrows(RuntimeException.class, () -> transactionService.getTransactionPageByAccountId(9003L, cursor, 1));
+        assertThrows(RuntimeException.class, () -> transactionService.getTransactionPageByAccountId(9002L, "not-a-cursor", 1));
+    }
+
+    @Test
+    void testStreamTransactionsByStatus_MatchesListQuery() {
+        // Arrange
+        transactionService.createTransaction(transferTransaction);
+        transactionService.createTransaction(depositTransaction);
+        List<TransactionDto> expected = transactionService.getTransactionsByStatus(TransactionStatus.PENDING);
+
+        // Act
+        List<TransactionDto> streamed = new ArrayList<>();
+        long count = transactionService.streamTransactionsByStatus(TransactionStatus.PENDING, streamed::add);
+
+        // Assert
+        assertEquals(expected.size(), count);
+        assertEquals(expected.size(), streamed.size());
+        Set<Long> ids = new HashSet<>();
+        streamed.forEach(t -> ids.add(t.getId()));
+        expected.forEach(t -> assertTrue(ids.contains(t.getId())));
+    }
+
+    @Test
+    void testStreamTransactionsByDateRange_ReturnsRowsInCreationOrder() {
+        // Arrange
+        LocalDateTime start = LocalDateTime.now().minusMinutes(1);
+        for (int i = 0; i < 3; i++) {
+            transactionService.createTransaction(withdrawalTransaction);
+            withdrawalTransaction.setTransactionId(null);
+        }
+        LocalDateTime end = LocalDateTime.now().plusMinutes(1);
+
+        // Act
+        List<TransactionDto> streamed = new ArrayList<>();
+        long count = transactionService.streamTransactionsByDateRange(start, end, streamed::add);
+
+        // Assert
+        assertEquals(transactionService.getTransactionsByDateRange(start, end).size(), count);
+        assertTrue(count >= 3);
+        for (int i = 1; i < streamed.size(); i++) {
+            TransactionDto previous = streamed.get(i - 1);
+            TransactionDto current = streamed.get(i);
+            int byTime = previous.getCreatedAt().compareTo(current.getCreatedAt());
+            assertTrue(byTime < 0 || (byTime == 0 && previous.getId() < current.getId()));
+        }
+        assertEquals(0, transactionService.streamTransactionsByDateRange(end, end.plusMinutes(1), t -> fail("unexpected row")));
+    }
 }
@@ -0,0 +1,44 @@
+package com.banking.transactionservice.partition;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonthlyPartitionsTest {
+
+    @Test
+    void testPartitionName_RoundTripsThroughMonthOf() {
+        YearMonth month = YearMonth.of(2024, 3);
+
+        assertEquals("transactions_y2024m03", MonthlyPartitions.partitionName(month));
+        assertEquals(month, MonthlyPartitions.monthOf("transactions_y2024m03"));
+    }
+
+    @Test
+    void testMonthOf_IgnoresOtherTables() {
+        assertNull(MonthlyPartitions.monthOf("transactions"));
+        assertNull(MonthlyPartitions.monthOf("transactions_default"));
+        assertNull(MonthlyPartitions.monthOf("transactions_y2024m13"));
+        assertNull(MonthlyPartitions.monthOf("transaction_audit_log"));
+    }
+
+    @Test
+    void testRange_CoversWholeMonth() {
+        YearMonth month = YearMonth.of(2024, 12);
+
+        assertEquals(LocalDate.of(2024, 12, 1), MonthlyPartitions.rangeStart(month));
+        assertEquals(LocalDate.of(2025, 1, 1), MonthlyPartitions.rangeEnd(month));
+    }
+
+    @Test
+    void testIsCold_KeepsRetentionWindow() {
+        YearMonth current = YearMonth.of(2026, 5);
+
+        assertFalse(MonthlyPartitions.isCold(YearMonth.of(2024, 5), current, 24));
+        assertTrue(MonthlyPartitions.isCold(YearMonth.of(2024, 4), current, 24));
+        assertFalse(MonthlyPartitions.isCold(current, current, 0));
+    }
+}
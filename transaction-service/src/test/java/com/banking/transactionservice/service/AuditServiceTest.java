@@ -0,0 +1,138 @@
+package com.banking.transactionservice.service;
+
+import com.banking.transactionservice.audit.AuditOverflowPolicy;
+import com.banking.transactionservice.config.TransactionServiceConfig;
+import com.banking.transactionservice.entity.AuditEvent;
+import com.banking.transactionservice.entity.AuditEventType;
+import com.banking.transactionservice.entity.TransactionStatus;
+import com.banking.transactionservice.repository.AuditEventRepository;
+import com.banking.transactionservice.service.impl.AuditServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditServiceTest {
+
+    @Mock
+    private AuditEventRepository auditEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private TransactionServiceConfig config = new TransactionServiceConfig();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private AuditServiceImpl auditService;
+
+    @BeforeEach
+    void setUp() {
+        config.setEnableAuditLogging(true);
+        config.setAuditBufferSize(2);
+        config.setAuditBatchSize(100);
+        // Keep the background writer asleep so each test decides when to flush
+        config.setAuditFlushIntervalMs(3600000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        auditService.stop();
+    }
+
+    @Test
+    void testFlush_WritesPublishedEventsInOneBatch() {
+        auditService.start();
+
+        auditService.logTransactionStatusChanged(7L, TransactionStatus.PENDING, TransactionStatus.COMPLETED);
+        auditService.logTransactionRetry(7L, 2);
+        auditService.flush();
+
+        List<AuditEvent> written = capturedBatches().get(0);
+        assertEquals(2, written.size());
+        assertEquals(AuditEventType.STATUS_CHANGED, written.get(0).getEventType());
+        assertEquals(TransactionStatus.COMPLETED, written.get(0).getNewStatus());
+        assertEquals("Attempt 2", written.get(1).getDetail());
+        assertEquals(2.0, meterRegistry.counter("transaction.audit.events.written").count());
+        assertEquals(1, meterRegistry.get("transaction.audit.flush.latency").timer().count());
+    }
+
+    @Test
+    void testOverflow_DropNewestNeverBlocksCaller() {
+        config.setAuditOverflowPolicy(AuditOverflowPolicy.DROP_NEWEST);
+        auditService.start();
+
+        auditService.logTransactionDeleted(1L);
+        auditService.logTransactionDeleted(2L);
+        auditService.logTransactionDeleted(3L);
+        auditService.flush();
+
+        List<AuditEvent> written = capturedBatches().get(0);
+        assertEquals(2, written.size());
+        assertEquals(Long.valueOf(1L), written.get(0).getTransactionId());
+        assertEquals(1.0, meterRegistry.get("transaction.audit.events.dropped").counter().count());
+    }
+
+    @Test
+    void testOverflow_DropOldestKeepsLatestEvents() {
+        config.setAuditOverflowPolicy(AuditOverflowPolicy.DROP_OLDEST);
+        auditService.start();
+
+        auditService.logTransactionDeleted(1L);
+        auditService.logTransactionDeleted(2L);
+        auditService.logTransactionDeleted(3L);
+        auditService.flush();
+
+        List<AuditEvent> written = capturedBatches().get(0);
+        assertEquals(Long.valueOf(2L), written.get(0).getTransactionId());
+        assertEquals(Long.valueOf(3L), written.get(1).getTransactionId());
+    }
+
+    @Test
+    void testWriteFailure_CountedAndNotPropagated() {
+        when(auditEventRepository.saveAll(anyList())).thenThrow(new RuntimeException("database down"));
+        auditService.start();
+
+        auditService.logTransactionError(5L, "boom");
+        assertDoesNotThrow(() -> auditService.flush());
+
+        assertEquals(1.0, meterRegistry.counter("transaction.audit.events.failed").count());
+    }
+
+    @Test
+    void testDisabled_PublishesNothing() {
+        config.setEnableAuditLogging(false);
+        auditService.start();
+
+        auditService.logTransactionDeleted(1L);
+        auditService.flush();
+
+        verifyNoInteractions(auditEventRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<AuditEvent>> capturedBatches() {
+        ArgumentCaptor<List<AuditEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditEventRepository, atLeastOnce()).saveAll(captor.capture());
+        return new ArrayList<>(captor.getAllValues());
+    }
+}
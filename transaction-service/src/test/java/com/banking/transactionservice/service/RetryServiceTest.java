@@ -0,0 +1,166 @@
+package com.banking.transactionservice.service;
+
+import com.banking.transactionservice.config.TransactionServiceConfig;
+import com.banking.transactionservice.exception.RetryExhaustedException;
+import com.banking.transactionservice.exception.TransactionValidationException;
+import com.banking.transactionservice.retry.ExponentialBackoff;
+import com.banking.transactionservice.retry.RetryBudget;
+import com.banking.transactionservice.service.impl.RetryServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class RetryServiceTest {
+
+    @Spy
+    private TransactionServiceConfig config = new TransactionServiceConfig();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private RetryServiceImpl retryService;
+
+    @BeforeEach
+    void setUp() {
+        config.setMaxRetryAttempts(3);
+        config.setRetryDelayMs(1);
+        config.setRetryMaxDelayMs(5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        retryService.shutdown();
+    }
+
+    @Test
+    void testExecuteWithRetry_RecoversFromTransientFailure() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retryService.executeWithRetry(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new QueryTimeoutException("timeout");
+            }
+            return "ok";
+        }, "transient");
+
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+        assertEquals(2.0, meterRegistry.get("transaction.retry.attempts").tag("operation", "transient").counter().count());
+    }
+
+    @Test
+    void testExecuteWithRetry_NonRetryableFailsImmediately() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(TransactionValidationException.class, () -> retryService.executeWithRetry(() -> {
+            calls.incrementAndGet();
+            throw new TransactionValidationException("bad input");
+        }, "validation"));
+
+        assertEquals(1, calls.get());
+        assertEquals(1.0, meterRegistry.get("transaction.retry.giveups")
+            .tags("operation", "validation", "reason", "non_retryable").counter().count());
+    }
+
+    @Test
+    void testExecuteWithRetry_GivesUpAfterMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        RetryExhaustedException e = assertThrows(RetryExhaustedException.class, () -> retryService.executeWithRetry(() -> {
+            calls.incrementAndGet();
+            throw new QueryTimeoutException("timeout");
+        }, "exhausted"));
+
+        assertEquals(3, calls.get());
+        assertEquals(3, e.getAttempts());
+        assertTrue(e.getCause() instanceof QueryTimeoutException);
+    }
+
+    @Test
+    void testExecuteWithRetry_BudgetCapsRetries() {
+        config.setRetryBudgetRatio(0.0);
+        config.setRetryBudgetMinPerSecond(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(RetryExhaustedException.class, () -> retryService.executeWithRetry(() -> {
+                calls.incrementAndGet();
+                throw new QueryTimeoutException("timeout");
+            }, "budgeted", 5));
+        }
+
+        // One retry from the per-second floor, then every call fails on its first attempt
+        assertEquals(4, calls.get());
+        assertEquals(3.0, meterRegistry.get("transaction.retry.budget.exhausted").counter().count());
+    }
+
+    @Test
+    void testExecuteWithRetryAsync_SchedulesReattempts() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> result = retryService.executeWithRetryAsync(() -> {
+            CompletableFuture<String> attempt = new CompletableFuture<>();
+            if (calls.incrementAndGet() < 3) {
+                attempt.completeExceptionally(new QueryTimeoutException("timeout"));
+            } else {
+                attempt.complete("done");
+            }
+            return attempt;
+        }, "async");
+
+        assertEquals("done", result.get(5, TimeUnit.SECONDS));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testExecuteWithRetryAsync_CompletesExceptionallyWhenExhausted() {
+        CompletableFuture<String> result = retryService.executeWithRetryAsync(() -> {
+            CompletableFuture<String> attempt = new CompletableFuture<>();
+            attempt.completeExceptionally(new QueryTimeoutException("timeout"));
+            return attempt;
+        }, "async-exhausted", 2);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RetryExhaustedException);
+    }
+
+    @Test
+    void testExponentialBackoff_CeilingGrowsAndIsCapped() {
+        ExponentialBackoff backoff = new ExponentialBackoff(100, 1000, 2.0);
+
+        assertEquals(100, backoff.ceilingMillis(1));
+        assertEquals(400, backoff.ceilingMillis(3));
+        assertEquals(1000, backoff.ceilingMillis(10));
+        for (int i = 0; i < 100; i++) {
+            long delay = backoff.delayMillis(2);
+            assertTrue(delay >= 0 && delay <= 200);
+        }
+    }
+
+    @Test
+    void testRetryBudget_DepositsFractionOfCalls() {
+        RetryBudget budget = new RetryBudget(0.5, 0);
+
+        assertFalse(budget.tryAcquireRetry());
+        budget.recordCall();
+        budget.recordCall();
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+    }
+}
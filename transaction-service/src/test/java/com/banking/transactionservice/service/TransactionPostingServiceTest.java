@@ -0,0 +1,112 @@
+package com.banking.transactionservice.service;
+
+import com.banking.transactionservice.client.AccountServiceClient;
+import com.banking.transactionservice.dto.TransactionDto;
+import com.banking.transactionservice.entity.TransactionStatus;
+import com.banking.transactionservice.entity.TransactionType;
+import com.banking.transactionservice.exception.RetryExhaustedException;
+import com.banking.transactionservice.exception.TransactionValidationException;
+import com.banking.transactionservice.service.impl.TransactionPostingServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionPostingServiceTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private AccountServiceClient accountServiceClient;
+
+    @Mock
+    private RetryService retryService;
+
+    @InjectMocks
+    private TransactionPostingServiceImpl postingService;
+
+    private TransactionDto transfer;
+
+    @BeforeEach
+    void setUp() {
+        transfer = new TransactionDto();
+        transfer.setId(1L);
+        transfer.setTransactionId("TXN0000000000001");
+        transfer.setFromAccountId(10L);
+        transfer.setToAccountId(20L);
+        transfer.setAmount(new BigDecimal("75.00"));
+        transfer.setTransactionType(TransactionType.TRANSFER);
+        transfer.setStatus(TransactionStatus.PENDING);
+    }
+
+    private void retryRunsOnce() {
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(retryService).executeWithRetry(any(Runnable.class), eq("account-posting"));
+    }
+
+    @Test
+    void testPostTransaction_Success_CompletesTransaction() {
+        retryRunsOnce();
+        when(transactionService.getTransactionById(1L)).thenReturn(transfer);
+        TransactionDto completed = new TransactionDto();
+        completed.setStatus(TransactionStatus.COMPLETED);
+        when(transactionService.updateTransactionStatus(1L, TransactionStatus.PROCESSING)).thenReturn(transfer);
+        when(transactionService.updateTransactionStatus(1L, TransactionStatus.COMPLETED)).thenReturn(completed);
+
+        TransactionDto result = postingService.postTransaction(1L);
+
+        assertEquals(TransactionStatus.COMPLETED, result.getStatus());
+        verify(accountServiceClient).post(transfer, "TRANSFER");
+    }
+
+    @Test
+    void testPostTransaction_Rejected_MarksFailed() {
+        retryRunsOnce();
+        when(transactionService.getTransactionById(1L)).thenReturn(transfer);
+        doThrow(new TransactionValidationException("Insufficient funds in account 10"))
+            .when(accountServiceClient).post(transfer, "TRANSFER");
+
+        assertThrows(TransactionValidationException.class, () -> postingService.postTransaction(1L));
+
+        verify(transactionService).updateTransactionStatus(1L, TransactionStatus.FAILED);
+        verify(transactionService, never()).updateTransactionStatus(1L, TransactionStatus.COMPLETED);
+    }
+
+    @Test
+    void testPostTransaction_UnknownOutcome_StaysProcessing() {
+        when(transactionService.getTransactionById(1L)).thenReturn(transfer);
+        doThrow(new RetryExhaustedException("account-posting failed", 3, new RuntimeException("timeout")))
+            .when(retryService).executeWithRetry(any(Runnable.class), eq("account-posting"));
+
+        assertThrows(RetryExhaustedException.class, () -> postingService.postTransaction(1L));
+
+        verify(transactionService).updateTransactionStatus(1L, TransactionStatus.PROCESSING);
+        verify(transactionService, never()).updateTransactionStatus(1L, TransactionStatus.FAILED);
+    }
+
+    @Test
+    void testPostTransaction_UnsupportedTypeOrStatus_NotSent() {
+        transfer.setTransactionType(TransactionType.FEE);
+        when(transactionService.getTransactionById(1L)).thenReturn(transfer);
+        assertThrows(TransactionValidationException.class, () -> postingService.postTransaction(1L));
+
+        transfer.setTransactionType(TransactionType.TRANSFER);
+        transfer.setStatus(TransactionStatus.CANCELLED);
+        assertThrows(TransactionValidationException.class, () -> postingService.postTransaction(1L));
+
+        verifyNoInteractions(accountServiceClient);
+        verify(transactionService, never()).updateTransactionStatus(anyLong(), any());
+    }
+}
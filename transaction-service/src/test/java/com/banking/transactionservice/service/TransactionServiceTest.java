@@ -1,9 +1,13 @@
 package com.banking.transactionservice.service;
 
+import com.banking.common.outbox.Outbox;
 import com.banking.transactionservice.dto.TransactionDto;
 import com.banking.transactionservice.entity.Transaction;
 import com.banking.transactionservice.entity.TransactionStatus;
 import com.banking.transactionservice.entity.TransactionType;
+import com.banking.transactionservice.id.IdGenerator;
+import com.banking.transactionservice.id.SnowflakeIdGenerator;
+import com.banking.transactionservice.mapper.TransactionMapper;
 import com.banking.transactionservice.repository.TransactionRepository;
 import com.banking.transactionservice.service.impl.TransactionServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,7 +15,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
 import java.util.Optional;
@@ -26,6 +32,21 @@ class TransactionServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private TransactionStatisticsService statisticsService;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private Outbox outbox;
+
+    @Spy
+    private IdGenerator idGenerator = new SnowflakeIdGenerator(1);
+
+    @Spy
+    private TransactionMapper transactionMapper = new TransactionMapper();
+
     @InjectMocks
     private TransactionServiceImpl transactionService;
 
@@ -55,23 +76,25 @@ class TransactionServiceTest {
 
     @Test
     void testCreateTransaction_Success() {
-        when(transactionRepository.existsByTransactionId(anyString())).thenReturn(false);
-        when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
+        when(transactionRepository.saveAndFlush(any(Transaction.class))).thenReturn(transaction);
 
         TransactionDto result = transactionService.createTransaction(transactionDto);
 
         assertNotNull(result);
         assertEquals(transactionDto.getTransactionId(), result.getTransactionId());
         assertEquals(transactionDto.getAmount(), result.getAmount());
-        verify(transactionRepository).save(any(Transaction.class));
+        verify(transactionRepository).saveAndFlush(any(Transaction.class));
+        verify(auditService).logTransactionCreated(any(TransactionDto.class));
     }
 
     @Test
     void testCreateTransaction_DuplicateTransactionId() {
-        when(transactionRepository.existsByTransactionId(anyString())).thenReturn(true);
+        when(transactionRepository.saveAndFlush(any(Transaction.class)))
+            .thenThrow(new DataIntegrityViolationException("uk_transactions_transaction_id"));
 
-        assertThrows(RuntimeException.class, () -> transactionService.createTransaction(transactionDto));
-        verify(transactionRepository, never()).save(any(Transaction.class));
+        RuntimeException e = assertThrows(RuntimeException.class, () -> transactionService.createTransaction(transactionDto));
+        assertTrue(e.getMessage().contains("already exists"));
+        verify(auditService, never()).logTransactionCreated(any(TransactionDto.class));
     }
 
     @Test
@@ -114,12 +137,11 @@ class TransactionServiceTest {
 
     @Test
     void testGenerateReferenceNumber() {
-        when(transactionRepository.findByReferenceNumber(anyString())).thenReturn(java.util.Collections.emptyList());
-        
         String referenceNumber = transactionService.generateReferenceNumber();
         
         assertNotNull(referenceNumber);
-        assertEquals(10, referenceNumber.length());
-        assertTrue(referenceNumber.matches("\\d{10}"));
+        assertEquals(19, referenceNumber.length());
+        assertTrue(referenceNumber.matches("\\d{19}"));
+        verifyNoInteractions(transactionRepository);
     }
 }
@@ -0,0 +1,240 @@
+package com.banking.transactionservice.service;
+
+import com.banking.transactionservice.config.TransactionServiceConfig;
+import com.banking.transactionservice.dto.TransactionDto;
+import com.banking.transactionservice.entity.TransactionStatus;
+import com.banking.transactionservice.entity.TransactionType;
+import com.banking.transactionservice.repository.TransactionRepository;
+import com.banking.transactionservice.service.impl.TransactionStatisticsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TransactionStatisticsServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionServiceConfig config;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private TransactionStatisticsServiceImpl statisticsService;
+
+    private LocalDateTime rangeStart;
+    private LocalDateTime rangeEnd;
+    private LocalDateTime createdAt;
+
+    @BeforeEach
+    void setUp() {
+        when(config.getStatisticsMinuteRetentionHours()).thenReturn(48);
+        when(config.getStatisticsRebuildBatchSize()).thenReturn(100);
+
+        LocalDateTime now = LocalDateTime.now();
+        rangeStart = now.minusHours(3).truncatedTo(ChronoUnit.HOURS);
+        rangeEnd = now.plusHours(2).truncatedTo(ChronoUnit.HOURS);
+        createdAt = now.minusMinutes(30);
+    }
+
+    @Test
+    void testQueriesFallBackToDatabaseBeforeRebuild() {
+        List<Object[]> rows = Collections.singletonList(
+            new Object[] {TransactionType.DEPOSIT, TransactionStatus.COMPLETED, 3L, new BigDecimal("30.00")});
+        when(transactionRepository.aggregateByTypeAndStatus(any(), any())).thenReturn(rows);
+
+        Map<TransactionType, Long> counts = statisticsService.getTransactionCountByType(rangeStart, rangeEnd);
+
+        assertEquals(3L, counts.get(TransactionType.DEPOSIT));
+        assertEquals(new BigDecimal("30.00"), statisticsService.getTotalTransactionAmount(rangeStart, rangeEnd));
+        verify(transactionRepository, atLeastOnce()).aggregateByTypeAndStatus(rangeStart, rangeEnd.plusNanos(1));
+    }
+
+    @Test
+    void testRebuildAndIncrementalUpdatesAreMergedFromBuckets() {
+        List<Object[]> firstBatch = Collections.singletonList(
+            new Object[] {1L, createdAt, TransactionType.TRANSFER, TransactionStatus.COMPLETED, new BigDecimal("100.00")});
+        when(transactionRepository.findStatisticsRowsAfter(eq(0L), any(Pageable.class))).thenReturn(firstBatch);
+        when(transactionRepository.findStatisticsRowsAfter(eq(1L), any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        statisticsService.rebuildStatistics();
+        statisticsService.recordTransactionCreated(transaction(TransactionType.DEPOSIT, TransactionStatus.PENDING, "50.00"));
+
+        assertEquals(2L, statisticsService.getTransactionSummary(rangeStart, rangeEnd).get("totalCount"));
+        assertEquals(new BigDecimal("150.00"), statisticsService.getTotalTransactionAmount(rangeStart, rangeEnd));
+        assertEquals(new BigDecimal("75.00"), statisticsService.getAverageTransactionAmount(rangeStart, rangeEnd));
+        assertEquals(1L, statisticsService.getTransactionCountByType(rangeStart, rangeEnd).get(TransactionType.TRANSFER));
+        assertEquals(1L, statisticsService.getTransactionCountByStatus(rangeStart, rangeEnd).get(TransactionStatus.PENDING));
+        // Range entirely before the data must not see it
+        assertEquals(BigDecimal.ZERO.setScale(2), statisticsService.getTotalTransactionAmount(
+            rangeStart.minusDays(1), rangeStart.minusHours(20)));
+    }
+
+    @Test
+    void testRebuildCountsCommitsAroundItsSnapshotExactlyOnce() throws Exception {
+        when(config.getStatisticsRebuildBatchSize()).thenReturn(1);
+        List<Object[]> table = new CopyOnWriteArrayList<>();
+        table.add(row(1L, "10.00"));
+        AtomicReference<List<Object[]>> snapshot = new AtomicReference<>();
+        CountDownLatch snapshotTaken = new CountDownLatch(1);
+        CountDownLatch firstWriterCommitted = new CountDownLatch(1);
+
+        when(transactionRepository.findStatisticsRowsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            if (snapshot.get() == null) {
+                snapshot.set(new ArrayList<>(table));
+                snapshotTaken.countDown();
+            }
+            if (afterId == 1L) {
+                // Commits while the scan is running, so only the replayed capture may count it
+                Thread lateWriter = writer(transaction(TransactionType.DEPOSIT, TransactionStatus.COMPLETED, "30.00"),
+                    () -> table.add(row(3L, "30.00")), null);
+                lateWriter.start();
+                lateWriter.join();
+            }
+            return snapshot.get().stream().filter(row -> (Long) row[0] > afterId).limit(1).collect(Collectors.toList());
+        });
+
+        // Commits before the snapshot but would apply its delta after the snapshot was taken, if the rebuild let it
+        Thread earlyWriter = writer(transaction(TransactionType.DEPOSIT, TransactionStatus.COMPLETED, "20.00"),
+            () -> {
+                table.add(row(2L, "20.00"));
+                firstWriterCommitted.countDown();
+            }, snapshotTaken);
+        earlyWriter.start();
+        firstWriterCommitted.await();
+        statisticsService.rebuildStatistics();
+        earlyWriter.join();
+
+        assertEquals(3L, statisticsService.getTransactionSummary(rangeStart, rangeEnd).get("totalCount"));
+        assertEquals(new BigDecimal("60.00"), statisticsService.getTotalTransactionAmount(rangeStart, rangeEnd));
+        assertEquals(3L, statisticsService.getTransactionCountByStatus(rangeStart, rangeEnd).get(TransactionStatus.COMPLETED));
+    }
+
+    @Test
+    void testArchivedRangeLeavesLiveAndRebuiltBuckets() {
+        LocalDateTime archivedHour = createdAt.truncatedTo(ChronoUnit.HOURS);
+        List<Object[]> rows = Collections.singletonList(row(1L, "10.00"));
+        when(transactionRepository.findStatisticsRowsAfter(eq(0L), any(Pageable.class))).thenReturn(rows);
+        when(transactionRepository.findStatisticsRowsAfter(eq(1L), any(Pageable.class))).thenReturn(Collections.emptyList());
+        statisticsService.rebuildStatistics();
+
+        statisticsService.recordRangeArchived(archivedHour, archivedHour.plusHours(1));
+
+        assertEquals(0L, statisticsService.getTransactionSummary(rangeStart, rangeEnd).get("totalCount"));
+        // A rebuild whose snapshot still held the detached rows must not bring them back
+        statisticsService.rebuildStatistics();
+        assertEquals(0L, statisticsService.getTransactionSummary(rangeStart, rangeEnd).get("totalCount"));
+        assertThrows(RuntimeException.class,
+            () -> statisticsService.recordRangeArchived(archivedHour.plusMinutes(1), archivedHour.plusHours(1)));
+    }
+
+    @Test
+    void testStatusChangeAndDeleteAdjustBuckets() {
+        when(transactionRepository.findStatisticsRowsAfter(anyLong(), any(Pageable.class))).thenReturn(Collections.emptyList());
+        statisticsService.rebuildStatistics();
+
+        TransactionDto transaction = transaction(TransactionType.WITHDRAWAL, TransactionStatus.PENDING, "20.00");
+        statisticsService.recordTransactionCreated(transaction);
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        statisticsService.recordTransactionStatusChanged(transaction, TransactionStatus.PENDING);
+
+        Map<TransactionStatus, Long> byStatus = statisticsService.getTransactionCountByStatus(rangeStart, rangeEnd);
+        assertEquals(0L, byStatus.get(TransactionStatus.PENDING));
+        assertEquals(1L, byStatus.get(TransactionStatus.COMPLETED));
+
+        statisticsService.recordTransactionDeleted(transaction);
+
+        assertEquals(0L, statisticsService.getTransactionSummary(rangeStart, rangeEnd).get("totalCount"));
+        assertEquals(0L, statisticsService.getTransactionCountByStatus(rangeStart, rangeEnd).get(TransactionStatus.COMPLETED));
+    }
+
+    @Test
+    void testAccountAggregatesUseDatabaseSums() {
+        when(transactionRepository.aggregateOutgoingByAccount(1L, rangeStart, rangeEnd))
+            .thenReturn(Collections.singletonList(new Object[] {2L, new BigDecimal("40.00")}));
+        when(transactionRepository.aggregateIncomingByAccount(1L, rangeStart, rangeEnd))
+            .thenReturn(Collections.singletonList(new Object[] {0L, null}));
+
+        Map<String, BigDecimal> amounts = statisticsService.getTransactionAmountByAccount(1L, rangeStart, rangeEnd);
+        Map<String, Long> counts = statisticsService.getTransactionCountByAccount(1L, rangeStart, rangeEnd);
+
+        assertEquals(new BigDecimal("40.00"), amounts.get("outgoing"));
+        assertEquals(new BigDecimal("0.00"), amounts.get("incoming"));
+        assertEquals(new BigDecimal("-40.00"), amounts.get("net"));
+        assertEquals(2L, counts.get("total"));
+    }
+
+    @Test
+    void testInvalidRangeIsRejected() {
+        assertThrows(RuntimeException.class, () -> statisticsService.getTransactionSummary(rangeEnd, rangeStart));
+    }
+
+    private Object[] row(long id, String amount) {
+        return new Object[] {id, createdAt, TransactionType.DEPOSIT, TransactionStatus.COMPLETED, new BigDecimal(amount)};
+    }
+
+    // Runs a writer through the synchronization callbacks of a real commit; commit stands in for the database commit
+    private Thread writer(TransactionDto transaction, Runnable commit, CountDownLatch applyAfter) {
+        return new Thread(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                statisticsService.recordTransactionCreated(transaction);
+                List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+                synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+                commit.run();
+                if (applyAfter != null) {
+                    applyAfter.await(200, TimeUnit.MILLISECONDS);
+                }
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+                synchronizations.forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        });
+    }
+
+    private TransactionDto transaction(TransactionType type, TransactionStatus status, String amount) {
+        TransactionDto dto = new TransactionDto();
+        dto.setTransactionType(type);
+        dto.setStatus(status);
+        dto.setAmount(new BigDecimal(amount));
+        dto.setCreatedAt(createdAt);
+        return dto;
+    }
+}
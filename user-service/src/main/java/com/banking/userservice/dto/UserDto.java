@@ -47,6 +47,21 @@ public class UserDto {
         this.userType = userType;
     }
 
+    // Used by JPQL constructor projections, so the argument order must match UserRepository.DTO_SELECT
+    public UserDto(Long id, String firstName, String lastName, String email, String phoneNumber, String address,
+                   UserType userType, UserStatus status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+        this.address = address;
+        this.userType = userType;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
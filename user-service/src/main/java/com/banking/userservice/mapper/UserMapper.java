@@ -0,0 +1,26 @@
+package com.banking.userservice.mapper;
+
+import com.banking.common.mapping.DtoMapper;
+import com.banking.userservice.dto.UserDto;
+import com.banking.userservice.entity.User;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserMapper implements DtoMapper<User, UserDto> {
+
+    @Override
+    public UserDto toDto(User user) {
+        UserDto dto = new UserDto();
+        dto.setId(user.getId());
+        dto.setFirstName(user.getFirstName());
+        dto.setLastName(user.getLastName());
+        dto.setEmail(user.getEmail());
+        dto.setPhoneNumber(user.getPhoneNumber());
+        dto.setAddress(user.getAddress());
+        dto.setUserType(user.getUserType());
+        dto.setStatus(user.getStatus());
+        dto.setCreatedAt(user.getCreatedAt());
+        dto.setUpdatedAt(user.getUpdatedAt());
+        return dto;
+    }
+}
@@ -1,7 +1,9 @@
 package com.banking.userservice.repository;
 
+import com.banking.userservice.dto.UserDto;
 import com.banking.userservice.entity.User;
 import com.banking.userservice.entity.UserStatus;
+import com.banking.userservice.entity.UserType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,11 +15,30 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    // User lists and searches only hand data to the caller, so UserDto is built in the query instead of from entities
+    String DTO_SELECT = "SELECT new com.banking.userservice.dto.UserDto(u.id, u.firstName, u.lastName, u.email, " +
+        "u.phoneNumber, u.address, u.userType, u.status, u.createdAt, u.updatedAt) FROM User u ";
+    
+    @Query(DTO_SELECT)
+    List<UserDto> findAllDtos();
+    
+    @Query(DTO_SELECT + "WHERE u.userType = :userType")
+    List<UserDto> findDtosByUserType(@Param("userType") UserType userType);
+    
+    @Query(DTO_SELECT + "WHERE u.status = :status")
+    List<UserDto> findDtosByStatus(@Param("status") UserStatus status);
+    
+    @Query(DTO_SELECT + "WHERE u.firstName LIKE %:name% OR u.lastName LIKE %:name%")
+    List<UserDto> findDtosByNameContaining(@Param("name") String name);
+    
+    @Query(DTO_SELECT + "WHERE u.address LIKE %:city%")
+    List<UserDto> findDtosByCity(@Param("city") String city);
+    
     Optional<User> findByEmail(String email);
     
     Optional<User> findByPhoneNumber(String phoneNumber);
     
-    List<User> findByUserType(com.banking.userservice.entity.UserType userType);
+    List<User> findByUserType(UserType userType);
     
     List<User> findByStatus(UserStatus status);
     
@@ -4,6 +4,7 @@ import com.banking.userservice.dto.LoginRequest;
 import com.banking.userservice.dto.LoginResponse;
 import com.banking.userservice.dto.UserDto;
 import com.banking.userservice.entity.User;
+import com.banking.userservice.mapper.UserMapper;
 import com.banking.userservice.repository.UserRepository;
 import com.banking.userservice.service.AuthenticationService;
 import io.jsonwebtoken.Jwts;
@@ -22,6 +23,9 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private UserMapper userMapper;
+    
     @Value("${jwt.secret:defaultSecretKey}")
     private String jwtSecret;
     
@@ -41,7 +45,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         String token = generateJwtToken(user.getId(), user.getEmail(), "USER");
         
         // Convert user to DTO
-        UserDto userDto = convertToDto(user);
+        UserDto userDto = userMapper.toDto(user);
         
         return new LoginResponse(token, "Bearer", jwtExpiration, userDto);
     }
@@ -60,19 +64,4 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             .signWith(SignatureAlgorithm.HS512, jwtSecret)
             .compact();
     }
-    
-    private UserDto convertToDto(User user) {
-        UserDto dto = new UserDto();
-        dto.setId(user.getId());
-        dto.setFirstName(user.getFirstName());
-        dto.setLastName(user.getLastName());
-        dto.setEmail(user.getEmail());
-        dto.setPhoneNumber(user.getPhoneNumber());
-        dto.setAddress(user.getAddress());
-        dto.setUserType(user.getUserType());
-        dto.setStatus(user.getStatus());
-        dto.setCreatedAt(user.getCreatedAt());
-        dto.setUpdatedAt(user.getUpdatedAt());
-        return dto;
-    }
 }
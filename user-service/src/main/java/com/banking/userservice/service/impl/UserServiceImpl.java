@@ -4,6 +4,7 @@ import com.banking.userservice.dto.UserDto;
 import com.banking.userservice.entity.User;
 import com.banking.userservice.entity.UserStatus;
 import com.banking.userservice.entity.UserType;
+import com.banking.userservice.mapper.UserMapper;
 import com.banking.userservice.repository.UserRepository;
 import com.banking.userservice.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,7 +12,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -20,6 +20,9 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private UserMapper userMapper;
+    
     @Override
     public UserDto createUser(UserDto userDto) {
         // Check if email already exists
@@ -42,7 +45,7 @@ public class UserServiceImpl implements UserService {
         );
         
         User savedUser = userRepository.save(user);
-        return convertToDto(savedUser);
+        return userMapper.toDto(savedUser);
     }
     
     @Override
@@ -68,7 +71,7 @@ public class UserServiceImpl implements UserService {
         existingUser.setUserType(userDto.getUserType());
         
         User updatedUser = userRepository.save(existingUser);
-        return convertToDto(updatedUser);
+        return userMapper.toDto(updatedUser);
     }
     
     @Override
@@ -76,7 +79,7 @@ public class UserServiceImpl implements UserService {
     public UserDto getUserById(Long id) {
         User user = userRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
-        return convertToDto(user);
+        return userMapper.toDto(user);
     }
     
     @Override
@@ -84,7 +87,7 @@ public class UserServiceImpl implements UserService {
     public UserDto getUserByEmail(String email) {
         User user = userRepository.findByEmail(email)
             .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
-        return convertToDto(user);
+        return userMapper.toDto(user);
     }
     
     @Override
@@ -92,47 +95,37 @@ public class UserServiceImpl implements UserService {
     public UserDto getUserByPhoneNumber(String phoneNumber) {
         User user = userRepository.findByPhoneNumber(phoneNumber)
             .orElseThrow(() -> new RuntimeException("User not found with phone number: " + phoneNumber));
-        return convertToDto(user);
+        return userMapper.toDto(user);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return userRepository.findAllDtos();
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<UserDto> getUsersByType(UserType userType) {
-        return userRepository.findByUserType(userType).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return userRepository.findDtosByUserType(userType);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<UserDto> getUsersByStatus(UserStatus status) {
-        return userRepository.findByStatus(status).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return userRepository.findDtosByStatus(status);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<UserDto> searchUsersByName(String name) {
-        return userRepository.findByNameContaining(name).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return userRepository.findDtosByNameContaining(name);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<UserDto> getUsersByCity(String city) {
-        return userRepository.findByCity(city).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+        return userRepository.findDtosByCity(city);
     }
     
     @Override
@@ -142,7 +135,7 @@ public class UserServiceImpl implements UserService {
         
         user.setStatus(status);
         User updatedUser = userRepository.save(user);
-        return convertToDto(updatedUser);
+        return userMapper.toDto(updatedUser);
     }
     
     @Override
@@ -176,19 +169,4 @@ public class UserServiceImpl implements UserService {
     public long countUsersByStatus(UserStatus status) {
         return userRepository.countByStatus(status);
     }
-    
-    private UserDto convertToDto(User user) {
-        UserDto dto = new UserDto();
-        dto.setId(user.getId());
-        dto.setFirstName(user.getFirstName());
-        dto.setLastName(user.getLastName());
-        dto.setEmail(user.getEmail());
-        dto.setPhoneNumber(user.getPhoneNumber());
-        dto.setAddress(user.getAddress());
-        dto.setUserType(user.getUserType());
-        dto.setStatus(user.getStatus());
-        dto.setCreatedAt(user.getCreatedAt());
-        dto.setUpdatedAt(user.getUpdatedAt());
-        return dto;
-    }
 }